@@ -0,0 +1,10 @@
+package gov.aps.jca.event;
+
+/**
+ * A MonitorListener which must be given every monitor event, rather than only the latest one when events arrive faster
+ * than it handles them. {@link SplitQueuedEventDispatcher} delivers events for such listeners through bounded queues,
+ * one per lossless thread with each channel kept to one of them, instead of overriding older values. Only if a queue is
+ * full are events dropped, and counted.
+ */
+public interface LosslessMonitorListener extends MonitorListener {
+}
@@ -0,0 +1,476 @@
+package gov.aps.jca.event;
+
+import gov.aps.jca.Channel;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A thread delivering monitor events to listeners, either keeping only the latest event waiting for each listener of a
+ * channel or, if lossless, every event in order up to a bounded number waiting. Records how long events wait and how
+ * long listeners take.
+ * <p>
+ * Queueing an event allocates nothing when it overrides one already waiting, nor at all in a lossless lane. The
+ * slowest listeners are only tracked once {@link #setListenerTiming(boolean)} is enabled, and then only the ten
+ * slowest are kept.
+ */
+public class MonitorDispatchLane implements Runnable, MonitorDispatchLaneMXBean {
+
+	private static final Logger logger = Logger.getLogger(MonitorDispatchLane.class.getName());
+
+	/** Upper bounds of the latency histogram buckets, in microseconds; the last bucket is unbounded */
+	private static final long[] BUCKET_LIMITS_US = { 100, 1000, 10000, 100000, 1000000 };
+
+	private static final String[] BUCKET_LABELS = { "<0.1ms", "<1ms", "<10ms", "<100ms", "<1s", ">=1s" };
+
+	private static final int SLOWEST_LISTENERS_REPORTED = 10;
+
+	private final String name;
+
+	private final boolean lossless;
+
+	private final int capacity;
+
+	private final Thread thread;
+
+	/** The event waiting for each listener of each channel, if not lossless (guarded by this) */
+	private final HashMap<Slot, Slot> latest = new HashMap<Slot, Slot>();
+
+	/** The slots of {@link #latest}, in the order they were first given an event (guarded by this) */
+	private final ArrayDeque<Slot> ready = new ArrayDeque<Slot>();
+
+	/** Reused to look up {@link #latest} (guarded by this) */
+	private final Slot probe = new Slot(null, null);
+
+	/** Ring of every event waiting, in order, if lossless (guarded by this) */
+	private final MonitorEvent[] ringEvents;
+	private final MonitorListener[] ringListeners;
+	private final long[] ringEnqueueNanos;
+	private int ringHead;
+	private int ringSize;
+	private boolean overflowing;
+
+	private volatile boolean disposed;
+
+	private volatile boolean listenerTiming;
+
+	private final AtomicLong enqueued = new AtomicLong();
+	private final AtomicLong dispatched = new AtomicLong();
+	private final AtomicLong conflated = new AtomicLong();
+	private final AtomicLong dropped = new AtomicLong();
+	private final AtomicLong latencyNanos = new AtomicLong();
+	private final AtomicLong listenerNanos = new AtomicLong();
+	private final AtomicLong maxListenerNanos = new AtomicLong();
+	private final AtomicLongArray histogram = new AtomicLongArray(BUCKET_LABELS.length);
+
+	/** The slowest listeners seen while listener timing is enabled, in no order (guarded by itself) */
+	private final SlowListener[] slowest = new SlowListener[SLOWEST_LISTENERS_REPORTED];
+
+	/** A listener must take longer than this to be one of the slowest */
+	private volatile long slowestThresholdNanos;
+
+	/**
+	 * Creates the lane and starts its thread.
+	 *
+	 * @param name
+	 *            the name of the lane and its thread
+	 * @param lossless
+	 *            true to deliver every event, false to keep only the latest for each listener
+	 * @param capacity
+	 *            the number of events which may wait in a lossless lane before further ones are dropped
+	 */
+	public MonitorDispatchLane(String name, boolean lossless, int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("capacity must be at least 1 but was " + capacity);
+		}
+		this.name = name;
+		this.lossless = lossless;
+		this.capacity = capacity;
+		final int ringCapacity = lossless ? capacity : 0;
+		ringEvents = new MonitorEvent[ringCapacity];
+		ringListeners = new MonitorListener[ringCapacity];
+		ringEnqueueNanos = new long[ringCapacity];
+		thread = new Thread(this, name);
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Queues an event for a listener. This never waits: a lossless lane whose queue is full drops the event and counts
+	 * it, as the caller is the CA thread.
+	 *
+	 * @param ev
+	 *            the event
+	 * @param listener
+	 *            the listener to deliver it to
+	 */
+	public void dispatch(MonitorEvent ev, MonitorListener listener) {
+		final long now = System.nanoTime();
+		synchronized (this) {
+			if (disposed) {
+				dropped.incrementAndGet();
+				return;
+			}
+			if (lossless) {
+				if (ringSize >= capacity) {
+					dropped.incrementAndGet();
+					if (!overflowing) {
+						overflowing = true;
+						logger.log(Level.WARNING, "{0} is full; dropping monitor events, starting with one for {1}",
+								new Object[] { name, channelName(ev) });
+					}
+					return;
+				}
+				final int tail = (ringHead + ringSize) % capacity;
+				ringEvents[tail] = ev;
+				ringListeners[tail] = listener;
+				ringEnqueueNanos[tail] = now;
+				ringSize++;
+			} else {
+				probe.set(ev.getSource(), listener);
+				Slot slot = latest.get(probe);
+				probe.set(null, null);
+				if (slot != null) {
+					conflated.incrementAndGet();
+				} else {
+					slot = new Slot(ev.getSource(), listener);
+					latest.put(slot, slot);
+					ready.add(slot);
+				}
+				slot.event = ev;
+				slot.enqueueNanos = now;
+			}
+			enqueued.incrementAndGet();
+			notifyAll();
+		}
+	}
+
+	@Override
+	public void run() {
+		while (!disposed) {
+			final MonitorEvent event;
+			final MonitorListener listener;
+			final long enqueueNanos;
+			synchronized (this) {
+				try {
+					while (isEmpty() && !disposed) {
+						wait();
+					}
+				} catch (InterruptedException e) {
+					return;
+				}
+				if (disposed) {
+					return;
+				}
+				if (lossless) {
+					event = ringEvents[ringHead];
+					listener = ringListeners[ringHead];
+					enqueueNanos = ringEnqueueNanos[ringHead];
+					ringEvents[ringHead] = null;
+					ringListeners[ringHead] = null;
+					ringHead = (ringHead + 1) % capacity;
+					ringSize--;
+					overflowing = false;
+				} else {
+					final Slot slot = ready.poll();
+					latest.remove(slot);
+					event = slot.event;
+					listener = slot.listener;
+					enqueueNanos = slot.enqueueNanos;
+				}
+			}
+			deliver(event, listener, enqueueNanos);
+		}
+	}
+
+	private boolean isEmpty() {
+		return lossless ? ringSize == 0 : ready.isEmpty();
+	}
+
+	private void deliver(MonitorEvent event, MonitorListener listener, long enqueueNanos) {
+		final long start = System.nanoTime();
+		recordLatency(start - enqueueNanos);
+		try {
+			listener.monitorChanged(event);
+		} catch (Throwable th) {
+			logger.log(Level.SEVERE, "Unexpected exception caught while dispatching monitor event for "
+					+ channelName(event), th);
+		}
+		final long took = System.nanoTime() - start;
+		dispatched.incrementAndGet();
+		listenerNanos.addAndGet(took);
+		maxListenerNanos.accumulateAndGet(took, Math::max);
+		if (listenerTiming && took > slowestThresholdNanos) {
+			recordSlowListener(listener, event, took);
+		}
+	}
+
+	private void recordLatency(long nanos) {
+		latencyNanos.addAndGet(nanos);
+		final long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+		int bucket = 0;
+		while (bucket < BUCKET_LIMITS_US.length && micros >= BUCKET_LIMITS_US[bucket]) {
+			bucket++;
+		}
+		histogram.incrementAndGet(bucket);
+	}
+
+	/**
+	 * Keeps the listener among the slowest, replacing its own entry for the channel or else the fastest one.
+	 */
+	private void recordSlowListener(MonitorListener listener, MonitorEvent event, long took) {
+		final Class<?> listenerClass = listener.getClass();
+		final String channelName = channelName(event);
+		synchronized (slowest) {
+			int replace = -1;
+			for (int i = 0; i < slowest.length; i++) {
+				final SlowListener entry = slowest[i];
+				if (entry != null && entry.listenerClass == listenerClass && entry.channelName.equals(channelName)) {
+					replace = i;
+					break;
+				}
+				if (replace < 0 || entry == null
+						|| slowest[replace] != null && entry.maxNanos < slowest[replace].maxNanos) {
+					replace = i;
+				}
+			}
+			final SlowListener current = slowest[replace];
+			if (current != null && current.maxNanos >= took) {
+				return;
+			}
+			slowest[replace] = new SlowListener(listenerClass, channelName, took);
+			long threshold = Long.MAX_VALUE;
+			for (SlowListener entry : slowest) {
+				threshold = entry == null ? 0 : Math.min(threshold, entry.maxNanos);
+				if (threshold == 0) {
+					break;
+				}
+			}
+			slowestThresholdNanos = threshold;
+		}
+	}
+
+	private static String channelName(MonitorEvent event) {
+		final Object source = event.getSource();
+		return source instanceof Channel ? ((Channel) source).getName() : String.valueOf(source);
+	}
+
+	/**
+	 * Stops the thread; events still waiting are not delivered.
+	 */
+	public void dispose() {
+		synchronized (this) {
+			disposed = true;
+			notifyAll();
+		}
+		thread.interrupt();
+	}
+
+	/**
+	 * @param priority
+	 *            the priority of the lane's thread
+	 */
+	public void setPriority(int priority) {
+		thread.setPriority(priority);
+	}
+
+	/**
+	 * @return the priority of the lane's thread
+	 */
+	public int getPriority() {
+		return thread.getPriority();
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public boolean isLossless() {
+		return lossless;
+	}
+
+	@Override
+	public boolean isListenerTiming() {
+		return listenerTiming;
+	}
+
+	@Override
+	public void setListenerTiming(boolean listenerTiming) {
+		this.listenerTiming = listenerTiming;
+	}
+
+	@Override
+	public synchronized int getQueueDepth() {
+		return lossless ? ringSize : ready.size();
+	}
+
+	@Override
+	public long getEnqueuedCount() {
+		return enqueued.get();
+	}
+
+	@Override
+	public long getDispatchedCount() {
+		return dispatched.get();
+	}
+
+	@Override
+	public long getConflatedCount() {
+		return conflated.get();
+	}
+
+	@Override
+	public long getDroppedCount() {
+		return dropped.get();
+	}
+
+	@Override
+	public String[] getLatencyBuckets() {
+		return BUCKET_LABELS.clone();
+	}
+
+	@Override
+	public long[] getLatencyHistogram() {
+		final long[] counts = new long[histogram.length()];
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] = histogram.get(i);
+		}
+		return counts;
+	}
+
+	@Override
+	public double getMeanLatencyMs() {
+		final long count = dispatched.get();
+		return count == 0 ? 0 : latencyNanos.get() / 1e6 / count;
+	}
+
+	@Override
+	public double getMeanListenerTimeMs() {
+		final long count = dispatched.get();
+		return count == 0 ? 0 : listenerNanos.get() / 1e6 / count;
+	}
+
+	@Override
+	public double getMaxListenerTimeMs() {
+		return maxListenerNanos.get() / 1e6;
+	}
+
+	@Override
+	public String[] getSlowestListeners() {
+		final Map<String, Long> times = getMaxListenerTimes();
+		final String[] reported = new String[times.size()];
+		int i = 0;
+		for (Map.Entry<String, Long> entry : times.entrySet()) {
+			reported[i++] = String.format("%s: max %.3fms", entry.getKey(), entry.getValue() / 1e6);
+		}
+		return reported;
+	}
+
+	/**
+	 * @return the longest time each of the slowest listeners has taken to handle an event, in ns, keyed by listener
+	 *         class and channel, slowest first; empty unless listener timing is enabled
+	 */
+	public Map<String, Long> getMaxListenerTimes() {
+		final SlowListener[] entries;
+		synchronized (slowest) {
+			entries = slowest.clone();
+		}
+		final Map<String, Long> times = new LinkedHashMap<String, Long>();
+		Arrays.stream(entries).filter(e -> e != null)
+				.sorted(Comparator.comparingLong((SlowListener e) -> e.maxNanos).reversed())
+				.forEach(e -> times.put(e.listenerClass.getName() + " on " + e.channelName, e.maxNanos));
+		return times;
+	}
+
+	@Override
+	public void reset() {
+		enqueued.set(0);
+		dispatched.set(0);
+		conflated.set(0);
+		dropped.set(0);
+		latencyNanos.set(0);
+		listenerNanos.set(0);
+		maxListenerNanos.set(0);
+		for (int i = 0; i < histogram.length(); i++) {
+			histogram.set(i, 0);
+		}
+		synchronized (slowest) {
+			Arrays.fill(slowest, null);
+			slowestThresholdNanos = 0;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s: depth %d, %d dispatched, %d conflated, %d dropped, mean latency %.3fms, max listener %.3fms",
+				name, getQueueDepth(), getDispatchedCount(), getConflatedCount(), getDroppedCount(), getMeanLatencyMs(),
+				getMaxListenerTimeMs());
+	}
+
+	/**
+	 * The event waiting for a listener of a channel. Identified by the channel and listener, which are compared by
+	 * identity as the CA library does; only {@link MonitorDispatchLane#probe} changes them.
+	 */
+	private static class Slot {
+
+		private Object source;
+
+		private MonitorListener listener;
+
+		private int hash;
+
+		private MonitorEvent event;
+
+		private long enqueueNanos;
+
+		Slot(Object source, MonitorListener listener) {
+			set(source, listener);
+		}
+
+		void set(Object source, MonitorListener listener) {
+			this.source = source;
+			this.listener = listener;
+			hash = 31 * System.identityHashCode(source) + System.identityHashCode(listener);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Slot)) {
+				return false;
+			}
+			final Slot other = (Slot) obj;
+			return source == other.source && listener == other.listener;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+
+	private static class SlowListener {
+
+		private final Class<?> listenerClass;
+
+		private final String channelName;
+
+		private final long maxNanos;
+
+		SlowListener(Class<?> listenerClass, String channelName, long maxNanos) {
+			this.listenerClass = listenerClass;
+			this.channelName = channelName;
+			this.maxNanos = maxNanos;
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package gov.aps.jca.event;
+
+/**
+ * Management interface of a {@link MonitorDispatchLane}, registered by {@link SplitQueuedEventDispatcher} under
+ * <code>gov.aps.jca.event:type=SplitQueuedEventDispatcher,lane=...</code>.
+ */
+public interface MonitorDispatchLaneMXBean {
+
+	/**
+	 * @return the name of the lane, which is also the name of its thread
+	 */
+	String getName();
+
+	/**
+	 * @return true if events in this lane are never overridden by newer ones
+	 */
+	boolean isLossless();
+
+	/**
+	 * @return true if the slowest listeners are being tracked
+	 */
+	boolean isListenerTiming();
+
+	/**
+	 * @param listenerTiming
+	 *            true to track the slowest listeners, which costs a comparison for each event delivered
+	 */
+	void setListenerTiming(boolean listenerTiming);
+
+	/**
+	 * @return the number of events waiting to be delivered
+	 */
+	int getQueueDepth();
+
+	/**
+	 * @return the number of events given to the lane
+	 */
+	long getEnqueuedCount();
+
+	/**
+	 * @return the number of events delivered to listeners
+	 */
+	long getDispatchedCount();
+
+	/**
+	 * @return the number of events overridden by a newer event for the same listener before they were delivered
+	 */
+	long getConflatedCount();
+
+	/**
+	 * @return the number of events which could not be queued and were never delivered
+	 */
+	long getDroppedCount();
+
+	/**
+	 * @return labels of the buckets of {@link #getLatencyHistogram()}
+	 */
+	String[] getLatencyBuckets();
+
+	/**
+	 * @return the number of events whose time from being queued to being delivered fell in each bucket
+	 */
+	long[] getLatencyHistogram();
+
+	/**
+	 * @return the mean time from an event being queued to being delivered, in ms
+	 */
+	double getMeanLatencyMs();
+
+	/**
+	 * @return the mean time listeners took to handle an event, in ms
+	 */
+	double getMeanListenerTimeMs();
+
+	/**
+	 * @return the longest time a listener took to handle an event, in ms
+	 */
+	double getMaxListenerTimeMs();
+
+	/**
+	 * @return the listeners which have taken longest to handle an event, slowest first, with the channel they
+	 *         listen to and their longest time; empty unless listener timing is enabled
+	 */
+	String[] getSlowestListeners();
+
+	/**
+	 * Sets all counters and timings back to zero.
+	 */
+	void reset();
+}
@@ -1,32 +1,169 @@
 package gov.aps.jca.event;
 
+import gov.aps.jca.JCALibrary;
 import gov.aps.jca.configuration.Configurable;
 import gov.aps.jca.configuration.Configuration;
 import gov.aps.jca.configuration.ConfigurationException;
 
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 
 /**
- * This EventDispatcher uses an internal thread to dispatch events and overrides older (obsolete) monitor values.
+ * This EventDispatcher uses internal threads to dispatch events and overrides older (obsolete) monitor values.
+ * <p>
+ * Connection, put and other events each have a thread of their own. Monitor events are sharded by channel over a pool
+ * of threads, the size of which is set by the JCA property
+ * <code>gov.aps.jca.event.SplitQueuedEventDispatcher.monitor_threads</code> (default {@value #DEFAULT_MONITOR_THREADS}).
+ * All the events of one channel go to the same thread, so they are still delivered in order and still conflated to the
+ * latest value, but a slow listener only delays the channels which share its thread rather than every monitor in the
+ * process.
+ * <p>
+ * Monitor events for a {@link LosslessMonitorListener} are never overridden. They are sharded by channel in the same
+ * way over as many lossless threads again, so that a slow lossless listener only delays the lossless listeners of the
+ * channels which share its thread. Each lossless thread has a queue bounded by
+ * <code>gov.aps.jca.event.SplitQueuedEventDispatcher.lossless_queue_size</code> (default
+ * {@value #DEFAULT_LOSSLESS_QUEUE_SIZE}); when it is full, new events are dropped and counted rather than holding up
+ * the CA thread.
+ * <p>
+ * Each monitor thread is a {@link MonitorDispatchLane}, registered as an MBean under
+ * <code>gov.aps.jca.event:type=SplitQueuedEventDispatcher,lane=...</code>, recording queue depth, how long events wait,
+ * how long listeners take and how many events were conflated or dropped. See also {@link #getStatistics()}. The
+ * slowest listeners are also tracked if <code>gov.aps.jca.event.SplitQueuedEventDispatcher.listener_timing</code> is
+ * true, or once enabled on a lane's MBean.
  */
 @SuppressWarnings("rawtypes")
 public class SplitQueuedEventDispatcher extends AbstractEventDispatcher implements Runnable, Configurable {
 
+	/**
+	 * Number of monitor dispatch threads used if the <code>monitor_threads</code> property is not set
+	 */
+	public static final int DEFAULT_MONITOR_THREADS = 4;
+
+	/**
+	 * Capacity of each lossless monitor queue used if the <code>lossless_queue_size</code> property is not set
+	 */
+	public static final int DEFAULT_LOSSLESS_QUEUE_SIZE = 10000;
+
+	private static final Logger logger = Logger.getLogger(SplitQueuedEventDispatcher.class.getName());
+
+	private static final List<SplitQueuedEventDispatcher> instances = new CopyOnWriteArrayList<SplitQueuedEventDispatcher>();
+
+	private static final AtomicInteger instanceCount = new AtomicInteger();
+
+	/**
+	 * @return the dispatchers created and not yet disposed, normally one per CA context
+	 */
+	public static List<SplitQueuedEventDispatcher> getInstances() {
+		return Collections.unmodifiableList(instances);
+	}
+
 	private List<LatestMonitorOnlyQueuedEventDispatcher> dispatchers;
 
-	private final LatestMonitorOnlyQueuedEventDispatcher otherDispatcher, monitorDispatcher, connectionDispatcher,
-			putDispatcher;
+	private final LatestMonitorOnlyQueuedEventDispatcher otherDispatcher, connectionDispatcher, putDispatcher;
+
+	private final MonitorDispatchLane[] monitorLanes;
+
+	private final MonitorDispatchLane[] losslessLanes;
+
+	private final List<ObjectName> registeredNames = new ArrayList<ObjectName>();
 
 	/**
 	 * Constructor
 	 */
 	public SplitQueuedEventDispatcher() {
+		this(JCALibrary.getInstance().getPropertyAsInt(SplitQueuedEventDispatcher.class.getName() + ".monitor_threads",
+				DEFAULT_MONITOR_THREADS),
+				JCALibrary.getInstance().getPropertyAsInt(
+						SplitQueuedEventDispatcher.class.getName() + ".lossless_queue_size", DEFAULT_LOSSLESS_QUEUE_SIZE));
+		final boolean listenerTiming = Boolean.parseBoolean(JCALibrary.getInstance().getProperty(
+				SplitQueuedEventDispatcher.class.getName() + ".listener_timing", "false"));
+		for (MonitorDispatchLane lane : getStatistics()) {
+			lane.setListenerTiming(listenerTiming);
+		}
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param monitorThreads
+	 *            the number of threads monitor events are sharded over, and also the number of threads events for
+	 *            {@link LosslessMonitorListener}s are sharded over
+	 * @param losslessQueueSize
+	 *            the number of events for {@link LosslessMonitorListener}s which may wait to be delivered by each
+	 *            lossless thread
+	 */
+	public SplitQueuedEventDispatcher(int monitorThreads, int losslessQueueSize) {
+		if (monitorThreads < 1) {
+			throw new IllegalArgumentException("monitorThreads must be at least 1 but was " + monitorThreads);
+		}
 		dispatchers = new ArrayList<LatestMonitorOnlyQueuedEventDispatcher>();
 		dispatchers.add(otherDispatcher = new LatestMonitorOnlyQueuedEventDispatcher());
-		dispatchers.add(monitorDispatcher = new LatestMonitorOnlyQueuedEventDispatcher());
 		dispatchers.add(connectionDispatcher = new LatestMonitorOnlyQueuedEventDispatcher());
 		dispatchers.add(putDispatcher = new LatestMonitorOnlyQueuedEventDispatcher());
+		final int id = instanceCount.getAndIncrement();
+		monitorLanes = new MonitorDispatchLane[monitorThreads];
+		for (int i = 0; i < monitorThreads; i++) {
+			monitorLanes[i] = new MonitorDispatchLane("SplitQueuedEventDispatcher-" + id + " monitor-" + i, false, 1);
+		}
+		losslessLanes = new MonitorDispatchLane[monitorThreads];
+		for (int i = 0; i < monitorThreads; i++) {
+			losslessLanes[i] = new MonitorDispatchLane("SplitQueuedEventDispatcher-" + id + " lossless-" + i, true,
+					losslessQueueSize);
+		}
+		for (MonitorDispatchLane lane : getStatistics()) {
+			register(id, lane);
+		}
+		instances.add(this);
+	}
+
+	private void register(int id, MonitorDispatchLane lane) {
+		try {
+			final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			final ObjectName objectName = new ObjectName("gov.aps.jca.event:type=SplitQueuedEventDispatcher,id=" + id
+					+ ",lane=" + ObjectName.quote(lane.getName()));
+			server.registerMBean(lane, objectName);
+			registeredNames.add(objectName);
+		} catch (JMException | RuntimeException e) {
+			logger.log(Level.WARNING, "Could not register MBean for " + lane.getName(), e);
+		}
+	}
+
+	/**
+	 * @return the number of threads monitor events are sharded over, which is also the number of lossless threads
+	 */
+	public int getMonitorThreads() {
+		return monitorLanes.length;
+	}
+
+	/**
+	 * @return the monitor lanes, the conflating ones followed by the lossless ones, whose counters are live
+	 */
+	public List<MonitorDispatchLane> getStatistics() {
+		final List<MonitorDispatchLane> lanes = new ArrayList<MonitorDispatchLane>(Arrays.asList(monitorLanes));
+		lanes.addAll(Arrays.asList(losslessLanes));
+		return lanes;
+	}
+
+	/**
+	 * Picks the lane for a monitor event from its source channel, so that every event of a channel goes to the same
+	 * thread.
+	 */
+	private static MonitorDispatchLane laneFor(MonitorEvent ev, MonitorDispatchLane[] lanes) {
+		final Object source = ev.getSource();
+		final int hash = source == null ? 0 : System.identityHashCode(source);
+		// spread the hash so that the low bits used for the shard depend on all of it
+		return lanes[Math.floorMod(hash ^ (hash >>> 16), lanes.length)];
 	}
 
 	/**
@@ -46,6 +183,18 @@ public class SplitQueuedEventDispatcher extends AbstractEventDispatcher implemen
 	public void dispose() {
 		for (LatestMonitorOnlyQueuedEventDispatcher dispatcher : dispatchers)
 			dispatcher.dispose();
+		for (MonitorDispatchLane lane : getStatistics())
+			lane.dispose();
+		final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		for (ObjectName objectName : registeredNames) {
+			try {
+				server.unregisterMBean(objectName);
+			} catch (JMException e) {
+				logger.log(Level.FINE, "Could not unregister MBean " + objectName, e);
+			}
+		}
+		registeredNames.clear();
+		instances.remove(this);
 	}
 
 	/**
@@ -55,6 +204,9 @@ public class SplitQueuedEventDispatcher extends AbstractEventDispatcher implemen
 	public void configure(Configuration conf) throws ConfigurationException {
 		for (LatestMonitorOnlyQueuedEventDispatcher dispatcher : dispatchers)
 			dispatcher.configure(conf);
+		// the lanes take whatever priority the configuration gave the other threads
+		for (MonitorDispatchLane lane : getStatistics())
+			lane.setPriority(otherDispatcher.getPriority());
 	}
 
 	/**
@@ -70,6 +222,8 @@ public class SplitQueuedEventDispatcher extends AbstractEventDispatcher implemen
 	public void setPriority(int priority) {
 		for (LatestMonitorOnlyQueuedEventDispatcher dispatcher : dispatchers)
 			dispatcher.setPriority(priority);
+		for (MonitorDispatchLane lane : getStatistics())
+			lane.setPriority(priority);
 	}
 
 	/**
@@ -109,7 +263,13 @@ public class SplitQueuedEventDispatcher extends AbstractEventDispatcher implemen
 	 */
 	@Override
 	public void dispatch(MonitorEvent ev, List listeners) {
-		monitorDispatcher.dispatch(ev, listeners);
+		final Object[] copy;
+		synchronized (listeners) {
+			copy = listeners.toArray();
+		}
+		for (Object listener : copy) {
+			dispatch(ev, (MonitorListener) listener);
+		}
 	}
 
 	/**
@@ -167,7 +327,11 @@ public class SplitQueuedEventDispatcher extends AbstractEventDispatcher implemen
 	 */
 	@Override
 	public void dispatch(MonitorEvent ev, MonitorListener listener) {
-		monitorDispatcher.dispatch(ev, listener);
+		if (listener instanceof LosslessMonitorListener) {
+			laneFor(ev, losslessLanes).dispatch(ev, listener);
+		} else {
+			laneFor(ev, monitorLanes).dispatch(ev, listener);
+		}
 	}
 
 	/**
@@ -0,0 +1,78 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package gda.epics.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import gda.epics.connection.EpicsController;
+import gov.aps.jca.CAException;
+import gov.aps.jca.Channel;
+import gov.aps.jca.TimeoutException;
+import gov.aps.jca.dbr.DBRType;
+
+/**
+ * Time to read double arrays of several sizes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ArrayReadBenchmark {
+
+	@Param({ "1000", "100000", "1000000" })
+	private int size;
+
+	private EpicsController controller;
+
+	private Channel channel;
+
+	@Setup
+	public void setUp(CAServerState server) throws CAException, TimeoutException {
+		final String pvName = "BENCH:ARRAY" + size;
+		server.getIoc().addWaveform(pvName, DBRType.DOUBLE, size);
+		controller = server.getController();
+		channel = controller.createChannel(pvName);
+	}
+
+	@TearDown
+	public void tearDown() {
+		controller.destroy(channel);
+	}
+
+	@Benchmark
+	public double[] readNewArray() throws TimeoutException, CAException, InterruptedException {
+		return controller.cagetDoubleArray(channel, size);
+	}
+}
@@ -0,0 +1,51 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package gda.epics.benchmark;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the Channel Access benchmarks in this package against a {@link gda.epics.softioc.SoftIoc}, so no IOC or other outside
+ * service is needed. The module is only built with the <code>benchmark</code> Maven profile (<code>mvn -Pbenchmark</code>).
+ * Standard JMH command line options may be given, e.g. a regular expression to select benchmarks:
+ *
+ * <pre>
+ * java -cp ... gda.epics.benchmark.BenchmarkMain LazyPVBenchmark -rf json
+ * </pre>
+ */
+public class BenchmarkMain {
+
+	private BenchmarkMain() {
+		// run from main only
+	}
+
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+		final CommandLineOptions commandLine = new CommandLineOptions(args);
+		final OptionsBuilder options = new OptionsBuilder();
+		if (commandLine.getIncludes().isEmpty()) {
+			options.include(BenchmarkMain.class.getPackage().getName() + "\\..*Benchmark");
+		}
+		new Runner(options.parent(commandLine).build()).run();
+	}
+}
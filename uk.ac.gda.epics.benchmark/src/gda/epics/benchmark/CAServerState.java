@@ -0,0 +1,65 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package gda.epics.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import gda.epics.connection.EpicsController;
+import gda.epics.softioc.SoftIoc;
+import gov.aps.jca.CAException;
+
+/**
+ * The {@link SoftIoc} shared by the benchmarks of one fork, serving a scalar double PV.
+ */
+@State(Scope.Benchmark)
+public class CAServerState {
+
+	public static final String DOUBLE_PV = "BENCH:DOUBLE";
+
+	private SoftIoc ioc;
+
+	private EpicsController controller;
+
+	@Setup(Level.Trial)
+	public void start() throws CAException {
+		ioc = new SoftIoc();
+		ioc.configureClient();
+		ioc.addDouble(DOUBLE_PV, 0);
+		ioc.start();
+		controller = EpicsController.getInstance();
+	}
+
+	@TearDown(Level.Trial)
+	public void stop() throws CAException {
+		ioc.close();
+	}
+
+	public SoftIoc getIoc() {
+		return ioc;
+	}
+
+	public EpicsController getController() {
+		return controller;
+	}
+}
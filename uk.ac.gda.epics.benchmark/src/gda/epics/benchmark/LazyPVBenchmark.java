@@ -0,0 +1,83 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package gda.epics.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import gda.epics.LazyPVFactory;
+import gda.epics.PV;
+
+/**
+ * Throughput of {@link PV} gets, puts with callback, and puts whose value is then awaited through the PV's monitor.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class LazyPVBenchmark {
+
+	private PV<Double> pv;
+
+	private double value;
+
+	@Setup
+	public void setUp(@SuppressWarnings("unused") CAServerState server) throws IOException {
+		pv = LazyPVFactory.newDoublePV(CAServerState.DOUBLE_PV);
+		pv.setValueMonitoring(true);
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		pv.setValueMonitoring(false);
+	}
+
+	@Benchmark
+	public Double get() throws IOException {
+		return pv.get();
+	}
+
+	@Benchmark
+	public void putWait() throws IOException {
+		pv.putWait(value++);
+	}
+
+	@Benchmark
+	public Double putNoWaitThenWaitForValue() throws IOException, TimeoutException, InterruptedException {
+		final double target = value++;
+		pv.putNoWait(target);
+		return pv.waitForValue(v -> v == target, 5);
+	}
+}
@@ -0,0 +1,150 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package gda.epics.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import gda.epics.connection.EpicsController;
+import gov.aps.jca.CAException;
+import gov.aps.jca.CAStatus;
+import gov.aps.jca.Channel;
+import gov.aps.jca.TimeoutException;
+import gov.aps.jca.dbr.DBR_Double;
+import gov.aps.jca.event.LosslessMonitorListener;
+import gov.aps.jca.event.MonitorEvent;
+import gov.aps.jca.event.MonitorListener;
+import gov.aps.jca.event.SplitQueuedEventDispatcher;
+
+/**
+ * Throughput of monitor events through {@link SplitQueuedEventDispatcher}, from many channels to a listener each, with
+ * latest-only and lossless delivery. The events delivered are reported alongside those dispatched; for latest-only
+ * delivery the difference is the number conflated.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MonitorDispatchBenchmark {
+
+	private static final int CHANNELS = 64;
+
+	@Param({ "1", "4" })
+	private int monitorThreads;
+
+	@Param({ "false", "true" })
+	private boolean lossless;
+
+	private SplitQueuedEventDispatcher dispatcher;
+
+	private final LongAdder delivered = new LongAdder();
+
+	private MonitorEvent[] events;
+
+	private MonitorListener[] listeners;
+
+	private Channel[] channels;
+
+	private EpicsController controller;
+
+	@Setup(Level.Trial)
+	public void setUp(CAServerState server) throws CAException, TimeoutException {
+		controller = server.getController();
+		channels = new Channel[CHANNELS];
+		dispatcher = new SplitQueuedEventDispatcher(monitorThreads, SplitQueuedEventDispatcher.DEFAULT_LOSSLESS_QUEUE_SIZE);
+		events = new MonitorEvent[CHANNELS];
+		listeners = new MonitorListener[CHANNELS];
+		for (int i = 0; i < CHANNELS; i++) {
+			final String pvName = "BENCH:DISPATCH" + i;
+			server.getIoc().addDouble(pvName, i);
+			channels[i] = controller.createChannel(pvName);
+			// dispatched directly rather than posted by the server, so that only the dispatcher is measured
+			events[i] = new MonitorEvent(channels[i], new DBR_Double(new double[] { i }), CAStatus.NORMAL);
+			listeners[i] = lossless ? (LosslessMonitorListener) ev -> delivered.increment() : ev -> delivered.increment();
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		dispatcher.dispose();
+		for (Channel channel : channels) {
+			controller.destroy(channel);
+		}
+	}
+
+	/**
+	 * Events delivered during an iteration, reported by JMH as a rate
+	 */
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	@State(Scope.Thread)
+	public static class Delivery {
+
+		public long delivered;
+
+		private long start;
+
+		@Setup(Level.Iteration)
+		public void start(MonitorDispatchBenchmark benchmark) {
+			start = benchmark.delivered.sum();
+		}
+
+		@TearDown(Level.Iteration)
+		public void stop(MonitorDispatchBenchmark benchmark) {
+			delivered = benchmark.delivered.sum() - start;
+		}
+	}
+
+	@Benchmark
+	public void dispatch(ChannelIndex index, @SuppressWarnings("unused") Delivery delivery) {
+		final int i = index.next();
+		dispatcher.dispatch(events[i], listeners[i]);
+	}
+
+	/**
+	 * Cycles each benchmark thread through the channels
+	 */
+	@State(Scope.Thread)
+	public static class ChannelIndex {
+
+		private int i;
+
+		int next() {
+			i = (i + 1) % CHANNELS;
+			return i;
+		}
+	}
+}
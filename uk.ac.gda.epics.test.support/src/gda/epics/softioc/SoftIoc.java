@@ -0,0 +1,507 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package gda.epics.softioc;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.cosylab.epics.caj.cas.util.DefaultServerImpl;
+import com.cosylab.epics.caj.cas.util.MemoryProcessVariable;
+
+import gov.aps.jca.CAException;
+import gov.aps.jca.CAStatus;
+import gov.aps.jca.JCALibrary;
+import gov.aps.jca.cas.ProcessVariableReadCallback;
+import gov.aps.jca.cas.ProcessVariableWriteCallback;
+import gov.aps.jca.cas.ServerContext;
+import gov.aps.jca.dbr.DBR;
+import gov.aps.jca.dbr.DBRType;
+import gov.aps.jca.dbr.DBR_Byte;
+import gov.aps.jca.dbr.DBR_Double;
+import gov.aps.jca.dbr.DBR_Enum;
+import gov.aps.jca.dbr.DBR_Float;
+import gov.aps.jca.dbr.DBR_Int;
+import gov.aps.jca.dbr.DBR_Short;
+import uk.ac.diamond.daq.concurrent.Async;
+
+/**
+ * A soft IOC run in this JVM: a CA server on localhost serving PVs held in memory, so that tests and load generators
+ * can exercise real Channel Access without an IOC or simulator. It listens on its own port rather than the default CA
+ * port, so cannot be confused with a real IOC on the same host. Call {@link #configureClient()} before the CA client
+ * context (e.g. the {@code EpicsController}) is created to point it at this IOC alone; {@link #close()} puts back the
+ * client properties it replaced. The server's own properties are only set while its context is created.
+ * <p>
+ * PVs can be scalars, waveforms, enums or the PVs of an areaDetector plugin, see {@link #addAreaDetector}. Values
+ * written by clients or by {@link #post(String, DBR)} are sent to monitors. The IOC can also:
+ * <li>update PVs periodically, e.g. {@link #startUpdating(String, double, IntFunction)} and
+ * {@link #startFrames(String, double)}, to generate monitor load;
+ * <li>delay every client read and write by a fixed latency;
+ * <li>drop all connections with {@link #disconnect()} and accept them again with {@link #reconnect()}.
+ *
+ * <pre>
+ * {@code
+ * SoftIoc ioc = new SoftIoc();
+ * ioc.addDouble("TEST:VAL", 1.0);
+ * ioc.addAreaDetector("TEST:ARR:", 1024, 1024, DBRType.SHORT);
+ * ioc.start();
+ * ioc.startFrames("TEST:ARR:", 100);
+ * }
+ * </pre>
+ */
+public class SoftIoc implements AutoCloseable {
+
+	private static final Logger logger = LoggerFactory.getLogger(SoftIoc.class);
+
+	public static final int DEFAULT_PORT = 15064;
+
+	/** Large enough for a 4k x 4k frame of doubles */
+	public static final int DEFAULT_MAX_ARRAY_BYTES = 128 * 1024 * 1024;
+
+	private static final String CLIENT = "com.cosylab.epics.caj.CAJContext.";
+
+	private static final String SERVER = "com.cosylab.epics.caj.cas.CAJServerContext.";
+
+	/** The labels of an areaDetector DataType record */
+	private static final String[] AD_DATA_TYPES = { "Int8", "UInt8", "Int16", "UInt16", "Int32", "UInt32", "Float32",
+			"Float64" };
+
+	private final int port;
+
+	private final int maxArrayBytes;
+
+	private final DefaultServerImpl server = new DefaultServerImpl();
+
+	private final Map<String, SimulatedPV> pvs = new ConcurrentHashMap<>();
+
+	private final List<Future<?>> updaters = new ArrayList<>(); // guarded by itself
+
+	private volatile long latencyMs = 0;
+
+	private ServerContext context; // guarded by this
+
+	/** The values, or null if unset, of the system properties replaced by configureClient (guarded by this) */
+	private final Map<String, String> replacedClientProperties = new HashMap<>();
+
+	public SoftIoc() {
+		this(DEFAULT_PORT, DEFAULT_MAX_ARRAY_BYTES);
+	}
+
+	/**
+	 * @param port
+	 *            the TCP and UDP port to serve on
+	 * @param maxArrayBytes
+	 *            the largest array in bytes served
+	 */
+	public SoftIoc(int port, int maxArrayBytes) {
+		this.port = port;
+		this.maxArrayBytes = maxArrayBytes;
+	}
+
+	/**
+	 * Points CA clients created from now on in this JVM at this IOC only, until {@link #close()}.
+	 */
+	public synchronized void configureClient() {
+		replaceProperty(CLIENT + "server_port", Integer.toString(port), replacedClientProperties);
+		replaceProperty(CLIENT + "auto_addr_list", "false", replacedClientProperties);
+		replaceProperty(CLIENT + "addr_list", "127.0.0.1", replacedClientProperties);
+		replaceProperty(CLIENT + "max_array_bytes", Integer.toString(maxArrayBytes), replacedClientProperties);
+	}
+
+	/**
+	 * Starts serving PVs added so far, and any added later.
+	 *
+	 * @throws CAException
+	 */
+	public synchronized void start() throws CAException {
+		if (context != null) {
+			return;
+		}
+		// the context reads its configuration when created, so other servers in this JVM are left as they were
+		final Map<String, String> replaced = new HashMap<>();
+		final ServerContext newContext;
+		try {
+			replaceProperty(SERVER + "server_port", Integer.toString(port), replaced);
+			replaceProperty(SERVER + "auto_beacon_addr_list", "false", replaced);
+			replaceProperty(SERVER + "beacon_addr_list", "127.0.0.1", replaced);
+			replaceProperty(SERVER + "max_array_bytes", Integer.toString(maxArrayBytes), replaced);
+			newContext = JCALibrary.getInstance().createServerContext(JCALibrary.CHANNEL_ACCESS_SERVER_JAVA, server);
+		} finally {
+			restoreProperties(replaced);
+		}
+		final Thread serverThread = new Thread(() -> {
+			try {
+				newContext.run(0);
+			} catch (IllegalStateException | CAException e) {
+				logger.error("Soft IOC on port {} stopped", port, e);
+			}
+		}, "SoftIoc-" + port);
+		serverThread.setDaemon(true);
+		serverThread.start();
+		context = newContext;
+		logger.info("Soft IOC serving {} PVs on port {}", pvs.size(), port);
+	}
+
+	/**
+	 * Stops serving, so that every client sees its channels disconnect. PVs keep their values.
+	 *
+	 * @throws CAException
+	 */
+	public synchronized void disconnect() throws CAException {
+		if (context != null) {
+			context.destroy();
+			context = null;
+		}
+	}
+
+	/**
+	 * Serves again after {@link #disconnect()}, so that clients reconnect.
+	 *
+	 * @throws CAException
+	 */
+	public void reconnect() throws CAException {
+		start();
+	}
+
+	/**
+	 * Stops any periodic updates, stops serving and puts back any client properties replaced by
+	 * {@link #configureClient()}.
+	 */
+	@Override
+	public void close() throws CAException {
+		synchronized (updaters) {
+			updaters.forEach(updater -> updater.cancel(false));
+			updaters.clear();
+		}
+		disconnect();
+		synchronized (this) {
+			restoreProperties(replacedClientProperties);
+		}
+	}
+
+	private static void replaceProperty(String key, String value, Map<String, String> replaced) {
+		if (!replaced.containsKey(key)) {
+			replaced.put(key, System.getProperty(key));
+		}
+		System.setProperty(key, value);
+	}
+
+	private static void restoreProperties(Map<String, String> replaced) {
+		replaced.forEach((key, value) -> {
+			if (value == null) {
+				System.clearProperty(key);
+			} else {
+				System.setProperty(key, value);
+			}
+		});
+		replaced.clear();
+	}
+
+	/**
+	 * @param latencyMs
+	 *            time in ms by which every client read and write is delayed
+	 */
+	public void setLatency(long latencyMs) {
+		this.latencyMs = latencyMs;
+	}
+
+	public long getLatency() {
+		return latencyMs;
+	}
+
+	public int getPort() {
+		return port;
+	}
+
+	public void addDouble(String name, double value) {
+		add(name, DBRType.DOUBLE, new double[] { value }, null);
+	}
+
+	public void addInt(String name, int value) {
+		add(name, DBRType.INT, new int[] { value }, null);
+	}
+
+	public void addString(String name, String value) {
+		add(name, DBRType.STRING, new String[] { value }, null);
+	}
+
+	/**
+	 * @param name
+	 *            the PV name
+	 * @param labels
+	 *            the enum's labels
+	 * @param index
+	 *            the index of the initial label
+	 */
+	public void addEnum(String name, String[] labels, int index) {
+		add(name, DBRType.ENUM, new short[] { (short) index }, labels.clone());
+	}
+
+	/**
+	 * @param name
+	 *            the PV name
+	 * @param type
+	 *            one of BYTE, SHORT, INT, FLOAT or DOUBLE
+	 * @param size
+	 *            the number of elements, all initially zero
+	 */
+	public void addWaveform(String name, DBRType type, int size) {
+		add(name, type, newArray(type, size), null);
+	}
+
+	/**
+	 * Adds the PVs of an areaDetector array plugin: {@code ArrayData} sized width x height, {@code ArraySize0_RBV},
+	 * {@code ArraySize1_RBV}, {@code ArraySize2_RBV}, {@code NDimensions_RBV}, {@code DataType_RBV},
+	 * {@code ArrayCounter_RBV}, {@code UniqueId_RBV} and {@code ArrayCallbacks}, each prefixed by prefix.
+	 *
+	 * @param prefix
+	 *            the plugin's PV prefix, including any trailing separator
+	 * @param width
+	 *            the frame width
+	 * @param height
+	 *            the frame height
+	 * @param type
+	 *            one of BYTE, SHORT, INT, FLOAT or DOUBLE
+	 */
+	public void addAreaDetector(String prefix, int width, int height, DBRType type) {
+		addWaveform(prefix + "ArrayData", type, width * height);
+		addInt(prefix + "ArraySize0_RBV", width);
+		addInt(prefix + "ArraySize1_RBV", height);
+		addInt(prefix + "ArraySize2_RBV", 0);
+		addInt(prefix + "NDimensions_RBV", 2);
+		addEnum(prefix + "DataType_RBV", AD_DATA_TYPES, adDataType(type));
+		addInt(prefix + "ArrayCounter_RBV", 0);
+		addInt(prefix + "UniqueId_RBV", 0);
+		addEnum(prefix + "ArrayCallbacks", new String[] { "Disable", "Enable" }, 1);
+	}
+
+	private void add(String name, DBRType type, Object value, String[] labels) {
+		final SimulatedPV pv = new SimulatedPV(name, type, value, labels);
+		if (pvs.putIfAbsent(name, pv) != null) {
+			throw new IllegalArgumentException("The soft IOC already has a PV " + name);
+		}
+		server.registerProcessVaribale(pv);
+	}
+
+	/**
+	 * Sets a PV's value as the IOC would, sending it to monitors without the simulated latency.
+	 *
+	 * @param name
+	 *            the PV name
+	 * @param value
+	 *            the new value
+	 */
+	public void post(String name, DBR value) {
+		getPV(name).post(value);
+	}
+
+	/**
+	 * @param name
+	 *            the PV name
+	 * @return the PV's current value, an array of its native type
+	 */
+	public Object getValue(String name) {
+		return getPV(name).getValue();
+	}
+
+	/**
+	 * Updates a PV at a fixed rate.
+	 *
+	 * @param name
+	 *            the PV name
+	 * @param rateHz
+	 *            updates per second
+	 * @param value
+	 *            gives the value for each update from the update's count, starting from 1
+	 */
+	public void startUpdating(String name, double rateHz, IntFunction<DBR> value) {
+		final SimulatedPV pv = getPV(name);
+		final AtomicInteger count = new AtomicInteger();
+		schedule(rateHz, () -> pv.post(value.apply(count.incrementAndGet())));
+	}
+
+	/**
+	 * Produces frames at a fixed rate from an areaDetector plugin added with {@link #addAreaDetector}: the ArrayData,
+	 * then UniqueId_RBV, then ArrayCounter_RBV are updated, as the real plugin does. Each frame's elements are its
+	 * count plus their index.
+	 *
+	 * @param prefix
+	 *            the plugin's PV prefix
+	 * @param framesPerSecond
+	 *            the frame rate
+	 */
+	public void startFrames(String prefix, double framesPerSecond) {
+		final SimulatedPV data = getPV(prefix + "ArrayData");
+		final SimulatedPV uniqueId = getPV(prefix + "UniqueId_RBV");
+		final SimulatedPV counter = getPV(prefix + "ArrayCounter_RBV");
+		final DBRType type = data.getType();
+		final int size = data.getDimensionSize(0);
+		final AtomicInteger count = new AtomicInteger();
+		schedule(framesPerSecond, () -> {
+			final int frame = count.incrementAndGet();
+			data.post(frame(type, size, frame));
+			uniqueId.post(new DBR_Int(new int[] { frame }));
+			counter.post(new DBR_Int(new int[] { frame }));
+		});
+	}
+
+	private void schedule(double rateHz, Runnable update) {
+		final long periodNanos = (long) (1e9 / rateHz);
+		final Future<?> updater = Async.scheduleAtFixedRate(() -> {
+			try {
+				update.run();
+			} catch (RuntimeException e) {
+				logger.error("Soft IOC update failed", e);
+			}
+		}, periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+		synchronized (updaters) {
+			updaters.add(updater);
+		}
+	}
+
+	private SimulatedPV getPV(String name) {
+		final SimulatedPV pv = pvs.get(name);
+		if (pv == null) {
+			throw new IllegalArgumentException("The soft IOC has no PV " + name);
+		}
+		return pv;
+	}
+
+	private static int adDataType(DBRType type) {
+		if (type.isBYTE()) {
+			return 0;
+		} else if (type.isSHORT()) {
+			return 2;
+		} else if (type.isINT()) {
+			return 4;
+		} else if (type.isFLOAT()) {
+			return 6;
+		} else if (type.isDOUBLE()) {
+			return 7;
+		}
+		throw new IllegalArgumentException("No areaDetector data type for " + type);
+	}
+
+	private static Object newArray(DBRType type, int size) {
+		if (type.isBYTE()) {
+			return new byte[size];
+		} else if (type.isSHORT()) {
+			return new short[size];
+		} else if (type.isINT()) {
+			return new int[size];
+		} else if (type.isFLOAT()) {
+			return new float[size];
+		} else if (type.isDOUBLE()) {
+			return new double[size];
+		}
+		throw new IllegalArgumentException("Unsupported waveform type " + type);
+	}
+
+	private static DBR frame(DBRType type, int size, int frame) {
+		if (type.isBYTE()) {
+			final byte[] data = new byte[size];
+			for (int i = 0; i < size; i++) {
+				data[i] = (byte) (frame + i);
+			}
+			return new DBR_Byte(data);
+		} else if (type.isSHORT()) {
+			final short[] data = new short[size];
+			for (int i = 0; i < size; i++) {
+				data[i] = (short) (frame + i);
+			}
+			return new DBR_Short(data);
+		} else if (type.isINT()) {
+			final int[] data = new int[size];
+			for (int i = 0; i < size; i++) {
+				data[i] = frame + i;
+			}
+			return new DBR_Int(data);
+		} else if (type.isFLOAT()) {
+			final float[] data = new float[size];
+			for (int i = 0; i < size; i++) {
+				data[i] = frame + i;
+			}
+			return new DBR_Float(data);
+		}
+		final double[] data = new double[size];
+		for (int i = 0; i < size; i++) {
+			data[i] = frame + i;
+		}
+		return new DBR_Double(data);
+	}
+
+	/**
+	 * An in memory PV which delays client requests by the IOC's latency, and may have enum labels.
+	 */
+	private class SimulatedPV extends MemoryProcessVariable {
+
+		private final String[] labels;
+
+		SimulatedPV(String name, DBRType type, Object value, String[] labels) {
+			super(name, null, type, value);
+			this.labels = labels;
+		}
+
+		@Override
+		public String[] getEnumLabels() {
+			return labels;
+		}
+
+		@Override
+		public CAStatus read(DBR value, ProcessVariableReadCallback asyncReadCallback) throws CAException {
+			delay();
+			return super.read(value, asyncReadCallback);
+		}
+
+		@Override
+		public CAStatus write(DBR value, ProcessVariableWriteCallback asyncWriteCallback) throws CAException {
+			delay();
+			return super.write(value, asyncWriteCallback);
+		}
+
+		void post(DBR value) {
+			try {
+				super.write(value, null);
+			} catch (CAException e) {
+				logger.error("Could not update {}", getName(), e);
+			}
+		}
+
+		private void delay() {
+			final long delayMs = latencyMs;
+			if (delayMs > 0) {
+				try {
+					Thread.sleep(delayMs);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
+	}
+}
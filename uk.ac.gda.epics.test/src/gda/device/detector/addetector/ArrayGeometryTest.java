@@ -0,0 +1,106 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package gda.device.detector.addetector;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import gda.device.detector.areadetector.v17.NDPluginBase;
+import gda.observable.ObservableUtil;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ArrayGeometryTest {
+
+	@Mock
+	private NDPluginBase pluginBase;
+
+	private final ObservableUtil<Integer> nDimensions = new ObservableUtil<>();
+	private final ObservableUtil<Integer> arraySize0 = new ObservableUtil<>();
+	private final ObservableUtil<Integer> arraySize1 = new ObservableUtil<>();
+	private final ObservableUtil<Integer> arraySize2 = new ObservableUtil<>();
+	private final ObservableUtil<Integer> dataType = new ObservableUtil<>();
+
+	private ArrayGeometry geometry;
+
+	@Before
+	public void setUp() throws Exception {
+		when(pluginBase.createNDimensionsObservable()).thenReturn(nDimensions);
+		when(pluginBase.createArraySizeObservable(0)).thenReturn(arraySize0);
+		when(pluginBase.createArraySizeObservable(1)).thenReturn(arraySize1);
+		when(pluginBase.createArraySizeObservable(2)).thenReturn(arraySize2);
+		when(pluginBase.createDataTypeObservable()).thenReturn(dataType);
+		when(pluginBase.getNDimensions_RBV()).thenReturn(2);
+		when(pluginBase.getArraySize0_RBV()).thenReturn(640);
+		when(pluginBase.getArraySize1_RBV()).thenReturn(480);
+		when(pluginBase.getArraySize2_RBV()).thenReturn(0);
+		when(pluginBase.getDataType_RBV()).thenReturn(NDPluginBase.UInt16);
+		geometry = new ArrayGeometry(pluginBase);
+		geometry.startMonitoring();
+	}
+
+	@Test
+	public void testValuesAreReadWhenMonitoringStarts() {
+		assertTrue(geometry.isMonitoring());
+		assertArrayEquals(new int[] { 480, 640 }, geometry.getDimensions());
+		assertEquals(NDPluginBase.UInt16, geometry.getDataType());
+	}
+
+	@Test
+	public void testChangesAreFollowedWithoutReading() throws Exception {
+		nDimensions.notifyIObservers(nDimensions, 3);
+		arraySize0.notifyIObservers(arraySize0, 3);
+		arraySize2.notifyIObservers(arraySize2, 200);
+		dataType.notifyIObservers(dataType, (int) NDPluginBase.UInt8);
+
+		assertArrayEquals(new int[] { 200, 480, 3 }, geometry.getDimensions());
+		assertEquals(NDPluginBase.UInt8, geometry.getDataType());
+		verify(pluginBase, times(1)).getArraySize0_RBV();
+	}
+
+	@Test
+	public void testChangesAreIgnoredOnceStopped() {
+		geometry.stopMonitoring();
+		arraySize0.notifyIObservers(arraySize0, 1024);
+
+		assertFalse(geometry.isMonitoring());
+		assertArrayEquals(new int[] { 480, 640 }, geometry.getDimensions());
+	}
+
+	@Test
+	public void testRestartingReusesObservablesAndReadsAgain() throws Exception {
+		geometry.stopMonitoring();
+		when(pluginBase.getArraySize0_RBV()).thenReturn(1024);
+		geometry.startMonitoring();
+
+		assertArrayEquals(new int[] { 480, 1024 }, geometry.getDimensions());
+		verify(pluginBase, times(1)).createNDimensionsObservable();
+	}
+}
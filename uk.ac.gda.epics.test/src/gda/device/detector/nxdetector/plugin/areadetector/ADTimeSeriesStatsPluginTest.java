@@ -76,16 +76,16 @@ public class ADTimeSeriesStatsPluginTest {
 	private ReadOnlyPV<Boolean> tsAquiringPV;
 
 	@Mock
-	private Map<Stat, ReadOnlyPV<Double[]>> tsArrayPVMap;
+	private Map<Stat, ReadOnlyPV<double[]>> tsArrayPVMap;
 
 	@Mock
 	private ReadOnlyPV<Integer> tsCurrentPointPV;
 
 	@Mock
-	private ReadOnlyPV<Double[]> maxArrayPV;
+	private ReadOnlyPV<double[]> maxArrayPV;
 
 	@Mock
-	private ReadOnlyPV<Double[]> cenxArrayPV;
+	private ReadOnlyPV<double[]> cenxArrayPV;
 
 	@Mock
 	private NDStatsPVs pvs;
@@ -247,8 +247,8 @@ public class ADTimeSeriesStatsPluginTest {
 
 	@Test
 	public void testReadWhileEnabled() throws Exception {
-		when(pvs.getTSArrayPV(BasicStat.MaxValue).get()).thenReturn(new Double[] {0., 1., 2.});
-		when(pvs.getTSArrayPV(CentroidStat.CentroidX).get()).thenReturn(new Double[] {10., 11., 12.});
+		when(pvs.getTSArrayPV(BasicStat.MaxValue).get()).thenReturn(new double[] {0., 1., 2.});
+		when(pvs.getTSArrayPV(CentroidStat.CentroidX).get()).thenReturn(new double[] {10., 11., 12.});
 		plugin.setEnabledBasicStats(asList(BasicStat.MaxValue));
 		plugin.setEnabledCentroidStats(asList(CentroidStat.CentroidX));
 		testPrepareForLine();
@@ -276,8 +276,8 @@ public class ADTimeSeriesStatsPluginTest {
 
 	@Test
 	public void  testEndCollectionWaitsForPointstoHaveBeenReadOut() throws Exception {
-		when(pvs.getTSArrayPV(BasicStat.MaxValue).get()).thenReturn(new Double[] {0., 1., 2.});
-		when(pvs.getTSArrayPV(CentroidStat.CentroidX).get()).thenReturn(new Double[] {10., 11., 12.});
+		when(pvs.getTSArrayPV(BasicStat.MaxValue).get()).thenReturn(new double[] {0., 1., 2.});
+		when(pvs.getTSArrayPV(CentroidStat.CentroidX).get()).thenReturn(new double[] {10., 11., 12.});
 		plugin.setEnabledBasicStats(asList(BasicStat.MaxValue));
 		plugin.setEnabledCentroidStats(asList(CentroidStat.CentroidX));
 		testPrepareForLine();
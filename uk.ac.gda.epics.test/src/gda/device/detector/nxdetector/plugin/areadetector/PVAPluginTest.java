@@ -0,0 +1,88 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package gda.device.detector.nxdetector.plugin.areadetector;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import gda.device.detector.areadetector.v17.NDPluginBase;
+import gda.device.detector.areadetector.v17.NDPva;
+import gda.scan.ScanInformation;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PVAPluginTest {
+
+	@Mock
+	private NDPva ndPva;
+	@Mock
+	private NDPluginBase pluginBase;
+	@Mock
+	private ScanInformation scanInfo;
+
+	private PVAPlugin plugin;
+
+	@Before
+	public void setUp() {
+		when(ndPva.getPluginBase()).thenReturn(pluginBase);
+		plugin = new PVAPlugin(ndPva);
+	}
+
+	@Test
+	public void testReadsLatestFrameByDefault() throws Exception {
+		when(ndPva.getImageObject()).thenReturn(new int[] { 1, 2, 3, 4 });
+		when(ndPva.getHeight()).thenReturn(2);
+		when(ndPva.getWidth()).thenReturn(2);
+		plugin.prepareForCollection(1, scanInfo);
+		plugin.read();
+		verify(ndPva, never()).startFrameMonitor();
+		verify(ndPva, never()).getNextImage(Mockito.anyDouble());
+	}
+
+	@Test
+	public void testReadsQueuedFramesWithFrameMonitor() throws Exception {
+		plugin.setUseFrameMonitor(true);
+		plugin.setFrameTimeout(2.0);
+		when(ndPva.isFrameMonitorRunning()).thenReturn(true);
+		when(ndPva.getNextImage(2.0)).thenReturn(new int[] { 1, 2, 3, 4 });
+		when(ndPva.getHeight()).thenReturn(2);
+		when(ndPva.getWidth()).thenReturn(2);
+		when(ndPva.getFramesReceived()).thenReturn(1L);
+		when(ndPva.getFramesConsumed()).thenReturn(1L);
+
+		plugin.prepareForCollection(1, scanInfo);
+		plugin.read();
+		plugin.completeCollection();
+
+		final InOrder inOrder = Mockito.inOrder(ndPva);
+		inOrder.verify(ndPva).startFrameMonitor();
+		inOrder.verify(ndPva).getNextImage(2.0);
+		inOrder.verify(ndPva).stopFrameMonitor();
+		verify(ndPva, never()).getImageObject();
+	}
+}
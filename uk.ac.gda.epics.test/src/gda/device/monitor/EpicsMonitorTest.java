@@ -0,0 +1,145 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package gda.device.monitor;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Field;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import gda.epics.connection.EpicsChannelManager;
+import gda.epics.connection.EpicsController;
+import gda.epics.connection.EpicsController.MonitorType;
+import gov.aps.jca.Channel;
+import gov.aps.jca.dbr.DBRType;
+import gov.aps.jca.dbr.DBR_CTRL_Double;
+import gov.aps.jca.dbr.DBR_CTRL_Enum;
+import gov.aps.jca.dbr.DBR_Double;
+import gov.aps.jca.dbr.DBR_Enum;
+import gov.aps.jca.event.ConnectionEvent;
+import gov.aps.jca.event.ConnectionListener;
+import gov.aps.jca.event.MonitorListener;
+
+public class EpicsMonitorTest {
+
+	private static final String PV_NAME = "BL00I-EA-TEST-01:VALUE";
+
+	private EpicsMonitor monitor;
+	private EpicsController controller;
+	private EpicsChannelManager channelManager;
+	private Channel channel;
+
+	@Before
+	public void setUp() throws Exception {
+		controller = mock(EpicsController.class);
+		channelManager = mock(EpicsChannelManager.class);
+		channel = mock(Channel.class);
+		when(channel.getName()).thenReturn(PV_NAME);
+		when(channelManager.createChannel(anyString(), any(MonitorListener.class), any(MonitorType.class), anyBoolean()))
+				.thenReturn(channel);
+
+		monitor = new EpicsMonitor();
+		monitor.setName("testMonitor");
+		monitor.setPvName(PV_NAME);
+		monitor.setPoll(true);
+
+		// pretend the channel connects as soon as it is created
+		doAnswer(invocation -> {
+			monitor.initializationCompleted();
+			return null;
+		}).when(channelManager).creationPhaseCompleted();
+
+		monitor.controller = controller;
+		final Field channelManagerField = EpicsMonitor.class.getDeclaredField("channelManager");
+		channelManagerField.setAccessible(true);
+		channelManagerField.set(monitor, channelManager);
+	}
+
+	private void setUpDouble(double value) throws Exception {
+		when(channel.getFieldType()).thenReturn(DBRType.DOUBLE);
+		final DBR_CTRL_Double ctrl = mock(DBR_CTRL_Double.class);
+		when(ctrl.isDOUBLE()).thenReturn(true);
+		when(ctrl.getUnits()).thenReturn("mm");
+		when(ctrl.getCount()).thenReturn(1);
+		when(ctrl.getType()).thenReturn(DBRType.CTRL_DOUBLE);
+		when(controller.getCTRLMetadata(channel)).thenReturn(ctrl);
+		final DBR_Double dbr = mock(DBR_Double.class);
+		when(dbr.isDOUBLE()).thenReturn(true);
+		when(dbr.getDoubleValue()).thenReturn(new double[] { value });
+		when(controller.getDBR(channel, DBRType.DOUBLE)).thenReturn(dbr);
+	}
+
+	@Test
+	public void testPollReadsPlainValueAndMetadataOnce() throws Exception {
+		setUpDouble(2.5);
+		monitor.configure();
+
+		assertEquals(2.5, (double) monitor.getPosition(), 0);
+		assertEquals(2.5, (double) monitor.getPosition(), 0);
+		assertEquals("mm", monitor.getUnit());
+		assertEquals(1, monitor.getElementCount());
+		verify(controller, never()).getCTRL(channel);
+		verify(controller, times(1)).getCTRLMetadata(channel);
+	}
+
+	@Test
+	public void testPollOfEnumUsesLabelsFromMetadata() throws Exception {
+		when(channel.getFieldType()).thenReturn(DBRType.ENUM);
+		final DBR_CTRL_Enum ctrl = mock(DBR_CTRL_Enum.class);
+		when(ctrl.isENUM()).thenReturn(true);
+		when(ctrl.isCTRL()).thenReturn(true);
+		when(ctrl.getCount()).thenReturn(1);
+		when(ctrl.getLabels()).thenReturn(new String[] { "Closed", "Open" });
+		when(controller.getCTRLMetadata(channel)).thenReturn(ctrl);
+		final DBR_Enum dbr = mock(DBR_Enum.class);
+		when(dbr.isENUM()).thenReturn(true);
+		when(dbr.getEnumValue()).thenReturn(new short[] { 1 });
+		when(controller.getDBR(channel, DBRType.ENUM)).thenReturn(dbr);
+		monitor.configure();
+
+		assertEquals("Open", monitor.getPosition());
+		verify(controller, never()).getCTRL(channel);
+	}
+
+	@Test
+	public void testReconnectionRefreshesMetadata() throws Exception {
+		setUpDouble(2.5);
+		monitor.configure();
+		final ArgumentCaptor<ConnectionListener> listener = ArgumentCaptor.forClass(ConnectionListener.class);
+		verify(channel).addConnectionListener(listener.capture());
+
+		listener.getValue().connectionChanged(new ConnectionEvent(channel, true));
+
+		verify(controller).invalidateCTRLMetadata(channel);
+		verify(controller, timeout(5000).times(2)).getCTRLMetadata(channel);
+	}
+}
@@ -22,21 +22,30 @@ import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 
 import org.junit.Before;
@@ -45,6 +54,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
 
 import gda.epics.PV.PVValues;
+import gda.epics.connection.BulkGetResult;
 import gda.epics.connection.EpicsController;
 import gov.aps.jca.CAException;
 import gov.aps.jca.CAStatus;
@@ -53,6 +63,8 @@ import gov.aps.jca.Monitor;
 import gov.aps.jca.dbr.DBRType;
 import gov.aps.jca.dbr.DBR_Enum;
 import gov.aps.jca.dbr.DBR_Int;
+import gov.aps.jca.event.ConnectionEvent;
+import gov.aps.jca.event.ConnectionListener;
 import gov.aps.jca.event.MonitorEvent;
 import gov.aps.jca.event.MonitorListener;
 import gov.aps.jca.event.PutEvent;
@@ -119,6 +131,101 @@ public class LazyPVFactoryTest {
 		verify(mockEpicsController, times(1)).createChannel(anyString());
 	}
 
+	@Test
+	public void testConcurrentGetsShareOneRequest() throws Exception {
+		CountDownLatch inFlight = new CountDownLatch(1);
+		CountDownLatch anotherRequest = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger requests = new AtomicInteger();
+		when(mockIntDBR.getIntValue()).thenReturn(new int[] { 3 });
+		when(mockEpicsController.getDBR(mockChannel, DBRType.INT)).thenAnswer(invocation -> {
+			if (requests.incrementAndGet() > 1) {
+				anotherRequest.countDown();
+			}
+			inFlight.countDown();
+			release.await();
+			return mockIntDBR;
+		});
+		FutureTask<Integer> first = new FutureTask<>(pv::get);
+		FutureTask<Integer> second = new FutureTask<>(pv::get);
+		new Thread(first).start();
+		assertTrue(inFlight.await(5, TimeUnit.SECONDS));
+		new Thread(second).start();
+		// the second get must wait for the first request rather than make its own
+		assertFalse(anotherRequest.await(200, TimeUnit.MILLISECONDS));
+		release.countDown();
+		assertEquals((Integer) 3, first.get(1, TimeUnit.SECONDS));
+		assertEquals((Integer) 3, second.get(1, TimeUnit.SECONDS));
+		verify(mockEpicsController, times(1)).getDBR(mockChannel, DBRType.INT);
+	}
+
+	@Test
+	public void testGetSharingAnInterruptedRequestMakesItsOwn() throws Exception {
+		CountDownLatch inFlight = new CountDownLatch(1);
+		CountDownLatch anotherRequest = new CountDownLatch(1);
+		AtomicInteger requests = new AtomicInteger();
+		when(mockIntDBR.getIntValue()).thenReturn(new int[] { 3 });
+		when(mockEpicsController.getDBR(mockChannel, DBRType.INT)).thenAnswer(invocation -> {
+			if (requests.incrementAndGet() > 1) {
+				anotherRequest.countDown();
+				return mockIntDBR;
+			}
+			inFlight.countDown();
+			new CountDownLatch(1).await();
+			return mockIntDBR;
+		});
+		FutureTask<Integer> first = new FutureTask<>(pv::get);
+		FutureTask<Integer> second = new FutureTask<>(pv::get);
+		Thread firstThread = new Thread(first);
+		firstThread.start();
+		assertTrue(inFlight.await(5, TimeUnit.SECONDS));
+		new Thread(second).start();
+		assertFalse(anotherRequest.await(200, TimeUnit.MILLISECONDS));
+		firstThread.interrupt();
+		try {
+			first.get(1, TimeUnit.SECONDS);
+			fail("The interrupted get should have failed");
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof InterruptedIOException);
+		}
+		// the interrupt was not meant for the second get, which makes the request again
+		assertEquals((Integer) 3, second.get(1, TimeUnit.SECONDS));
+		verify(mockEpicsController, times(2)).getDBR(mockChannel, DBRType.INT);
+	}
+
+	@Test
+	public void testGetAfterPutWaitDoesNotShareEarlierRequest() throws Exception {
+		CountDownLatch inFlight = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger requests = new AtomicInteger();
+		DBR_Int afterPut = mock(DBR_Int.class);
+		when(mockIntDBR.getIntValue()).thenReturn(new int[] { 3 });
+		when(afterPut.getIntValue()).thenReturn(new int[] { 5 });
+		when(mockEpicsController.getDBR(mockChannel, DBRType.INT)).thenAnswer(invocation -> {
+			if (requests.incrementAndGet() > 1) {
+				return afterPut;
+			}
+			inFlight.countDown();
+			release.await();
+			return mockIntDBR;
+		});
+		PutEvent mockPutEvent = mock(PutEvent.class);
+		when(mockPutEvent.getStatus()).thenReturn(CAStatus.NORMAL);
+		doAnswer(invocation -> {
+			invocation.<PutListener> getArgument(2).putCompleted(mockPutEvent);
+			return null;
+		}).when(mockEpicsController).caput(eq(mockChannel), eq(5), any(PutListener.class));
+
+		FutureTask<Integer> before = new FutureTask<>(pv::get);
+		new Thread(before).start();
+		assertTrue(inFlight.await(5, TimeUnit.SECONDS));
+		pv.putWait(5);
+		assertEquals((Integer) 5, pv.get());
+		release.countDown();
+		assertEquals((Integer) 3, before.get(1, TimeUnit.SECONDS));
+		verify(mockEpicsController, times(2)).getDBR(mockChannel, DBRType.INT);
+	}
+
 	@Test
 	public void testSetValueMonitoringTrue() throws Exception {
 		pv.setValueMonitoring(true);
@@ -170,6 +277,28 @@ public class LazyPVFactoryTest {
 
 	}
 
+	@Test
+	public void testGetUsesFreshMonitoredValueWhenEnabled() throws Exception {
+		LazyPVFactory.setMonitoredGetMaxAge(60000);
+		try {
+			MonitorListener monitorListener = setupMonitoring();
+			when(mockChannel.getConnectionState()).thenReturn(Channel.CONNECTED);
+			when(mockEventDBR.getIntValue()).thenReturn(new int[] { 2 });
+			monitorListener.monitorChanged(mockEvent);
+			long fromMonitor = LazyPVFactory.getGetsFromMonitorCount();
+
+			assertEquals((Integer) 2, pv.get());
+			assertEquals(fromMonitor + 1, LazyPVFactory.getGetsFromMonitorCount());
+			verify(mockEpicsController, times(0)).getDBR(mockChannel, DBRType.INT);
+
+			when(mockChannel.getConnectionState()).thenReturn(Channel.DISCONNECTED);
+			when(mockIntDBR.getIntValue()).thenReturn(new int[] { 1 });
+			assertEquals((Integer) 1, pv.get()); // monitor disconnected so gone out to get
+		} finally {
+			LazyPVFactory.setMonitoredGetMaxAge(-1);
+		}
+	}
+
 	protected MonitorListener setupMonitoring() throws IOException, CAException {
 		ArgumentCaptor<MonitorListener> monitorArgument = ArgumentCaptor.forClass(MonitorListener.class);
 		pv.setValueMonitoring(true);
@@ -237,6 +366,41 @@ public class LazyPVFactoryTest {
 
 	}
 
+	@Test
+	public void testWaitForValueAsync() throws Exception {
+		MonitorListener monitorListener = setupMonitoring();
+
+		when(mockIntDBR.getIntValue()).thenReturn(new int[] { 1 });
+		when(mockEventDBR.getIntValue()).thenReturn(new int[] { 1 });
+		monitorListener.monitorChanged(mockEvent);
+
+		CompletableFuture<Integer> future = pv.waitForValueAsync(i -> i > 10);
+		assertFalse(future.isDone());
+
+		when(mockEventDBR.getIntValue()).thenReturn(new int[] { 4 });
+		monitorListener.monitorChanged(mockEvent);
+		assertFalse(future.isDone());
+
+		when(mockEventDBR.getIntValue()).thenReturn(new int[] { 11 });
+		monitorListener.monitorChanged(mockEvent);
+		assertEquals((Integer) 11, future.get(1, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testGetAsyncDoesNotWaitForConnection() throws Exception {
+		ArgumentCaptor<ConnectionListener> connectionListener = ArgumentCaptor.forClass(ConnectionListener.class);
+		when(mockEpicsController.createChannel(eq(MOCK_PV_NAME), connectionListener.capture())).thenReturn(mockChannel);
+		when(mockEpicsController.getDBRAsync(mockChannel, DBRType.INT)).thenReturn(CompletableFuture.completedFuture(mockIntDBR));
+		when(mockIntDBR.getIntValue()).thenReturn(new int[] { 5 });
+
+		CompletableFuture<Integer> future = pv.getAsync();
+		assertFalse(future.isDone());
+
+		connectionListener.getValue().connectionChanged(new ConnectionEvent(mockChannel, true));
+		assertEquals((Integer) 5, future.get(1, TimeUnit.SECONDS));
+		verify(mockEpicsController, never()).createChannel(MOCK_PV_NAME);
+	}
+
 	@Test
 	public void testGetArray() throws Exception {
 		PV<Integer[]> pvArray2 = LazyPVFactory.newIntegerArrayPV(MOCK_PV_NAME);
@@ -247,6 +411,45 @@ public class LazyPVFactoryTest {
 		verify(mockEpicsController, times(1)).createChannel(MOCK_PV_NAME);
 	}
 
+	@Test
+	public void testGetPrimitiveArray() throws Exception {
+		PV<int[]> primitivePV = LazyPVFactory.newPrimitiveIntegerArrayPV(MOCK_PV_NAME);
+		when(mockIntDBR.getIntValue()).thenReturn(new int[] { 1, 2, 3 });
+		assertArrayEquals(new int[] { 1, 2, 3 }, primitivePV.get());
+		verify(mockEpicsController, times(1)).createChannel(MOCK_PV_NAME);
+	}
+
+	@Test
+	public void testGetPrimitiveInt() throws Exception {
+		IntPV intPV = LazyPVFactory.newPrimitiveIntegerPV(MOCK_PV_NAME);
+		when(mockIntDBR.getIntValue()).thenReturn(new int[] { 7 });
+		assertEquals(7, intPV.getInt());
+		assertEquals((Integer) 7, intPV.get());
+	}
+
+	@Test
+	public void testPutWaitPrimitiveDouble() throws Exception {
+		DoublePV doublePV = LazyPVFactory.newPrimitiveDoublePV(MOCK_PV_NAME);
+		doublePV.putWait(2.5);
+		verify(mockEpicsController).caputWait(mockChannel, 2.5);
+	}
+
+	@Test
+	public void testGetValues() throws Exception {
+		PV<Boolean> booleanPV = LazyPVFactory.newBooleanFromIntegerPV(MOCK_PV_NAME);
+		BulkGetResult mockResult = mock(BulkGetResult.class);
+		when(mockResult.getDBR(0)).thenReturn(mockIntDBR);
+		when(mockResult.getDBR(1)).thenReturn(mockIntDBR);
+		when(mockIntDBR.getIntValue()).thenReturn(new int[] { 1 });
+		when(mockEpicsController.getDBRs(Arrays.asList(mockChannel, mockChannel), DBRType.INT, DBRType.INT))
+				.thenReturn(mockResult);
+
+		PVValues values = LazyPVFactory.getValues(pv, booleanPV);
+		assertEquals((Integer) 1, values.get(pv));
+		assertTrue(values.get(booleanPV));
+		verify(mockEpicsController, times(0)).getDBR(any(Channel.class), any(DBRType.class));
+	}
+
 	@Test
 	public void testPut() throws Exception {
 		pv.putNoWait(1);
@@ -329,6 +532,50 @@ public class LazyPVFactoryTest {
 
 	}
 
+	/**
+	 * @return the listener given when the channel is created without waiting for it to connect
+	 */
+	private ArgumentCaptor<ConnectionListener> captureAsyncConnection() throws Exception {
+		ArgumentCaptor<ConnectionListener> connectionListener = ArgumentCaptor.forClass(ConnectionListener.class);
+		when(mockEpicsController.createChannel(eq(MOCK_PV_NAME), connectionListener.capture())).thenReturn(mockChannel);
+		return connectionListener;
+	}
+
+	@Test
+	public void testPutAsyncDoesNotWaitForConnection() throws Exception {
+		ArgumentCaptor<ConnectionListener> connectionListener = captureAsyncConnection();
+
+		pv.putAsync(1);
+		pv.putAsync(2);
+		verify(mockEpicsController, never()).caput(eq(mockChannel), anyInt(), any(PutListener.class));
+
+		connectionListener.getValue().connectionChanged(new ConnectionEvent(mockChannel, true));
+		InOrder inOrder = inOrder(mockEpicsController);
+		inOrder.verify(mockEpicsController).caput(eq(mockChannel), eq(1), any(PutListener.class));
+		inOrder.verify(mockEpicsController).caput(eq(mockChannel), eq(2), any(PutListener.class));
+		verify(mockEpicsController, never()).createChannel(MOCK_PV_NAME);
+	}
+
+	@Test
+	public void testPutAsyncAllowsSeveralOutstanding() throws Exception {
+		ArgumentCaptor<ConnectionListener> connectionListener = captureAsyncConnection();
+		ArgumentCaptor<PutListener> putListenerArgument = ArgumentCaptor.forClass(PutListener.class);
+		CompletableFuture<Void> first = pv.putAsync(1);
+		CompletableFuture<Void> second = pv.putAsync(2);
+		connectionListener.getValue().connectionChanged(new ConnectionEvent(mockChannel, true));
+		verify(mockEpicsController).caput(eq(mockChannel), eq(1), putListenerArgument.capture());
+		verify(mockEpicsController).caput(eq(mockChannel), eq(2), putListenerArgument.capture());
+
+		PutEvent mockPutEvent = mock(PutEvent.class);
+		when(mockPutEvent.getStatus()).thenReturn(CAStatus.NORMAL);
+
+		putListenerArgument.getAllValues().get(1).putCompleted(mockPutEvent);
+		assertFalse(first.isDone());
+		assertTrue(second.isDone());
+		putListenerArgument.getAllValues().get(0).putCompleted(mockPutEvent);
+		assertTrue(first.isDone());
+	}
+
 	@Test
 	public void testPutCallbackReturn() throws Exception {
 		@SuppressWarnings("unchecked")
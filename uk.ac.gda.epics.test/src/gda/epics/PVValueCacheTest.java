@@ -0,0 +1,111 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package gda.epics;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class PVValueCacheTest {
+
+	private PV<Double> pv;
+	private PVValueCache<Double> cache;
+
+	@SuppressWarnings("unchecked")
+	@Before
+	public void setUp() throws Exception {
+		pv = mock(PV.class);
+		when(pv.get()).thenReturn(1.0, 2.0);
+		cache = new PVValueCache<>(pv);
+	}
+
+	@Test
+	public void testSecondGetIsServedFromCache() throws Exception {
+		assertEquals(1.0, cache.get(), 0);
+		assertEquals(1.0, cache.get(), 0);
+		verify(pv, times(1)).get();
+		assertEquals(1, cache.getMissCount());
+		assertEquals(1, cache.getHitCount());
+	}
+
+	@Test
+	public void testMonitorUpdateIsServedWithoutGet() throws Exception {
+		cache.update(pv, 5.0);
+		assertEquals(5.0, cache.get(), 0);
+		verify(pv, never()).get();
+	}
+
+	@Test
+	public void testStaleValueIsFetchedAgain() throws Exception {
+		cache.setMaxStaleness(0, TimeUnit.NANOSECONDS);
+		cache.get();
+		Thread.sleep(1);
+		assertEquals(2.0, cache.get(), 0);
+		assertEquals(1, cache.getStaleCount());
+	}
+
+	@Test
+	public void testPutOfCachedValueIsSkipped() throws Exception {
+		cache.update(pv, 3.0);
+		cache.putWait(3.0 + 1e-12);
+		verify(pv, never()).putWait(3.0 + 1e-12);
+		cache.putWait(4.0);
+		verify(pv).putWait(4.0);
+		assertEquals(1, cache.getSkippedPutCount());
+	}
+
+	@Test
+	public void testResetCacheForcesGet() throws Exception {
+		cache.update(pv, 3.0);
+		cache.resetCache();
+		assertEquals(1.0, cache.get(), 0);
+	}
+
+	@Test
+	public void testValueIsFreshWhileConnected() throws Exception {
+		cache.setMaxStaleness(0, TimeUnit.NANOSECONDS);
+		when(pv.isConnected()).thenReturn(true);
+		cache.update(pv, 3.0);
+		Thread.sleep(1);
+		assertEquals(3.0, cache.get(), 0);
+		verify(pv, never()).get();
+		assertEquals(1, cache.getHitCount());
+	}
+
+	@Test
+	public void testResetDuringGetReturnsFetchedValue() throws Exception {
+		cache.setMaxStaleness(0, TimeUnit.NANOSECONDS);
+		cache.update(pv, 3.0);
+		Thread.sleep(1);
+		when(pv.get()).thenAnswer(invocation -> {
+			cache.resetCache();
+			return 1.0;
+		});
+		assertEquals(1.0, cache.get(), 0);
+	}
+}
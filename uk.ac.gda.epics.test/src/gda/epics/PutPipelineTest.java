@@ -0,0 +1,115 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package gda.epics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class PutPipelineTest {
+
+	private PV<Double> pv;
+	private List<CompletableFuture<Void>> callbacks;
+	private PutPipeline<Double> pipeline;
+
+	@SuppressWarnings("unchecked")
+	@Before
+	public void setUp() {
+		pv = mock(PV.class);
+		when(pv.getPvName()).thenReturn("BL00I-EA-TEST-01:VAL");
+		callbacks = new ArrayList<>();
+		when(pv.putAsync(anyDouble())).thenAnswer(invocation -> {
+			CompletableFuture<Void> callback = new CompletableFuture<>();
+			callbacks.add(callback);
+			return callback;
+		});
+		pipeline = new PutPipeline<>(pv, 3);
+	}
+
+	@Test
+	public void testPutsAreNumberedAndOutstanding() throws Exception {
+		assertEquals(1, pipeline.put(1.0));
+		assertEquals(2, pipeline.put(2.0));
+		assertEquals(3, pipeline.put(3.0));
+		assertEquals(3, callbacks.size());
+		assertEquals(3, pipeline.getOutstandingCount());
+	}
+
+	@Test
+	public void testCompletionIsTrackedInOrder() throws Exception {
+		pipeline.put(1.0);
+		pipeline.put(2.0);
+		pipeline.put(3.0);
+		callbacks.get(1).complete(null);
+		callbacks.get(2).complete(null);
+		assertEquals(0, pipeline.getCompletedSequence());
+		assertEquals(1, pipeline.getOutstandingCount());
+
+		callbacks.get(0).complete(null);
+		assertEquals(3, pipeline.getCompletedSequence());
+		pipeline.waitForAll(0.1);
+	}
+
+	@Test
+	public void testWaitForSequenceTimesOut() throws Exception {
+		pipeline.put(1.0);
+		pipeline.put(2.0);
+		callbacks.get(0).complete(null);
+		pipeline.waitForSequence(1, 0.1);
+		try {
+			pipeline.waitForSequence(2, 0.1);
+			fail("Expected IOException");
+		} catch (IOException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testPutBlocksWhenFull() throws Exception {
+		pipeline.put(1.0);
+		pipeline.put(2.0);
+		pipeline.put(3.0);
+		try {
+			pipeline.put(4.0, 0.1);
+			fail("Expected IOException");
+		} catch (IOException e) {
+			// expected
+		}
+		callbacks.get(0).complete(null);
+		assertEquals(4, pipeline.put(4.0, 0.1));
+	}
+
+	@Test(expected = IOException.class)
+	public void testFailedPutFailsWaits() throws Exception {
+		pipeline.put(1.0);
+		callbacks.get(0).completeExceptionally(new IOException("put failed"));
+		pipeline.waitForAll(0.1);
+	}
+}
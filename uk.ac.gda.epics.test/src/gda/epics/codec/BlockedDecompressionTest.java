@@ -0,0 +1,278 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package gda.epics.codec;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class BlockedDecompressionTest {
+
+	private static byte[] testData(int length) {
+		// compressible but not trivially so
+		final Random random = new Random(length);
+		final byte[] data = new byte[length];
+		for (int i = 0; i < length; i++) {
+			data[i] = (byte) (i % 97 < 40 ? i % 7 : random.nextInt(4));
+		}
+		return data;
+	}
+
+	/**
+	 * A greedy LZ4 block compressor, enough to produce valid blocks with literals, matches and overlapping matches.
+	 */
+	private static byte[] lz4(byte[] src) {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		final int[] table = new int[1 << 12];
+		Arrays.fill(table, -1);
+		int anchor = 0;
+		int ip = 0;
+		final int matchLimit = src.length - 12;
+		while (ip < matchLimit) {
+			final int sequence = (src[ip] & 0xFF) | (src[ip + 1] & 0xFF) << 8 | (src[ip + 2] & 0xFF) << 16 | (src[ip + 3] & 0xFF) << 24;
+			final int hash = (sequence * -1640531535) >>> 20;
+			final int ref = table[hash];
+			table[hash] = ip;
+			if (ref < 0 || ip - ref > 65535 || src[ref] != src[ip] || src[ref + 1] != src[ip + 1] || src[ref + 2] != src[ip + 2]
+					|| src[ref + 3] != src[ip + 3]) {
+				ip++;
+				continue;
+			}
+			int length = 4;
+			while (ip + length < src.length - 5 && src[ref + length] == src[ip + length]) {
+				length++;
+			}
+			writeSequence(out, src, anchor, ip - anchor, ip - ref, length);
+			ip += length;
+			anchor = ip;
+		}
+		writeSequence(out, src, anchor, src.length - anchor, 0, 0);
+		return out.toByteArray();
+	}
+
+	private static void writeSequence(ByteArrayOutputStream out, byte[] src, int literalStart, int literals, int offset, int matchLength) {
+		final int matchCode = matchLength == 0 ? 0 : matchLength - 4;
+		out.write(Math.min(literals, 15) << 4 | Math.min(matchCode, 15));
+		writeLength(out, literals);
+		out.write(src, literalStart, literals);
+		if (matchLength > 0) {
+			out.write(offset & 0xFF);
+			out.write(offset >>> 8);
+			writeLength(out, matchCode);
+		}
+	}
+
+	private static void writeLength(ByteArrayOutputStream out, int length) {
+		if (length >= 15) {
+			int remaining = length - 15;
+			while (remaining >= 255) {
+				out.write(255);
+				remaining -= 255;
+			}
+			out.write(remaining);
+		}
+	}
+
+	private static byte[] bitShuffle(byte[] src, int off, int elements, int typeSize) {
+		final byte[] out = new byte[elements * typeSize];
+		final int rowLength = elements / 8;
+		for (int i = 0; i < elements; i++) {
+			for (int b = 0; b < typeSize; b++) {
+				for (int k = 0; k < 8; k++) {
+					if ((src[off + i * typeSize + b] & 1 << k) != 0) {
+						out[(b * 8 + k) * rowLength + i / 8] |= 1 << (i % 8);
+					}
+				}
+			}
+		}
+		return out;
+	}
+
+	private static void writeIntLE(ByteArrayOutputStream out, int value) {
+		out.write(value);
+		out.write(value >>> 8);
+		out.write(value >>> 16);
+		out.write(value >>> 24);
+	}
+
+	private static void writeIntBE(ByteArrayOutputStream out, int value) {
+		out.write(value >>> 24);
+		out.write(value >>> 16);
+		out.write(value >>> 8);
+		out.write(value);
+	}
+
+	private static void decompressAll(BlockedDecompression blocks) {
+		final byte[] scratch = new byte[blocks.getScratchSize()];
+		for (int i = 0; i < blocks.getBlockCount(); i++) {
+			blocks.decompress(i, scratch);
+		}
+	}
+
+	@Test
+	public void testLz4RoundTrip() {
+		final byte[] data = testData(10000);
+		final byte[] compressed = lz4(data);
+		final byte[] decompressed = new byte[data.length];
+		Lz4.decompress(compressed, 0, compressed.length, decompressed, 0, decompressed.length);
+		assertArrayEquals(data, decompressed);
+	}
+
+	@Test
+	public void testLz4OverlappingMatch() {
+		// "ab" then a match of 10 at offset 2
+		final byte[] compressed = { 0x26, 'a', 'b', 2, 0, 0x50, 'c', 'd', 'e', 'f', 'g' };
+		final byte[] decompressed = new byte[17];
+		Lz4.decompress(compressed, 0, compressed.length, decompressed, 0, decompressed.length);
+		assertEquals("ababababababcdefg", new String(decompressed));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testLz4RejectsWrongLength() {
+		final byte[] compressed = lz4(testData(100));
+		Lz4.decompress(compressed, 0, compressed.length, new byte[101], 0, 101);
+	}
+
+	@Test
+	public void testByteUnshuffle() {
+		// two 2 byte elements and a trailing byte
+		final byte[] shuffled = { 1, 3, 2, 4, 5 };
+		final byte[] unshuffled = new byte[5];
+		Shuffle.byteUnshuffle(shuffled, 0, unshuffled, 0, 5, 2);
+		assertArrayEquals(new byte[] { 1, 2, 3, 4, 5 }, unshuffled);
+	}
+
+	@Test
+	public void testBitUnshuffleReversesBitShuffle() {
+		final byte[] data = testData(64 * 4);
+		final byte[] unshuffled = new byte[data.length];
+		Shuffle.bitUnshuffle(bitShuffle(data, 0, 64, 4), 0, unshuffled, 0, 64, 4);
+		assertArrayEquals(data, unshuffled);
+	}
+
+	@Test
+	public void testBitshuffleLz4() {
+		final int typeSize = 2;
+		final int blockElements = 256;
+		final int total = 1003; // 3 whole blocks, a block of 232 and 3 elements left uncompressed
+		final byte[] data = testData(total * typeSize);
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		for (int i = 7; i >= 0; i--) {
+			out.write((int) ((long) total * typeSize >>> (8 * i)));
+		}
+		writeIntBE(out, blockElements * typeSize);
+		int element = 0;
+		while (total - element >= 8) {
+			final int length = Math.min(blockElements, (total - element) / 8 * 8);
+			final byte[] block = lz4(bitShuffle(data, element * typeSize, length, typeSize));
+			writeIntBE(out, block.length);
+			out.write(block, 0, block.length);
+			element += length;
+		}
+		out.write(data, element * typeSize, (total - element) * typeSize);
+
+		final byte[] compressed = out.toByteArray();
+		final byte[] decompressed = new byte[total * typeSize];
+		decompressAll(new BitshuffleLz4(compressed, 0, compressed.length, decompressed, 0, decompressed.length, typeSize));
+		assertArrayEquals(data, decompressed);
+	}
+
+	@Test
+	public void testBloscByteShuffleLz4() {
+		final int typeSize = 4;
+		final int blockSize = 4096;
+		final byte[] data = testData(3 * blockSize + 100);
+		final int blocks = 4;
+		final ByteArrayOutputStream body = new ByteArrayOutputStream();
+		final int[] starts = new int[blocks];
+		final int headerLength = 16 + 4 * blocks;
+		for (int b = 0; b < blocks; b++) {
+			starts[b] = headerLength + body.size();
+			final int start = b * blockSize;
+			final int bsize = Math.min(blockSize, data.length - start);
+			final boolean leftover = bsize < blockSize;
+			// shuffle, then one stream per byte of the type unless this is the leftover block
+			final byte[] shuffled = new byte[bsize];
+			final int n = bsize / typeSize;
+			for (int i = 0; i < n; i++) {
+				for (int j = 0; j < typeSize; j++) {
+					shuffled[j * n + i] = data[start + i * typeSize + j];
+				}
+			}
+			System.arraycopy(data, start + n * typeSize, shuffled, n * typeSize, bsize - n * typeSize);
+			final int splits = leftover ? 1 : typeSize;
+			final int splitSize = bsize / splits;
+			for (int s = 0; s < splits; s++) {
+				final byte[] stream = Arrays.copyOfRange(shuffled, s * splitSize, (s + 1) * splitSize);
+				final byte[] compressedStream = s == 0 ? stream : lz4(stream); // store the first uncompressed
+				writeIntLE(body, compressedStream.length);
+				body.write(compressedStream, 0, compressedStream.length);
+			}
+		}
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		out.write(2); // version
+		out.write(1);
+		out.write(0x1 | 1 << 5); // byte shuffle, LZ4
+		out.write(typeSize);
+		writeIntLE(out, data.length);
+		writeIntLE(out, blockSize);
+		writeIntLE(out, headerLength + body.size());
+		for (int start : starts) {
+			writeIntLE(out, start);
+		}
+		out.write(body.toByteArray(), 0, body.size());
+
+		final byte[] compressed = out.toByteArray();
+		final byte[] decompressed = new byte[data.length];
+		decompressAll(new Blosc(compressed, 0, compressed.length, decompressed, 0, decompressed.length));
+		assertArrayEquals(data, decompressed);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testBloscRejectsUnsupportedCompressor() {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		out.write(2);
+		out.write(1);
+		out.write(0x1 | 4 << 5); // Zstd
+		out.write(4);
+		writeIntLE(out, 1024);
+		writeIntLE(out, 1024);
+		writeIntLE(out, 40);
+		out.write(new byte[24], 0, 24);
+		final byte[] compressed = out.toByteArray();
+		new Blosc(compressed, 0, compressed.length, new byte[1024], 0, 1024);
+	}
+
+	@Test
+	public void testBufferPoolReusesReleasedBuffers() {
+		final BufferPool pool = new BufferPool(1);
+		final byte[] buffer = pool.acquire(100);
+		pool.release(buffer);
+		pool.release(new byte[10]); // pool is full
+		assertEquals(1, pool.size());
+		assertEquals(buffer, pool.acquire(50));
+		assertEquals(0, pool.size());
+	}
+}
@@ -0,0 +1,161 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package gda.epics.codec;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+/**
+ * Decompresses buffers written by the reference encoders rather than by this package's tests, so that a
+ * misreading of a format shared by the decoder and the test encoders still shows up.
+ * <p>
+ * The LZ4 streams are the output of liblz4 1.9.4. The blosc buffers are framed as c-blosc 1.21 {@code blosc_compress}
+ * frames them with LZ4 at clevel 5 and a forced block size of 256 bytes, and the bitshuffle buffer as the bitshuffle
+ * HDF5 filter does with a block size of 64 elements. The decompressed data is {@link #ramp(int, int)}.
+ */
+public class ReferenceVectorsTest {
+
+	private static final byte[] LZ4_RUN = hex(
+			"1f61010027506161616161");
+
+	private static final byte[] LZ4_TEXT = hex(
+			"ff1e54686520717569636b2062726f776e20666f78206a756d7073206f76657220746865206c617a7920646f672e202d00ff" +
+			"2c5020656e642e");
+
+	private static final byte[] BLOSC_SHUFFLE_SPLIT = hex(
+			"020121025802000000010000820100001c000000af0000004201000080000000000000010101020202030303040404050505" +
+			"0606060707070808080909090a0a0a0b0b0b0c0c0c0d0d0d0e0e0e0f0f0f1010101111111212121313131414141515151616" +
+			"161717171818181919191a1a1a1b1b1b1c1c1c1d1d1d1e1e1e1f1f1f20202021212122222223232324242425252526262627" +
+			"27272828282929292a2a0b0000001f00010067500000000000800000002a2b2b2b2c2c2c2d2d2d2e2e2e2f2f2f3030303131" +
+			"313232323333333434343535353636363737373838383939393a3a3a3b3b3b3c3c3c3d3d3d3e3e3e3f3f3f40404041414142" +
+			"42424343434444444545454646464747474848484949494a4a4a4b4b4b4c4c4c4d4d4d4e4e4e4f4f4f505050515151525252" +
+			"535353545454550b0000001f000100675000000000003c000000ff2255555656565757575858585959595a5a5a5b5b5b5c5c" +
+			"5c5d5d5d5e5e5e5f5f5f606060616161626262636363000000000005000f500000000000");
+
+	private static final byte[] BLOSC_SHUFFLE_NO_SPLIT = hex(
+			"020131045802000000010000ee0000001c00000070000000c400000050000000ff3600000001010102020203030304040405" +
+			"05050606060707070808080909090a0a0a0b0b0b0c0c0c0d0d0d0e0e0e0f0f0f101010111111121212131313141414150000" +
+			"0000000500a350000000000050000000ff3615151616161717171818181919191a1a1a1b1b1b1c1c1c1d1d1d1e1e1e1f1f1f" +
+			"2020202121212222222323232424242525252626262727272828282929292a2a00000000000500a350000000000026000000" +
+			"ff0c2a2b2b2b2c2c2c2d2d2d2e2e2e2f2f2f3030303131310000000000050025500000000000");
+
+	private static final byte[] BLOSC_BITSHUFFLE_SPLIT = hex(
+			"020124025802000000010000230100001c00000070000000c70000004100000066388ee3388ee3060066c00ffcc00ffc0600" +
+			"6600f0ff00f0ff060066000000ffffff06001100010011ff0100010b00070200001500070f000c02005000000000000b0000" +
+			"001f0001006750000000000044000000668ee3388ee3380600660ffcc00ffcc0060067f0ff00f0ff00060057ff000000ff06" +
+			"002100ff010011000100010b00010200010f000702000115000a18005000000000000b0000001f0001006750000000000058" +
+			"000000550055005600560056005700570057005800580058005900590059005a005a005a005b005b005b005c005c005c005d" +
+			"005d005d005e005e005e005f005f005f00600060006000610061006100620062006200630063006300");
+
+	private static final byte[] BLOSC_BITSHUFFLE_NO_SPLIT = hex(
+			"020134045802000000010000ef0000001c000000540000009300000034000000f617388ee3388ee3388ec00ffcc00ffcc00f" +
+			"00f0ff00f0ff00f0000000ffffff00000000000000000a000f0200b85000000000003b000000f21ee3388ee3388ee338fcc0" +
+			"0ffcc00ffcc0ff00f0ff00f0ff0000ffffff000000ffffffffff0000000000000000ff14000f0200b5500000000000580000" +
+			"002a0000002b0000002b0000002b0000002c0000002c0000002c0000002d0000002d0000002d0000002e0000002e0000002e" +
+			"0000002f0000002f0000002f000000300000003000000030000000310000003100000031000000");
+
+	private static final byte[] BITSHUFFLE_LZ4 = hex(
+			"0000000000000196000000800000002931388ee3030031c00ffc03003100f0ff030073000000ffffff000100060a000f0200" +
+			"385000000000000000002d31e3388e030031fcc00f030031ff00f003005100ffffff000600010800010200080c000f020030" +
+			"50000000000000000029318ee3380300310ffcc0030031f0ff00030051ffff000000060019ff01001f000100375000000000" +
+			"0000000012f00138c000000000ff000000000000000000420043004300");
+
+	private static byte[] hex(String hex) {
+		final byte[] bytes = new byte[hex.length() / 2];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = (byte) Integer.parseInt(hex.substring(2 * i, 2 * i + 2), 16);
+		}
+		return bytes;
+	}
+
+	/**
+	 * @return elements whose value is their index divided by 3, little endian
+	 */
+	private static byte[] ramp(int elements, int typeSize) {
+		final byte[] data = new byte[elements * typeSize];
+		for (int i = 0; i < elements; i++) {
+			for (int b = 0; b < typeSize; b++) {
+				data[i * typeSize + b] = (byte) (i / 3 >>> 8 * b);
+			}
+		}
+		return data;
+	}
+
+	private static byte[] lz4(byte[] compressed, int length) {
+		final byte[] decompressed = new byte[length];
+		Lz4.decompress(compressed, 0, compressed.length, decompressed, 0, length);
+		return decompressed;
+	}
+
+	private static byte[] blosc(byte[] compressed, int length) {
+		final byte[] decompressed = new byte[length];
+		decompressAll(new Blosc(compressed, 0, compressed.length, decompressed, 0, length));
+		return decompressed;
+	}
+
+	private static void decompressAll(BlockedDecompression blocks) {
+		final byte[] scratch = new byte[blocks.getScratchSize()];
+		for (int i = 0; i < blocks.getBlockCount(); i++) {
+			blocks.decompress(i, scratch);
+		}
+	}
+
+	@Test
+	public void testLz4Run() {
+		assertArrayEquals("a".repeat(64).getBytes(StandardCharsets.US_ASCII), lz4(LZ4_RUN, 64));
+	}
+
+	@Test
+	public void testLz4Text() {
+		final byte[] text = ("The quick brown fox jumps over the lazy dog. ".repeat(8) + "The end.")
+				.getBytes(StandardCharsets.US_ASCII);
+		assertArrayEquals(text, lz4(LZ4_TEXT, text.length));
+	}
+
+	@Test
+	public void testBloscByteShuffleWithSplits() {
+		assertArrayEquals(ramp(300, 2), blosc(BLOSC_SHUFFLE_SPLIT, 600));
+	}
+
+	@Test
+	public void testBloscByteShuffleWithoutSplits() {
+		assertArrayEquals(ramp(150, 4), blosc(BLOSC_SHUFFLE_NO_SPLIT, 600));
+	}
+
+	@Test
+	public void testBloscBitShuffleWithSplits() {
+		assertArrayEquals(ramp(300, 2), blosc(BLOSC_BITSHUFFLE_SPLIT, 600));
+	}
+
+	@Test
+	public void testBloscBitShuffleWithoutSplits() {
+		assertArrayEquals(ramp(150, 4), blosc(BLOSC_BITSHUFFLE_NO_SPLIT, 600));
+	}
+
+	@Test
+	public void testBitshuffleLz4() {
+		final byte[] decompressed = new byte[406];
+		decompressAll(new BitshuffleLz4(BITSHUFFLE_LZ4, 0, BITSHUFFLE_LZ4.length, decompressed, 0, 406, 2));
+		assertArrayEquals(ramp(203, 2), decompressed);
+	}
+}
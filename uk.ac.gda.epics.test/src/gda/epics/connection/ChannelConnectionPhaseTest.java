@@ -0,0 +1,95 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package gda.epics.connection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import gov.aps.jca.Channel;
+import gov.aps.jca.event.ConnectionEvent;
+import gov.aps.jca.event.ConnectionListener;
+
+public class ChannelConnectionPhaseTest {
+
+	private static final String REACHABLE = "BL00I-EA-TEST-01:REACHABLE";
+	private static final String UNREACHABLE = "BL00I-EA-TEST-01:UNREACHABLE";
+
+	private EpicsController controller;
+	private Channel reachableChannel;
+	private Channel unreachableChannel;
+	private ChannelConnectionPhase phase;
+
+	@Before
+	public void setUp() throws Exception {
+		controller = mock(EpicsController.class);
+		reachableChannel = mock(Channel.class);
+		unreachableChannel = mock(Channel.class);
+		when(reachableChannel.getName()).thenReturn(REACHABLE);
+		when(unreachableChannel.getName()).thenReturn(UNREACHABLE);
+		when(controller.createChannel(eq(REACHABLE), any(ConnectionListener.class))).thenAnswer(invocation -> {
+			ConnectionListener listener = invocation.getArgument(1);
+			listener.connectionChanged(new ConnectionEvent(reachableChannel, true));
+			return reachableChannel;
+		});
+		when(controller.createChannel(eq(UNREACHABLE), any(ConnectionListener.class))).thenReturn(unreachableChannel);
+		phase = new ChannelConnectionPhase(EpicsChannelRegistry.getInstance(controller), 1, 0.2);
+	}
+
+	@Test
+	public void testReportsConnectedAndUnreachable() throws Exception {
+		ChannelConnectionReport report = phase.connect(Arrays.asList(UNREACHABLE, REACHABLE));
+		assertEquals(1, report.getConnectedCount());
+		assertEquals(Collections.singletonList(UNREACHABLE), report.getUnreachable());
+		verify(controller).destroy(unreachableChannel);
+		verify(controller, never()).destroy(reachableChannel);
+	}
+
+	@Test
+	public void testConnectedChannelsAreHeldUntilReleased() throws Exception {
+		phase.connect(Collections.singletonList(REACHABLE));
+		assertEquals(1, EpicsChannelRegistry.getInstance(controller).getReferenceCount(REACHABLE));
+		phase.release();
+		verify(controller).destroy(reachableChannel);
+	}
+
+	@Test
+	public void testDeclaredPVsAreConsumed() throws Exception {
+		assertFalse(ChannelConnectionPhase.declare(REACHABLE));
+		ChannelConnectionPhase.open();
+		assertTrue(ChannelConnectionPhase.declare(REACHABLE));
+
+		assertEquals(1, phase.connect().getConnectedCount());
+		assertTrue(ChannelConnectionPhase.getDeclared().isEmpty());
+		assertFalse(ChannelConnectionPhase.declare(REACHABLE));
+		phase.release();
+	}
+}
@@ -0,0 +1,101 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package gda.epics.connection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import gov.aps.jca.Channel;
+
+public class ChannelReinitialiserTest {
+
+	private ChannelReinitialiser reinitialiser;
+
+	@Before
+	public void setUp() {
+		reinitialiser = new ChannelReinitialiser(1000, 0);
+	}
+
+	private static Channel channel(String name, String host) {
+		final Channel channel = mock(Channel.class);
+		when(channel.getName()).thenReturn(name);
+		when(channel.getHostName()).thenReturn(host);
+		return channel;
+	}
+
+	@Test
+	public void testEachChannelIsReinitialisedOnceWithLatestTask() throws Exception {
+		final Channel channel = channel("BL00I-EA-TEST-01:A", "ioc1");
+		final Channel other = channel("BL00I-EA-TEST-01:B", "ioc1");
+		final List<String> run = new CopyOnWriteArrayList<>();
+		final CountDownLatch done = new CountDownLatch(2);
+		final CountDownLatch release = new CountDownLatch(1);
+		final long disconnected = System.nanoTime();
+		// hold up the batch so that the others are all queued before it reaches them
+		reinitialiser.schedule(channel("BL00I-EA-TEST-01:FIRST", "ioc1"), disconnected, () -> {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		reinitialiser.schedule(channel, disconnected, () -> run.add("stale"));
+		reinitialiser.schedule(channel, disconnected, () -> { run.add("A"); done.countDown(); });
+		reinitialiser.schedule(other, disconnected, () -> { run.add("B"); done.countDown(); });
+		release.countDown();
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+		assertEquals(List.of("A", "B"), run);
+	}
+
+	@Test
+	public void testRecoveryTimeIsReportedPerIoc() throws Exception {
+		final CountDownLatch done = new CountDownLatch(2);
+		reinitialiser.schedule(channel("BL00I-EA-TEST-01:A", "ioc1"), System.nanoTime() - TimeUnit.SECONDS.toNanos(2),
+				done::countDown);
+		reinitialiser.schedule(channel("BL00I-EA-TEST-02:A", "ioc2"), System.nanoTime(), done::countDown);
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+		// the batch records its recovery time after the last task has run
+		final long end = System.currentTimeMillis() + 5000;
+		while ((reinitialiser.getLastRecoveryMs("ioc1") < 0 || reinitialiser.getLastRecoveryMs("ioc2") < 0)
+				&& System.currentTimeMillis() < end) {
+			Thread.sleep(10);
+		}
+		assertTrue(reinitialiser.getLastRecoveryMs("ioc1") >= 2000);
+		assertTrue(reinitialiser.getLastRecoveryMs("ioc2") >= 0);
+		assertEquals(-1, reinitialiser.getLastRecoveryMs("ioc3"));
+		assertEquals(2, reinitialiser.getReinitialisedCount());
+		assertEquals(0, reinitialiser.getPendingCount());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testRateMustBePositive() {
+		new ChannelReinitialiser(0, 0);
+	}
+}
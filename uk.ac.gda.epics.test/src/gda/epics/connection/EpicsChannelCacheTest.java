@@ -0,0 +1,111 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package gda.epics.connection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import gov.aps.jca.Channel;
+
+public class EpicsChannelCacheTest {
+
+	private static final String PV_A = "BL00I-EA-TEST-01:A";
+	private static final String PV_B = "BL00I-EA-TEST-01:B";
+
+	private EpicsController controller;
+	private Channel channelA;
+	private Channel channelB;
+	private EpicsChannelRegistry registry;
+
+	@Before
+	public void setUp() throws Exception {
+		controller = mock(EpicsController.class);
+		channelA = mock(Channel.class);
+		channelB = mock(Channel.class);
+		when(channelA.getName()).thenReturn(PV_A);
+		when(channelB.getName()).thenReturn(PV_B);
+		when(controller.createChannel(PV_A)).thenReturn(channelA);
+		when(controller.createChannel(PV_B)).thenReturn(channelB);
+		registry = EpicsChannelRegistry.getInstance(controller);
+	}
+
+	@Test
+	public void testChannelIsReused() throws Exception {
+		EpicsChannelCache cache = new EpicsChannelCache(registry, 10, 0);
+		assertSame(channelA, cache.use(PV_A, channel -> channel));
+		assertSame(channelA, cache.use(PV_A, channel -> channel));
+		verify(controller, times(1)).createChannel(PV_A);
+		verify(controller, never()).destroy(channelA);
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+	}
+
+	@Test
+	public void testLeastRecentlyUsedIsEvicted() throws Exception {
+		EpicsChannelCache cache = new EpicsChannelCache(registry, 1, 0);
+		cache.use(PV_A, channel -> channel);
+		cache.use(PV_B, channel -> channel);
+		verify(controller).destroy(channelA);
+		verify(controller, never()).destroy(channelB);
+		assertEquals(1, cache.getEvictionCount());
+		assertEquals(1, cache.getSize());
+	}
+
+	@Test
+	public void testChannelInUseIsNotEvicted() throws Exception {
+		EpicsChannelCache cache = new EpicsChannelCache(registry, 1, 0);
+		cache.use(PV_A, outer -> cache.use(PV_B, inner -> inner));
+		verify(controller, never()).destroy(channelA);
+		verify(controller).destroy(channelB);
+	}
+
+	@Test
+	public void testDestroyedChannelIsReplaced() throws Exception {
+		Channel reopened = mock(Channel.class);
+		when(reopened.getName()).thenReturn(PV_A);
+		when(controller.createChannel(PV_A)).thenReturn(channelA, reopened);
+		EpicsChannelCache cache = new EpicsChannelCache(registry, 10, 0);
+		assertSame(channelA, cache.use(PV_A, channel -> channel));
+		// destroyed by another holder behind the cache's back
+		when(channelA.getConnectionState()).thenReturn(Channel.CLOSED);
+		assertSame(reopened, cache.use(PV_A, channel -> channel));
+		assertSame(reopened, cache.use(PV_A, channel -> channel));
+		verify(controller, times(2)).createChannel(PV_A);
+		assertEquals(2, cache.getMissCount());
+		assertEquals(1, cache.getSize());
+	}
+
+	@Test
+	public void testIdleChannelIsEvicted() throws Exception {
+		EpicsChannelCache cache = new EpicsChannelCache(registry, 10, 50);
+		cache.use(PV_A, channel -> channel);
+		verify(controller, timeout(2000)).destroy(channelA);
+		assertEquals(0, cache.getSize());
+	}
+}
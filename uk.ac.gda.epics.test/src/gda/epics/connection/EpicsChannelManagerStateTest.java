@@ -0,0 +1,183 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package gda.epics.connection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import gda.epics.connection.EpicsChannelManager.ChannelState;
+import gda.epics.connection.EpicsController.MonitorType;
+import gov.aps.jca.Channel;
+import gov.aps.jca.Monitor;
+import gov.aps.jca.event.ConnectionEvent;
+import gov.aps.jca.event.MonitorListener;
+
+public class EpicsChannelManagerStateTest {
+
+	private static final String PV = "BL00I-EA-TEST-01:A";
+
+	private EpicsController controller;
+	private ChannelReinitialiser reinitialiser;
+	private EpicsChannelManager manager;
+	private Channel channel;
+
+	@Before
+	public void setUp() {
+		controller = mock(EpicsController.class);
+		reinitialiser = mock(ChannelReinitialiser.class);
+		manager = new EpicsChannelManager(null, controller, reinitialiser);
+		manager.initialValues.put(PV, 1.0);
+		channel = mock(Channel.class);
+		when(channel.getName()).thenReturn(PV);
+		when(channel.getHostName()).thenReturn("ioc1");
+		connect();
+	}
+
+	private void connect() {
+		when(channel.getConnectionState()).thenReturn(Channel.CONNECTED);
+		manager.connectionChanged(new ConnectionEvent(channel, true));
+	}
+
+	private void disconnect() {
+		when(channel.getConnectionState()).thenReturn(Channel.DISCONNECTED);
+		manager.connectionChanged(new ConnectionEvent(channel, false));
+	}
+
+	/**
+	 * @return the re-initialisation handed to the reinitialiser for the channel
+	 */
+	private Runnable scheduledTask() {
+		final ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+		verify(reinitialiser).schedule(eq(channel), anyLong(), task.capture());
+		return task.getValue();
+	}
+
+	@Test
+	public void testFirstConnectionInitialisesStraightAway() throws Exception {
+		assertEquals(ChannelState.CONNECTED, manager.getChannelState(PV));
+		verify(controller).caput(channel, 1.0);
+		verify(reinitialiser, never()).schedule(any(), anyLong(), any());
+	}
+
+	@Test
+	public void testReconnectionIsReinitialisedByTheReinitialiser() throws Exception {
+		disconnect();
+		assertEquals(ChannelState.DISCONNECTED, manager.getChannelState(PV));
+
+		connect();
+		assertEquals(ChannelState.REINITIALISING, manager.getChannelState(PV));
+		verify(controller, times(1)).caput(channel, 1.0);
+
+		scheduledTask().run();
+		assertEquals(ChannelState.CONNECTED, manager.getChannelState(PV));
+		verify(controller, times(2)).caput(channel, 1.0);
+	}
+
+	@Test
+	public void testSecondCreateChannelForOnePvKeepsFollowingConnectionChanges() throws Exception {
+		final String pvName = "BL00I-EA-TEST-01:SHARED";
+		final Channel shared = mock(Channel.class);
+		when(shared.getName()).thenReturn(pvName);
+		when(shared.getHostName()).thenReturn("ioc1");
+		when(shared.getConnectionState()).thenReturn(Channel.NEVER_CONNECTED);
+		when(controller.createChannel(pvName, manager)).thenReturn(shared);
+		final MonitorListener first = mock(MonitorListener.class);
+		final MonitorListener second = mock(MonitorListener.class);
+		final Monitor firstMonitor = mock(Monitor.class);
+		final Monitor secondMonitor = mock(Monitor.class);
+		when(controller.setMonitor(shared, first, MonitorType.NATIVE)).thenReturn(firstMonitor);
+		when(controller.setMonitor(shared, second, MonitorType.NATIVE)).thenReturn(secondMonitor);
+
+		assertSame(shared, manager.createChannel(pvName, first));
+		assertSame(shared, manager.createChannel(pvName, second));
+		verify(shared, never()).removeConnectionListener(manager);
+		assertEquals(1, EpicsChannelRegistry.getInstance(controller).getReferenceCount(pvName));
+
+		when(shared.getConnectionState()).thenReturn(Channel.CONNECTED);
+		manager.connectionChanged(new ConnectionEvent(shared, true));
+		verify(controller).setMonitor(shared, first, MonitorType.NATIVE);
+		verify(controller).setMonitor(shared, second, MonitorType.NATIVE);
+
+		when(shared.getConnectionState()).thenReturn(Channel.DISCONNECTED);
+		manager.connectionChanged(new ConnectionEvent(shared, false));
+		assertEquals(ChannelState.DISCONNECTED, manager.getChannelState(pvName));
+		when(shared.getConnectionState()).thenReturn(Channel.CONNECTED);
+		manager.connectionChanged(new ConnectionEvent(shared, true));
+		assertEquals(ChannelState.REINITIALISING, manager.getChannelState(pvName));
+		verify(reinitialiser).schedule(eq(shared), anyLong(), any());
+
+		manager.destroy(shared);
+		verify(controller).clearMonitor(firstMonitor);
+		verify(controller).clearMonitor(secondMonitor);
+		assertEquals(0, EpicsChannelRegistry.getInstance(controller).getReferenceCount(pvName));
+	}
+
+	@Test
+	public void testDisconnectionBeforeReinitialisationSkipsIt() throws Exception {
+		disconnect();
+		connect();
+		final Runnable task = scheduledTask();
+		disconnect();
+
+		task.run();
+		assertEquals(ChannelState.DISCONNECTED, manager.getChannelState(PV));
+		verify(controller, times(1)).caput(channel, 1.0);
+	}
+
+	@Test
+	public void testTryInitializeWithoutLimitSurvivesWakeups() throws Exception {
+		final FutureTask<Boolean> waiting = new FutureTask<>(() -> manager.tryInitialize(0));
+		final Thread thread = new Thread(waiting);
+		thread.start();
+		final long end = System.currentTimeMillis() + 5000;
+		while (thread.getState() != Thread.State.WAITING && System.currentTimeMillis() < end) {
+			Thread.sleep(10);
+		}
+		synchronized (manager.unconnectedCriticalChannels) {
+			manager.unconnectedCriticalChannels.notifyAll();
+		}
+		manager.creationPhaseCompleted();
+		assertTrue(waiting.get(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testInterruptedTryInitializeKeepsTheInterrupt() {
+		Thread.currentThread().interrupt();
+		assertFalse(manager.tryInitialize(1000));
+		assertTrue(Thread.interrupted());
+	}
+}
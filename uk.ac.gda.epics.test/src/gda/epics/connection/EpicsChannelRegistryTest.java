@@ -0,0 +1,134 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package gda.epics.connection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import gov.aps.jca.CAException;
+import gov.aps.jca.Channel;
+import gov.aps.jca.TimeoutException;
+import gov.aps.jca.event.ConnectionEvent;
+import gov.aps.jca.event.ConnectionListener;
+
+public class EpicsChannelRegistryTest {
+
+	private static final String PV_NAME = "BL00I-EA-TEST-01:VAL";
+
+	private EpicsController controller;
+	private Channel channel;
+	private EpicsChannelRegistry registry;
+
+	@Before
+	public void setUp() throws Exception {
+		controller = mock(EpicsController.class);
+		channel = mock(Channel.class);
+		when(channel.getName()).thenReturn(PV_NAME);
+		when(controller.createChannel(PV_NAME)).thenReturn(channel);
+		registry = EpicsChannelRegistry.getInstance(controller);
+	}
+
+	@Test
+	public void testRegistryIsPerController() {
+		assertSame(registry, EpicsChannelRegistry.getInstance(controller));
+	}
+
+	@Test
+	public void testChannelIsCreatedOnceAndShared() throws Exception {
+		assertSame(channel, registry.acquire(PV_NAME));
+		assertSame(channel, registry.acquire(PV_NAME));
+		verify(controller, times(1)).createChannel(PV_NAME);
+		assertEquals(2, registry.getReferenceCount(PV_NAME));
+		assertEquals(1, registry.getSharedChannelCount());
+		assertEquals(0, registry.getUniqueChannelCount());
+		assertEquals(2, registry.getTotalReferenceCount());
+	}
+
+	@Test
+	public void testChannelIsDestroyedOnLastRelease() throws Exception {
+		registry.acquire(PV_NAME);
+		registry.acquire(PV_NAME);
+		registry.release(channel);
+		verify(controller, never()).destroy(channel);
+		assertEquals(1, registry.getUniqueChannelCount());
+		registry.release(channel);
+		verify(controller).destroy(channel);
+		assertEquals(0, registry.getChannelCount());
+	}
+
+	@Test
+	public void testFailedCreationIsNotCounted() throws Exception {
+		when(controller.createChannel(PV_NAME)).thenThrow(new TimeoutException("connection timeout"));
+		try {
+			registry.acquire(PV_NAME);
+			fail("Expected TimeoutException");
+		} catch (TimeoutException e) {
+			// expected
+		}
+		assertEquals(0, registry.getChannelCount());
+	}
+
+	@Test
+	public void testListenerIsToldOfExistingConnection() throws CAException, TimeoutException {
+		registry.acquire(PV_NAME);
+		when(channel.getConnectionState()).thenReturn(Channel.CONNECTED);
+		ConnectionListener listener = mock(ConnectionListener.class);
+
+		assertSame(channel, registry.acquire(PV_NAME, listener));
+		verify(controller, never()).createChannel(PV_NAME, listener);
+		verify(channel).addConnectionListener(listener);
+		verify(listener, timeout(1000)).connectionChanged(any(ConnectionEvent.class));
+
+		registry.release(channel, listener);
+		verify(channel).removeConnectionListener(listener);
+		assertEquals(1, registry.getReferenceCount(PV_NAME));
+	}
+
+	@Test
+	public void testDestroyedChannelIsRecreated() throws Exception {
+		registry.acquire(PV_NAME);
+		// destroyed by its holder rather than released
+		when(channel.getConnectionState()).thenReturn(Channel.CLOSED);
+		final Channel recreated = mock(Channel.class);
+		when(recreated.getName()).thenReturn(PV_NAME);
+		when(controller.createChannel(PV_NAME)).thenReturn(recreated);
+
+		assertSame(recreated, registry.acquire(PV_NAME));
+		assertEquals(1, registry.getReferenceCount(PV_NAME));
+
+		// releasing the old channel leaves the new one open
+		registry.release(channel);
+		verify(controller, never()).destroy(channel);
+		assertEquals(1, registry.getReferenceCount(PV_NAME));
+		registry.release(recreated);
+		verify(controller).destroy(recreated);
+		assertEquals(0, registry.getChannelCount());
+	}
+}
@@ -0,0 +1,157 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package gda.epics.connection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import gov.aps.jca.CAStatus;
+import gov.aps.jca.CAStatusException;
+import gov.aps.jca.Channel;
+import gov.aps.jca.Context;
+import gov.aps.jca.TimeoutException;
+import gov.aps.jca.dbr.DBRType;
+import gov.aps.jca.event.PutEvent;
+import gov.aps.jca.event.PutListener;
+
+@RunWith(MockitoJUnitRunner.class)
+public class EpicsControllerBulkPutTest {
+
+	@Mock
+	private Context context;
+	@Mock
+	private Channel first;
+	@Mock
+	private Channel second;
+
+	private EpicsController controller;
+
+	@Before
+	public void setUp() {
+		when(first.getConnectionState()).thenReturn(Channel.CONNECTED);
+		when(second.getConnectionState()).thenReturn(Channel.CONNECTED);
+		controller = new EpicsController(context);
+	}
+
+	private static void completeWith(Channel channel, CAStatus status) throws Exception {
+		doAnswer(invocation -> {
+			PutListener listener = invocation.getArgument(1);
+			listener.putCompleted(new PutEvent(channel, DBRType.DOUBLE, 1, status));
+			return null;
+		}).when(channel).put(anyDouble(), any(PutListener.class));
+	}
+
+	@Test
+	public void testPutsAreSentWithOneFlush() throws Exception {
+		controller.caput(Arrays.asList(first, second), Arrays.asList(1.5, "text"));
+
+		InOrder inOrder = inOrder(first, second, context);
+		inOrder.verify(first).put(1.5);
+		inOrder.verify(second).put("text");
+		inOrder.verify(context).flushIO();
+		verify(context, times(1)).flushIO();
+	}
+
+	@Test
+	public void testBytesAreWidenedToShort() throws Exception {
+		controller.caput(Arrays.asList(first, second), Arrays.asList((byte) 5, (short) 6));
+
+		verify(first).put((short) 5);
+		verify(second).put((short) 6);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testValuesMustMatchChannels() throws Exception {
+		controller.caput(Arrays.asList(first, second), Collections.singletonList(1.0));
+	}
+
+	@Test
+	public void testWaitReportsEveryPutAsCompleted() throws Exception {
+		completeWith(first, CAStatus.NORMAL);
+		completeWith(second, CAStatus.NORMAL);
+
+		BulkPutResult result = controller.caputWait(Arrays.asList(first, second), Arrays.asList(1.0, 2.0), 1.0);
+
+		assertTrue(result.isDone());
+		assertEquals(CAStatus.NORMAL, result.getStatus(1));
+		assertTrue(result.getFailedChannels().isEmpty());
+	}
+
+	@Test
+	public void testPartialFailureNamesTheFailedChannel() throws Exception {
+		when(second.getName()).thenReturn("BL00I-EA-TEST-01:SECOND");
+		completeWith(first, CAStatus.NORMAL);
+		completeWith(second, CAStatus.PUTFAIL);
+
+		BulkPutResult result = controller.caputAsync(Arrays.asList(first, second), Arrays.asList(1.0, 2.0));
+		try {
+			result.waitForCompletion(1.0);
+			fail("Expected the failed put to be reported");
+		} catch (CAStatusException e) {
+			assertEquals(CAStatus.PUTFAIL, e.getStatus());
+			assertTrue(e.getMessage().contains("BL00I-EA-TEST-01:SECOND"));
+		}
+		assertEquals(Collections.singletonList(second), result.getFailedChannels());
+		assertEquals(CAStatus.NORMAL, result.getStatus(0));
+	}
+
+	@Test
+	public void testTimeoutNamesThePendingChannel() throws Exception {
+		when(second.getName()).thenReturn("BL00I-EA-TEST-01:SECOND");
+		completeWith(first, CAStatus.NORMAL);
+		// the second put-callback never returns
+
+		BulkPutResult result = controller.caputAsync(Arrays.asList(first, second), Arrays.asList(1.0, 2.0));
+		try {
+			result.waitForCompletion(0.1);
+			fail("Expected the wait to time out");
+		} catch (TimeoutException e) {
+			assertTrue(e.getMessage().contains("BL00I-EA-TEST-01:SECOND"));
+		}
+		assertFalse(result.isDone());
+		assertEquals(Collections.singletonList(second), result.getPendingChannels());
+		assertTrue(result.getFailedChannels().isEmpty());
+	}
+
+	@Test(expected = TimeoutException.class)
+	public void testCaputWaitThrowsOnTimeout() throws Exception {
+		completeWith(first, CAStatus.NORMAL);
+		controller.caputWait(Arrays.asList(first, second), Arrays.asList(1.0, 2.0), 0.1);
+	}
+}
@@ -0,0 +1,123 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package gda.epics.connection;
+
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import gov.aps.jca.CAStatus;
+import gov.aps.jca.Channel;
+import gov.aps.jca.Context;
+import gov.aps.jca.dbr.DBR;
+import gov.aps.jca.dbr.DBRType;
+import gov.aps.jca.event.ConnectionEvent;
+import gov.aps.jca.event.ConnectionListener;
+import gov.aps.jca.event.GetEvent;
+import gov.aps.jca.event.GetListener;
+
+@RunWith(MockitoJUnitRunner.class)
+public class EpicsControllerCTRLMetadataTest {
+
+	@Mock
+	private Context context;
+	@Mock
+	private Channel channel;
+
+	private EpicsController controller;
+
+	private final AtomicReference<ConnectionListener> invalidator = new AtomicReference<>();
+
+	/** Run while a get is in flight, before it completes */
+	private Runnable duringGet = () -> {};
+
+	@Before
+	public void setUp() throws Exception {
+		when(channel.getConnectionState()).thenReturn(Channel.CONNECTED);
+		when(channel.getFieldType()).thenReturn(DBRType.DOUBLE);
+		when(channel.getElementCount()).thenReturn(1);
+		doAnswer(invocation -> {
+			invalidator.set(invocation.getArgument(0));
+			return null;
+		}).when(channel).addConnectionListener(any(ConnectionListener.class));
+		doAnswer(invocation -> {
+			final GetListener listener = invocation.getArgument(2);
+			duringGet.run();
+			// completed from another thread, as CA would, once the controller is waiting for it
+			new Thread(() -> listener.getCompleted(new GetEvent(channel, mock(DBR.class), CAStatus.NORMAL))).start();
+			return null;
+		}).when(channel).get(any(DBRType.class), anyInt(), any(GetListener.class));
+		controller = new EpicsController(context);
+	}
+
+	@Test
+	public void testMetadataIsFetchedOncePerConnection() throws Exception {
+		final DBR first = controller.getCTRLMetadata(channel);
+		assertSame(first, controller.getCTRLMetadata(channel));
+		verify(channel, times(1)).get(any(DBRType.class), anyInt(), any(GetListener.class));
+
+		invalidator.get().connectionChanged(new ConnectionEvent(channel, false));
+		controller.getCTRLMetadata(channel);
+		verify(channel, times(2)).get(any(DBRType.class), anyInt(), any(GetListener.class));
+		verify(channel, times(1)).addConnectionListener(any(ConnectionListener.class));
+	}
+
+	@Test
+	public void testMetadataFetchedAcrossConnectionChangeIsNotCached() throws Exception {
+		duringGet = () -> invalidator.get().connectionChanged(new ConnectionEvent(channel, true));
+		controller.getCTRLMetadata(channel);
+		duringGet = () -> {};
+
+		controller.getCTRLMetadata(channel);
+		verify(channel, times(2)).get(any(DBRType.class), anyInt(), any(GetListener.class));
+	}
+
+	@Test
+	public void testClosedChannelIsForgotten() throws Exception {
+		controller.getCTRLMetadata(channel);
+		when(channel.getConnectionState()).thenReturn(Channel.CLOSED, Channel.CONNECTED);
+		invalidator.get().connectionChanged(new ConnectionEvent(channel, false));
+
+		// fetched again and watched afresh, as nothing was kept for the closed channel
+		controller.getCTRLMetadata(channel);
+		verify(channel, times(2)).get(any(DBRType.class), anyInt(), any(GetListener.class));
+		verify(channel, times(2)).addConnectionListener(any(ConnectionListener.class));
+	}
+
+	@Test
+	public void testInvalidateFetchesAgain() throws Exception {
+		controller.getCTRLMetadata(channel);
+		controller.invalidateCTRLMetadata(channel);
+		controller.getCTRLMetadata(channel);
+		verify(channel, times(2)).get(any(DBRType.class), anyInt(), any(GetListener.class));
+	}
+}
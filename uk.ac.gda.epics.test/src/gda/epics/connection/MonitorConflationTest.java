@@ -0,0 +1,71 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package gda.epics.connection;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import gov.aps.jca.event.LosslessMonitorListener;
+import gov.aps.jca.event.MonitorEvent;
+import gov.aps.jca.event.MonitorListener;
+
+public class MonitorConflationTest {
+
+	private MonitorListener listener;
+
+	@Before
+	public void setUp() {
+		listener = mock(MonitorListener.class);
+	}
+
+	@Test
+	public void testLatestOnlyAddsListenerUnchanged() {
+		assertSame(listener, MonitorConflation.latestOnly().apply(listener));
+	}
+
+	@Test
+	public void testLosslessMarksListener() {
+		MonitorListener applied = MonitorConflation.lossless().apply(listener);
+		assertTrue(applied instanceof LosslessMonitorListener);
+		MonitorEvent ev = mock(MonitorEvent.class);
+		applied.monitorChanged(ev);
+		verify(listener).monitorChanged(ev);
+	}
+
+	@Test
+	public void testTimeWindowDeliversOnlyLatest() {
+		MonitorListener applied = MonitorConflation.timeWindow(100, TimeUnit.MILLISECONDS).apply(listener);
+		MonitorEvent first = mock(MonitorEvent.class);
+		MonitorEvent second = mock(MonitorEvent.class);
+		applied.monitorChanged(first);
+		applied.monitorChanged(second);
+		verify(listener, timeout(1000)).monitorChanged(second);
+		verify(listener, never()).monitorChanged(first);
+	}
+}
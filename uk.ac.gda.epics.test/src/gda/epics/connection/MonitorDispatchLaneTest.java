@@ -0,0 +1,187 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package gda.epics.connection;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import gov.aps.jca.Channel;
+import gov.aps.jca.event.MonitorDispatchLane;
+import gov.aps.jca.event.MonitorEvent;
+import gov.aps.jca.event.MonitorListener;
+
+public class MonitorDispatchLaneTest {
+
+	private Channel channelA;
+	private Channel channelB;
+	private MonitorDispatchLane lane;
+	private final CountDownLatch blocking = new CountDownLatch(1);
+	private final CountDownLatch unblock = new CountDownLatch(1);
+	private final List<MonitorEvent> delivered = Collections.synchronizedList(new ArrayList<>());
+	private final MonitorListener recorder = delivered::add;
+
+	@Before
+	public void setUp() {
+		channelA = mock(Channel.class);
+		channelB = mock(Channel.class);
+		when(channelA.getName()).thenReturn("BL00I-EA-TEST-01:A");
+		when(channelB.getName()).thenReturn("BL00I-EA-TEST-01:B");
+	}
+
+	@After
+	public void tearDown() {
+		unblock.countDown();
+		if (lane != null) {
+			lane.dispose();
+		}
+	}
+
+	/**
+	 * Holds up the lane's thread until {@link #unblock} is counted down.
+	 */
+	private void blockLane() throws InterruptedException {
+		lane.dispatch(new MonitorEvent(channelA, null, null), ev -> {
+			blocking.countDown();
+			try {
+				unblock.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		assertTrue(blocking.await(5, TimeUnit.SECONDS));
+	}
+
+	private void awaitDispatched(long count) throws InterruptedException {
+		final long end = System.currentTimeMillis() + 5000;
+		while (lane.getDispatchedCount() < count && System.currentTimeMillis() < end) {
+			Thread.sleep(10);
+		}
+		assertEquals(count, lane.getDispatchedCount());
+	}
+
+	@Test
+	public void testLatestOnlyDeliversLatestEventInFirstQueuedOrder() throws Exception {
+		lane = new MonitorDispatchLane("test", false, 1);
+		blockLane();
+		final MonitorEvent a1 = new MonitorEvent(channelA, null, null);
+		final MonitorEvent b1 = new MonitorEvent(channelB, null, null);
+		final MonitorEvent a2 = new MonitorEvent(channelA, null, null);
+		lane.dispatch(a1, recorder);
+		lane.dispatch(b1, recorder);
+		lane.dispatch(a2, recorder);
+		assertEquals(2, lane.getQueueDepth());
+		assertEquals(1, lane.getConflatedCount());
+
+		unblock.countDown();
+		awaitDispatched(3);
+		assertEquals(Arrays.asList(a2, b1), delivered);
+	}
+
+	@Test
+	public void testLatestOnlyKeepsAnEventForEachListener() throws Exception {
+		lane = new MonitorDispatchLane("test", false, 1);
+		blockLane();
+		final List<MonitorEvent> other = Collections.synchronizedList(new ArrayList<>());
+		final MonitorEvent a1 = new MonitorEvent(channelA, null, null);
+		lane.dispatch(a1, recorder);
+		lane.dispatch(a1, other::add);
+		assertEquals(0, lane.getConflatedCount());
+
+		unblock.countDown();
+		awaitDispatched(3);
+		assertEquals(Arrays.asList(a1), delivered);
+		assertEquals(Arrays.asList(a1), other);
+	}
+
+	@Test
+	public void testLosslessDeliversEveryEventInOrder() throws Exception {
+		lane = new MonitorDispatchLane("test", true, 100);
+		blockLane();
+		final List<MonitorEvent> sent = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			final MonitorEvent ev = new MonitorEvent(i % 2 == 0 ? channelA : channelB, null, null);
+			sent.add(ev);
+			lane.dispatch(ev, recorder);
+		}
+		assertEquals(50, lane.getQueueDepth());
+
+		unblock.countDown();
+		awaitDispatched(51);
+		assertEquals(sent, delivered);
+		assertEquals(0, lane.getConflatedCount());
+	}
+
+	@Test
+	public void testFullLosslessLaneDropsRatherThanWaiting() throws Exception {
+		lane = new MonitorDispatchLane("test", true, 2);
+		blockLane();
+		final MonitorEvent first = new MonitorEvent(channelA, null, null);
+		final MonitorEvent second = new MonitorEvent(channelA, null, null);
+		lane.dispatch(first, recorder);
+		lane.dispatch(second, recorder);
+		lane.dispatch(new MonitorEvent(channelA, null, null), recorder);
+		assertEquals(1, lane.getDroppedCount());
+
+		unblock.countDown();
+		awaitDispatched(3);
+		assertEquals(Arrays.asList(first, second), delivered);
+	}
+
+	@Test
+	public void testDisposeStopsDelivery() throws Exception {
+		lane = new MonitorDispatchLane("test", false, 1);
+		blockLane();
+		lane.dispatch(new MonitorEvent(channelA, null, null), recorder);
+		lane.dispose();
+		unblock.countDown();
+		lane.dispatch(new MonitorEvent(channelB, null, null), recorder);
+
+		Thread.sleep(100);
+		assertTrue(delivered.isEmpty());
+		assertEquals(1, lane.getDroppedCount());
+	}
+
+	@Test
+	public void testListenerTimingIsOptIn() throws Exception {
+		lane = new MonitorDispatchLane("test", false, 1);
+		lane.dispatch(new MonitorEvent(channelA, null, null), recorder);
+		awaitDispatched(1);
+		assertArrayEquals(new String[0], lane.getSlowestListeners());
+
+		lane.setListenerTiming(true);
+		lane.dispatch(new MonitorEvent(channelB, null, null), recorder);
+		awaitDispatched(2);
+		assertEquals(1, lane.getSlowestListeners().length);
+		assertTrue(lane.getSlowestListeners()[0].contains("BL00I-EA-TEST-01:B"));
+	}
+}
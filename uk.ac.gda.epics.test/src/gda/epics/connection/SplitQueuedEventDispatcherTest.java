@@ -0,0 +1,173 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package gda.epics.connection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import gov.aps.jca.Channel;
+import gov.aps.jca.event.LosslessMonitorListener;
+import gov.aps.jca.event.MonitorDispatchLane;
+import gov.aps.jca.event.MonitorEvent;
+import gov.aps.jca.event.MonitorListener;
+import gov.aps.jca.event.SplitQueuedEventDispatcher;
+
+public class SplitQueuedEventDispatcherTest {
+
+	private static final int LANES = 4;
+
+	private SplitQueuedEventDispatcher dispatcher;
+
+	@Before
+	public void setUp() {
+		dispatcher = new SplitQueuedEventDispatcher(LANES, 100);
+	}
+
+	@After
+	public void tearDown() {
+		dispatcher.dispose();
+	}
+
+	private Channel channel(String name) {
+		final Channel channel = mock(Channel.class);
+		when(channel.getName()).thenReturn(name);
+		return channel;
+	}
+
+	private long enqueuedOnShardedLanes() {
+		return dispatcher.getStatistics().subList(0, LANES).stream().mapToLong(MonitorDispatchLane::getEnqueuedCount).sum();
+	}
+
+	private long enqueuedOnLosslessLanes() {
+		return dispatcher.getStatistics().subList(LANES, 2 * LANES).stream().mapToLong(MonitorDispatchLane::getEnqueuedCount).sum();
+	}
+
+	@Test
+	public void testEventsForOneChannelStayInOrderOnOneLane() throws Exception {
+		final Channel channel = channel("BL00I-EA-TEST-01:A");
+		final List<MonitorEvent> sent = new ArrayList<>();
+		final List<MonitorEvent> delivered = Collections.synchronizedList(new ArrayList<>());
+		final Set<String> threads = Collections.synchronizedSet(new HashSet<>());
+		final CountDownLatch last = new CountDownLatch(1);
+		final MonitorListener listener = ev -> {
+			threads.add(Thread.currentThread().getName());
+			delivered.add(ev);
+			if (ev == sent.get(sent.size() - 1)) {
+				last.countDown();
+			}
+		};
+		for (int i = 0; i < 200; i++) {
+			sent.add(new MonitorEvent(channel, null, null));
+		}
+		for (MonitorEvent ev : sent) {
+			dispatcher.dispatch(ev, listener);
+		}
+		assertTrue(last.await(5, TimeUnit.SECONDS));
+
+		// some events may be conflated, but those delivered must be in the order they were sent
+		int previous = -1;
+		for (MonitorEvent ev : delivered) {
+			final int index = sent.indexOf(ev);
+			assertTrue("Event delivered out of order", index > previous);
+			previous = index;
+		}
+		assertEquals(1, threads.size());
+		int lanesUsed = 0;
+		for (MonitorDispatchLane lane : dispatcher.getStatistics()) {
+			if (lane.getEnqueuedCount() > 0) {
+				lanesUsed++;
+				assertEquals(sent.size(), lane.getEnqueuedCount());
+			}
+		}
+		assertEquals(1, lanesUsed);
+	}
+
+	@Test
+	public void testChannelsAreSpreadOverLanes() throws Exception {
+		final int channels = 64;
+		final CountDownLatch deliveries = new CountDownLatch(channels);
+		final MonitorListener listener = ev -> deliveries.countDown();
+		for (int i = 0; i < channels; i++) {
+			dispatcher.dispatch(new MonitorEvent(channel("BL00I-EA-TEST-01:" + i), null, null), listener);
+		}
+		assertTrue(deliveries.await(5, TimeUnit.SECONDS));
+
+		assertEquals(channels, enqueuedOnShardedLanes());
+		for (MonitorDispatchLane lane : dispatcher.getStatistics().subList(0, LANES)) {
+			// with 64 channels over 4 lanes an empty lane would mean the channels are not being spread
+			assertTrue(lane.getName() + " was given no channels", lane.getEnqueuedCount() > 0);
+		}
+		assertEquals(0, enqueuedOnLosslessLanes());
+	}
+
+	@Test
+	public void testLosslessEventsForOneChannelAreAllDeliveredInOrderOnOneThread() throws Exception {
+		final Channel channel = channel("BL00I-EA-TEST-01:A");
+		final List<MonitorEvent> sent = new ArrayList<>();
+		final List<MonitorEvent> delivered = Collections.synchronizedList(new ArrayList<>());
+		final Set<String> threads = Collections.synchronizedSet(new HashSet<>());
+		final CountDownLatch deliveries = new CountDownLatch(50);
+		final LosslessMonitorListener listener = ev -> {
+			threads.add(Thread.currentThread().getName());
+			delivered.add(ev);
+			deliveries.countDown();
+		};
+		for (int i = 0; i < 50; i++) {
+			sent.add(new MonitorEvent(channel, null, null));
+		}
+		for (MonitorEvent ev : sent) {
+			dispatcher.dispatch(ev, listener);
+		}
+		assertTrue(deliveries.await(5, TimeUnit.SECONDS));
+
+		assertEquals(sent, delivered);
+		assertEquals(1, threads.size());
+		assertEquals(0, enqueuedOnShardedLanes());
+	}
+
+	@Test
+	public void testLosslessChannelsAreSpreadOverLosslessLanes() throws Exception {
+		final int channels = 64;
+		final CountDownLatch deliveries = new CountDownLatch(channels);
+		final LosslessMonitorListener listener = ev -> deliveries.countDown();
+		for (int i = 0; i < channels; i++) {
+			dispatcher.dispatch(new MonitorEvent(channel("BL00I-EA-TEST-01:" + i), null, null), listener);
+		}
+		assertTrue(deliveries.await(5, TimeUnit.SECONDS));
+
+		assertEquals(channels, enqueuedOnLosslessLanes());
+		for (MonitorDispatchLane lane : dispatcher.getStatistics().subList(LANES, 2 * LANES)) {
+			assertTrue(lane.getName() + " was given no channels", lane.getEnqueuedCount() > 0);
+		}
+	}
+}
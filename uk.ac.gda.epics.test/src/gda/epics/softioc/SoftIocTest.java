@@ -0,0 +1,129 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package gda.epics.softioc;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import gov.aps.jca.Channel;
+import gov.aps.jca.Context;
+import gov.aps.jca.JCALibrary;
+import gov.aps.jca.Monitor;
+import gov.aps.jca.dbr.DBRType;
+import gov.aps.jca.dbr.DBR_Double;
+import gov.aps.jca.dbr.DBR_LABELS_Enum;
+import gov.aps.jca.dbr.DBR_Short;
+
+public class SoftIocTest {
+
+	private static final int PORT = 25064;
+	private static final double TIMEOUT = 5.0;
+	private static final String VAL = "BL00I-EA-SOFT-01:VAL";
+	private static final String MODE = "BL00I-EA-SOFT-01:MODE";
+	private static final String ARR = "BL00I-EA-SOFT-01:ARR:";
+	private static final String CLIENT_ADDR_LIST = "com.cosylab.epics.caj.CAJContext.addr_list";
+	private static final String SERVER_PORT = "com.cosylab.epics.caj.cas.CAJServerContext.server_port";
+
+	private SoftIoc ioc;
+	private Context client;
+	private String clientAddrList;
+
+	@Before
+	public void setUp() throws Exception {
+		ioc = new SoftIoc(PORT, 1024 * 1024);
+		ioc.addDouble(VAL, 1.5);
+		ioc.addEnum(MODE, new String[] { "Off", "On" }, 1);
+		ioc.addAreaDetector(ARR, 4, 3, DBRType.SHORT);
+		clientAddrList = System.getProperty(CLIENT_ADDR_LIST);
+		ioc.configureClient();
+		ioc.start();
+		client = JCALibrary.getInstance().createContext(JCALibrary.CHANNEL_ACCESS_JAVA);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		client.destroy();
+		ioc.close();
+	}
+
+	private Channel connect(String pvName) throws Exception {
+		Channel channel = client.createChannel(pvName);
+		client.pendIO(TIMEOUT);
+		return channel;
+	}
+
+	@Test
+	public void testGetAndPut() throws Exception {
+		Channel channel = connect(VAL);
+		DBR_Double dbr = (DBR_Double) channel.get(DBRType.DOUBLE, 1);
+		client.pendIO(TIMEOUT);
+		assertEquals(1.5, dbr.getDoubleValue()[0], 0);
+
+		channel.put(2.5);
+		client.pendIO(TIMEOUT);
+		dbr = (DBR_Double) channel.get(DBRType.DOUBLE, 1);
+		client.pendIO(TIMEOUT);
+		assertEquals(2.5, dbr.getDoubleValue()[0], 0);
+		assertArrayEquals(new double[] { 2.5 }, (double[]) ioc.getValue(VAL), 0);
+	}
+
+	@Test
+	public void testEnumHasLabels() throws Exception {
+		Channel channel = connect(MODE);
+		DBR_LABELS_Enum dbr = (DBR_LABELS_Enum) channel.get(DBRType.LABELS_ENUM, 1);
+		client.pendIO(TIMEOUT);
+		assertArrayEquals(new String[] { "Off", "On" }, dbr.getLabels());
+		assertEquals(1, dbr.getEnumValue()[0]);
+	}
+
+	@Test
+	public void testFramesAreMonitored() throws Exception {
+		Channel counter = connect(ARR + "ArrayCounter_RBV");
+		CountDownLatch frames = new CountDownLatch(3);
+		counter.addMonitor(DBRType.INT, 1, Monitor.VALUE, ev -> frames.countDown());
+		client.flushIO();
+		ioc.startFrames(ARR, 50);
+		assertTrue(frames.await(5, TimeUnit.SECONDS));
+
+		Channel data = connect(ARR + "ArrayData");
+		DBR_Short dbr = (DBR_Short) data.get(DBRType.SHORT, 12);
+		client.pendIO(TIMEOUT);
+		short[] frame = dbr.getShortValue();
+		assertEquals(12, frame.length);
+		assertEquals(1, frame[1] - frame[0]);
+	}
+
+	@Test
+	public void testSystemPropertiesAreRestored() throws Exception {
+		assertEquals("127.0.0.1", System.getProperty(CLIENT_ADDR_LIST));
+		assertNull(System.getProperty(SERVER_PORT));
+		ioc.close();
+		assertEquals(clientAddrList, System.getProperty(CLIENT_ADDR_LIST));
+	}
+}
@@ -0,0 +1,83 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package gda.epics.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class EpicsDeadlineTest {
+
+	@After
+	public void tearDown() {
+		assertNull("deadline left open", EpicsDeadline.current());
+	}
+
+	@Test
+	public void testNoDeadlineLeavesTimeoutUnchanged() {
+		assertEquals(5.0, EpicsDeadline.timeout(5.0), 0);
+		assertEquals(0, EpicsDeadline.timeoutMs(0));
+		assertEquals(5000, EpicsDeadline.timeoutMs(5.0));
+	}
+
+	@Test
+	public void testDeadlineCapsLongerTimeouts() {
+		try (EpicsDeadline deadline = EpicsDeadline.start(1.0)) {
+			assertTrue(EpicsDeadline.timeout(5.0) <= 1.0);
+			assertTrue(EpicsDeadline.timeoutMs(0) <= 1000);
+			assertTrue(EpicsDeadline.timeoutMs(0) > 0);
+			assertEquals(0.5, EpicsDeadline.timeout(0.5), 0);
+		}
+	}
+
+	@Test
+	public void testNestedDeadlineEndsNoLaterThanOuter() {
+		try (EpicsDeadline outer = EpicsDeadline.start(1.0)) {
+			try (EpicsDeadline inner = EpicsDeadline.start(10.0)) {
+				assertSame(inner, EpicsDeadline.current());
+				assertTrue(inner.remaining() <= 1.0);
+			}
+			assertSame(outer, EpicsDeadline.current());
+		}
+	}
+
+	@Test
+	public void testUnlimitedDeadlineInheritsOuter() {
+		try (EpicsDeadline outer = EpicsDeadline.start(1.0)) {
+			try (EpicsDeadline inner = EpicsDeadline.start(0)) {
+				assertTrue(EpicsDeadline.timeout(5.0) <= 1.0);
+			}
+		}
+	}
+
+	@Test
+	public void testExpiredDeadlineGivesMinimalTimeout() throws Exception {
+		try (EpicsDeadline deadline = EpicsDeadline.start(0.01)) {
+			Thread.sleep(20);
+			assertTrue(deadline.isExpired());
+			assertEquals(1, EpicsDeadline.timeoutMs(5.0));
+			assertTrue(EpicsDeadline.timeout(5.0) > 0);
+		}
+	}
+}
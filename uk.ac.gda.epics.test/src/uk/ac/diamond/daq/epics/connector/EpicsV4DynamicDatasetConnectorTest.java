@@ -0,0 +1,193 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package uk.ac.diamond.daq.epics.connector;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.eclipse.january.dataset.IDataset;
+import org.epics.pvaClient.PvaClientMonitor;
+import org.epics.pvaClient.PvaClientMonitorData;
+import org.epics.pvdata.factory.FieldFactory;
+import org.epics.pvdata.factory.PVDataFactory;
+import org.epics.pvdata.pv.Field;
+import org.epics.pvdata.pv.FieldCreate;
+import org.epics.pvdata.pv.PVDataCreate;
+import org.epics.pvdata.pv.PVInt;
+import org.epics.pvdata.pv.PVShortArray;
+import org.epics.pvdata.pv.PVStructure;
+import org.epics.pvdata.pv.PVStructureArray;
+import org.epics.pvdata.pv.PVUnion;
+import org.epics.pvdata.pv.ScalarType;
+import org.epics.pvdata.pv.Structure;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class EpicsV4DynamicDatasetConnectorTest {
+
+	private static final FieldCreate fieldCreate = FieldFactory.getFieldCreate();
+	private static final PVDataCreate pvDataCreate = PVDataFactory.getPVDataCreate();
+
+	private static final Structure DIMENSION = fieldCreate.createStructure(new String[] { "size" },
+			new Field[] { fieldCreate.createScalar(ScalarType.pvInt) });
+	private static final Structure ATTRIBUTE = fieldCreate.createStructure(new String[] { "name", "value" },
+			new Field[] { fieldCreate.createScalar(ScalarType.pvString), fieldCreate.createVariantUnion() });
+	private static final Structure NTNDARRAY = fieldCreate.createStructure(new String[] { "value", "dimension", "attribute" },
+			new Field[] { fieldCreate.createVariantUnion(), fieldCreate.createStructureArray(DIMENSION),
+					fieldCreate.createStructureArray(ATTRIBUTE) });
+
+	/**
+	 * A monitor whose events are the frames offered to it.
+	 */
+	private static class FakeMonitor {
+		private final BlockingQueue<PVStructure> events = new LinkedBlockingQueue<>();
+		private volatile PVStructure current;
+		private final PvaClientMonitor monitor = mock(PvaClientMonitor.class);
+
+		FakeMonitor() {
+			final PvaClientMonitorData data = mock(PvaClientMonitorData.class);
+			when(monitor.waitEvent(anyDouble())).thenAnswer(invocation -> {
+				current = events.poll((long) (invocation.<Double> getArgument(0) * 1000), TimeUnit.MILLISECONDS);
+				return current != null;
+			});
+			when(monitor.getData()).thenReturn(data);
+			when(data.getPVStructure()).thenAnswer(invocation -> current);
+		}
+
+		void offer(int frame) {
+			events.add(frame(frame));
+		}
+	}
+
+	/**
+	 * @return a 2x2 mono frame with every pixel set to the frame number
+	 */
+	private static PVStructure frame(int number) {
+		final PVStructure frame = pvDataCreate.createPVStructure(NTNDARRAY);
+		final PVShortArray value = (PVShortArray) pvDataCreate.createPVScalarArray(ScalarType.pvShort);
+		final short[] pixels = { (short) number, (short) number, (short) number, (short) number };
+		value.put(0, pixels.length, pixels, 0);
+		frame.getSubField(PVUnion.class, "value").set(value);
+		final PVStructure[] dimensions = new PVStructure[2];
+		for (int i = 0; i < dimensions.length; i++) {
+			dimensions[i] = pvDataCreate.createPVStructure(DIMENSION);
+			dimensions[i].getSubField(PVInt.class, "size").put(2);
+		}
+		frame.getSubField(PVStructureArray.class, "dimension").put(0, dimensions.length, dimensions, 0);
+		return frame;
+	}
+
+	private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+		final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!condition.getAsBoolean()) {
+			assertTrue("Timed out", System.nanoTime() < deadline);
+			Thread.sleep(10);
+		}
+	}
+
+	private EpicsV4DynamicDatasetConnector connector;
+
+	/** The frame numbers the listener was notified of, in order */
+	private final List<Integer> delivered = new CopyOnWriteArrayList<>();
+
+	@Before
+	public void setUp() {
+		connector = new EpicsV4DynamicDatasetConnector("BL00I-EA-TEST-01:PVA:OUTPUT");
+		connector.setMaxFrameRate(0);
+		connector.addDataListener(event -> delivered.add(((IDataset) connector.getDataset()).getInt(0, 0)));
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		connector.disconnect();
+	}
+
+	@Test
+	public void testOldestFramesAreDroppedWhenDecodingFallsBehind() throws Exception {
+		final CountDownLatch decoding = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		connector.addDataListener(event -> {
+			decoding.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		final FakeMonitor monitor = new FakeMonitor();
+		connector.start(monitor.monitor);
+
+		monitor.offer(1);
+		assertTrue(decoding.await(5, TimeUnit.SECONDS));
+		// with the first frame held up in the listener the queue of two takes the rest
+		for (int frame = 2; frame <= 5; frame++) {
+			monitor.offer(frame);
+		}
+		waitFor(() -> connector.getFramesReceived() == 5);
+		release.countDown();
+
+		waitFor(() -> connector.getFramesDecoded() == 3);
+		assertEquals(List.of(1, 4, 5), delivered);
+		assertEquals(2, connector.getFramesDropped());
+		assertEquals(0, connector.getFramesSkipped());
+	}
+
+	@Test
+	public void testFramesOverTheMaximumRateAreSkipped() throws Exception {
+		connector.setMaxFrameRate(0.1);
+		final FakeMonitor monitor = new FakeMonitor();
+		connector.start(monitor.monitor);
+
+		for (int frame = 1; frame <= 3; frame++) {
+			monitor.offer(frame);
+		}
+		waitFor(() -> connector.getFramesReceived() == 3 && connector.getFramesDecoded() == 1);
+		assertEquals(2, connector.getFramesSkipped());
+		assertEquals(List.of(1), delivered);
+	}
+
+	@Test
+	public void testEarlierConnectionStopsReceivingAndDecoding() throws Exception {
+		final FakeMonitor first = new FakeMonitor();
+		connector.start(first.monitor);
+		first.offer(1);
+		waitFor(() -> connector.getFramesDecoded() == 1);
+
+		// as after a disconnection the earlier threads may still be running
+		final FakeMonitor second = new FakeMonitor();
+		connector.start(second.monitor);
+		first.offer(2);
+		second.offer(3);
+		waitFor(() -> connector.getFramesDecoded() == 2);
+		assertEquals(List.of(1, 3), delivered);
+	}
+}
@@ -0,0 +1,109 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package uk.ac.diamond.daq.epics.connector;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import uk.ac.diamond.daq.epics.connector.FrameAssembler.Layout;
+
+public class FrameAssemblerTest {
+
+	private static final int WIDTH = 3;
+	private static final int HEIGHT = 2;
+
+	/** Pixel interleaved 3x2 image, each value encoding its row, column and channel */
+	private static final short[] EXPECTED = {
+			0, 1, 2, 10, 11, 12, 20, 21, 22,
+			100, 101, 102, 110, 111, 112, 120, 121, 122 };
+
+	private static final short[] RGB2 = {
+			0, 10, 20, 1, 11, 21, 2, 12, 22,
+			100, 110, 120, 101, 111, 121, 102, 112, 122 };
+
+	private static final short[] RGB3 = {
+			0, 10, 20, 100, 110, 120,
+			1, 11, 21, 101, 111, 121,
+			2, 12, 22, 102, 112, 122 };
+
+	private final FrameAssembler assembler = new FrameAssembler();
+
+	@Test
+	public void testPixelInterleavedFrameIsUsedAsIs() {
+		assertSame(EXPECTED, assembler.assemble(EXPECTED, Layout.RGB1, WIDTH, HEIGHT, false));
+	}
+
+	@Test
+	public void testRowInterleavedFrame() {
+		assertArrayEquals(EXPECTED, (short[]) assembler.assemble(RGB2, Layout.RGB2, WIDTH, HEIGHT, false));
+	}
+
+	@Test
+	public void testPlaneInterleavedFrame() {
+		assertArrayEquals(EXPECTED, (short[]) assembler.assemble(RGB3, Layout.RGB3, WIDTH, HEIGHT, false));
+	}
+
+	@Test
+	public void testSignedBytesStayBytes() {
+		assertArrayEquals(new byte[] { 0, 1, -1, 10, 11, -2 },
+				(byte[]) assembler.assemble(new byte[] { 0, 10, 1, 11, -1, -2 }, Layout.RGB3, 2, 1, false));
+	}
+
+	@Test
+	public void testUnsignedBytesArePromotedWhileDeinterleaving() {
+		final byte[] frame = { (byte) 200, 10, (byte) 201, 11, (byte) 255, 12 };
+		assertArrayEquals(new short[] { 200, 201, 255, 10, 11, 12 },
+				(short[]) assembler.assemble(frame, Layout.RGB2, 2, 1, true));
+	}
+
+	@Test
+	public void testUnsignedMonoBytesArePromoted() {
+		assertArrayEquals(new short[] { 0, 128, 255, 1 },
+				(short[]) assembler.assemble(new byte[] { 0, (byte) 128, (byte) 255, 1 }, Layout.MONO, 2, 2, true));
+	}
+
+	@Test
+	public void testWiderValuesAreNarrowedToShorts() {
+		final double[] frame = new double[RGB3.length];
+		for (int i = 0; i < frame.length; i++) {
+			frame[i] = RGB3[i];
+		}
+		assertArrayEquals(EXPECTED, (short[]) assembler.assemble(frame, Layout.RGB3, WIDTH, HEIGHT, false));
+	}
+
+	@Test
+	public void testOutputIsReusedAcrossFrames() {
+		final Object first = assembler.assemble(RGB3, Layout.RGB3, WIDTH, HEIGHT, false);
+		assertSame(first, assembler.assemble(RGB3, Layout.RGB3, WIDTH, HEIGHT, false));
+	}
+
+	@Test
+	public void testLayoutChangeIsFollowed() {
+		assembler.assemble(RGB3, Layout.RGB3, WIDTH, HEIGHT, false);
+		assertArrayEquals(EXPECTED, (short[]) assembler.assemble(RGB2, Layout.RGB2, WIDTH, HEIGHT, false));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testFrameOfWrongSizeIsRejected() {
+		assembler.assemble(RGB3, Layout.RGB3, WIDTH, HEIGHT + 1, false);
+	}
+}
@@ -29,6 +29,7 @@ import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -54,10 +55,10 @@ import gda.data.nexus.tree.INexusTree;
 import gda.data.nexus.tree.NexusTreeNode;
 import gda.device.detector.addetector.filewriter.MultipleHDF5PluginsPerDetectorFileWriter;
 import gda.device.detector.addetector.filewriter.MultipleImagesPerHDF5FileWriter;
+import gda.epics.connection.EpicsChannelRegistry;
 import gda.epics.connection.EpicsController;
 import gda.factory.FindableBase;
 import gda.jython.InterfaceProvider;
-import gda.util.functions.ThrowingFunction;
 import gov.aps.jca.CAException;
 import gov.aps.jca.Channel;
 import gov.aps.jca.TimeoutException;
@@ -149,9 +150,9 @@ public class EpicsProcessVariableCollection extends FindableBase {
 	private static final String NOT_AVAILABLE = "Not Available";
 	private static final EpicsController EPICS_CONTROLLER = EpicsController.getInstance();
 	/**
-	 * a cached instance which maps EPICS PV to CA Channel created
+	 * a cached instance which maps EPICS PV to CA Channel acquired from the shared channel registry
 	 */
-	private static final Map<String, Channel> channelMap = new HashMap<>();
+	private static final Map<String, Channel> channelMap = new ConcurrentHashMap<>();
 
 	/**
 	 * Spring bean configurable map which maps user names to EPICS processing variable names
@@ -498,15 +499,26 @@ public class EpicsProcessVariableCollection extends FindableBase {
 	 * @return channel - Optional<Channel>
 	 */
 	private static Optional<Channel> getChannel(String pv) {
-		ThrowingFunction<String, Channel> f = EPICS_CONTROLLER::createChannel;
-		Channel channel = null;
+		final Channel cached = channelMap.get(pv);
+		if (cached != null) {
+			return Optional.of(cached);
+		}
+		// not acquired inside the map, as it waits for the connection
+		final EpicsChannelRegistry registry = EpicsChannelRegistry.getInstance(EPICS_CONTROLLER);
+		final Channel channel;
 		try {
-			channel = channelMap.computeIfAbsent(pv, f);
+			channel = registry.acquire(pv);
 			logger.trace("Created channel for PV: {}", pv);
-		} catch (RuntimeException e) {
+		} catch (CAException | TimeoutException | RuntimeException e) {
 			logger.error("Error create Channel Access for {}", pv, e);
+			return Optional.empty();
+		}
+		final Channel existing = channelMap.putIfAbsent(pv, channel);
+		if (existing != null) {
+			registry.release(channel);
+			return Optional.of(existing);
 		}
-		return Optional.ofNullable(channel);
+		return Optional.of(channel);
 	}
 
 	/**
@@ -41,9 +41,23 @@ public class ArrayData {
 		return dims;
 	}
 
+	/**
+	 * Reads the dimensions and data type of the array as well as the array itself, so takes several round trips. When
+	 * reading many frames, prefer {@link #readArrayData(NDArray, ArrayGeometry)}.
+	 */
 	public static NexusGroupData readArrayData(NDArray ndArray) throws Exception {
 		int[] dims = determineDataDimensions(ndArray);
+		return readArrayData(ndArray, dims, ndArray.getPluginBase().getDataType_RBV());
+	}
+
+	/**
+	 * Reads the array, taking its dimensions and data type from the given geometry rather than reading them again.
+	 */
+	public static NexusGroupData readArrayData(NDArray ndArray, ArrayGeometry geometry) throws Exception {
+		return readArrayData(ndArray, geometry.getDimensions(), geometry.getDataType());
+	}
 
+	private static NexusGroupData readArrayData(NDArray ndArray, int[] dims, short dataType) throws Exception {
 		if (dims.length == 0) {
 			throw new Exception("Dimensions of data from ndArray are zero length");
 		}
@@ -53,8 +67,6 @@ public class ArrayData {
 			expectedNumPixels = expectedNumPixels * dims[i];
 		}
 		NexusGroupData dataVals;
-		// TODO do only once per scan
-		short dataType = ndArray.getPluginBase().getDataType_RBV();
 		switch (dataType) {
 		case NDPluginBase.UInt8: {
 			byte[] b = new byte[] {};
@@ -0,0 +1,187 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package gda.device.detector.addetector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import gda.device.detector.areadetector.v17.NDPluginBase;
+import gda.observable.Observable;
+import gda.observable.Observer;
+
+/**
+ * The dimensions and data type of the arrays from an areaDetector plugin, as needed by
+ * {@link ArrayData#readArrayData(gda.device.detector.areadetector.v17.NDArray, ArrayGeometry)}.
+ * <p>
+ * {@link #startMonitoring()} reads them once, at the start of a collection, and then keeps them current with monitors
+ * until {@link #stopMonitoring()}, so that reading each frame needs only the array itself. Without monitoring, the
+ * values are read again by {@link #refresh()}.
+ */
+public class ArrayGeometry {
+
+	private static final Logger logger = LoggerFactory.getLogger(ArrayGeometry.class);
+
+	private final NDPluginBase pluginBase;
+
+	private final Object lock = new Object();
+
+	private int nDimensions;
+
+	/** ArraySize0_RBV, ArraySize1_RBV and ArraySize2_RBV */
+	private final int[] arraySizes = new int[3];
+
+	private short dataType;
+
+	/** Immutable, replaced whenever a value changes */
+	private volatile int[] dimensions = new int[0];
+
+	private Observable<Integer> nDimensionsObservable;
+	private final Observer<Integer> nDimensionsObserver = observer(n -> nDimensions = n);
+
+	private final List<Observable<Integer>> arraySizeObservables = new ArrayList<>(3);
+	private final List<Observer<Integer>> arraySizeObservers = List.of(
+			observer(size -> arraySizes[0] = size),
+			observer(size -> arraySizes[1] = size),
+			observer(size -> arraySizes[2] = size));
+
+	private Observable<Integer> dataTypeObservable;
+	private final Observer<Integer> dataTypeObserver = observer(type -> dataType = (short) type);
+
+	private boolean monitoring = false;
+
+	public ArrayGeometry(NDPluginBase pluginBase) {
+		this.pluginBase = pluginBase;
+	}
+
+	private Observer<Integer> observer(IntConsumer setter) {
+		return (source, arg) -> {
+			if (arg != null) {
+				update(() -> setter.accept(arg));
+			}
+		};
+	}
+
+	/**
+	 * Reads the dimensions and data type, then keeps them current until {@link #stopMonitoring()}. Calling this again
+	 * while already monitoring just reads the values again.
+	 *
+	 * @throws Exception
+	 *             if the values could not be read or monitored
+	 */
+	public void startMonitoring() throws Exception {
+		synchronized (lock) {
+			if (!monitoring) {
+				if (nDimensionsObservable == null) {
+					nDimensionsObservable = pluginBase.createNDimensionsObservable();
+					for (int i = 0; i < arraySizeObservers.size(); i++) {
+						arraySizeObservables.add(pluginBase.createArraySizeObservable(i));
+					}
+					dataTypeObservable = pluginBase.createDataTypeObservable();
+				}
+				// observe before reading, so that no change is missed in between
+				nDimensionsObservable.addObserver(nDimensionsObserver);
+				for (int i = 0; i < arraySizeObservers.size(); i++) {
+					arraySizeObservables.get(i).addObserver(arraySizeObservers.get(i));
+				}
+				dataTypeObservable.addObserver(dataTypeObserver);
+				monitoring = true;
+			}
+			refresh();
+		}
+	}
+
+	/**
+	 * Stops keeping the values current. They are kept, and can be updated with {@link #refresh()}.
+	 */
+	public void stopMonitoring() {
+		synchronized (lock) {
+			if (!monitoring) {
+				return;
+			}
+			nDimensionsObservable.removeObserver(nDimensionsObserver);
+			for (int i = 0; i < arraySizeObservers.size(); i++) {
+				arraySizeObservables.get(i).removeObserver(arraySizeObservers.get(i));
+			}
+			dataTypeObservable.removeObserver(dataTypeObserver);
+			monitoring = false;
+		}
+	}
+
+	/**
+	 * @return <code>true</code> if the values are being kept current by monitors
+	 */
+	public boolean isMonitoring() {
+		synchronized (lock) {
+			return monitoring;
+		}
+	}
+
+	/**
+	 * Reads the dimensions and data type from the plugin.
+	 *
+	 * @throws Exception
+	 *             if they could not be read
+	 */
+	public void refresh() throws Exception {
+		final int n = pluginBase.getNDimensions_RBV();
+		final int size0 = pluginBase.getArraySize0_RBV();
+		final int size1 = pluginBase.getArraySize1_RBV();
+		final int size2 = pluginBase.getArraySize2_RBV();
+		final short type = pluginBase.getDataType_RBV();
+		update(() -> {
+			nDimensions = n;
+			arraySizes[0] = size0;
+			arraySizes[1] = size1;
+			arraySizes[2] = size2;
+			dataType = type;
+		});
+	}
+
+	private void update(Runnable change) {
+		synchronized (lock) {
+			change.run();
+			final int[] dimFromEpics = { arraySizes[2], arraySizes[1], arraySizes[0] };
+			final int n = Math.max(0, Math.min(nDimensions, 3));
+			dimensions = Arrays.copyOfRange(dimFromEpics, 3 - n, 3);
+			logger.trace("{} dimensions {}, data type {}", pluginBase, dimensions, dataType);
+		}
+	}
+
+	/**
+	 * @return the dimensions of the arrays, slowest varying first
+	 */
+	public int[] getDimensions() {
+		return dimensions.clone();
+	}
+
+	/**
+	 * @return the index of the data type, one of the constants such as {@link NDPluginBase#UInt8}
+	 */
+	public short getDataType() {
+		synchronized (lock) {
+			return dataType;
+		}
+	}
+}
@@ -18,6 +18,7 @@
 
 package gda.device.detector.addetector.collectionstrategy;
 
+import gda.epics.util.EpicsDeadline;
 import gda.scan.ScanInformation;
 
 /**
@@ -28,13 +29,35 @@ import gda.scan.ScanInformation;
  */
 public abstract class AbstractADCollectionStrategy extends AbstractADCollectionStrategyBase {
 
+	private double prepareTimeout = 0;
+
+	/**
+	 * @return time in seconds all the PV operations made while preparing for a collection must finish within, or
+	 *         <code>0</code> if each has only its own timeout
+	 */
+	public double getPrepareTimeout() {
+		return prepareTimeout;
+	}
+
+	/**
+	 * @param prepareTimeout
+	 *            time in seconds all the PV operations made while preparing for a collection must finish within, so
+	 *            that an unresponsive IOC fails the preparation once rather than once per PV. <code>0</code> or less
+	 *            gives each operation its own timeout.
+	 */
+	public void setPrepareTimeout(double prepareTimeout) {
+		this.prepareTimeout = prepareTimeout;
+	}
+
 	// NXCollectionStrategyPlugin interface
 
 	@Override
 	public final void prepareForCollection(double collectionTime, int numberImagesPerCollection, ScanInformation scanInfo) throws Exception {
-		beforePreparation();
-		super.prepareForCollection(collectionTime, numberImagesPerCollection, scanInfo);
-		rawPrepareForCollection(collectionTime, numberImagesPerCollection, scanInfo);
+		try (EpicsDeadline deadline = EpicsDeadline.start(prepareTimeout)) {
+			beforePreparation();
+			super.prepareForCollection(collectionTime, numberImagesPerCollection, scanInfo);
+			rawPrepareForCollection(collectionTime, numberImagesPerCollection, scanInfo);
+		}
 	}
 
 	@Override
@@ -312,6 +312,19 @@ public interface NDPluginBase extends ADCommon {
 
 	Observable<Integer> createDroppedFramesObservable()  throws Exception;
 
+	Observable<Integer> createNDimensionsObservable() throws Exception;
+
+	/**
+	 * @param dimension
+	 *            0, 1 or 2, for ArraySize0_RBV, ArraySize1_RBV or ArraySize2_RBV
+	 */
+	Observable<Integer> createArraySizeObservable(int dimension) throws Exception;
+
+	/**
+	 * @return observable of the index of the data type, as returned by {@link #getDataType_RBV()}
+	 */
+	Observable<Integer> createDataTypeObservable() throws Exception;
+
 	public void checkDroppedFrames() throws Exception;
 
 
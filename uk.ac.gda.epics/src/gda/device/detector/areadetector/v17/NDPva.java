@@ -37,4 +37,54 @@ public interface NDPva extends GetPluginBaseAvailable {
 	 */
 	public String getPvName() throws IOException;
 
+	/**
+	 * Starts queuing each frame the plugin publishes, for {@link #getNextImage(double)}, and clears any already queued.
+	 * The frames are taken from a monitor on the same channel as {@link #getImage()} uses, which stays open until
+	 * {@link #stopFrameMonitor()}.
+	 */
+	public void startFrameMonitor() throws IOException;
+
+	/**
+	 * Stops queuing frames and discards any not yet taken.
+	 */
+	public void stopFrameMonitor();
+
+	/**
+	 * @return true if frames are being queued
+	 */
+	public boolean isFrameMonitorRunning();
+
+	/**
+	 * Discards any queued frames, so that the next taken is the first published after this call, e.g. after the
+	 * detector has been triggered.
+	 */
+	public void clearFrames();
+
+	/**
+	 * Takes the oldest queued frame, waiting for one if none is queued. {@link #getHeight()} and {@link #getWidth()}
+	 * then give its shape.
+	 *
+	 * @param timeoutS
+	 *            time in seconds to wait for a frame
+	 * @return the frame's data as a primitive array
+	 * @throws IOException
+	 *             if no frame arrives in time or the monitor is not running
+	 */
+	public Object getNextImage(double timeoutS) throws IOException;
+
+	/**
+	 * @return the number of frames received by the monitor since it was started
+	 */
+	public long getFramesReceived();
+
+	/**
+	 * @return the number of frames taken with {@link #getNextImage(double)} since the monitor was started
+	 */
+	public long getFramesConsumed();
+
+	/**
+	 * @return the number of frames discarded, as the queue was full or cleared, since the monitor was started
+	 */
+	public long getFramesDropped();
+
 }
@@ -37,6 +37,7 @@ import gda.device.detector.areadetector.v17.NDPluginBase;
 import gda.epics.LazyPVFactory;
 import gda.epics.PV;
 import gda.epics.ReadOnlyPV;
+import gda.epics.connection.EpicsChannelRegistry;
 import gda.epics.connection.EpicsController;
 import gda.observable.Observable;
 import gov.aps.jca.CAException;
@@ -1833,7 +1834,7 @@ public class ADBaseImpl implements InitializingBean, ADBase {
 		Channel channel = channelMap.get(fullPvName);
 		if (channel == null) {
 			try {
-				channel = EPICS_CONTROLLER.createChannel(fullPvName);
+				channel = EpicsChannelRegistry.getInstance(EPICS_CONTROLLER).acquire(fullPvName);
 			} catch (CAException cae) {
 				logger.warn("Problem creating channel", cae);
 				throw cae;
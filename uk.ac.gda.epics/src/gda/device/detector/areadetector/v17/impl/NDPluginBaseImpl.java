@@ -29,6 +29,7 @@ import org.springframework.beans.factory.InitializingBean;
 import gda.device.DeviceException;
 import gda.device.detector.areadetector.v17.NDPluginBase;
 import gda.epics.LazyPVFactory;
+import gda.epics.connection.EpicsChannelRegistry;
 import gda.epics.connection.EpicsController;
 import gda.observable.Observable;
 import gda.observable.ObservableUtil;
@@ -553,7 +554,7 @@ public class NDPluginBaseImpl implements InitializingBean, NDPluginBase {
 		Channel channel = channelMap.get(fullPvName);
 		if (channel == null) {
 			try {
-				channel = EPICS_CONTROLLER.createChannel(fullPvName);
+				channel = EpicsChannelRegistry.getInstance(EPICS_CONTROLLER).acquire(fullPvName);
 			} catch (CAException cae) {
 				logger.warn("Problem creating channel", cae);
 				throw cae;
@@ -688,6 +689,30 @@ public class NDPluginBaseImpl implements InitializingBean, NDPluginBase {
 		return LazyPVFactory.newReadOnlyIntegerPV(getChannelName(DroppedArrays_RBV));
 	}
 
+	@Override
+	public Observable<Integer> createNDimensionsObservable() throws Exception {
+		return LazyPVFactory.newReadOnlyIntegerPV(getChannelName(NDimensions_RBV));
+	}
+
+	@Override
+	public Observable<Integer> createArraySizeObservable(int dimension) throws Exception {
+		switch (dimension) {
+		case 0:
+			return LazyPVFactory.newReadOnlyIntegerPV(getChannelName(ArraySize0_RBV));
+		case 1:
+			return LazyPVFactory.newReadOnlyIntegerPV(getChannelName(ArraySize1_RBV));
+		case 2:
+			return LazyPVFactory.newReadOnlyIntegerPV(getChannelName(ArraySize2_RBV));
+		default:
+			throw new IllegalArgumentException("No array size PV for dimension " + dimension);
+		}
+	}
+
+	@Override
+	public Observable<Integer> createDataTypeObservable() throws Exception {
+		return LazyPVFactory.newReadOnlyIntegerFromEnumPV(getChannelName(DataType_RBV));
+	}
+
 	private Observable<Integer> droppedFramesObservable;
 	private Observer<Integer>  droppedFramesObserver;
 
@@ -319,6 +319,22 @@ public class NDPluginBaseSimulator implements NDPluginBase {
 		return droppedFramesObservable;
 	}
 
+	@Override
+	public Observable<Integer> createNDimensionsObservable() throws Exception {
+		// dims and datatype only change when set, and do not notify observers
+		return new ObservableUtil<Integer>();
+	}
+
+	@Override
+	public Observable<Integer> createArraySizeObservable(int dimension) throws Exception {
+		return new ObservableUtil<Integer>();
+	}
+
+	@Override
+	public Observable<Integer> createDataTypeObservable() throws Exception {
+		return new ObservableUtil<Integer>();
+	}
+
 	@Override
 	public void checkDroppedFrames() throws Exception {
 		// do nothing
@@ -19,41 +19,87 @@
 package gda.device.detector.areadetector.v17.impl;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
 import java.util.Arrays;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 import org.epics.pvaClient.PvaClient;
 import org.epics.pvaClient.PvaClientChannel;
 import org.epics.pvaClient.PvaClientGet;
-import org.epics.pvaClient.PvaClientGetData;
-import org.epics.pvdata.factory.ConvertFactory;
-import org.epics.pvdata.pv.Convert;
+import org.epics.pvaClient.PvaClientMonitor;
 import org.epics.pvdata.pv.PVInt;
 import org.epics.pvdata.pv.PVScalarArray;
 import org.epics.pvdata.pv.PVString;
 import org.epics.pvdata.pv.PVStructure;
 import org.epics.pvdata.pv.PVStructureArray;
 import org.epics.pvdata.pv.PVUnion;
-import org.epics.pvdata.pv.ScalarType;
 import org.epics.pvdata.pv.Status;
 import org.epics.pvdata.pv.StructureArrayData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.InitializingBean;
 
 import gda.device.detector.areadetector.v17.NDPva;
 import gda.epics.LazyPVFactory;
 import gda.epics.ReadOnlyPV;
-
+import gda.epics.codec.NTNDArrayDecoder;
+import uk.ac.diamond.daq.concurrent.Async;
+
+/**
+ * Reads NTNDArrays from the PVA plugin over a channel which is kept open between frames. Frames can either be fetched
+ * on demand with {@link #getImage()}, which gives the latest published, or queued from a monitor with
+ * {@link #startFrameMonitor()} and taken in order with {@link #getNextImage(double)}.
+ * <p>
+ * As in {@code EpicsV4DynamicDatasetConnector} the monitor is polled from a separate thread rather than given a
+ * requester, and each frame is copied out of the PVA structure before the event is released.
+ */
 public class NDPvaImpl extends NDBaseImpl implements NDPva, InitializingBean {
 
-	private static final Convert convert = ConvertFactory.getConvert();
+	private static final Logger logger = LoggerFactory.getLogger(NDPvaImpl.class);
+
+	private static final double CONNECT_TIMEOUT_S = 2.0;
 
 	private ReadOnlyPV<String> pvName;
 	private String basePVName;
 	private final PvaClient pva = PvaClient.get("pva");
-	private int width;
-	private int height;
+	private volatile int width;
+	private volatile int height;
+
+	/** The number of frames queued before the oldest is dropped */
+	private int frameQueueSize = 16;
+
+	// guarded by this
+	private PvaClientChannel pvaChannel;
+	private PvaClientGet pvaGet;
+
+	private final Object monitorLock = new Object();
+	private PvaClientMonitor pvaMonitor; // guarded by monitorLock
+	private volatile boolean monitorActive = false;
+
+	private final Deque<Frame> frames = new ArrayDeque<>(); // guarded by itself
+	private long framesReceived; // guarded by frames
+	private long framesConsumed; // guarded by frames
+	private long framesDropped; // guarded by frames
+
+	/**
+	 * A frame copied out of its NTNDArray.
+	 */
+	private static class Frame {
+		private final Object data;
+		private final int width;
+		private final int height;
+
+		Frame(Object data, int width, int height) {
+			this.data = data;
+			this.width = width;
+			this.height = height;
+		}
+	}
 
 	@Override
 	public void afterPropertiesSet() throws Exception {
@@ -68,77 +114,221 @@ public class NDPvaImpl extends NDBaseImpl implements NDPva, InitializingBean {
 	}
 
 	/**
-	 * This method goes through the process of connecting and destrying the channel every
-	 * time it is called.
-	 * <p>
-	 * There is a <a href="https://github.com/epics-base/exampleJava/blob/master/exampleClient/src/org/epics/exampleJava/exampleClient/ExamplePvaClientGet.java">simpler example</a> however this does not appear to work reliably.
-	 * If it did it would reduce a lot of this to: <br /> {@code PVStructure pvstructure = pva.channel(getPvName(), "pva", 5.0).get("record[queueSize=1]field()").getData().getPVStructure();}
+	 * Gets the latest frame over the open channel, connecting it first if necessary.
 	 */
 	@Override
-	public Object getImage() throws IOException {
-		PvaClientChannel pvaChannel = pva.createChannel(getPvName(), "pva");
-		pvaChannel.issueConnect();
-		Status status = pvaChannel.waitConnect(2.0);
+	public synchronized Object getImage() throws IOException {
+		connect();
+		final PVStructure pvstructure;
+		try {
+			pvaGet.get();
+			pvstructure = pvaGet.getData().getPVStructure();
+		} catch (RuntimeException e) {
+			// the channel may have gone away, so start again next time, unless the frame monitor is using it
+			if (!monitorActive) {
+				closeChannel();
+			}
+			throw new IOException("Could not get frame from " + basePVName, e);
+		}
+		return handOut(toFrame(pvstructure));
+	}
+
+	/**
+	 * Opens the channel and its get, unless already open and connected to the current PV. Once open the channel is kept
+	 * until it disconnects or the PV name changes. While the frame monitor runs the channel is always kept, as destroying
+	 * it would destroy the monitor too; pvAccess reconnects it by itself.
+	 */
+	private synchronized void connect() throws IOException {
+		if (pvaChannel != null && monitorActive) {
+			return;
+		}
+		final String name = getPvName();
+		if (pvaChannel != null && pvaChannel.getChannel().isConnected() && pvaChannel.getChannelName().equals(name)) {
+			return;
+		}
+		closeChannel();
+		final PvaClientChannel channel = pva.createChannel(name, "pva");
+		channel.issueConnect();
+		Status status = channel.waitConnect(CONNECT_TIMEOUT_S);
 		if (!status.isOK()) {
+			channel.destroy();
 			throw new IOException("connect failed");
 		}
-		PvaClientGet pvaGet = pvaChannel.createGet("field()");
-		pvaGet.issueConnect();
-		status = pvaGet.waitConnect();
+		final PvaClientGet get = channel.createGet("field()");
+		get.issueConnect();
+		status = get.waitConnect();
 		if (!status.isOK()) {
+			channel.destroy();
 			throw new IOException("createGet failed");
 		}
-		PvaClientGetData pvaData = pvaGet.getData();
-		PVStructure pvstructure = pvaData.getPVStructure();
-		pvaChannel.destroy();
-		PVScalarArray pvScalarArray = getPVScalarArray(pvstructure);
-		int colorMode = getColorMode(pvstructure);
-		int[] dims = extractDimensions(pvstructure);
-		var dataSize = getDataSize(dims, colorMode);
-		ScalarType scalarType = pvScalarArray.getScalarArray().getElementType();
-		return extractArray(pvScalarArray, scalarType, dataSize);
+		logger.debug("Connected to {}", name);
+		pvaChannel = channel;
+		pvaGet = get;
 	}
 
-	private Object extractArray(PVScalarArray imageDataArray, ScalarType dataType, int dataSize) {
-		switch (dataType) {
-		case pvByte:
-		case pvUByte:
-			byte[] byteArray = new byte[dataSize];
-			convert.toByteArray(imageDataArray, 0, dataSize, byteArray, 0);
-			return byteArray;
-		case pvDouble:
-			double[] doubleArray = new double[dataSize];
-			convert.toDoubleArray(imageDataArray, 0, dataSize, doubleArray, 0);
-			return doubleArray;
-		case pvFloat:
-			float[] floatArray = new float[dataSize];
-			convert.toFloatArray(imageDataArray, 0, dataSize, floatArray, 0);
-			return floatArray;
-		case pvInt:
-		case pvUInt:
-			int[] intArray = new int[dataSize];
-			convert.toIntArray(imageDataArray, 0, dataSize, intArray, 0);
-			return intArray;
-		case pvLong:
-		case pvULong:
-			long[] longArray = new long[dataSize];
-			convert.toLongArray(imageDataArray, 0, dataSize, longArray, 0);
-			return longArray;
-		case pvShort:
-		case pvUShort:
-			short[] shortArray = new short[dataSize];
-			convert.toShortArray(imageDataArray, 0, dataSize, shortArray, 0);
-			return shortArray;
-		case pvString:
-		case pvBoolean: // This is the only valid conversion specified for boolean in ConvertFactory
-			String[] stringArray = new String[dataSize];
-			convert.toStringArray(imageDataArray, 0, dataSize, stringArray, 0);
-			return stringArray;
-		default:
-			throw new IllegalArgumentException("Unknown ScalarType: " + dataType);
+	private synchronized void closeChannel() {
+		if (pvaChannel != null) {
+			pvaChannel.destroy();
+			pvaChannel = null;
+			pvaGet = null;
 		}
 	}
 
+	@Override
+	public void startFrameMonitor() throws IOException {
+		synchronized (monitorLock) {
+			if (pvaMonitor == null) {
+				final PvaClientChannel channel;
+				synchronized (this) {
+					connect();
+					channel = pvaChannel;
+				}
+				try {
+					pvaMonitor = channel.monitor("record[queueSize=" + frameQueueSize + "]field()");
+				} catch (RuntimeException e) {
+					throw new IOException("Could not monitor " + channel.getChannelName(), e);
+				}
+				monitorActive = true;
+				Async.execute(this::frameMonitorLoop);
+				logger.info("Started frame monitor on {}", channel.getChannelName());
+			}
+		}
+		synchronized (frames) {
+			frames.clear();
+			framesReceived = 0;
+			framesConsumed = 0;
+			framesDropped = 0;
+		}
+	}
+
+	@Override
+	public void stopFrameMonitor() {
+		monitorActive = false;
+		synchronized (monitorLock) {
+			if (pvaMonitor != null) {
+				pvaMonitor.stop();
+				pvaMonitor.destroy();
+				pvaMonitor = null;
+				logger.info("Stopped frame monitor after {} frames received, {} consumed, {} dropped",
+						getFramesReceived(), getFramesConsumed(), getFramesDropped());
+			}
+		}
+		synchronized (frames) {
+			framesDropped += frames.size();
+			frames.clear();
+			frames.notifyAll();
+		}
+	}
+
+	@Override
+	public boolean isFrameMonitorRunning() {
+		return monitorActive;
+	}
+
+	/**
+	 * Copies each monitored frame into the queue, dropping the oldest once it is full. The lock ensures the monitor is
+	 * not stopped while an event is being processed.
+	 */
+	private void frameMonitorLoop() {
+		while (monitorActive) {
+			synchronized (monitorLock) {
+				if (!monitorActive || pvaMonitor == null) {
+					return;
+				}
+				if (pvaMonitor.waitEvent(0.5)) {
+					try {
+						queue(toFrame(pvaMonitor.getData().getPVStructure()));
+					} catch (RuntimeException e) {
+						logger.error("Invalid frame from {} - {}", basePVName, e.getMessage());
+					} finally {
+						pvaMonitor.releaseEvent();
+					}
+				}
+			}
+		}
+	}
+
+	private void queue(Frame frame) {
+		synchronized (frames) {
+			framesReceived++;
+			if (frames.size() >= frameQueueSize) {
+				frames.removeFirst();
+				framesDropped++;
+			}
+			frames.addLast(frame);
+			frames.notifyAll();
+		}
+	}
+
+	@Override
+	public void clearFrames() {
+		synchronized (frames) {
+			framesDropped += frames.size();
+			frames.clear();
+		}
+	}
+
+	@Override
+	public Object getNextImage(double timeoutS) throws IOException {
+		final long deadline = System.nanoTime() + (long) (timeoutS * 1e9);
+		synchronized (frames) {
+			try {
+				while (frames.isEmpty()) {
+					if (!monitorActive) {
+						throw new IOException("Frame monitor is not running on " + basePVName);
+					}
+					final long remainingNanos = deadline - System.nanoTime();
+					if (remainingNanos <= 0) {
+						throw new IOException("No frame received from " + basePVName + " within " + timeoutS + "s");
+					}
+					TimeUnit.NANOSECONDS.timedWait(frames, remainingNanos);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interupted while waiting for frame from " + basePVName);
+			}
+			framesConsumed++;
+			return handOut(frames.removeFirst());
+		}
+	}
+
+	@Override
+	public long getFramesReceived() {
+		synchronized (frames) {
+			return framesReceived;
+		}
+	}
+
+	@Override
+	public long getFramesConsumed() {
+		synchronized (frames) {
+			return framesConsumed;
+		}
+	}
+
+	@Override
+	public long getFramesDropped() {
+		synchronized (frames) {
+			return framesDropped;
+		}
+	}
+
+	private Object handOut(Frame frame) {
+		width = frame.width;
+		height = frame.height;
+		return frame.data;
+	}
+
+	private Frame toFrame(PVStructure pvstructure) {
+		checkImageData(pvstructure);
+		int colorMode = getColorMode(pvstructure);
+		int[] dims = extractDimensions(pvstructure);
+		int[] shape = getShape(dims, colorMode);
+		var dataSize = shape[0] * shape[1] * shape[2];
+		// decompresses the data if the codec plugin compressed it
+		return new Frame(NTNDArrayDecoder.getInstance().decode(pvstructure, dataSize), shape[0], shape[1]);
+	}
+
 	@Override
 	public String getPvName() throws IOException {
 		return pvName.get();
@@ -165,7 +355,7 @@ public class NDPvaImpl extends NDBaseImpl implements NDPva, InitializingBean {
 		throw new IllegalStateException("PV Structure does not contain attributes");
 	}
 
-	private PVScalarArray getPVScalarArray(PVStructure pvStructure) {
+	private void checkImageData(PVStructure pvStructure) {
 		// Make sure there is actually image data
 		PVUnion pvUnionValue = pvStructure.getSubField(PVUnion.class, "value");
 		if (pvUnionValue == null) {
@@ -179,18 +369,6 @@ public class NDPvaImpl extends NDBaseImpl implements NDPva, InitializingBean {
 		if (imageData.getLength() == 0) {
 			throw new IllegalStateException("Array contains no elements");
 		}
-
-		// Check if there is a codec
-		PVStructure pvCodecStruct = pvStructure.getSubField(PVStructure.class, "codec");
-		if (pvCodecStruct != null) {
-			PVString pvCodec = pvCodecStruct.getSubField(PVString.class, "name");
-			String codec = pvCodec.get();
-			if (!codec.isEmpty()) {
-				throw new IllegalStateException("Compressed NTNDArrays are not currently supported");
-			}
-		}
-
-		return imageData;
 	}
 
 	private int[] extractDimensions(PVStructure pvStructure) {
@@ -221,7 +399,10 @@ public class NDPvaImpl extends NDBaseImpl implements NDPva, InitializingBean {
 		return dims;
 	}
 
-	private int getDataSize(int[] dimensions, int colourMode) {
+	/**
+	 * @return the width, height and number of colour channels
+	 */
+	private int[] getShape(int[] dimensions, int colourMode) {
 
 		int dim0 = dimensions[0];
 		int dim1 = dimensions[1];
@@ -232,6 +413,8 @@ public class NDPvaImpl extends NDBaseImpl implements NDPva, InitializingBean {
 			dim2 = 0;
 		}
 
+		int width;
+		int height;
 		int rgbChannels;
 
 		// ColourMode definitions at http://epics-pvdata.sourceforge.net/alpha/normativeTypes/normativeTypes.html
@@ -254,7 +437,7 @@ public class NDPvaImpl extends NDBaseImpl implements NDPva, InitializingBean {
 				rgbChannels = dim0;
 			}
 		}
-		return width * height * rgbChannels;
+		return new int[] { width, height, rgbChannels };
 	}
 
 	public String getBasePVName() {
@@ -265,6 +448,22 @@ public class NDPvaImpl extends NDBaseImpl implements NDPva, InitializingBean {
 		this.basePVName = basePVName;
 	}
 
+	public int getFrameQueueSize() {
+		return frameQueueSize;
+	}
+
+	/**
+	 * @param frameQueueSize
+	 *            the number of monitored frames held for {@link #getNextImage(double)} before the oldest is dropped,
+	 *            also the queue size requested of the server. Takes effect the next time the monitor is started.
+	 */
+	public void setFrameQueueSize(int frameQueueSize) {
+		if (frameQueueSize < 1) {
+			throw new IllegalArgumentException("frameQueueSize must be at least 1 but was " + frameQueueSize);
+		}
+		this.frameQueueSize = frameQueueSize;
+	}
+
 	@Override
 	public Object getImageObject() throws IOException {
 		return getImage();
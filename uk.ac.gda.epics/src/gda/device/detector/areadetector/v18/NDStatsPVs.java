@@ -112,7 +112,7 @@ public interface NDStatsPVs {
 
 	public ReadOnlyPV<Integer> getTSCurrentPointPV();
 
-	public ReadOnlyPV<Double[]> getTSArrayPV(Stat stat);
+	public ReadOnlyPV<double[]> getTSArrayPV(Stat stat);
 
 	public PV<Integer> getTSReadScanPV();
 
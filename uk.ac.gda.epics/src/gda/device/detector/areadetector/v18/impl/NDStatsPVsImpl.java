@@ -78,7 +78,7 @@ public class NDStatsPVsImpl implements InitializingBean, NDStatsPVs {
 
 	private ReadOnlyPV<Integer> tsCurrentPointPV;
 
-	private Map<Stat, ReadOnlyPV<Double[]>> tsArrayPVMap;
+	private Map<Stat, ReadOnlyPV<double[]>> tsArrayPVMap;
 
 	private PV<Integer> tsReadScanPV;
 
@@ -137,14 +137,14 @@ public class NDStatsPVsImpl implements InitializingBean, NDStatsPVs {
 			tsReadScanPV = LazyPVFactory.newIntegerPV(fullname("TSRead.SCAN"));
 		}
 
-		tsArrayPVMap = new HashMap<NDStatsPVs.Stat, ReadOnlyPV<Double[]>>();
+		tsArrayPVMap = new HashMap<NDStatsPVs.Stat, ReadOnlyPV<double[]>>();
 
 		for (Stat stat : Arrays.asList(BasicStat.values())) {
-			tsArrayPVMap.put(stat, LazyPVFactory.newReadOnlyDoubleArrayPV(fullname("TS" + ((Enum<?>) stat).name())));
+			tsArrayPVMap.put(stat, LazyPVFactory.newReadOnlyPrimitiveDoubleArrayPV(fullname("TS" + ((Enum<?>) stat).name())));
 		}
 
 		for (Stat stat : Arrays.asList(CentroidStat.values())) {
-			tsArrayPVMap.put(stat, LazyPVFactory.newReadOnlyDoubleArrayPV(fullname("TS" + ((Enum<?>) stat).name())));
+			tsArrayPVMap.put(stat, LazyPVFactory.newReadOnlyPrimitiveDoubleArrayPV(fullname("TS" + ((Enum<?>) stat).name())));
 		}
 
 	}
@@ -179,7 +179,7 @@ public class NDStatsPVsImpl implements InitializingBean, NDStatsPVs {
 	}
 
 	@Override
-	public ReadOnlyPV<Double[]> getTSArrayPV(Stat stat) {
+	public ReadOnlyPV<double[]> getTSArrayPV(Stat stat) {
 		return tsArrayPVMap.get(stat);
 	}
 
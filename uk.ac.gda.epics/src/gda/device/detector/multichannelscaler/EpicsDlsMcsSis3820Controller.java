@@ -32,6 +32,7 @@ import gda.device.MCAStatus;
 import gda.epics.connection.EpicsChannelManager;
 import gda.epics.connection.EpicsController;
 import gda.epics.connection.InitializationListener;
+import gda.epics.connection.MonitorConflation;
 import gda.factory.FactoryException;
 import gov.aps.jca.CAException;
 import gov.aps.jca.Channel;
@@ -532,7 +533,8 @@ public class EpicsDlsMcsSis3820Controller extends DeviceBase implements Initiali
 	 */
 	public void addDataMonitor(int channel, DataMonitor ml) throws DeviceException {
 		try {
-			controller.setMonitor(data[channel], ml);
+			// every data update is wanted, not only the latest
+			controller.setMonitor(data[channel], ml, MonitorConflation.lossless());
 			channelIndexMap.put(channel, data[channel]);
 		} catch (Throwable th) {
 			logger.error("Failed to add data monitor on MCA{} for {}.", channel, getName());
@@ -20,7 +20,9 @@ package gda.device.detector.nxdetector.plugin.areadetector;
 
 import gda.data.nexus.extractor.NexusGroupData;
 import gda.device.detector.addetector.ArrayData;
+import gda.device.detector.addetector.ArrayGeometry;
 import gda.device.detector.areadetector.v17.NDArray;
+import gda.scan.ScanInformation;
 
 public class ADArrayPlugin extends ADDirectReadBase {
 
@@ -28,6 +30,8 @@ public class ADArrayPlugin extends ADDirectReadBase {
 
 	private String name = "array";
 
+	private ArrayGeometry geometry;
+
 	public ADArrayPlugin(NDArray ndArray) {
 		super(ndArray);
 		this.ndArray = ndArray;
@@ -38,8 +42,41 @@ public class ADArrayPlugin extends ADDirectReadBase {
 		return name;
 	}
 
+	@Override
+	public void prepareForCollection(int numberImagesPerCollection, ScanInformation scanInfo) throws Exception {
+		super.prepareForCollection(numberImagesPerCollection, scanInfo);
+		if (isEnabled()) {
+			// read the array dimensions and data type once per collection rather than with every frame
+			if (geometry == null) {
+				geometry = new ArrayGeometry(ndArray.getPluginBase());
+			}
+			geometry.startMonitoring();
+		}
+	}
+
+	@Override
+	public void completeCollection() throws Exception {
+		stopMonitoringGeometry();
+		super.completeCollection();
+	}
+
+	@Override
+	public void stop() throws Exception {
+		stopMonitoringGeometry();
+		super.stop();
+	}
+
+	private void stopMonitoringGeometry() {
+		if (geometry != null) {
+			geometry.stopMonitoring();
+		}
+	}
+
 	@Override
 	protected NexusGroupData getData() throws Exception {
+		if (geometry != null && geometry.isMonitoring()) {
+			return ArrayData.readArrayData(ndArray, geometry);
+		}
 		return ArrayData.readArrayData(ndArray);
 	}
 
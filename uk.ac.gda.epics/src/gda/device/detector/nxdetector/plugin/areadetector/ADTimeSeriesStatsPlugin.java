@@ -265,7 +265,7 @@ public class ADTimeSeriesStatsPlugin implements NXPlugin, NDPlugin, FrameCountin
 			numPointsToCollect = getNumPointsInScan()*numberImagesPerCollection;
 
 		}
-		List<ReadOnlyPV<Double[]>> tsArrayPVList = new ArrayList<ReadOnlyPV<Double[]>>();
+		List<ReadOnlyPV<double[]>> tsArrayPVList = new ArrayList<ReadOnlyPV<double[]>>();
 		for (Stat stat: getEnabledStats()) {
 			tsArrayPVList.add(pvs.getTSArrayPV(stat));
 		}
@@ -19,17 +19,30 @@
 package gda.device.detector.nxdetector.plugin.areadetector;
 
 import org.eclipse.january.dataset.DatasetFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import gda.data.nexus.extractor.NexusGroupData;
 import gda.device.detector.areadetector.v17.NDPva;
+import gda.scan.ScanInformation;
 
 /**
- * A basic strategy for collection using the PVA plugin
+ * A basic strategy for collection using the PVA plugin.
+ * <p>
+ * By default each readout gets the latest frame the plugin has published. With {@link #setUseFrameMonitor(boolean)}
+ * the frames published during the scan are instead queued as they arrive, and each readout takes the next one in
+ * order, so that none are missed or read twice at high frame rates.
  */
 public class PVAPlugin extends ADDirectReadBase {
 
+	private static final Logger logger = LoggerFactory.getLogger(PVAPlugin.class);
+
 	private final NDPva ndPva;
 
+	private boolean useFrameMonitor = false;
+
+	private double frameTimeout = 5.0;
+
 	public PVAPlugin(NDPva ndArray) {
 		super(ndArray);
 		this.ndPva = ndArray;
@@ -40,15 +53,71 @@ public class PVAPlugin extends ADDirectReadBase {
 		return "pva";
 	}
 
+	@Override
+	public void prepareForCollection(int numberImagesPerCollection, ScanInformation scanInfo) throws Exception {
+		super.prepareForCollection(numberImagesPerCollection, scanInfo);
+		if (isEnabled() && useFrameMonitor) {
+			// clears any frames from before the scan
+			ndPva.startFrameMonitor();
+		}
+	}
+
+	@Override
+	public void completeCollection() throws Exception {
+		super.completeCollection();
+		stopFrameMonitor();
+	}
+
+	@Override
+	public void stop() throws Exception {
+		super.stop();
+		stopFrameMonitor();
+	}
+
+	private void stopFrameMonitor() {
+		if (ndPva.isFrameMonitorRunning()) {
+			if (ndPva.getFramesReceived() != ndPva.getFramesConsumed()) {
+				logger.warn("{} frames received but {} read out", ndPva.getFramesReceived(), ndPva.getFramesConsumed());
+			}
+			ndPva.stopFrameMonitor();
+		}
+	}
+
 	@Override
 	protected NexusGroupData getData() throws Exception {
+		final Object image = ndPva.isFrameMonitorRunning() ? ndPva.getNextImage(frameTimeout) : ndPva.getImageObject();
 		return NexusGroupData.createFromDataset(
 				DatasetFactory.createFromObject(
-						ndPva.getImageObject(), ndPva.getHeight(), ndPva.getWidth()
+						image, ndPva.getHeight(), ndPva.getWidth()
 						)
 				);
 	}
 
+	public boolean isUseFrameMonitor() {
+		return useFrameMonitor;
+	}
+
+	/**
+	 * @param useFrameMonitor
+	 *            true to queue the frames published during a scan and read them out in order, rather than read the
+	 *            latest frame at each point
+	 */
+	public void setUseFrameMonitor(boolean useFrameMonitor) {
+		this.useFrameMonitor = useFrameMonitor;
+	}
+
+	public double getFrameTimeout() {
+		return frameTimeout;
+	}
+
+	/**
+	 * @param frameTimeout
+	 *            time in seconds a readout waits for its frame when using the frame monitor
+	 */
+	public void setFrameTimeout(double frameTimeout) {
+		this.frameTimeout = frameTimeout;
+	}
+
 	public NDPva getNdPva() {
 		return ndPva;
 	}
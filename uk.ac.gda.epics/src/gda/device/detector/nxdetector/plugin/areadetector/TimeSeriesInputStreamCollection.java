@@ -31,7 +31,7 @@ class TimeSeriesInputStreamCollection implements PositionInputStream<List<Double
 
 	private final ReadOnlyPV<Integer> tsCurrentPointPV;
 
-	private final List<ReadOnlyPV<Double[]>> tsArrayPVList;
+	private final List<ReadOnlyPV<double[]>> tsArrayPVList;
 
 	private final int numPointsToCollect;
 
@@ -54,7 +54,7 @@ class TimeSeriesInputStreamCollection implements PositionInputStream<List<Double
 	 * @throws IOException
 	 */
 	public TimeSeriesInputStreamCollection(PV<TSControlCommands> tsControlPV, PV<TSAcquireCommands> tsAcquirePV, PV<TSReadCommands> tsReadPV,
-			PV<Integer> tsNumPointsPV, ReadOnlyPV<Integer> tsCurrentPointPV, List<ReadOnlyPV<Double[]>> tsArrayPVList, int numPointsToCollect, boolean legacyTSpvs)
+			PV<Integer> tsNumPointsPV, ReadOnlyPV<Integer> tsCurrentPointPV, List<ReadOnlyPV<double[]>> tsArrayPVList, int numPointsToCollect, boolean legacyTSpvs)
 			throws IOException {
 		if (tsArrayPVList.isEmpty()) {
 			throw new IllegalArgumentException("No stats to collect");
@@ -171,16 +171,15 @@ class TimeSeriesInputStreamCollection implements PositionInputStream<List<Double
 		}
 
 		// Readout series of new points from each array
-		for (ReadOnlyPV<Double[]> arrayPV : tsArrayPVList) {
-			Double[] completeArray;
+		for (ReadOnlyPV<double[]> arrayPV : tsArrayPVList) {
+			double[] completeArray;
 			try {
 				completeArray = arrayPV.get();
 			} catch (IOException e) {
 				throw new DeviceException(e);
 			}
 			for (int i = 0; i < numNewPoints; i++) {
-				Double element = completeArray[numPointsReturned + i];
-				pointList.get(i).add(element);
+				pointList.get(i).add(completeArray[numPointsReturned + i]);
 			}
 		}
 
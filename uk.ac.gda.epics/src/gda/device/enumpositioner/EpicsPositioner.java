@@ -307,7 +307,7 @@ public class EpicsPositioner extends EnumPositionerBase implements Initializatio
 
 						logger.info("destroying any position value channels that were created");
 						for (Channel positionValueChannel : positionValueChannels.values()) {
-							controller.destroy(positionValueChannel);
+							channelManager.destroy(positionValueChannel);
 						}
 
 						throw new DeviceException(e);
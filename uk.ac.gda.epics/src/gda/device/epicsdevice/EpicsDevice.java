@@ -33,6 +33,7 @@ import gda.device.Detector;
 import gda.device.Device;
 import gda.device.DeviceBase;
 import gda.device.DeviceException;
+import gda.epics.connection.EpicsChannelRegistry;
 import gda.epics.connection.EpicsController;
 import gda.factory.Finder;
 import gda.observable.IObserver;
@@ -197,7 +198,7 @@ public class EpicsDevice extends DeviceBase implements IEpicsDevice, IObserver {
 		}
 		Channel channel = null;
 		if (!channels.containsKey(pvName)) {
-			channel = timeout != null ? controller.createChannel(pvName, timeout) : controller.createChannel(pvName);
+			channel = EpicsChannelRegistry.getInstance(controller).acquire(pvName, timeout);
 			{
 				channels.put(pvName, channel);
 			}
@@ -557,8 +558,7 @@ public class EpicsDevice extends DeviceBase implements IEpicsDevice, IObserver {
 					controller.clearMonitor(registrations.get(request).monitor);
 					registrations.remove(request);
 					if (canCloseChannel(pvName)) {
-						controller.destroy(channels.get(pvName));
-						channels.remove(pvName);
+						EpicsChannelRegistry.getInstance(controller).release(channels.remove(pvName));
 					}
 				}
 			}
@@ -596,7 +596,7 @@ public class EpicsDevice extends DeviceBase implements IEpicsDevice, IObserver {
 		while (iter.hasNext()) {
 			Map.Entry<String, Channel> e = iter.next();
 			if (canCloseChannel(e.getKey())) {
-				controller.destroy(channels.get(e.getKey()));
+				EpicsChannelRegistry.getInstance(controller).release(e.getValue());
 				iter.remove();
 			}
 		}
@@ -696,8 +696,7 @@ public class EpicsDevice extends DeviceBase implements IEpicsDevice, IObserver {
 						return; // do not bother in dummy mode
 					}
 					if (canCloseChannel(pvName)) {
-						controller.destroy(channels.get(pvName));
-						channels.remove(pvName);
+						EpicsChannelRegistry.getInstance(controller).release(channels.remove(pvName));
 					}
 					return;
 				}
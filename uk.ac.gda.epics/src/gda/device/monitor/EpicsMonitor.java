@@ -33,6 +33,7 @@ import gda.epics.connection.EpicsController.MonitorType;
 import gda.epics.connection.InitializationListener;
 import gda.epics.util.EpicsGlobals;
 import gda.factory.FactoryException;
+import gov.aps.jca.CAException;
 import gov.aps.jca.Channel;
 import gov.aps.jca.TimeoutException;
 import gov.aps.jca.dbr.DBR;
@@ -43,15 +44,18 @@ import gov.aps.jca.dbr.DBR_CTRL_Double;
 import gov.aps.jca.dbr.DBR_CTRL_Float;
 import gov.aps.jca.dbr.DBR_CTRL_Int;
 import gov.aps.jca.dbr.DBR_CTRL_Short;
-import gov.aps.jca.dbr.DBR_CTRL_String;
 import gov.aps.jca.dbr.DBR_Double;
+import gov.aps.jca.dbr.DBR_Enum;
 import gov.aps.jca.dbr.DBR_Float;
 import gov.aps.jca.dbr.DBR_Int;
 import gov.aps.jca.dbr.DBR_LABELS_Enum;
 import gov.aps.jca.dbr.DBR_Short;
 import gov.aps.jca.dbr.DBR_String;
+import gov.aps.jca.event.ConnectionEvent;
+import gov.aps.jca.event.ConnectionListener;
 import gov.aps.jca.event.MonitorEvent;
 import gov.aps.jca.event.MonitorListener;
+import uk.ac.diamond.daq.concurrent.Async;
 import uk.ac.gda.api.remoting.ServiceInterface;
 
 /**
@@ -104,7 +108,9 @@ public class EpicsMonitor extends MonitorBase implements InitializationListener,
 	private EpicsChannelManager channelManager;
 	protected EpicsController controller;
 
-	private boolean isInitialised = false;
+	private volatile boolean isInitialised = false;
+
+	private final ConnectionListener connectionListener = this::connectionChanged;
 
 	/**
 	 * Constructor
@@ -131,6 +137,27 @@ public class EpicsMonitor extends MonitorBase implements InitializationListener,
 		}
 	}
 
+	@Override
+	public void reconfigure() throws FactoryException {
+		if (isConfigured()) {
+			if (theChannel != null) {
+				try {
+					theChannel.removeConnectionListener(connectionListener);
+				} catch (CAException | IllegalStateException e) {
+					logger.debug("Could not remove connection listener from {}", pvName, e);
+				}
+				theChannel = null;
+			}
+			// a new manager, as one which has completed initialisation does not report it again
+			channelManager.destroy();
+			channelManager = new EpicsChannelManager(this);
+			isInitialised = false;
+			latestValue = null;
+			setConfigured(false);
+		}
+		configure();
+	}
+
 	private void fetchInitialValue() {
 		// fill the latestValue attribute in case its a while until an update
 		try {
@@ -147,6 +174,7 @@ public class EpicsMonitor extends MonitorBase implements InitializationListener,
 	private void createChannelAccess() throws FactoryException {
 		try {
 			theChannel = channelManager.createChannel(pvName, new ValueMonitorListener(), MonitorType.CTRL, false);
+			theChannel.addConnectionListener(connectionListener);
 
 			// acknowledge that creation phase is completed
 			channelManager.creationPhaseCompleted();
@@ -182,35 +210,38 @@ public class EpicsMonitor extends MonitorBase implements InitializationListener,
 		return latestValue;
 	}
 
+	/**
+	 * Reads the value with a plain DBR of the channel's native type. Metadata such as enum labels comes from the CTRL
+	 * DBR the controller fetches once per connection.
+	 */
 	protected Object getSingularValue() throws DeviceException {
 		try {
-			final DBR dbr = controller.getCTRL(theChannel);
+			final DBR dbr = controller.getDBR(theChannel, theChannel.getFieldType());
 
 			if (dbr.isDOUBLE()) {
-				latestDblValue = ((DBR_CTRL_Double) dbr).getDoubleValue()[0];
+				latestDblValue = ((DBR_Double) dbr).getDoubleValue()[0];
 				return latestDblValue;
 			} else if (dbr.isFLOAT()) {
-				latestFltValue = ((DBR_CTRL_Float) dbr).getFloatValue()[0];
+				latestFltValue = ((DBR_Float) dbr).getFloatValue()[0];
 				return latestFltValue;
 			} else if (dbr.isINT()) {
-				latestIntValue = ((DBR_CTRL_Int) dbr).getIntValue()[0];
+				latestIntValue = ((DBR_Int) dbr).getIntValue()[0];
 				return latestIntValue;
 			} else if (dbr.isSHORT()) {
-				latestShtValue = ((DBR_CTRL_Short) dbr).getShortValue()[0];
+				latestShtValue = ((DBR_Short) dbr).getShortValue()[0];
 				return latestShtValue;
 			} else if (dbr.isENUM()) {
-				// Use DBR_LABLES_Enum (not DBR_ENUM) to allow the getLables method to be called this
-				// allows the monitor to return the new string not the short specifying
+				// Use the labels so that the monitor returns the string not the short specifying
 				// the position on the enum.
-				final String[] labels = ((DBR_LABELS_Enum) dbr).getLabels();
-				final Short labelNumber = ((DBR_LABELS_Enum) dbr).getEnumValue()[0];
+				final String[] labels = getEnumLabels();
+				final short labelNumber = ((DBR_Enum) dbr).getEnumValue()[0];
 				latestStrValue = labels[labelNumber];
 				return latestStrValue;
 			} else if (dbr.isBYTE()) {
-				latestByteValue = ((DBR_CTRL_Byte) dbr).getByteValue()[0];
+				latestByteValue = ((DBR_Byte) dbr).getByteValue()[0];
 				return latestByteValue;
 			} else if (dbr.isSTRING()) {
-				latestStrValue = ((DBR_CTRL_String) dbr).getStringValue()[0];
+				latestStrValue = ((DBR_String) dbr).getStringValue()[0];
 				return latestStrValue;
 			}
 		} catch (Exception e) {
@@ -222,31 +253,31 @@ public class EpicsMonitor extends MonitorBase implements InitializationListener,
 
 	private Object getArrayValue() throws DeviceException {
 		try {
-			final DBR dbr = controller.getCTRL(theChannel);
+			final DBRType fieldType = theChannel.getFieldType();
+			if (fieldType.isENUM()) {
+				// the labels rather than the value, so no need to go out for it
+				latestStrArray = getEnumLabels();
+				return latestStrArray;
+			}
+			final DBR dbr = controller.getDBR(theChannel, fieldType);
 
 			if (dbr.isDOUBLE()) {
-				latestDblArray = ((DBR_CTRL_Double) dbr).getDoubleValue();
+				latestDblArray = ((DBR_Double) dbr).getDoubleValue();
 				return latestDblArray;
 			} else if (dbr.isFLOAT()) {
-				latestFltArray = ((DBR_CTRL_Float) dbr).getFloatValue();
+				latestFltArray = ((DBR_Float) dbr).getFloatValue();
 				return latestFltArray;
 			} else if (dbr.isINT()) {
-				latestIntArray = ((DBR_CTRL_Int) dbr).getIntValue();
+				latestIntArray = ((DBR_Int) dbr).getIntValue();
 				return latestIntArray;
 			} else if (dbr.isSHORT()) {
-				latestShtArray = ((DBR_CTRL_Short) dbr).getShortValue();
+				latestShtArray = ((DBR_Short) dbr).getShortValue();
 				return latestShtArray;
-			} else if (dbr.isENUM()) {
-				// Use DBR_LABLES_Enum (not DBR_ENUM) to allow the getLables method to be called this
-				// allows the monitor to return the new string not the short specifying
-				// the position on the enum.
-				latestStrArray = ((DBR_LABELS_Enum) dbr).getLabels();
-				return latestStrArray;
 			} else if (dbr.isBYTE()) {
-				latestByteArray = ((DBR_CTRL_Byte) dbr).getByteValue();
+				latestByteArray = ((DBR_Byte) dbr).getByteValue();
 				return latestByteArray;
 			} else if (dbr.isSTRING()) {
-				latestStrArray = ((DBR_CTRL_String) dbr).getStringValue();
+				latestStrArray = ((DBR_String) dbr).getStringValue();
 				return latestStrArray;
 			}
 		} catch (Exception e) {
@@ -256,6 +287,10 @@ public class EpicsMonitor extends MonitorBase implements InitializationListener,
 		return "No value is obtained from EPICS";
 	}
 
+	private String[] getEnumLabels() throws TimeoutException, CAException, InterruptedException {
+		return ((DBR_LABELS_Enum) controller.getCTRLMetadata(theChannel)).getLabels();
+	}
+
 	/**
 	 * Monitor value changes in EPICS and update observers with value, not including unit, alarms, status or limits.
 	 */
@@ -566,9 +601,35 @@ public class EpicsMonitor extends MonitorBase implements InitializationListener,
 	@Override
 	public void initializationCompleted() {
 		isInitialised = true;
+		updateMetadata();
+		if (elementCount > 1) {
+			latestDblArray = new double[elementCount];
+			latestIntArray = new int[elementCount];
+			latestShtArray = new short[elementCount];
+			latestFltArray = new float[elementCount];
+			latestStrArray = new String[elementCount];
+			latestByteArray = new byte[elementCount];
+		}
+		logger.info("Monitor -  " + getName() + " is initialised.");
+
+		fetchInitialValue();
+	}
+
+	private void connectionChanged(ConnectionEvent event) {
+		if (event.isConnected() && isInitialised && event.getSource() == theChannel) {
+			// units etc. may have changed if the IOC was restarted
+			controller.invalidateCTRLMetadata(theChannel);
+			Async.execute(this::updateMetadata);
+		}
+	}
+
+	/**
+	 * Sets the unit, element count and type from the CTRL DBR of the current connection.
+	 */
+	private void updateMetadata() {
 		DBR dbr = null;
 		try {
-			dbr = controller.getCTRL(theChannel);
+			dbr = controller.getCTRLMetadata(theChannel);
 		} catch (Exception e) {
 			logger.error("failed to initialise " + getName() + " after connection", e);
 		}
@@ -592,17 +653,6 @@ public class EpicsMonitor extends MonitorBase implements InitializationListener,
 			elementCount = dbr.getCount();
 			type = dbr.getType();
 		}
-		if (elementCount > 1) {
-			latestDblArray = new double[elementCount];
-			latestIntArray = new int[elementCount];
-			latestShtArray = new short[elementCount];
-			latestFltArray = new float[elementCount];
-			latestStrArray = new String[elementCount];
-			latestByteArray = new byte[elementCount];
-		}
-		logger.info("Monitor -  " + getName() + " is initialised.");
-
-		fetchInitialValue();
 	}
 
 	/**
@@ -21,12 +21,12 @@ package gda.device.monitor;
 import gda.device.DeviceException;
 import gov.aps.jca.dbr.DBR;
 import gov.aps.jca.dbr.DBRType;
-import gov.aps.jca.dbr.DBR_CTRL_Double;
-import gov.aps.jca.dbr.DBR_CTRL_Enum;
-import gov.aps.jca.dbr.DBR_CTRL_Float;
-import gov.aps.jca.dbr.DBR_CTRL_Int;
-import gov.aps.jca.dbr.DBR_CTRL_Short;
-import gov.aps.jca.dbr.DBR_CTRL_String;
+import gov.aps.jca.dbr.DBR_Double;
+import gov.aps.jca.dbr.DBR_Enum;
+import gov.aps.jca.dbr.DBR_Float;
+import gov.aps.jca.dbr.DBR_Int;
+import gov.aps.jca.dbr.DBR_Short;
+import gov.aps.jca.dbr.DBR_String;
 
 /**
  * Version of EpicsMonitor in which the type of readback is explicitly requested.
@@ -45,6 +45,9 @@ public class EpicsTypedMonitor extends EpicsMonitor {
 		DBR_STRING, DBR_INT, DBR_SHORT, DBR_FLOAT, DBR_ENUM, DBR_DOUBLE
 	}
 
+	/**
+	 * Reads the plain value only, as the metadata of the CTRL type is not used
+	 */
 	@Override
 	protected Object getSingularValue() throws DeviceException {
 		try {
@@ -54,22 +57,22 @@ public class EpicsTypedMonitor extends EpicsMonitor {
 			switch (thisType) {
 
 			case DBR_STRING:
-				latestStrValue = ((DBR_CTRL_String) dbr).getStringValue()[0];
+				latestStrValue = ((DBR_String) dbr).getStringValue()[0];
 				return latestStrValue;
 			case DBR_INT:
-				latestIntValue = ((DBR_CTRL_Int) dbr).getIntValue()[0];
+				latestIntValue = ((DBR_Int) dbr).getIntValue()[0];
 				return latestIntValue;
 			case DBR_SHORT:
-				latestShtValue = ((DBR_CTRL_Short) dbr).getShortValue()[0];
+				latestShtValue = ((DBR_Short) dbr).getShortValue()[0];
 				return latestShtValue;
 			case DBR_FLOAT:
-				latestFltValue = ((DBR_CTRL_Float) dbr).getFloatValue()[0];
+				latestFltValue = ((DBR_Float) dbr).getFloatValue()[0];
 				return latestFltValue;
 			case DBR_ENUM:
-				latestShtValue = ((DBR_CTRL_Enum) dbr).getEnumValue()[0];
+				latestShtValue = ((DBR_Enum) dbr).getEnumValue()[0];
 				return latestShtValue;
 			case DBR_DOUBLE:
-				latestDblValue = ((DBR_CTRL_Double) dbr).getDoubleValue()[0];
+				latestDblValue = ((DBR_Double) dbr).getDoubleValue()[0];
 				return latestDblValue;
 			default:
 				return "No value is obtained from EPICS";
@@ -86,19 +89,19 @@ public class EpicsTypedMonitor extends EpicsMonitor {
 		switch (thisType) {
 
 		case DBR_STRING:
-			return DBRType.CTRL_STRING;
+			return DBRType.STRING;
 		case DBR_INT:
-			return DBRType.CTRL_INT;
+			return DBRType.INT;
 		case DBR_SHORT:
-			return DBRType.CTRL_SHORT;
+			return DBRType.SHORT;
 		case DBR_FLOAT:
-			return DBRType.CTRL_FLOAT;
+			return DBRType.FLOAT;
 		case DBR_ENUM:
-			return DBRType.CTRL_ENUM;
+			return DBRType.ENUM;
 		case DBR_DOUBLE:
-			return DBRType.CTRL_DOUBLE;
+			return DBRType.DOUBLE;
 		default:
-			return DBRType.CTRL_DOUBLE;
+			return DBRType.DOUBLE;
 		}
 	}
 
@@ -30,11 +30,11 @@ public class FeedbackControlledEpicsMotor extends EpicsMotor {
 		super.createChannelAccess();
 		try {
 			//remove monitor listeners
-			rbv.destroy();
-			dmov.destroy();
-			dhlm.destroy();
-			dllm.destroy();
-			msta.destroy();
+			channelManager.destroy(rbv);
+			channelManager.destroy(dmov);
+			channelManager.destroy(dhlm);
+			channelManager.destroy(dllm);
+			channelManager.destroy(msta);
 			//recreate channle without monitor listeners
 			rbv = channelManager.createChannel(pvName + ".RBV", false);
 			dmov = channelManager.createChannel(pvName + ".DMOV", false);
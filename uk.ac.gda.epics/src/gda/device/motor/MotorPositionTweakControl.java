@@ -18,10 +18,10 @@
 
 package gda.device.motor;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -35,9 +35,9 @@ import gda.device.ITweakable;
 import gda.device.Motor;
 import gda.device.MotorException;
 import gda.device.MotorStatus;
+import gda.epics.connection.EpicsChannelRegistry;
 import gda.epics.connection.EpicsController;
 import gda.factory.FindableBase;
-import gda.util.functions.ThrowingFunction;
 import gov.aps.jca.CAException;
 import gov.aps.jca.Channel;
 import gov.aps.jca.TimeoutException;
@@ -61,9 +61,9 @@ public class MotorPositionTweakControl extends FindableBase implements ITweakabl
 	}
 
 	/**
-	 * a cached instance which maps EPICS PV to CA Channel created
+	 * a cached instance which maps EPICS PV to CA Channel acquired from the shared channel registry
 	 */
-	private static final Map<String, Channel> channelMap = new HashMap<>();
+	private static final Map<String, Channel> channelMap = new ConcurrentHashMap<>();
 
 	@Override
 	public void forward() throws MotorException {
@@ -155,13 +155,8 @@ public class MotorPositionTweakControl extends FindableBase implements ITweakabl
 	 */
 	@PreDestroy
 	public void destroy() {
-		channelMap.entrySet().stream().forEach(e -> {
-			try {
-				e.getValue().destroy();
-			} catch (IllegalStateException | CAException e1) {
-				logger.error("destroy channel for {} failed. ", e.getKey(), e1);
-			}
-		});
+		final EpicsChannelRegistry registry = EpicsChannelRegistry.getInstance(EPICS_CONTROLLER);
+		channelMap.values().forEach(registry::release);
 		channelMap.clear();
 	}
 
@@ -173,15 +168,26 @@ public class MotorPositionTweakControl extends FindableBase implements ITweakabl
 	 * @return channel - Optional<Channel>
 	 */
 	private Optional<Channel> getChannel(String pv) {
-		ThrowingFunction<String, Channel> f = EPICS_CONTROLLER::createChannel;
-		Channel channel = null;
+		final Channel cached = channelMap.get(pv);
+		if (cached != null) {
+			return Optional.of(cached);
+		}
+		// not acquired inside the map, as it waits for the connection
+		final EpicsChannelRegistry registry = EpicsChannelRegistry.getInstance(EPICS_CONTROLLER);
+		final Channel channel;
 		try {
-			channel = channelMap.computeIfAbsent(pv, f);
+			channel = registry.acquire(pv);
 			logger.trace("Created channel for PV: {}", pv);
-		} catch (RuntimeException e) {
+		} catch (CAException | TimeoutException | RuntimeException e) {
 			logger.error("Error create Channel Access for {}", pv, e);
+			return Optional.empty();
+		}
+		final Channel existing = channelMap.putIfAbsent(pv, channel);
+		if (existing != null) {
+			registry.release(channel);
+			return Optional.of(existing);
 		}
-		return Optional.ofNullable(channel);
+		return Optional.of(channel);
 	}
 
 	private void applyTweak(Channel channel1) {
@@ -158,7 +158,7 @@ public class EpicsSimpleArray extends ScannableBase implements SimpleArray, Init
 	}
 
 	public void destroy() throws IllegalStateException, CAException {
-		theChannel.destroy();
+		channelManager.destroy(theChannel);
 	}
 
 	@Override
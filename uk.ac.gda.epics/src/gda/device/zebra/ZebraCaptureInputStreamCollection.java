@@ -24,7 +24,7 @@ class ZebraCaptureInputStreamCollection implements PositionInputStream<Double> {
 
 	private final ReadOnlyPV<Integer> numDownloadedPV;
 
-	private final ReadOnlyPV<Double[]> tsArrayPV;
+	private final ReadOnlyPV<double[]> tsArrayPV;
 
 	private int numPointsToCollect;
 
@@ -40,7 +40,7 @@ class ZebraCaptureInputStreamCollection implements PositionInputStream<Double> {
 	 * Create and start a time series collection.
 	 *
 	 */
-	public ZebraCaptureInputStreamCollection(ReadOnlyPV<Integer> numDownloadedPV,  ReadOnlyPV<Double[]> tsArrayPV){
+	public ZebraCaptureInputStreamCollection(ReadOnlyPV<Integer> numDownloadedPV,  ReadOnlyPV<double[]> tsArrayPV){
 		this.numDownloadedPV = numDownloadedPV;
 		this.tsArrayPV = tsArrayPV;
 	}
@@ -114,7 +114,7 @@ class ZebraCaptureInputStreamCollection implements PositionInputStream<Double> {
 		// Below a 'point' is a list of doubles, one for each pv to read.
 		List<Double> pointList = new ArrayList<Double>(numNewPoints);
 
-		Double[] completeArray;
+		double[] completeArray;
 		try {
 			//TODO Speak to Tom as this is a bug
 			Thread.sleep(100); //allow time for array pv is to setup properly
@@ -232,7 +232,7 @@ public class ZebraMonitorController extends ScannableBase implements ContinuousM
 		}
 		if( lastImageNumberStreamIndexer[index] == null){
 			logger.info("Creating lastImageNumberStreamIndexer[{}] using PCCapturePV({})", index, pcCaptureIndex);
-			final ReadOnlyPV<Double[]> rdDblArrayPV = zebra.getPcCapturePV(pcCaptureIndex);
+			final ReadOnlyPV<double[]> rdDblArrayPV = zebra.getPcCapturePrimitivePV(pcCaptureIndex);
 
 			if( timeSeriesCollection == null) {
 				timeSeriesCollection = new Vector<ZebraCaptureInputStreamCollection>();
@@ -162,8 +162,14 @@ public interface Zebra {
 
 	int getPCEnc() throws Exception;
 
+	/**
+	 * @deprecated boxes every captured point; use {@link #getPcCapturePrimitivePV(int)}
+	 */
+	@Deprecated
 	ReadOnlyPV<Double[]> getPcCapturePV(int capture);
 
+	ReadOnlyPV<double[]> getPcCapturePrimitivePV(int capture);
+
 	@Deprecated(since="GDA 8.52")
 	ReadOnlyPV<Double[]> getEnc1AvalPV();
 
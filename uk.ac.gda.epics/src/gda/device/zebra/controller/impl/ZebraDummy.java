@@ -19,7 +19,7 @@
 package gda.device.zebra.controller.impl;
 
 import java.io.IOException;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Predicate;
@@ -300,23 +300,39 @@ public class ZebraDummy extends FindableBase implements Zebra, InitializingBean
 		return pcEnc;
 	}
 
+	@Deprecated
 	@Override
 	public ReadOnlyPV<Double[]> getPcCapturePV(int capture) {
-		int captured = 0;
-		// make the array stupidly large since this represents what you'll get from epics
-		Double[] capturedValues = Collections.nCopies(100000, 0.).toArray(new Double[0]);
+		logger.deprecatedMethod("getPcCapturePV(int)", null, "getPcCapturePrimitivePV(int)");
+		final int captured = getCapturedCount();
+		return new DummyReadOnlyPV<>(String.format("ENC_%d", captured), Arrays.stream(randomWalk(captured)).boxed().toArray(Double[]::new));
+	}
+
+	@Override
+	public ReadOnlyPV<double[]> getPcCapturePrimitivePV(int capture) {
+		final int captured = getCapturedCount();
+		return new DummyReadOnlyPV<>(String.format("ENC_%d", captured), randomWalk(captured));
+	}
+
+	private int getCapturedCount() {
 		try {
-			captured = getPCNumberOfPointsDownloaded();
+			return getPCNumberOfPointsDownloaded();
 		} catch (Exception e) {
 			// Don't care
+			return 0;
 		}
+	}
+
+	private static double[] randomWalk(int captured) {
+		// make the array stupidly large since this represents what you'll get from epics
+		double[] capturedValues = new double[100000];
 		double v = 0;
 		for (int i = 0; i < captured; i++) {
 			// just a random walk along the axis
 			v += 2 * Math.random() - 1.;
 			capturedValues[i] = v;
 		}
-		return new DummyReadOnlyPV<>(String.format("ENC_%d", captured), capturedValues);
+		return capturedValues;
 	}
 
 	@Deprecated(since="GDA 8.52")
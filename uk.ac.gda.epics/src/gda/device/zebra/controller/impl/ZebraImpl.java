@@ -493,12 +493,20 @@ public class ZebraImpl extends FindableBase implements Zebra, InitializingBean {
 		}
 	}
 
+	@Deprecated
 	@Override
 	public ReadOnlyPV<Double[]> getPcCapturePV(int capture) {
+		logger.deprecatedMethod("getPcCapturePV(int)", null, "getPcCapturePrimitivePV(int)");
 		Preconditions.checkArgument(0 <= capture && capture <= 10, "capture=%i, must be between 0 and 10 inclusive", capture);
 		return pvFactory.getReadOnlyPVDoubleArray(PCCapture[capture]);
 	}
 
+	@Override
+	public ReadOnlyPV<double[]> getPcCapturePrimitivePV(int capture) {
+		Preconditions.checkArgument(0 <= capture && capture <= 10, "capture=%i, must be between 0 and 10 inclusive", capture);
+		return pvFactory.getReadOnlyPVPrimitiveDoubleArray(PCCapture[capture]);
+	}
+
 	@Deprecated(since="GDA 8.52")
 	@Override
 	public ReadOnlyPV<Double[]> getEnc1AvalPV() {
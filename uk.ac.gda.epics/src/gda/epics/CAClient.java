@@ -18,6 +18,11 @@
 
 package gda.epics;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import gda.epics.connection.EpicsChannelCache;
 import gda.epics.connection.EpicsChannelManager;
 import gda.epics.connection.EpicsController;
 import gda.epics.connection.EpicsController.MonitorType;
@@ -234,102 +239,86 @@ public class CAClient extends EpicsBase implements MonitorListener, ConnectionLi
 	}
 
 	/*
-	 * Simple method to get a value as a String. Inefficient but convenient for command line use
+	 * Simple method to get a value as a String. Convenient for command line use; the channel is kept open by the
+	 * EpicsChannelCache so that repeated calls do not each connect
 	 */
 	static public String get(String pv) throws CAException, TimeoutException, InterruptedException{
-		Channel channel=null;
-		EpicsController epicsController = EpicsController.getInstance();
-		try{
-			channel = epicsController.createChannel(pv);
-			DBR dbr = epicsController.getCTRL(channel);
-			String valStr = null;
-			if (dbr instanceof DBR_CTRL_Enum) {
-				valStr = ((DBR_CTRL_Enum) dbr).getLabels()[((DBR_CTRL_Enum) dbr).getEnumValue()[0]];
-			} else {
-				if (dbr.getValue() instanceof byte[]) {
-					// convert to ASCII string
-					byte[] data = (byte[])dbr.getValue();
-					int length = 0;
-					for (; length < dbr.getCount(); length++) {
-						if (data[length] == 0)
-							break;
-					}
-					valStr = new String(data, 0, length);
-				} else {
-					valStr = DBRtoString(dbr);
+		final EpicsController epicsController = EpicsController.getInstance();
+		final DBR dbr = EpicsChannelCache.getInstance().use(pv, epicsController::getCTRL);
+		String valStr = null;
+		if (dbr instanceof DBR_CTRL_Enum) {
+			valStr = ((DBR_CTRL_Enum) dbr).getLabels()[((DBR_CTRL_Enum) dbr).getEnumValue()[0]];
+		} else {
+			if (dbr.getValue() instanceof byte[]) {
+				// convert to ASCII string
+				byte[] data = (byte[])dbr.getValue();
+				int length = 0;
+				for (; length < dbr.getCount(); length++) {
+					if (data[length] == 0)
+						break;
 				}
+				valStr = new String(data, 0, length);
+			} else {
+				valStr = DBRtoString(dbr);
 			}
-			return valStr;
-		} finally {
-			if( channel != null)
-				epicsController.destroy(channel);
 		}
+		return valStr;
 	}
 
 	/*
-	 * Simple method to get a value as a String. Inefficient but convenient for command line use
+	 * Simple method to get a value as a DBR. Convenient for command line use; the channel is kept open by the
+	 * EpicsChannelCache so that repeated calls do not each connect
 	 */
 	static public DBR getDBR(String pv) throws CAException, TimeoutException, InterruptedException{
-		Channel channel=null;
-		EpicsController epicsController = EpicsController.getInstance();
-		try{
-			channel = epicsController.createChannel(pv);
-			return epicsController.getCTRL(channel);
-		} finally {
-			if( channel != null)
-				epicsController.destroy(channel);
-		}
+		final EpicsController epicsController = EpicsController.getInstance();
+		return EpicsChannelCache.getInstance().use(pv, epicsController::getCTRL);
 	}
 
 
 	/*
-	 * Simple method to put a value as a String. Inefficient but convenient for command line use
+	 * Simple method to put a value as a String. Convenient for command line use; the channel is kept open by the
+	 * EpicsChannelCache so that repeated calls do not each connect
 	 */
 	static public void put(String pv, String value) throws CAException, InterruptedException, FactoryException{
-		CAClient caClient = new CAClient(pv);
-		try{
-			caClient.configure();
-			caClient.caput(value);
-		} finally {
-			caClient.clearup();
-		}
+		final EpicsController epicsController = EpicsController.getInstance();
+		EpicsChannelCache.getInstance().use(pv, channel -> {
+			epicsController.caput(channel, value);
+			return null;
+		});
 	}
 	/*
-	 * Simple method to put a value as a String to a ByteArray PV. Inefficient but convenient for command line use
+	 * Simple method to put a value as a String to a ByteArray PV. Convenient for command line use; the channel is kept
+	 * open by the EpicsChannelCache so that repeated calls do not each connect
 	 */
 	static public void putStringAsWaveform(String pv, String value) throws CAException, InterruptedException, FactoryException{
-		CAClient caClient = new CAClient(pv);
-		try{
-			caClient.configure();
-			caClient.caput((value+'\0').getBytes());
-		} finally {
-			caClient.clearup();
-		}
+		final EpicsController epicsController = EpicsController.getInstance();
+		EpicsChannelCache.getInstance().use(pv, channel -> {
+			epicsController.caput(channel, (value + '\0').getBytes());
+			return null;
+		});
 	}
 
 	/*
-	 * Simple method to put a value as a Double. Inefficient but convenient for command line use
+	 * Simple method to put a value as a Double. Convenient for command line use; the channel is kept open by the
+	 * EpicsChannelCache so that repeated calls do not each connect
 	 */
 	static public void put(String pv, Double value) throws CAException, InterruptedException, FactoryException{
-		CAClient caClient = new CAClient(pv);
-		try{
-			caClient.configure();
-			caClient.caput(value);
-		} finally {
-			caClient.clearup();
-		}
+		final EpicsController epicsController = EpicsController.getInstance();
+		EpicsChannelCache.getInstance().use(pv, channel -> {
+			epicsController.caput(channel, value);
+			return null;
+		});
 	}
 	/*
-	 * Simple method to put a value as an Integer. Inefficient but convenient for command line use
+	 * Simple method to put a value as an Integer. Convenient for command line use; the channel is kept open by the
+	 * EpicsChannelCache so that repeated calls do not each connect
 	 */
 	static public void put(String pv, Integer value) throws CAException, InterruptedException, FactoryException{
-		CAClient caClient = new CAClient(pv);
-		try{
-			caClient.configure();
-			caClient.caput(value);
-		} finally {
-			caClient.clearup();
-		}
+		final EpicsController epicsController = EpicsController.getInstance();
+		EpicsChannelCache.getInstance().use(pv, channel -> {
+			epicsController.caput(channel, value);
+			return null;
+		});
 	}
 
 	/**
@@ -638,8 +627,7 @@ public class CAClient extends EpicsBase implements MonitorListener, ConnectionLi
 	 * @throws CAException
 	 */
 	public void caput(String[] pvs, double[] values) throws CAException, InterruptedException {
-		for (int i = 0; i < pvs.length; i++)
-			caput(pvs[i], values[i]);
+		controller.caput(createChannels(pvs), Arrays.stream(values).boxed().toList());
 	}
 
 	/**
@@ -652,8 +640,11 @@ public class CAClient extends EpicsBase implements MonitorListener, ConnectionLi
 	 * @throws CAException
 	 */
 	public void caput(String[] pvs, byte[] values) throws CAException, InterruptedException {
-		for (int i = 0; i < pvs.length; i++)
-			caput(pvs[i], values[i]);
+		// widened to short, as the single caput(String, short) has always written them
+		final List<Short> boxedValues = new ArrayList<>(values.length);
+		for (byte value : values)
+			boxedValues.add((short) value);
+		controller.caput(createChannels(pvs), boxedValues);
 	}
 
 	/**
@@ -666,8 +657,17 @@ public class CAClient extends EpicsBase implements MonitorListener, ConnectionLi
 	 * @throws CAException
 	 */
 	public void caput(String[] pvs, String[] values) throws CAException, InterruptedException {
-		for (int i = 0; i < pvs.length; i++)
-			caput(pvs[i], values[i]);
+		controller.caput(createChannels(pvs), Arrays.asList(values));
+	}
+
+	/**
+	 * Creates (optional) channels for a list of PVs, so that they can be written together.
+	 */
+	private List<Channel> createChannels(String[] pvs) throws CAException {
+		final List<Channel> channels = new ArrayList<>(pvs.length);
+		for (String pv : pvs)
+			channels.add(channelmanager.createChannel(pv));
+		return channels;
 	}
 
 	/**
@@ -814,8 +814,7 @@ public class CAClient extends EpicsBase implements MonitorListener, ConnectionLi
 	 * @throws TimeoutException
 	 */
 	public void caput(String[] pvs, double[] values, double timeoutinsecond) throws CAException, TimeoutException, InterruptedException {
-		for (int i = 0; i < pvs.length; i++)
-			caput(pvs[i], values[i], timeoutinsecond);
+		controller.caputWait(createChannels(pvs), Arrays.stream(values).boxed().toList(), timeoutinsecond);
 	}
 
 	/**
@@ -847,8 +846,7 @@ public class CAClient extends EpicsBase implements MonitorListener, ConnectionLi
 	 * @throws TimeoutException
 	 */
 	public void caput(String[] pvs, String[] values, double timeoutinsecond) throws CAException, TimeoutException, InterruptedException {
-		for (int i = 0; i < pvs.length; i++)
-			caput(pvs[i], values[i], timeoutinsecond);
+		controller.caputWait(createChannels(pvs), Arrays.asList(values), timeoutinsecond);
 	}
 
 	/**
@@ -1723,11 +1721,11 @@ public class CAClient extends EpicsBase implements MonitorListener, ConnectionLi
 	public void clearup() {
 		if (isConfigured()) {
 			if (theChannel != null) {
-				controller.destroy(theChannel);
+				channelmanager.destroy(theChannel);
 				theChannel = null;
 			} else if (chs != null) {
 				for (int i = 0; i < chs.length; i++)
-					controller.destroy(chs[i]);
+					channelmanager.destroy(chs[i]);
 				chs = null;
 			}
 			setConfigured(false);
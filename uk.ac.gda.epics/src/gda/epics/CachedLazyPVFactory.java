@@ -20,88 +20,57 @@ package gda.epics;
 
 
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Creates PVs under a common device prefix on first use and hands out the same instance for each suffix thereafter.
+ * Safe to use from several threads.
+ */
 public class CachedLazyPVFactory {
 
-	protected Map<String, PV<Double>> pvDoubles;
-	protected Map<String, PV<Double[]>> pvDoublesArray;
-	protected Map<String, ReadOnlyPV<Double>> pvReadOnlyDoubles;
-	protected Map<String, ReadOnlyPV<Double[]>> pvReadOnlyDoubleArrays;
-	protected Map<String, ReadOnlyPV<Integer>> pvReadOnlyIntegers;
-	protected Map<String, PV<Integer>> pvIntegers;
-	protected Map<String, PVValueCache<Integer>> pvValueCacheIntegers;
-	protected Map<String, PVValueCache<Double>> pvValueCacheDoubles;
-	protected Map<String, PV<String>> pvStrings;
-	protected Map<String, PV<Class<?>>> pvEnums;
+	protected final Map<String, PV<Double>> pvDoubles = new ConcurrentHashMap<>();
+	protected final Map<String, PV<Double[]>> pvDoublesArray = new ConcurrentHashMap<>();
+	protected final Map<String, ReadOnlyPV<Double>> pvReadOnlyDoubles = new ConcurrentHashMap<>();
+	protected final Map<String, ReadOnlyPV<Double[]>> pvReadOnlyDoubleArrays = new ConcurrentHashMap<>();
+	protected final Map<String, ReadOnlyPV<double[]>> pvReadOnlyPrimitiveDoubleArrays = new ConcurrentHashMap<>();
+	protected final Map<String, ReadOnlyPV<Integer>> pvReadOnlyIntegers = new ConcurrentHashMap<>();
+	protected final Map<String, PV<Integer>> pvIntegers = new ConcurrentHashMap<>();
+	protected final Map<String, PVValueCache<Integer>> pvValueCacheIntegers = new ConcurrentHashMap<>();
+	protected final Map<String, PVValueCache<Double>> pvValueCacheDoubles = new ConcurrentHashMap<>();
+	protected final Map<String, PV<String>> pvStrings = new ConcurrentHashMap<>();
+	protected final Map<String, PV<Class<?>>> pvEnums = new ConcurrentHashMap<>();
 
 	private String deviceprefix;
 
 	public PV<Double> getPVDouble(String suffix) {
-		if (pvDoubles == null)
-			pvDoubles = new HashMap<String, PV<Double>>();
-		PV<Double> pv = pvDoubles.get(suffix);
-		if (pv == null) {
-			pv = LazyPVFactory.newDoublePV(deviceprefix + suffix);
-			pvDoubles.put(suffix, pv);
-		}
-		return pv;
+		return pvDoubles.computeIfAbsent(suffix, s -> LazyPVFactory.newDoublePV(deviceprefix + s));
 	}
 
 	public PV<Double[]> getPVDoubleArray(String suffix) {
-		if (pvDoublesArray == null)
-			pvDoublesArray = new HashMap<String, PV<Double[]>>();
-		PV<Double[]> pv = pvDoublesArray.get(suffix);
-		if (pv == null) {
-			pv = LazyPVFactory.newDoubleArrayPV(deviceprefix + suffix);
-			pvDoublesArray.put(suffix, pv);
-		}
-		return pv;
+		return pvDoublesArray.computeIfAbsent(suffix, s -> LazyPVFactory.newDoubleArrayPV(deviceprefix + s));
 	}
 
 	public ReadOnlyPV<Double> getReadOnlyPVDouble(String suffix) {
-		if (pvReadOnlyDoubles == null)
-			pvReadOnlyDoubles = new HashMap<String, ReadOnlyPV<Double>>();
-		ReadOnlyPV<Double> pv = pvReadOnlyDoubles.get(suffix);
-		if (pv == null) {
-			pv = LazyPVFactory.newReadOnlyDoublePV(deviceprefix + suffix);
-			pvReadOnlyDoubles.put(suffix, pv);
-		}
-		return pv;
+		return pvReadOnlyDoubles.computeIfAbsent(suffix, s -> LazyPVFactory.newReadOnlyDoublePV(deviceprefix + s));
 	}
 
 	public ReadOnlyPV<Double[]> getReadOnlyPVDoubleArray(String suffix) {
-		if (pvReadOnlyDoubleArrays == null)
-			pvReadOnlyDoubleArrays = new HashMap<String, ReadOnlyPV<Double[]>>();
-		ReadOnlyPV<Double[]> pv = pvReadOnlyDoubleArrays.get(suffix);
-		if (pv == null) {
-			pv = LazyPVFactory.newReadOnlyDoubleArrayPV(deviceprefix + suffix);
-			pvReadOnlyDoubleArrays.put(suffix, pv);
-		}
-		return pv;
+		return pvReadOnlyDoubleArrays.computeIfAbsent(suffix,
+				s -> LazyPVFactory.newReadOnlyDoubleArrayPV(deviceprefix + s));
+	}
+
+	public ReadOnlyPV<double[]> getReadOnlyPVPrimitiveDoubleArray(String suffix) {
+		return pvReadOnlyPrimitiveDoubleArrays.computeIfAbsent(suffix,
+				s -> LazyPVFactory.newReadOnlyPrimitiveDoubleArrayPV(deviceprefix + s));
 	}
 
 	public PV<Integer> getPVInteger(String suffix) {
-		if (pvIntegers == null)
-			pvIntegers = new HashMap<String, PV<Integer>>();
-		PV<Integer> pv = pvIntegers.get(suffix);
-		if (pv == null) {
-			pv = LazyPVFactory.newIntegerPV(deviceprefix + suffix);
-			pvIntegers.put(suffix, pv);
-		}
-		return pv;
+		return pvIntegers.computeIfAbsent(suffix, s -> LazyPVFactory.newIntegerPV(deviceprefix + s));
 	}
 
 	public ReadOnlyPV<Integer> getReadOnlyPVInteger(String suffix) {
-		if (pvReadOnlyIntegers == null)
-			pvReadOnlyIntegers = new HashMap<String, ReadOnlyPV<Integer>>();
-		ReadOnlyPV<Integer> pv = pvReadOnlyIntegers.get(suffix);
-		if (pv == null) {
-			pv = LazyPVFactory.newReadOnlyIntegerPV(deviceprefix + suffix);
-			pvReadOnlyIntegers.put(suffix, pv);
-		}
-		return pv;
+		return pvReadOnlyIntegers.computeIfAbsent(suffix, s -> LazyPVFactory.newReadOnlyIntegerPV(deviceprefix + s));
 	}
 
 	public void set(String pv, double value) throws IOException{
@@ -132,49 +101,40 @@ public class CachedLazyPVFactory {
 	}
 
 	public PVValueCache<Integer> getIntegerPVValueCache(String suffix) throws Exception{
-		if (pvValueCacheIntegers == null)
-			pvValueCacheIntegers = new HashMap<String, PVValueCache<Integer>>();
-
 		PVValueCache<Integer> pv = pvValueCacheIntegers.get(suffix);
 		if (pv == null) {
-			pv = new PVValueCache<Integer>(getPVInteger(suffix));
-			pvValueCacheIntegers.put(suffix, pv);
+			// PVValueCache's constructor throws, so cannot be called from computeIfAbsent
+			final PVValueCache<Integer> created = new PVValueCache<Integer>(getPVInteger(suffix));
+			pv = pvValueCacheIntegers.putIfAbsent(suffix, created);
+			if (pv == null) {
+				pv = created;
+			} else {
+				created.pv.removeObserver(created);
+			}
 		}
 		return pv;
 
 	}
 
 	public PVValueCache<Double> getDoublePVValueCache(String suffix) throws Exception{
-		if (pvValueCacheDoubles == null)
-			pvValueCacheDoubles = new HashMap<String, PVValueCache<Double>>();
-
 		PVValueCache<Double> pv = pvValueCacheDoubles.get(suffix);
 		if (pv == null) {
-			pv = new PVValueCache<Double>(getPVDouble((suffix)));
-			pvValueCacheDoubles.put(suffix, pv);
+			final PVValueCache<Double> created = new PVValueCache<Double>(getPVDouble(suffix));
+			pv = pvValueCacheDoubles.putIfAbsent(suffix, created);
+			if (pv == null) {
+				pv = created;
+			} else {
+				created.pv.removeObserver(created);
+			}
 		}
 		return pv;
 	}
 
 	public PV<String> getPVString(String suffix) {
-		if (pvStrings == null)
-			pvStrings = new HashMap<String, PV<String>>();
-		PV<String> pv = pvStrings.get(suffix);
-		if (pv == null) {
-			pv = LazyPVFactory.newStringPV(deviceprefix + suffix);
-			pvStrings.put(suffix, pv);
-		}
-		return pv;
+		return pvStrings.computeIfAbsent(suffix, s -> LazyPVFactory.newStringPV(deviceprefix + s));
 	}
 
 	public PV<String> getPVStringAsBytes(String suffix) {
-		if (pvStrings == null)
-			pvStrings = new HashMap<String, PV<String>>();
-		PV<String> pv = pvStrings.get(suffix);
-		if (pv == null) {
-			pv = LazyPVFactory.newStringFromWaveformPV(deviceprefix + suffix);
-			pvStrings.put(suffix, pv);
-		}
-		return pv;
+		return pvStrings.computeIfAbsent(suffix, s -> LazyPVFactory.newStringFromWaveformPV(deviceprefix + s));
 	}
 }
@@ -0,0 +1,68 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package gda.epics;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+
+/**
+ * A {@link PV} of a double scalar with accessors which do not box the value. Created with
+ * {@link LazyPVFactory#newPrimitiveDoublePV(String)}.
+ */
+public interface DoublePV extends PV<Double> {
+
+	/**
+	 * Get a value over CA.
+	 *
+	 * @throws IOException
+	 *             if an Epics CA exception of some sort has occurred
+	 * @throws InterruptedIOException
+	 *             if an Epics CA operation has been interrupted
+	 */
+	public double getDouble() throws IOException;
+
+	/**
+	 * Put a value over CA and return immediately.
+	 *
+	 * @param value
+	 *            the value to put across CA
+	 * @throws IOException
+	 *             if an Epics CA exception of some sort has occurred
+	 * @throws InterruptedIOException
+	 *             if an Epics CA operation has been interrupted
+	 */
+	public void putNoWait(double value) throws IOException;
+
+	/**
+	 * Put a value over CA and wait for callback, using the default timeout.
+	 * <p>
+	 * The put is made directly with {@link gda.epics.connection.EpicsController#caputWait(gov.aps.jca.Channel, double)},
+	 * not through {@link #putAsyncStart(Object)} and {@link #putAsyncWait()}, so it cannot be cancelled with
+	 * {@link #putAsyncCancel()}. It still fails if an asynchronous put is waiting for its callback.
+	 *
+	 * @param value
+	 *            the value to put across CA
+	 * @throws IOException
+	 *             if an Epics CA exception of some sort has occurred
+	 * @throws InterruptedIOException
+	 *             if an Epics CA operation has been interrupted
+	 */
+	public void putWait(double value) throws IOException;
+
+}
@@ -25,16 +25,32 @@ import static org.apache.commons.lang.ArrayUtils.toPrimitive;
 import java.io.IOException;
 import java.io.InterruptedIOException;
 import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import gda.configuration.properties.LocalProperties;
+import gda.epics.PV.PVValues;
+import gda.epics.connection.BulkGetResult;
+import gda.epics.connection.ChannelConnectionPhase;
+import gda.epics.connection.EpicsChannelRegistry;
 import gda.epics.connection.EpicsController;
+import gda.epics.connection.MonitorConflation;
+import gda.epics.util.EpicsDeadline;
 import gda.epics.util.EpicsGlobals;
 import gda.observable.Observable;
 import gda.observable.ObservableUtil;
@@ -54,10 +70,13 @@ import gov.aps.jca.dbr.FLOAT;
 import gov.aps.jca.dbr.INT;
 import gov.aps.jca.dbr.SHORT;
 import gov.aps.jca.dbr.STRING;
+import gov.aps.jca.event.ConnectionEvent;
+import gov.aps.jca.event.ConnectionListener;
 import gov.aps.jca.event.MonitorEvent;
 import gov.aps.jca.event.MonitorListener;
 import gov.aps.jca.event.PutEvent;
 import gov.aps.jca.event.PutListener;
+import uk.ac.diamond.daq.concurrent.Async;
 
 /**
  * A class with factory methods to return {@link PV}s representing Epics Process Variables. The {@link PV}s are lazy
@@ -82,9 +101,26 @@ public class LazyPVFactory {
 
 	private static EpicsController epicsController = EpicsController.getInstance();
 
+	/**
+	 * If set, every PV created is checked to be reachable. While a {@link ChannelConnectionPhase} is open the PV is
+	 * declared to it and checked along with the others; otherwise it is connected when created.
+	 */
 	public static final String CHECK_CHANNELS_PROPERTY_NAME = "gda.epics.lazypvfactory.check.channels";
+	/**
+	 * Age in ms up to which a value-monitoring PV's {@link PV#get()} returns the last monitored value rather than
+	 * making a CA request. Negative (the default) to always make the request.
+	 */
+	public static final String MONITORED_GET_MAX_AGE_PROPERTY_NAME = "gda.epics.lazypvfactory.monitored.get.max.age";
+
 	private static final String UNEXPECTED_TYPE_CONFIGURED = "Unexpected type configured";
 
+	private static volatile long monitoredGetMaxAgeNanos = maxAgeNanos(
+			LocalProperties.getAsInt(MONITORED_GET_MAX_AGE_PROPERTY_NAME, -1));
+
+	private static final AtomicLong getsFromMonitor = new AtomicLong();
+
+	private static final AtomicLong getsOverNetwork = new AtomicLong();
+
 	private LazyPVFactory() {}// Hide implicit constructor
 
 	/**
@@ -97,6 +133,34 @@ public class LazyPVFactory {
 		epicsController = controller;
 	}
 
+	/**
+	 * Overrides {@value #MONITORED_GET_MAX_AGE_PROPERTY_NAME} for all PVs.
+	 *
+	 * @param maxAgeMs
+	 *            age in ms up to which a monitored value is returned by get(), or negative to always make a CA request
+	 */
+	public static void setMonitoredGetMaxAge(long maxAgeMs) {
+		monitoredGetMaxAgeNanos = maxAgeNanos(maxAgeMs);
+	}
+
+	private static long maxAgeNanos(long maxAgeMs) {
+		return maxAgeMs < 0 ? -1 : TimeUnit.MILLISECONDS.toNanos(maxAgeMs);
+	}
+
+	/**
+	 * @return the number of get() calls answered from a value monitor
+	 */
+	public static long getGetsFromMonitorCount() {
+		return getsFromMonitor.get();
+	}
+
+	/**
+	 * @return the number of get() calls which made a CA request
+	 */
+	public static long getGetsOverNetworkCount() {
+		return getsOverNetwork.get();
+	}
+
 	public static <E> PV<E> newEnumPV(String pvName, Class<E> enumType) {
 		return new LazyPV<>(epicsController, pvName, enumType);
 	}
@@ -162,6 +226,45 @@ public class LazyPVFactory {
 		return new LazyPV<>(epicsController, pvName, Short[].class);
 	}
 
+	/**
+	 * Create a double PV whose {@link DoublePV#getDouble()} and primitive puts do not box the value.
+	 * @param pvName
+	 * @return the double PV
+	 */
+	public static DoublePV newPrimitiveDoublePV(String pvName) {
+		return new LazyDoublePV(epicsController, pvName);
+	}
+
+	/**
+	 * Create an int PV whose {@link IntPV#getInt()} and primitive puts do not box the value.
+	 * @param pvName
+	 * @return the int PV
+	 */
+	public static IntPV newPrimitiveIntegerPV(String pvName) {
+		return new LazyIntPV(epicsController, pvName);
+	}
+
+	/**
+	 * Create a waveform PV read and written as a double[], without boxing each element as {@link #newDoubleArrayPV(String)} does.
+	 * @param pvName
+	 * @return the double[] PV
+	 */
+	public static PV<double[]> newPrimitiveDoubleArrayPV(String pvName) {
+		return new LazyPV<>(epicsController, pvName, double[].class);
+	}
+
+	public static PV<float[]> newPrimitiveFloatArrayPV(String pvName) {
+		return new LazyPV<>(epicsController, pvName, float[].class);
+	}
+
+	public static PV<int[]> newPrimitiveIntegerArrayPV(String pvName) {
+		return new LazyPV<>(epicsController, pvName, int[].class);
+	}
+
+	public static PV<short[]> newPrimitiveShortArrayPV(String pvName) {
+		return new LazyPV<>(epicsController, pvName, short[].class);
+	}
+
 	public static PV<Boolean> newBooleanFromDoublePV(String pvName) {
 		return new BooleanFromDouble(new LazyPV<>(epicsController, pvName, Double.class));
 	}
@@ -316,6 +419,22 @@ public class LazyPVFactory {
 		return new ReadOnly<>(newShortArrayPV(pvName));
 	}
 
+	public static ReadOnlyPV<double[]> newReadOnlyPrimitiveDoubleArrayPV(String pvName) {
+		return new ReadOnly<>(newPrimitiveDoubleArrayPV(pvName));
+	}
+
+	public static ReadOnlyPV<float[]> newReadOnlyPrimitiveFloatArrayPV(String pvName) {
+		return new ReadOnly<>(newPrimitiveFloatArrayPV(pvName));
+	}
+
+	public static ReadOnlyPV<int[]> newReadOnlyPrimitiveIntegerArrayPV(String pvName) {
+		return new ReadOnly<>(newPrimitiveIntegerArrayPV(pvName));
+	}
+
+	public static ReadOnlyPV<short[]> newReadOnlyPrimitiveShortArrayPV(String pvName) {
+		return new ReadOnly<>(newPrimitiveShortArrayPV(pvName));
+	}
+
 	public static ReadOnlyPV<Boolean> newReadOnlyBooleanFromIntegerPV(String pvName) {
 		return new ReadOnly<>(newBooleanFromIntegerPV(pvName));
 	}
@@ -333,6 +452,95 @@ public class LazyPVFactory {
 		return new ReadOnly<>(newBooleanFromDoublePV(pvName));
 	}
 
+	/**
+	 * Read several PVs together. The gets for all PVs created by this factory are issued with a single CA flush and
+	 * waited for together (see {@link EpicsController#getDBRs(List, DBRType...)}), so reading N PVs costs about one
+	 * network round trip. Any other {@link ReadOnlyPV} implementations are read individually with {@link ReadOnlyPV#get()}.
+	 *
+	 * @param pvs
+	 *            the PVs to read
+	 * @return A PVValues object with a value for each PV in pvs
+	 * @throws IOException
+	 *             if an Epics CA exception of some sort has occurred
+	 * @throws InterruptedIOException
+	 *             if an Epics CA operation has been interrupted
+	 */
+	public static PVValues getValues(List<? extends ReadOnlyPV<?>> pvs) throws IOException {
+		final BulkReadResult result = new BulkReadResult();
+		final List<ReadOnlyPV<?>> lazyPVs = new ArrayList<>();
+		final List<Channel> channels = new ArrayList<>();
+		final List<DBRType> types = new ArrayList<>();
+		for (ReadOnlyPV<?> pv : pvs) {
+			final LazyPV<?> lazyPV = findLazyPV(pv);
+			if (lazyPV == null) {
+				result.put(pv, pv.get());
+			} else {
+				lazyPVs.add(pv);
+				channels.add(lazyPV.getChannel());
+				types.add(lazyPV.dbrType);
+			}
+		}
+		if (channels.isEmpty()) {
+			return result;
+		}
+
+		final BulkGetResult dbrs;
+		try {
+			dbrs = epicsController.getDBRs(channels, types.toArray(new DBRType[0]));
+			for (int i = 0; i < lazyPVs.size(); i++) {
+				result.put(lazyPVs.get(i), lazyPVs.get(i).extractValueFromDbr(dbrs.getDBR(i)));
+			}
+		} catch (CAException e) {
+			throw new IOException("Problem getting values from Epics pvs " + channelNames(channels), e);
+		} catch (TimeoutException e) {
+			throw new IOException("Timed out getting values from Epics pvs " + channelNames(channels), e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interupted while getting values from Epics pvs " + channelNames(channels));
+		}
+		return result;
+	}
+
+	/**
+	 * @see #getValues(List)
+	 */
+	public static PVValues getValues(ReadOnlyPV<?>... pvs) throws IOException {
+		return getValues(Arrays.asList(pvs));
+	}
+
+	/**
+	 * Find the {@link LazyPV} at the bottom of a chain of adapters, or null if the PV was not created by this factory.
+	 */
+	private static LazyPV<?> findLazyPV(ReadOnlyPV<?> pv) {
+		ReadOnlyPV<?> inner = pv;
+		while (inner instanceof AbstractReadOnlyAdapter) {
+			inner = ((AbstractReadOnlyAdapter<?, ?>) inner).getPV();
+		}
+		return inner instanceof LazyPV ? (LazyPV<?>) inner : null;
+	}
+
+	private static String channelNames(List<Channel> channels) {
+		return channels.stream().map(Channel::getName).collect(Collectors.joining(", ", "[", "]"));
+	}
+
+	private static class BulkReadResult implements PVValues {
+
+		private final Map<ReadOnlyPV<?>, Object> resultsMap = new HashMap<>();
+
+		void put(ReadOnlyPV<?> pv, Object value) {
+			resultsMap.put(pv, value);
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public <N> N get(ReadOnlyPV<N> pv) {
+			if (!resultsMap.containsKey(pv)) {
+				throw new IllegalArgumentException("There is no result for the PV " + pv.getPvName());
+			}
+			return (N) resultsMap.get(pv);
+		}
+	}
+
 	private static class LazyPV<T> implements PV<T> {
 
 		private static final Logger logger = LoggerFactory.getLogger(LazyPV.class);
@@ -354,6 +562,15 @@ public class LazyPVFactory {
 			javaTypeToDBRType.put(Byte.class, DBRType.BYTE);
 
 			javaTypeToDBRType.put(String.class, DBRType.STRING);
+
+			// component types of the primitive arrays
+			javaTypeToDBRType.put(double.class, DBRType.DOUBLE);
+
+			javaTypeToDBRType.put(float.class, DBRType.FLOAT);
+
+			javaTypeToDBRType.put(int.class, DBRType.INT);
+
+			javaTypeToDBRType.put(short.class, DBRType.SHORT);
 		}
 
 		private final EpicsController controller;
@@ -364,10 +581,31 @@ public class LazyPVFactory {
 
 		private final DBRType dbrType;
 
-		private Channel channel; // created only when first accessed
+		private volatile Channel channel; // created only when first accessed
+
+		private final Object channelGuard = new Object();
+
+		private CompletableFuture<Channel> connecting; // guarded by channelGuard, set while connecting asynchronously
+
+		private CompletableFuture<Channel> putsIssued; // guarded by channelGuard, completes once the last putAsync is issued
+
+		private final Map<GetKey, GetRequest> getsInFlight = new HashMap<>(); // guarded by itself
+
+		/**
+		 * Counts puts issued and completed, so that a get only shares a request started since the last of them
+		 */
+		private final AtomicLong putCount = new AtomicLong();
+
+		/**
+		 * False for primitive and String array types, whose values are the DBR's own array and so cannot be shared
+		 * between callers
+		 */
+		private final boolean coalesceGets;
 
 		private T lastMonitoredValue;
 
+		private long lastMonitoredNanos; // guarded by lastMonitoredValueMonitor
+
 		private Object lastMonitoredValueMonitor = new Object();
 
 		private Map<MonitorListener, Monitor> monitors = new HashMap<>();
@@ -380,6 +618,8 @@ public class LazyPVFactory {
 
 		private PVMonitor<T> observableMonitor;
 
+		private final List<ValueWaiter> valueWaiters = new ArrayList<>(); // guarded by lastMonitoredValueMonitor
+
 		LazyPV(EpicsController controller, String pvName, Class<T> javaType) {
 			this.controller = controller;
 			this.pvName = pvName;
@@ -391,12 +631,14 @@ public class LazyPVFactory {
 			} else {
 				dbrType = javaTypeToDBRType.get(javaType);
 			}
-			if (LocalProperties.check(CHECK_CHANNELS_PROPERTY_NAME)) {
+			coalesceGets = !(javaType.isArray()
+					&& (javaType.getComponentType().isPrimitive() || javaType == String[].class));
+			// checked along with all the others by the channel connection phase if there is one, or here
+			if (LocalProperties.check(CHECK_CHANNELS_PROPERTY_NAME) && !ChannelConnectionPhase.declare(pvName)) {
 				logger.warn("Checking channel : '{}'", pvName);
+				final EpicsChannelRegistry registry = EpicsChannelRegistry.getInstance(controller);
 				try {
-					Channel temp = (controller.createChannel(pvName));
-					controller.destroy(temp);
-					temp=null;
+					registry.release(registry.acquire(pvName));
 				} catch (Exception e) {
 					logger.error("Could not connect to channel  : '{}'", pvName, e);
 				}
@@ -408,6 +650,10 @@ public class LazyPVFactory {
 			return MessageFormat.format("LazyPV({0}, {1})", pvName, javaType.getSimpleName());
 		}
 
+		protected EpicsController getController() {
+			return controller;
+		}
+
 		private double defaultTimeout() {
 			return EpicsGlobals.getTimeout();
 		}
@@ -419,6 +665,20 @@ public class LazyPVFactory {
 
 		@Override
 		public T get() throws IOException {
+			final long maxAgeNanos = monitoredGetMaxAgeNanos;
+			if (maxAgeNanos >= 0 && coalesceGets && isValueMonitoring()) {
+				final Channel ch = channel;
+				if (ch != null && ch.getConnectionState() == Channel.CONNECTED) {
+					synchronized (lastMonitoredValueMonitor) {
+						if (lastMonitoredValue != null && System.nanoTime() - lastMonitoredNanos <= maxAgeNanos) {
+							getsFromMonitor.incrementAndGet();
+							logger.debug("'{}' get() <-- {} (via monitor)", pvName, lastMonitoredValue);
+							return lastMonitoredValue;
+						}
+					}
+				}
+			}
+			getsOverNetwork.incrementAndGet();
 			T value = extractValueFromDbr(getDBR(dbrType));
 			logger.debug("'{}' get() <-- {}", pvName, value);
 			return value;
@@ -431,6 +691,29 @@ public class LazyPVFactory {
 			return value;
 		}
 
+		@Override
+		public CompletableFuture<T> getAsync() {
+			final CompletableFuture<T> future = new CompletableFuture<>();
+			getChannelAsync().thenCompose(ch -> controller.getDBRAsync(ch, dbrType)).whenComplete((dbr, ex) -> {
+				if (ex instanceof CompletionException && ex.getCause() instanceof IOException) {
+					future.completeExceptionally(ex.getCause());
+					return;
+				}
+				if (ex != null) {
+					future.completeExceptionally(new IOException("Problem getting value from Epics pv '" + pvName + "'", ex));
+					return;
+				}
+				try {
+					T value = extractValueFromDbr(dbr);
+					logger.debug("'{}' getAsync() <-- {}", pvName, value);
+					future.complete(value);
+				} catch (RuntimeException e) {
+					future.completeExceptionally(e);
+				}
+			});
+			return future;
+		}
+
 		@Override
 		public T getLast() throws IOException {
 			if (!isValueMonitoring()) {
@@ -447,22 +730,29 @@ public class LazyPVFactory {
 		public T waitForValue(Predicate<T> predicate, double timeoutS) throws IOException, IllegalStateException,
 				java.util.concurrent.TimeoutException, InterruptedException {
 			logger.debug("'{}' waiting for value '{}'", pvName, predicate);
-			if (!isValueMonitoring()) {
-				this.setValueMonitoring(true);
-			}
+			// the initial get shares the timeout with the wait
+			try (EpicsDeadline deadline = EpicsDeadline.start(timeoutS)) {
+				if (!isValueMonitoring()) {
+					this.setValueMonitoring(true);
+				}
 
-			initialiseLastMonitoredValue();
+				initialiseLastMonitoredValue();
+				return waitForMonitoredValue(predicate, timeoutS, EpicsDeadline.timeoutMs(timeoutS));
+			}
+		}
 
+		private T waitForMonitoredValue(Predicate<T> predicate, double timeoutS, long timeoutMs)
+				throws java.util.concurrent.TimeoutException, InterruptedException {
 			synchronized (lastMonitoredValueMonitor) {
 
-				if (timeoutS <= 0) {
+				if (timeoutMs <= 0) {
 					// wait indefinitely
 					while (!predicate.test(lastMonitoredValue)) {
 						lastMonitoredValueMonitor.wait();
 					}
 				} else {
-					// wait for timeoutS seconds
-					long deadline = System.currentTimeMillis() + ((long) (timeoutS * 1000));
+					// wait for what is left of timeoutS seconds
+					long deadline = System.currentTimeMillis() + timeoutMs;
 
 					while (!predicate.test(lastMonitoredValue)) {
 						long remaining = deadline - System.currentTimeMillis();
@@ -482,6 +772,53 @@ public class LazyPVFactory {
 			}
 		}
 
+		@Override
+		public CompletableFuture<T> waitForValueAsync(Predicate<T> predicate) {
+			logger.debug("'{}' waiting asynchronously for value '{}'", pvName, predicate);
+			final ValueWaiter waiter = new ValueWaiter(predicate);
+			synchronized (lastMonitoredValueMonitor) {
+				// the last value is only kept while monitoring
+				if (lastMonitoredValue != null && predicate.test(lastMonitoredValue)) {
+					waiter.future.complete(lastMonitoredValue);
+					return waiter.future;
+				}
+				valueWaiters.add(waiter);
+			}
+			// monitoring is started once connected, so that the caller does not wait for the connection
+			getChannelAsync().whenComplete((ch, ex) -> {
+				try {
+					if (ex != null) {
+						throw ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+					}
+					if (!isValueMonitoring()) {
+						this.setValueMonitoring(true);
+					}
+				} catch (Throwable e) {
+					synchronized (lastMonitoredValueMonitor) {
+						valueWaiters.remove(waiter);
+					}
+					waiter.future.completeExceptionally(e);
+					return;
+				}
+				final boolean needInitialValue;
+				synchronized (lastMonitoredValueMonitor) {
+					needInitialValue = lastMonitoredValue == null;
+				}
+				if (needInitialValue) {
+					// No monitors received yet; get value across CA without overwriting any monitor that arrives first
+					getAsync().thenAccept(value -> {
+						synchronized (lastMonitoredValueMonitor) {
+							if (lastMonitoredValue != null) {
+								return;
+							}
+						}
+						setLastValueFromMonitor(value);
+					});
+				}
+			});
+			return waiter.future;
+		}
+
 		/**
 		 * If no value monitored yet; get value across CA
 		 */
@@ -493,9 +830,33 @@ public class LazyPVFactory {
 		}
 
 		private void setLastValueFromMonitor(T lastValueFromMonitor) {
+			final List<ValueWaiter> satisfied = new ArrayList<>();
 			synchronized (lastMonitoredValueMonitor) {
 				this.lastMonitoredValue = lastValueFromMonitor;
+				this.lastMonitoredNanos = System.nanoTime();
 				this.lastMonitoredValueMonitor.notifyAll();
+				for (Iterator<ValueWaiter> it = valueWaiters.iterator(); it.hasNext();) {
+					final ValueWaiter waiter = it.next();
+					if (waiter.future.isDone() || waiter.predicate.test(lastValueFromMonitor)) {
+						satisfied.add(waiter);
+						it.remove();
+					}
+				}
+			}
+			// complete outside the lock as dependent stages run on this thread
+			for (ValueWaiter waiter : satisfied) {
+				waiter.future.complete(lastValueFromMonitor);
+			}
+		}
+
+		private class ValueWaiter {
+
+			private final Predicate<T> predicate;
+
+			private final CompletableFuture<T> future = new CompletableFuture<>();
+
+			ValueWaiter(Predicate<T> predicate) {
+				this.predicate = predicate;
 			}
 		}
 
@@ -555,6 +916,22 @@ public class LazyPVFactory {
 				return (T) ((STRING) dbr).getStringValue();
 			}
 
+			if (javaType == double[].class) {
+				return (T) ((DOUBLE) dbr).getDoubleValue();
+			}
+
+			if (javaType == float[].class) {
+				return (T) ((FLOAT) dbr).getFloatValue();
+			}
+
+			if (javaType == int[].class) {
+				return (T) ((INT) dbr).getIntValue();
+			}
+
+			if (javaType == short[].class) {
+				return (T) ((SHORT) dbr).getShortValue();
+			}
+
 			throw new IllegalStateException(UNEXPECTED_TYPE_CONFIGURED);
 
 		}
@@ -574,7 +951,15 @@ public class LazyPVFactory {
 				logger.debug("Disabling constant monitoring of pv '{}'", pvName);
 				removeMonitorListener(valueMonitorListener);
 				valueMonitorListener = null;
-				lastMonitoredValue = null;
+				final List<ValueWaiter> abandoned;
+				synchronized (lastMonitoredValueMonitor) {
+					lastMonitoredValue = null;
+					abandoned = new ArrayList<>(valueWaiters);
+					valueWaiters.clear();
+				}
+				for (ValueWaiter waiter : abandoned) {
+					waiter.future.completeExceptionally(new IllegalStateException("Monitoring of pv '" + pvName + "' was stopped"));
+				}
 			}
 
 		}
@@ -584,13 +969,24 @@ public class LazyPVFactory {
 			return (valueMonitorListener != null);
 		}
 
+		@Override
+		public boolean isConnected() {
+			final Channel ch = channel;
+			return ch != null && ch.getConnectionState() == Channel.CONNECTED;
+		}
+
 		@Override
 		public void addMonitorListener(MonitorListener listener) throws IOException {
+			addMonitorListener(listener, MonitorConflation.latestOnly());
+		}
+
+		@Override
+		public void addMonitorListener(MonitorListener listener, MonitorConflation conflation) throws IOException {
 
-			logger.debug("Adding MonitorListener '{}' to pv '{}' ", listener.getClass().getName(), pvName);
+			logger.debug("Adding MonitorListener '{}' to pv '{}' ({})", listener.getClass().getName(), pvName, conflation);
 			Monitor monitor;
 			try {
-				monitor = controller.setMonitor(getChannel(), dbrType, Monitor.VALUE, listener);
+				monitor = controller.setMonitor(getChannel(), dbrType, Monitor.VALUE, conflation.apply(listener));
 			} catch (Exception e) {
 				throw new IOException("Could not add monitor listener to PV '" + getPvName() + "'", e);
 			}
@@ -606,37 +1002,197 @@ public class LazyPVFactory {
 				controller.clearMonitor(monitor);
 		}
 
-		protected synchronized Channel getChannel() throws IOException {
-			if (channel == null) {
+		protected Channel getChannel() throws IOException {
+			Channel ch = channel;
+			if (ch != null) {
+				return ch;
+			}
+			final CompletableFuture<Channel> pending;
+			synchronized (channelGuard) {
+				if (channel != null) {
+					return channel;
+				}
+				pending = connecting;
+				if (pending == null) {
+					try {
+						channel = EpicsChannelRegistry.getInstance(controller).acquire(pvName);
+					} catch (CAException e) {
+						throw new IOException("Epics problem creating channel for pv '" + pvName + "'", e);
+					} catch (gov.aps.jca.TimeoutException e) {
+						throw new IOException("Timed out creating channel for pv '" + pvName + "'", e);
+					}
+					return channel;
+				}
+			}
+			// already being connected asynchronously, so wait for that rather than acquiring the channel twice
+			try {
+				return pending.get((long) (defaultTimeout() * 1000), TimeUnit.MILLISECONDS);
+			} catch (java.util.concurrent.TimeoutException e) {
+				throw new IOException("Timed out creating channel for pv '" + pvName + "'", e);
+			} catch (ExecutionException e) {
+				throw new IOException("Epics problem creating channel for pv '" + pvName + "'", e.getCause());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interupted while connecting to pv '" + pvName + "'");
+			}
+		}
+
+		/**
+		 * Returns the channel once it has connected, without blocking. The first call creates the channel; the future
+		 * is completed from the CA thread reporting the connection. It is not timed out.
+		 */
+		protected CompletableFuture<Channel> getChannelAsync() {
+			final Channel ch = channel;
+			if (ch != null) {
+				return CompletableFuture.completedFuture(ch);
+			}
+			synchronized (channelGuard) {
+				if (channel != null) {
+					return CompletableFuture.completedFuture(channel);
+				}
+				if (connecting == null) {
+					final CompletableFuture<Channel> future = new CompletableFuture<>();
+					connecting = future;
+					try {
+						EpicsChannelRegistry.getInstance(controller).acquire(pvName, new AsyncConnectionListener(future));
+					} catch (CAException | RuntimeException e) {
+						connecting = null;
+						future.completeExceptionally(new IOException("Epics problem creating channel for pv '" + pvName + "'", e));
+					}
+				}
+				return connecting;
+			}
+		}
+
+		/**
+		 * Hands the channel over to {@link #channel} on its first connection. From then on the reference taken with
+		 * this listener is held exactly as one from {@link #getChannel()}.
+		 */
+		private class AsyncConnectionListener implements ConnectionListener {
+
+			private final CompletableFuture<Channel> future;
+
+			AsyncConnectionListener(CompletableFuture<Channel> future) {
+				this.future = future;
+			}
+
+			@Override
+			public void connectionChanged(ConnectionEvent ev) {
+				if (!ev.isConnected() || future.isDone()) {
+					return;
+				}
+				final Channel ch = (Channel) ev.getSource();
+				synchronized (channelGuard) {
+					channel = ch;
+					connecting = null;
+				}
+				// not removed on the thread dispatching this event
+				Async.execute(() -> {
+					try {
+						ch.removeConnectionListener(this);
+					} catch (IllegalStateException | CAException e) {
+						logger.debug("Could not remove connection listener from {}", pvName, e);
+					}
+				});
+				future.complete(ch);
+			}
+		}
+
+		protected DBR getDBR(DBRType dbrType) throws IOException {
+			return coalescedGet(new GetKey(dbrType, -1));
+		}
+
+		protected DBR getDBR(DBRType dbrType, int numElements) throws IOException {
+			return coalescedGet(new GetKey(dbrType, numElements));
+		}
+
+		/**
+		 * Gets the value with a single CA request shared by every thread asking for the same type and count while it
+		 * is in flight. The thread which starts the request makes it; the others wait for its result, for no longer
+		 * than the CA timeout. A request is only shared if no put has been issued or completed since it started, so a
+		 * get following a put never returns a value read before it. If the thread making the request is interrupted,
+		 * the others start the request again rather than fail with it. No lock is held while waiting on the network.
+		 */
+		private DBR coalescedGet(GetKey key) throws IOException {
+			if (!coalesceGets) {
+				return readDBR(key);
+			}
+			while (true) {
+				final GetRequest started = new GetRequest(putCount.get());
+				final GetRequest inFlight;
+				synchronized (getsInFlight) {
+					final GetRequest current = getsInFlight.get(key);
+					if (current != null && current.putCount == started.putCount && !current.result.isCancelled()) {
+						inFlight = current;
+					} else {
+						inFlight = null;
+						getsInFlight.put(key, started);
+					}
+				}
+				if (inFlight != null) {
+					final DBR dbr = joinGet(inFlight.result);
+					if (dbr != null) {
+						return dbr;
+					}
+					continue;
+				}
 				try {
-					channel = (controller.createChannel(pvName));
-				} catch (CAException e) {
-					throw new IOException("Epics problem creating channel for pv '" + pvName + "'", e);
-				} catch (gov.aps.jca.TimeoutException e) {
-					throw new IOException("Timed out creating channel for pv '" + pvName + "'", e);
+					final DBR dbr = readDBR(key);
+					started.result.complete(dbr);
+					return dbr;
+				} catch (InterruptedIOException e) {
+					// the interrupt was meant for this thread only, so the others retry
+					started.result.cancel(false);
+					throw e;
+				} catch (IOException | RuntimeException e) {
+					started.result.completeExceptionally(e);
+					throw e;
+				} finally {
+					synchronized (getsInFlight) {
+						getsInFlight.remove(key, started);
+					}
 				}
 			}
-			return channel;
 		}
 
-		private synchronized DBR getDBR(DBRType dbrType) throws IOException {
+		/**
+		 * Records that a put has been issued or has completed, so that gets already in flight are not shared
+		 */
+		protected void putIssuedOrCompleted() {
+			putCount.incrementAndGet();
+		}
 
+		/**
+		 * @return the value got by another thread, or null if that thread was interrupted and the get should be
+		 *         started again
+		 */
+		private DBR joinGet(CompletableFuture<DBR> inFlight) throws IOException {
+			final long timeoutMs = EpicsDeadline.timeoutMs(defaultTimeout());
 			try {
-				return controller.getDBR(getChannel(), dbrType);
-			} catch (CAException e) {
-				throw new IOException("Problem getting value from Epics pv '" + pvName + "'", e);
-			} catch (TimeoutException e) {
+				return timeoutMs > 0 ? inFlight.get(timeoutMs, TimeUnit.MILLISECONDS) : inFlight.get();
+			} catch (CancellationException e) {
+				return null;
+			} catch (java.util.concurrent.TimeoutException e) {
 				throw new IOException("Timed out getting value from Epics pv '" + pvName + "'", e);
 			} catch (InterruptedException e) {
 				Thread.currentThread().interrupt();
 				throw new InterruptedIOException("Interupted while getting value from Epics pv '" + pvName + "'");
+			} catch (ExecutionException e) {
+				final Throwable cause = e.getCause();
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				throw new IOException(cause.getMessage(), cause);
 			}
 		}
 
-		private synchronized DBR getDBR(DBRType dbrType, int numElements) throws IOException {
+		private DBR readDBR(GetKey key) throws IOException {
 
 			try {
-				return controller.getDBR(getChannel(), dbrType, numElements);
+				if (key.numElements < 0) {
+					return controller.getDBR(getChannel(), key.dbrType);
+				}
+				return controller.getDBR(getChannel(), key.dbrType, key.numElements);
 			} catch (CAException e) {
 				throw new IOException("Problem getting value from Epics pv '" + pvName + "'", e);
 			} catch (TimeoutException e) {
@@ -647,6 +1203,49 @@ public class LazyPVFactory {
 			}
 		}
 
+		/**
+		 * The type and element count of a get; a count below zero means the channel's native count.
+		 */
+		private static final class GetKey {
+
+			private final DBRType dbrType;
+
+			private final int numElements;
+
+			GetKey(DBRType dbrType, int numElements) {
+				this.dbrType = dbrType;
+				this.numElements = numElements;
+			}
+
+			@Override
+			public boolean equals(Object obj) {
+				if (!(obj instanceof GetKey)) {
+					return false;
+				}
+				final GetKey other = (GetKey) obj;
+				return dbrType == other.dbrType && numElements == other.numElements;
+			}
+
+			@Override
+			public int hashCode() {
+				return 31 * dbrType.hashCode() + numElements;
+			}
+		}
+
+		/**
+		 * A get in flight, with the count of puts when it started.
+		 */
+		private static final class GetRequest {
+
+			private final CompletableFuture<DBR> result = new CompletableFuture<>();
+
+			private final long putCount;
+
+			GetRequest(long putCount) {
+				this.putCount = putCount;
+			}
+		}
+
 		private class ValueMonitorListener implements MonitorListener {
 
 			@Override
@@ -666,6 +1265,8 @@ public class LazyPVFactory {
 
 			logger.debug("'{}' put() --> {}", pvName, value);
 
+			putIssuedOrCompleted();
+
 			try {
 
 				if (javaType == Byte[].class) {
@@ -680,6 +1281,14 @@ public class LazyPVFactory {
 					controller.caput(getChannel(), toPrimitive((Short[]) value));
 				} else if (javaType == String[].class) {
 					throw new IllegalStateException("String[] not supported");
+				} else if (javaType == double[].class) {
+					controller.caput(getChannel(), (double[]) value);
+				} else if (javaType == float[].class) {
+					controller.caput(getChannel(), (float[]) value);
+				} else if (javaType == int[].class) {
+					controller.caput(getChannel(), (int[]) value);
+				} else if (javaType == short[].class) {
+					controller.caput(getChannel(), (short[]) value);
 				} else if (javaType == Byte.class) {
 					controller.caput(getChannel(), (Byte) value);
 				} else if (javaType == Double.class) {
@@ -714,6 +1323,8 @@ public class LazyPVFactory {
 
 			logger.debug("'{}' put() --> {}, with listener '{}'", pvName, value, pl.getClass().getName());
 
+			putIssuedOrCompleted();
+
 			try {
 
 				if (javaType == Byte[].class) {
@@ -728,6 +1339,14 @@ public class LazyPVFactory {
 					controller.caput(getChannel(), toPrimitive((Short[]) value), pl);
 				} else if (javaType == String[].class) {
 					throw new IllegalStateException("String[] not supported");
+				} else if (javaType == double[].class) {
+					controller.caput(getChannel(), (double[]) value, pl);
+				} else if (javaType == float[].class) {
+					controller.caput(getChannel(), (float[]) value, pl);
+				} else if (javaType == int[].class) {
+					controller.caput(getChannel(), (int[]) value, pl);
+				} else if (javaType == short[].class) {
+					controller.caput(getChannel(), (short[]) value, pl);
 				} else if (javaType == Byte.class) {
 					controller.caput(getChannel(), (Byte) value, pl);
 				} else if (javaType == Double.class) {
@@ -768,13 +1387,56 @@ public class LazyPVFactory {
 			putAsyncWait(timeoutS);
 		}
 
+		/**
+		 * Issues the put once the channel has connected, without blocking. Puts made before the channel connects are
+		 * issued in the order they were made.
+		 */
+		@Override
+		public CompletableFuture<Void> putAsync(T value) {
+			final CompletableFuture<Void> future = new CompletableFuture<>();
+			final CompletableFuture<Channel> previous;
+			final CompletableFuture<Channel> issued = new CompletableFuture<>();
+			synchronized (channelGuard) {
+				previous = putsIssued == null || putsIssued.isCompletedExceptionally() ? getChannelAsync() : putsIssued;
+				putsIssued = issued;
+			}
+			previous.whenComplete((ch, ex) -> {
+				if (ex != null) {
+					final Throwable cause = ex instanceof CompletionException ? ex.getCause() : ex;
+					future.completeExceptionally(cause instanceof IOException ? cause
+							: new IOException("Epics problem creating channel for pv '" + pvName + "'", cause));
+					issued.completeExceptionally(cause);
+					return;
+				}
+				issuePut(value, future);
+				issued.complete(ch);
+			});
+			return future;
+		}
+
+		/**
+		 * Puts the value on the connected channel, completing the future from the put-callback.
+		 */
+		private void issuePut(T value, CompletableFuture<Void> future) {
+			try {
+				putNoWait(value, ev -> {
+					putIssuedOrCompleted();
+					if (ev.getStatus() == CAStatus.NORMAL) {
+						future.complete(null);
+					} else {
+						future.completeExceptionally(new IOException("Epics problem with callback from PV " + getPvName(),
+								new CAStatusException(ev.getStatus(), "putAsync failed")));
+					}
+				});
+			} catch (IOException | RuntimeException e) {
+				future.completeExceptionally(e);
+			}
+		}
+
 		@Override
 		public void putAsyncStart(T value) throws IllegalStateException, IOException {
 			synchronized (putCallbackGuard) {
-				if (putCallbackListener.isCallbackPending()) {
-					throw new IllegalStateException("The pv " + getPvName()
-							+ " is waiting to complete a startPutCallback already");
-				}
+				checkNoPutCallbackPending();
 				putCallbackListener = new PutCallbackListener();
 				try {
 					putNoWait(value, putCallbackListener);
@@ -785,6 +1447,15 @@ public class LazyPVFactory {
 			}
 		}
 
+		protected void checkNoPutCallbackPending() {
+			synchronized (putCallbackGuard) {
+				if (putCallbackListener.isCallbackPending()) {
+					throw new IllegalStateException("The pv " + getPvName()
+							+ " is waiting to complete a startPutCallback already");
+				}
+			}
+		}
+
 		@Override
 		public void putAsyncWait() throws IOException {
 			putAsyncWait(defaultTimeout());
@@ -817,6 +1488,7 @@ public class LazyPVFactory {
 					throw new InterruptedIOException("Interupted while waiting for callback from PV " + getPvName());
 				} finally {
 					putCallbackListener = new NullPutCallbackListener();
+					putIssuedOrCompleted();
 				}
 			}
 		}
@@ -836,12 +1508,15 @@ public class LazyPVFactory {
 		 */
 		@Override
 		public PVValues putWait(T value, double timeoutS, ReadOnlyPV<?>... toReturn) throws IOException {
-			putWait(value);
-			CallbackResult result = new CallbackResult();
-			for (ReadOnlyPV<?> pv : toReturn) {
-				result.put(pv, pv.get());
+			// the put and the gets share the one timeout
+			try (EpicsDeadline deadline = EpicsDeadline.start(timeoutS)) {
+				putWait(value, timeoutS);
+				CallbackResult result = new CallbackResult();
+				for (ReadOnlyPV<?> pv : toReturn) {
+					result.put(pv, pv.get());
+				}
+				return result;
 			}
-			return result;
 		}
 
 		private class PutCallbackListener implements PutListener {
@@ -864,7 +1539,7 @@ public class LazyPVFactory {
 			public void waitForCallback(double timeoutS) throws TimeoutException, CAStatusException, InterruptedException {
 				synchronized (eventMonitor) {
 					if (callbackPending) {
-						eventMonitor.wait((long) (timeoutS * 1000));
+						eventMonitor.wait(EpicsDeadline.timeoutMs(timeoutS));
 					}
 					if (event == null) {
 						throw new TimeoutException("putWait timed out after " + timeoutS + "s");
@@ -954,6 +1629,96 @@ public class LazyPVFactory {
 
 	}
 
+	private static class LazyDoublePV extends LazyPV<Double> implements DoublePV {
+
+		LazyDoublePV(EpicsController controller, String pvName) {
+			super(controller, pvName, Double.class);
+		}
+
+		@Override
+		public double getDouble() throws IOException {
+			return ((DOUBLE) getDBR(DBRType.DOUBLE)).getDoubleValue()[0];
+		}
+
+		@Override
+		public void putNoWait(double value) throws IOException {
+			putIssuedOrCompleted();
+			try {
+				getController().caput(getChannel(), value);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException(format(
+						"Interupted while putting value to EPICS pv ''{0}'', (value was: {1})", getPvName(), value));
+			} catch (Exception e) {
+				throw new IOException(format("Problem putting value to EPICS pv ''{0}'', (value was: {1})", getPvName(),
+						value), e);
+			}
+		}
+
+		@Override
+		public void putWait(double value) throws IOException {
+			checkNoPutCallbackPending();
+			putIssuedOrCompleted();
+			try {
+				getController().caputWait(getChannel(), value);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException(format(
+						"Interupted while putting value to EPICS pv ''{0}'', (value was: {1})", getPvName(), value));
+			} catch (Exception e) {
+				throw new IOException(format("Problem putting value to EPICS pv ''{0}'', (value was: {1})", getPvName(),
+						value), e);
+			} finally {
+				putIssuedOrCompleted();
+			}
+		}
+	}
+
+	private static class LazyIntPV extends LazyPV<Integer> implements IntPV {
+
+		LazyIntPV(EpicsController controller, String pvName) {
+			super(controller, pvName, Integer.class);
+		}
+
+		@Override
+		public int getInt() throws IOException {
+			return ((INT) getDBR(DBRType.INT)).getIntValue()[0];
+		}
+
+		@Override
+		public void putNoWait(int value) throws IOException {
+			putIssuedOrCompleted();
+			try {
+				getController().caput(getChannel(), value);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException(format(
+						"Interupted while putting value to EPICS pv ''{0}'', (value was: {1})", getPvName(), value));
+			} catch (Exception e) {
+				throw new IOException(format("Problem putting value to EPICS pv ''{0}'', (value was: {1})", getPvName(),
+						value), e);
+			}
+		}
+
+		@Override
+		public void putWait(int value) throws IOException {
+			checkNoPutCallbackPending();
+			putIssuedOrCompleted();
+			try {
+				getController().caputWait(getChannel(), value);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException(format(
+						"Interupted while putting value to EPICS pv ''{0}'', (value was: {1})", getPvName(), value));
+			} catch (Exception e) {
+				throw new IOException(format("Problem putting value to EPICS pv ''{0}'', (value was: {1})", getPvName(),
+						value), e);
+			} finally {
+				putIssuedOrCompleted();
+			}
+		}
+	}
+
 	private abstract static class AbstractReadOnlyAdapter<N, T> implements ReadOnlyPV<T> {
 
 		Observable<T> obs = null;
@@ -999,6 +1764,16 @@ public class LazyPVFactory {
 			return innerToOuter(innerValue);
 		}
 
+		@Override
+		public CompletableFuture<T> getAsync() {
+			return getPV().getAsync().thenApply(this::innerToOuter);
+		}
+
+		@Override
+		public CompletableFuture<T> waitForValueAsync(Predicate<T> predicate) {
+			return getPV().waitForValueAsync(newInnerPredicate(predicate)).thenApply(this::innerToOuter);
+		}
+
 		@Override
 		public T extractValueFromDbr(DBR dbr) {
 			return innerToOuter(getPV().extractValueFromDbr(dbr));
@@ -1021,11 +1796,21 @@ public class LazyPVFactory {
 			return getPV().isValueMonitoring();
 		}
 
+		@Override
+		public boolean isConnected() {
+			return getPV().isConnected();
+		}
+
 		@Override
 		public void addMonitorListener(MonitorListener listener) throws IOException {
 			getPV().addMonitorListener(listener);
 		}
 
+		@Override
+		public void addMonitorListener(MonitorListener listener, MonitorConflation conflation) throws IOException {
+			getPV().addMonitorListener(listener, conflation);
+		}
+
 		@Override
 		public void removeMonitorListener(MonitorListener listener) {
 			getPV().removeMonitorListener(listener);
@@ -1144,6 +1929,11 @@ public class LazyPVFactory {
 			getPV().putWait(outerToInner(value), timeoutS);
 		}
 
+		@Override
+		public CompletableFuture<Void> putAsync(T value) {
+			return getPV().putAsync(outerToInner(value));
+		}
+
 		@Override
 		public void putAsyncStart(T value) throws IOException {
 			getPV().putAsyncStart(outerToInner(value));
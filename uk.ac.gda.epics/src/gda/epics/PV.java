@@ -24,6 +24,7 @@ import gda.epics.util.EpicsGlobals;
 
 import java.io.IOException;
 import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * An Epics Process Variable. The {@link LazyPVFactory} class provides convenient factory methods to create PVs which don't
@@ -102,6 +103,27 @@ public interface PV<T> extends NoCallbackPV<T> {
 	 */
 	public void putAsyncStart(T value) throws IOException;
 
+	/**
+	 * Put a value over CA with a callback and return a future completed when the callback arrives. The future is
+	 * completed from the CA listener thread, or completed exceptionally with an {@link IOException} if the put fails.
+	 * Unlike {@link #putAsyncStart(Object)} any number of these puts may be outstanding at once. The future is not
+	 * timed out, use {@link CompletableFuture#orTimeout} if required.
+	 * <p>
+	 * The default implementation calls {@link #putWait(Object)} on the calling thread.
+	 *
+	 * @param value
+	 *            the value to put across CA
+	 * @return a future completed when the put callback arrives
+	 */
+	public default CompletableFuture<Void> putAsync(T value) {
+		try {
+			putWait(value);
+			return CompletableFuture.completedFuture(null);
+		} catch (IOException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+	}
+
 	/**
 	 * Waits for a previously made {@link #putAsyncStart} call to complete. Waits up to the default epics timeout
 	 * determined using {@link EpicsGlobals#getTimeout()}. Currently this will be 30s unless {@link LocalProperties}
@@ -168,4 +190,17 @@ public interface PV<T> extends NoCallbackPV<T> {
 	 */
 	public PVValues putWait(T value, double timeoutS, ReadOnlyPV<?>... toReturn) throws IOException;
 
+	/**
+	 * Create a {@link PutPipeline} through which puts with callback to this PV can be streamed, with up to
+	 * maxOutstanding of them in flight at once. Puts through the pipeline use {@link #putAsync(Object)}, so are
+	 * independent of {@link #putAsyncStart(Object)}.
+	 *
+	 * @param maxOutstanding
+	 *            the largest number of puts whose callbacks may be awaited at once
+	 * @return a new pipeline
+	 */
+	public default PutPipeline<T> newPutPipeline(int maxOutstanding) {
+		return new PutPipeline<>(this, maxOutstanding);
+	}
+
 }
\ No newline at end of file
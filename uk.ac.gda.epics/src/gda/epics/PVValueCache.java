@@ -16,16 +16,50 @@
  * with GDA. If not, see <http://www.gnu.org/licenses/>.
  */
 
+
 package gda.epics;
 
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
 import gda.observable.Observable;
 import gda.observable.Observer;
 
-import java.io.IOException;
-
+/**
+ * Caches the value of a PV, kept up to date by observing it (which sets up a monitor) and otherwise fetched with a get.
+ * <p>
+ * A value is served from the cache while the PV is connected, as the monitor then keeps it up to date, or else while
+ * it is younger than the maximum staleness, its age being measured from the last monitor update, get or put. Once
+ * older, or if there is no value yet, the next {@link #get()} goes to the PV. The default maximum staleness is
+ * unbounded, so a monitored value is used for as long as it is held.
+ * <p>
+ * {@link #putWait(Object)} skips the put if the cached value is already equal to the new one, within a tolerance for
+ * floating point values ({@value #DEFAULT_DOUBLE_TOLERANCE} for Double, {@value #DEFAULT_FLOAT_TOLERANCE} for Float by
+ * default).
+ * <p>
+ * This class is thread safe.
+ */
 public class PVValueCache<T> implements Observer<T> {
-	PV<T> pv;
-	private T cache;
+
+	public static final double DEFAULT_DOUBLE_TOLERANCE = 1e-10;
+
+	public static final double DEFAULT_FLOAT_TOLERANCE = 1e-6;
+
+	final PV<T> pv;
+
+	private final AtomicReference<Entry<T>> cache = new AtomicReference<>();
+
+	private volatile long maxStalenessNanos = Long.MAX_VALUE;
+
+	private volatile double tolerance = Double.NaN; // NaN for the default of the value's type
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong stale = new AtomicLong();
+	private final AtomicLong skippedPuts = new AtomicLong();
 
 	public PVValueCache(PV<T> pv) throws Exception {
 		super();
@@ -33,23 +67,64 @@ public class PVValueCache<T> implements Observer<T> {
 		pv.addObserver(this);
 	}
 
-	public void putWait(T arg) throws IOException{
-		if( !arg.equals(cache)){
-			if( cache != null && arg instanceof Double){
-				if (Math.abs((Double)arg-(Double)cache) < 1e-10)
-					return;
-			}
-			pv.putWait(arg);
-			cache=arg;
+	/**
+	 * @param pv
+	 *            the PV to cache
+	 * @param maxStalenessMs
+	 *            the age in ms beyond which a cached value is fetched again
+	 * @throws Exception
+	 */
+	public PVValueCache(PV<T> pv, long maxStalenessMs) throws Exception {
+		this(pv);
+		setMaxStaleness(maxStalenessMs, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * @param maxStaleness
+	 *            the age beyond which a cached value is fetched again
+	 * @param unit
+	 *            the unit of maxStaleness
+	 */
+	public void setMaxStaleness(long maxStaleness, TimeUnit unit) {
+		maxStalenessNanos = unit.toNanos(maxStaleness);
+	}
+
+	/**
+	 * @param tolerance
+	 *            the largest difference between a floating point value to put and the cached value for which the put is
+	 *            skipped
+	 */
+	public void setTolerance(double tolerance) {
+		this.tolerance = tolerance;
+	}
+
+	public void putWait(T arg) throws IOException {
+		final Entry<T> entry = cache.get();
+		if (entry != null && isFresh(entry) && sameValue(arg, entry.value)) {
+			skippedPuts.incrementAndGet();
+			return;
 		}
+		pv.putWait(arg);
+		cache.set(new Entry<>(arg));
 	}
 
 	public T get() throws IOException {
-		if(  cache == null)
-		{
-			cache = pv.get();
+		final Entry<T> entry = cache.get();
+		if (entry == null) {
+			misses.incrementAndGet();
+		} else if (isFresh(entry)) {
+			hits.incrementAndGet();
+			return entry.value;
+		} else {
+			stale.incrementAndGet();
 		}
-		return cache;
+		final Entry<T> fetched = new Entry<>(pv.get());
+		if (cache.compareAndSet(entry, fetched)) {
+			return fetched.value;
+		}
+		// keep a value which arrived from the monitor while the get was in flight, unless the cache was reset
+		final Entry<T> current = cache.get();
+		return current != null ? current.value : fetched.value;
 	}
 
 	/**
@@ -59,12 +134,73 @@ public class PVValueCache<T> implements Observer<T> {
 	 * be reset whenever the PV setting them is set.
 	 */
 	public void resetCache() {
-		cache = null;
+		cache.set(null);
 	}
 
 	@Override
 	public void update(Observable<T> source, T arg) {
-		cache=arg;
+		cache.set(new Entry<>(arg));
+	}
+
+	/**
+	 * @return the number of gets served from the cache
+	 */
+	public long getHitCount() {
+		return hits.get();
+	}
+
+	/**
+	 * @return the number of gets which found no cached value
+	 */
+	public long getMissCount() {
+		return misses.get();
+	}
+
+	/**
+	 * @return the number of gets which found the cached value too old
+	 */
+	public long getStaleCount() {
+		return stale.get();
+	}
+
+	/**
+	 * @return the number of puts skipped as the value was already cached
+	 */
+	public long getSkippedPutCount() {
+		return skippedPuts.get();
+	}
+
+	private boolean isFresh(Entry<T> entry) {
+		// while the monitor is connected any change would have replaced the entry
+		return pv.isConnected() || System.nanoTime() - entry.timeNanos <= maxStalenessNanos;
+	}
+
+	private boolean sameValue(T a, T b) {
+		if (a instanceof Double && b instanceof Double) {
+			final double tol = Double.isNaN(tolerance) ? DEFAULT_DOUBLE_TOLERANCE : tolerance;
+			return Math.abs((Double) a - (Double) b) < tol || a.equals(b);
+		}
+		if (a instanceof Float && b instanceof Float) {
+			final double tol = Double.isNaN(tolerance) ? DEFAULT_FLOAT_TOLERANCE : tolerance;
+			return Math.abs((Float) a - (Float) b) < tol || a.equals(b);
+		}
+		return Objects.deepEquals(a, b);
+	}
 
+	@Override
+	public String toString() {
+		return "PVValueCache [pv=" + pv.getPvName() + ", hits=" + hits + ", misses=" + misses + ", stale=" + stale
+				+ ", skippedPuts=" + skippedPuts + "]";
+	}
+
+	private static final class Entry<T> {
+
+		private final T value;
+
+		private final long timeNanos = System.nanoTime();
+
+		Entry(T value) {
+			this.value = value;
+		}
 	}
 }
@@ -20,9 +20,11 @@ package gda.epics;
 
 import java.io.IOException;
 import java.text.MessageFormat;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Predicate;
 
+import gda.epics.connection.MonitorConflation;
 import gda.observable.Observer;
 import gov.aps.jca.dbr.DBR;
 import gov.aps.jca.event.MonitorListener;
@@ -74,11 +76,21 @@ public class PVWithSeparateReadback<T> implements PV<T> {
 		return getPV.get();
 	}
 
+	@Override
+	public CompletableFuture<T> getAsync() {
+		return getPV.getAsync();
+	}
+
 	@Override
 	public T getLast() throws IOException {
 		return getPV.getLast();
 	}
 
+	@Override
+	public CompletableFuture<T> waitForValueAsync(Predicate<T> predicate) {
+		return getPV.waitForValueAsync(predicate);
+	}
+
 	@Override
 	public T waitForValue(Predicate<T> predicate, double timeoutS) throws IllegalStateException, TimeoutException,
 			IOException, InterruptedException {
@@ -110,6 +122,11 @@ public class PVWithSeparateReadback<T> implements PV<T> {
 		putPV.putWait(value, timeoutS);
 	}
 
+	@Override
+	public CompletableFuture<Void> putAsync(T value) {
+		return putPV.putAsync(value);
+	}
+
 	@Override
 	public void putAsyncStart(T value) throws IOException {
 		putPV.putAsyncStart(value);
@@ -156,6 +173,11 @@ public class PVWithSeparateReadback<T> implements PV<T> {
 		getPV.addMonitorListener(listener);
 	}
 
+	@Override
+	public void addMonitorListener(MonitorListener listener, MonitorConflation conflation) throws IOException {
+		getPV.addMonitorListener(listener, conflation);
+	}
+
 	@Override
 	public void removeMonitorListener(MonitorListener listener) {
 		getPV.removeMonitorListener(listener);
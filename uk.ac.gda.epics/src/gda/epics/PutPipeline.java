@@ -0,0 +1,257 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package gda.epics;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.BitSet;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import gda.epics.util.EpicsGlobals;
+
+/**
+ * Streams puts with callback to a single {@link PV}, allowing up to a fixed number to be outstanding at once rather
+ * than waiting a round trip for each, as {@link PV#putAsyncStart(Object)} and {@link PV#putAsyncWait()} would.
+ * <p>
+ * Each put is given a sequence number, starting from 1. Callbacks may arrive in any order, but completion is tracked
+ * in sequence order: {@link #waitForSequence(long, double)} returns once the given put and every put before it has
+ * completed. If a put fails, the pipeline is failed and every wait, and any further put, throws. Puts made by one
+ * thread are issued in sequence order; puts made by several threads at once may be issued in either order.
+ *
+ * <pre>
+ * {@code
+ * PutPipeline<Double> pipeline = pv.newPutPipeline(16);
+ * for (double position : positions) {
+ * 	pipeline.put(position);
+ * }
+ * pipeline.waitForAll();
+ * }
+ * </pre>
+ *
+ * This class is thread safe.
+ */
+public class PutPipeline<T> {
+
+	private static final Logger logger = LoggerFactory.getLogger(PutPipeline.class);
+
+	private final PV<T> pv;
+
+	private final Semaphore permits;
+
+	private long lastIssued = 0; // guarded by this
+
+	private long lastCompleted = 0; // all puts up to and including this have completed, guarded by this
+
+	private final BitSet completedOutOfOrder = new BitSet(); // bit i is lastCompleted + 1 + i, guarded by this
+
+	private IOException failure; // guarded by this
+
+	/**
+	 * @param pv
+	 *            the PV to put to
+	 * @param maxOutstanding
+	 *            the largest number of puts whose callbacks may be awaited at once
+	 */
+	public PutPipeline(PV<T> pv, int maxOutstanding) {
+		if (maxOutstanding < 1) {
+			throw new IllegalArgumentException("maxOutstanding must be at least 1 but was " + maxOutstanding);
+		}
+		this.pv = pv;
+		this.permits = new Semaphore(maxOutstanding);
+	}
+
+	/**
+	 * Puts a value, first waiting up to the default Epics timeout for an earlier put to complete if the maximum number
+	 * are outstanding.
+	 *
+	 * @param value
+	 *            the value to put across CA
+	 * @return the sequence number of this put
+	 * @throws IOException
+	 *             if an earlier put has failed or no put completed in time
+	 * @throws InterruptedIOException
+	 *             if interrupted while waiting
+	 */
+	public long put(T value) throws IOException {
+		return put(value, EpicsGlobals.getTimeout());
+	}
+
+	/**
+	 * Puts a value, first waiting for an earlier put to complete if the maximum number are outstanding.
+	 *
+	 * @param value
+	 *            the value to put across CA
+	 * @param timeoutS
+	 *            time in seconds to wait for an earlier put to complete
+	 * @return the sequence number of this put
+	 * @throws IOException
+	 *             if an earlier put has failed or no put completed in time
+	 * @throws InterruptedIOException
+	 *             if interrupted while waiting
+	 */
+	public long put(T value, double timeoutS) throws IOException {
+		try {
+			if (!permits.tryAcquire((long) (timeoutS * 1000), TimeUnit.MILLISECONDS)) {
+				throw new IOException("Timed out waiting for callback from PV " + pv.getPvName());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interupted while waiting for callback from PV " + pv.getPvName());
+		}
+		final long sequence;
+		synchronized (this) {
+			if (failure != null) {
+				permits.release();
+				throw new IOException("Earlier put to PV " + pv.getPvName() + " failed", failure);
+			}
+			sequence = ++lastIssued;
+		}
+		// issued outside the lock, which the callbacks need; they are tracked by sequence whatever order they arrive in
+		logger.trace("'{}' put #{} --> {}", pv.getPvName(), sequence, value);
+		try {
+			pv.putAsync(value).whenComplete((ignored, ex) -> completed(sequence, ex));
+		} catch (RuntimeException e) {
+			completed(sequence, e);
+			throw e;
+		}
+		return sequence;
+	}
+
+	private synchronized void completed(long sequence, Throwable ex) {
+		permits.release();
+		if (ex != null && failure == null) {
+			logger.error("Put #{} to PV {} failed", sequence, pv.getPvName(), ex);
+			failure = ex instanceof IOException ? (IOException) ex
+					: new IOException("Epics problem with callback from PV " + pv.getPvName(), ex);
+		}
+		completedOutOfOrder.set((int) (sequence - lastCompleted - 1));
+		final int contiguous = completedOutOfOrder.nextClearBit(0);
+		if (contiguous > 0) {
+			lastCompleted += contiguous;
+			final BitSet remaining = completedOutOfOrder.get(contiguous, Math.max(contiguous, completedOutOfOrder.length()));
+			completedOutOfOrder.clear();
+			completedOutOfOrder.or(remaining);
+		}
+		notifyAll();
+	}
+
+	/**
+	 * Waits up to the default Epics timeout for every put made so far to complete.
+	 *
+	 * @throws IOException
+	 *             if a put has failed or they did not complete in time
+	 * @throws InterruptedIOException
+	 *             if interrupted while waiting
+	 */
+	public void waitForAll() throws IOException {
+		waitForAll(EpicsGlobals.getTimeout());
+	}
+
+	/**
+	 * Waits for every put made so far to complete.
+	 *
+	 * @param timeoutS
+	 *            time in seconds to wait
+	 * @throws IOException
+	 *             if a put has failed or they did not complete in time
+	 * @throws InterruptedIOException
+	 *             if interrupted while waiting
+	 */
+	public void waitForAll(double timeoutS) throws IOException {
+		final long sequence;
+		synchronized (this) {
+			sequence = lastIssued;
+		}
+		waitForSequence(sequence, timeoutS);
+	}
+
+	/**
+	 * Waits up to the default Epics timeout for the given put, and every put before it, to complete.
+	 *
+	 * @param sequence
+	 *            as returned by {@link #put(Object)}
+	 * @throws IOException
+	 *             if a put has failed or they did not complete in time
+	 * @throws InterruptedIOException
+	 *             if interrupted while waiting
+	 */
+	public void waitForSequence(long sequence) throws IOException {
+		waitForSequence(sequence, EpicsGlobals.getTimeout());
+	}
+
+	/**
+	 * Waits for the given put, and every put before it, to complete.
+	 *
+	 * @param sequence
+	 *            as returned by {@link #put(Object)}
+	 * @param timeoutS
+	 *            time in seconds to wait
+	 * @throws IOException
+	 *             if a put has failed or they did not complete in time
+	 * @throws InterruptedIOException
+	 *             if interrupted while waiting
+	 */
+	public synchronized void waitForSequence(long sequence, double timeoutS) throws IOException {
+		if (sequence > lastIssued) {
+			throw new IllegalArgumentException("Put #" + sequence + " to PV " + pv.getPvName() + " has not been made");
+		}
+		final long deadline = System.nanoTime() + (long) (timeoutS * 1e9);
+		try {
+			while (failure == null && lastCompleted < sequence) {
+				final long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+				if (remainingMs <= 0) {
+					throw new IOException("Timed out waiting for callback #" + sequence + " from PV " + pv.getPvName());
+				}
+				wait(remainingMs);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interupted while waiting for callback from PV " + pv.getPvName());
+		}
+		if (failure != null) {
+			throw new IOException("Epics problem waiting for callback from PV " + pv.getPvName(), failure);
+		}
+	}
+
+	/**
+	 * @return the sequence number up to which every put has completed
+	 */
+	public synchronized long getCompletedSequence() {
+		return lastCompleted;
+	}
+
+	/**
+	 * @return the sequence number of the last put made
+	 */
+	public synchronized long getIssuedSequence() {
+		return lastIssued;
+	}
+
+	/**
+	 * @return the number of puts whose callbacks have not yet arrived
+	 */
+	public synchronized int getOutstandingCount() {
+		return (int) (lastIssued - lastCompleted) - completedOutOfOrder.cardinality();
+	}
+}
@@ -20,9 +20,12 @@ package gda.epics;
 
 import java.io.IOException;
 import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
 
+import gda.epics.connection.MonitorConflation;
 import gda.observable.Observable;
+import gda.observable.Observer;
 import gov.aps.jca.dbr.DBR;
 import gov.aps.jca.event.MonitorListener;
 
@@ -61,6 +64,23 @@ public interface ReadOnlyPV<T> extends Observable<T> {
 	 */
 	public T get(int numElements) throws IOException;
 
+	/**
+	 * Get a value over CA without blocking the calling thread. The returned future is completed from the CA listener
+	 * thread when the value arrives, or completed exceptionally with an {@link IOException} if the get fails. It is not
+	 * timed out, use {@link CompletableFuture#orTimeout} if required.
+	 * <p>
+	 * The default implementation calls {@link #get()} on the calling thread.
+	 *
+	 * @return a future completed with the value
+	 */
+	public default CompletableFuture<T> getAsync() {
+		try {
+			return CompletableFuture.completedFuture(get());
+		} catch (IOException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+	}
+
 	/**
 	 * Get the most recent value monitored across CA. If no value has yet been received, then get a value across CA. The
 	 * PV must have been configured to monitor with {@link #setValueMonitoring(boolean)};
@@ -98,6 +118,37 @@ public interface ReadOnlyPV<T> extends Observable<T> {
 	public T waitForValue(Predicate<T> predicate, double timeoutS) throws IllegalStateException,
 			java.util.concurrent.TimeoutException, IOException, InterruptedException;
 
+	/**
+	 * Returns a future completed with the first monitored value that meets the given {@link Predicate}. Unlike
+	 * {@link #waitForValue(Predicate, double)} no thread is parked while waiting: the future is completed from the CA
+	 * listener thread that delivers the matching value. The PV will be configured to monitor if it is not already. The
+	 * future is not timed out, use {@link CompletableFuture#orTimeout} if required.
+	 * <p>
+	 * The default implementation observes this PV with the predicate, and also tests the value from
+	 * {@link #getAsync()} in case it already passes.
+	 *
+	 * @param predicate
+	 *            The predicate used to test each value
+	 * @return a future completed with the first value monitored that passed the predicate test
+	 */
+	public default CompletableFuture<T> waitForValueAsync(Predicate<T> predicate) {
+		final CompletableFuture<T> future = new CompletableFuture<>();
+		final Observer<T> observer = (source, value) -> future.complete(value);
+		try {
+			addObserver(observer, predicate);
+		} catch (Exception e) {
+			future.completeExceptionally(e);
+			return future;
+		}
+		future.whenComplete((value, ex) -> removeObserver(observer));
+		getAsync().whenComplete((value, ex) -> {
+			if (ex == null && predicate.test(value)) {
+				future.complete(value);
+			}
+		});
+		return future;
+	}
+
 	/**
 	 * Configure this PV to start or stop monitoring. When monitoring, calls to {@link #get()} will returned the most
 	 * recent value monitored across CA.
@@ -118,6 +169,17 @@ public interface ReadOnlyPV<T> extends Observable<T> {
 	 */
 	public boolean isValueMonitoring();
 
+	/**
+	 * Check if this PV's channel is connected, so that monitors on it are receiving updates.
+	 * <p>
+	 * The default implementation cannot tell and returns false.
+	 *
+	 * @return true if connected
+	 */
+	public default boolean isConnected() {
+		return false;
+	}
+
 	/**
 	 * Add A MonitorListener to the channel associated with the PV. Will create the channel if required.
 	 *
@@ -128,6 +190,21 @@ public interface ReadOnlyPV<T> extends Observable<T> {
 	 */
 	public void addMonitorListener(MonitorListener listener) throws IOException;
 
+	/**
+	 * Add A MonitorListener to the channel associated with the PV, with the given policy for conflating events which
+	 * arrive faster than the listener handles them. Will create the channel if required.
+	 * <p>
+	 * The default implementation ignores the policy and adds the listener with {@link #addMonitorListener(MonitorListener)}.
+	 *
+	 * @throws IOException
+	 *             if an Epics CA exception of some sort has occurred
+	 * @throws InterruptedIOException
+	 *             if an Epics CA operation has been interrupted
+	 */
+	public default void addMonitorListener(MonitorListener listener, MonitorConflation conflation) throws IOException {
+		addMonitorListener(listener);
+	}
+
 	public void removeMonitorListener(MonitorListener listener);
 
 	/**
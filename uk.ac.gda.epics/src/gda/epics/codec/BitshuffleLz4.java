@@ -0,0 +1,138 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package gda.epics.codec;
+
+/**
+ * A bitshuffle-LZ4 compressed buffer, as written by the areaDetector codec plugin and the HDF5 bitshuffle filter: a 12
+ * byte header of the decompressed size and block size in bytes, both big endian, then each block as its big endian
+ * compressed size followed by the LZ4 compressed bit shuffled block. Elements beyond the last multiple of 8 are stored
+ * uncompressed at the end.
+ */
+final class BitshuffleLz4 extends BlockedDecompression {
+
+	private static final int HEADER_LENGTH = 12;
+
+	private static final int TARGET_BLOCK_SIZE = 8192;
+	private static final int BLOCKED_MULT = 8;
+	private static final int MIN_RECOMMEND_BLOCK = 128;
+
+	private final byte[] src;
+	private final int srcOff;
+	private final int srcLen;
+	private final byte[] dst;
+	private final int dstOff;
+	private final int typeSize;
+	private final int elements;
+	private final int blockElements;
+	private final int lastBlockElements;
+	private final int blockCount;
+
+	/** Offset in src of each block, found by walking the sizes */
+	private final int[] blockStarts;
+
+	/**
+	 * @param src
+	 *            the compressed buffer
+	 * @param srcOff
+	 *            offset of the buffer in src
+	 * @param srcLen
+	 *            length of the compressed buffer
+	 * @param dst
+	 *            the array to decompress into
+	 * @param dstOff
+	 *            offset in dst to decompress to
+	 * @param dstLen
+	 *            the expected decompressed length
+	 * @param typeSize
+	 *            the size in bytes of each element
+	 */
+	BitshuffleLz4(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff, int dstLen, int typeSize) {
+		if (srcLen < HEADER_LENGTH) {
+			throw new IllegalArgumentException("Bitshuffle buffer of " + srcLen + " bytes is too short for its header");
+		}
+		this.src = src;
+		this.srcOff = srcOff;
+		this.srcLen = srcLen;
+		this.dst = dst;
+		this.dstOff = dstOff;
+		this.typeSize = typeSize;
+		final long nbytes = readLongBE(src, srcOff);
+		if (nbytes != dstLen) {
+			throw new IllegalArgumentException("Bitshuffle buffer holds " + nbytes + " bytes, expected " + dstLen);
+		}
+		elements = dstLen / typeSize;
+		final int blockBytes = readIntBE(src, srcOff + 8);
+		blockElements = blockBytes > 0 ? blockBytes / typeSize : defaultBlockSize(typeSize);
+		if (blockElements <= 0 || blockElements % BLOCKED_MULT != 0) {
+			throw new IllegalArgumentException("Invalid bitshuffle block size " + blockBytes);
+		}
+		final int remainder = elements % blockElements;
+		lastBlockElements = remainder - remainder % BLOCKED_MULT;
+		blockCount = elements / blockElements + (lastBlockElements > 0 ? 1 : 0);
+
+		blockStarts = new int[blockCount + 1];
+		int ip = srcOff + HEADER_LENGTH;
+		for (int i = 0; i < blockCount; i++) {
+			blockStarts[i] = ip;
+			ip += 4 + readIntBE(src, ip);
+			if (ip > srcOff + srcLen) {
+				throw new IllegalArgumentException("Bitshuffle buffer truncated in block " + i);
+			}
+		}
+		blockStarts[blockCount] = ip;
+	}
+
+	/**
+	 * As {@code bshuf_default_block_size}, used when the header gives no block size.
+	 */
+	private static int defaultBlockSize(int typeSize) {
+		final int blockSize = TARGET_BLOCK_SIZE / typeSize / BLOCKED_MULT * BLOCKED_MULT;
+		return Math.max(blockSize, MIN_RECOMMEND_BLOCK);
+	}
+
+	@Override
+	int getBlockCount() {
+		// the uncompressed tail is copied with the last block
+		return Math.max(blockCount, 1);
+	}
+
+	@Override
+	int getScratchSize() {
+		return blockElements * typeSize;
+	}
+
+	@Override
+	void decompress(int block, byte[] scratch) {
+		if (block < blockCount) {
+			final int blockLength = (block == blockCount - 1 && lastBlockElements > 0 ? lastBlockElements : blockElements);
+			final int ip = blockStarts[block];
+			Lz4.decompress(src, ip + 4, readIntBE(src, ip), scratch, 0, blockLength * typeSize);
+			Shuffle.bitUnshuffle(scratch, 0, dst, dstOff + block * blockElements * typeSize, blockLength, typeSize);
+		}
+		if (block == getBlockCount() - 1) {
+			final int tail = elements % BLOCKED_MULT * typeSize;
+			final int tailStart = blockStarts[blockCount];
+			if (tailStart + tail > srcOff + srcLen) {
+				throw new IllegalArgumentException("Bitshuffle buffer truncated in its uncompressed tail");
+			}
+			System.arraycopy(src, tailStart, dst, dstOff + (elements - elements % BLOCKED_MULT) * typeSize, tail);
+		}
+	}
+}
@@ -0,0 +1,60 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package gda.epics.codec;
+
+/**
+ * Compressed data made of blocks which can be decompressed independently, and so in parallel.
+ */
+abstract class BlockedDecompression {
+
+	/**
+	 * @return the number of blocks
+	 */
+	abstract int getBlockCount();
+
+	/**
+	 * @return the size of scratch buffer {@link #decompress(int, byte[])} needs
+	 */
+	abstract int getScratchSize();
+
+	/**
+	 * Decompresses one block into its place in the destination.
+	 *
+	 * @param block
+	 *            the index of the block
+	 * @param scratch
+	 *            a buffer of at least {@link #getScratchSize()} bytes, not used by any other thread meanwhile
+	 * @throws IllegalArgumentException
+	 *             if the block is malformed
+	 */
+	abstract void decompress(int block, byte[] scratch);
+
+	static int readIntLE(byte[] src, int off) {
+		return (src[off] & 0xFF) | (src[off + 1] & 0xFF) << 8 | (src[off + 2] & 0xFF) << 16 | (src[off + 3] & 0xFF) << 24;
+	}
+
+	static int readIntBE(byte[] src, int off) {
+		return (src[off] & 0xFF) << 24 | (src[off + 1] & 0xFF) << 16 | (src[off + 2] & 0xFF) << 8 | (src[off + 3] & 0xFF);
+	}
+
+	static long readLongBE(byte[] src, int off) {
+		return (readIntBE(src, off) & 0xFFFFFFFFL) << 32 | (readIntBE(src, off + 4) & 0xFFFFFFFFL);
+	}
+}
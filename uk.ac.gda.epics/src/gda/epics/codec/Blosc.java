@@ -0,0 +1,186 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package gda.epics.codec;
+
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * A blosc (version 1) compressed buffer: a 16 byte header, the offsets of the blocks, then the blocks. Each block is
+ * optionally split into one stream per byte of the element type, each stream compressed on its own, and the block
+ * byte or bit shuffled before compression.
+ * <p>
+ * Blocks compressed with LZ4, LZ4HC or zlib can be decompressed. BloscLZ, Snappy and Zstd have no Java implementation
+ * available here, so are rejected.
+ */
+final class Blosc extends BlockedDecompression {
+
+	private static final int HEADER_LENGTH = 16;
+
+	private static final int DOSHUFFLE = 0x1;
+	private static final int MEMCPYED = 0x2;
+	private static final int DOBITSHUFFLE = 0x4;
+	private static final int DONT_SPLIT = 0x10;
+
+	private static final int MAX_SPLITS = 16;
+	private static final int MIN_BUFFERSIZE = 128;
+
+	private static final int LZ4_FORMAT = 1;
+	private static final int ZLIB_FORMAT = 3;
+	private static final String[] FORMAT_NAMES = { "BloscLZ", "LZ4", "Snappy", "zlib", "Zstd" };
+
+	private final byte[] src;
+	private final int srcOff;
+	private final byte[] dst;
+	private final int dstOff;
+
+	private final int version;
+	private final int flags;
+	private final int typeSize;
+	private final int nbytes;
+	private final int blockSize;
+	private final int blockCount;
+	private final int format;
+
+	/**
+	 * @param src
+	 *            the compressed buffer
+	 * @param srcOff
+	 *            offset of the buffer in src
+	 * @param srcLen
+	 *            length of the compressed buffer
+	 * @param dst
+	 *            the array to decompress into
+	 * @param dstOff
+	 *            offset in dst to decompress to
+	 * @param dstLen
+	 *            the expected decompressed length
+	 */
+	Blosc(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff, int dstLen) {
+		if (srcLen < HEADER_LENGTH) {
+			throw new IllegalArgumentException("Blosc buffer of " + srcLen + " bytes is too short for its header");
+		}
+		this.src = src;
+		this.srcOff = srcOff;
+		this.dst = dst;
+		this.dstOff = dstOff;
+		version = src[srcOff] & 0xFF;
+		flags = src[srcOff + 2] & 0xFF;
+		typeSize = src[srcOff + 3] & 0xFF;
+		nbytes = readIntLE(src, srcOff + 4);
+		blockSize = readIntLE(src, srcOff + 8);
+		final int cbytes = readIntLE(src, srcOff + 12);
+		format = flags >>> 5;
+
+		if (nbytes != dstLen) {
+			throw new IllegalArgumentException("Blosc buffer holds " + nbytes + " bytes, expected " + dstLen);
+		}
+		if (cbytes > srcLen) {
+			throw new IllegalArgumentException("Blosc buffer is " + srcLen + " bytes, header says " + cbytes);
+		}
+		if ((flags & MEMCPYED) != 0) {
+			blockCount = 1;
+		} else {
+			if (blockSize <= 0 || typeSize == 0) {
+				throw new IllegalArgumentException("Invalid blosc header: blocksize " + blockSize + ", typesize " + typeSize);
+			}
+			if (format != LZ4_FORMAT && format != ZLIB_FORMAT) {
+				throw new UnsupportedOperationException("Blosc compressor "
+						+ (format < FORMAT_NAMES.length ? FORMAT_NAMES[format] : format) + " is not supported");
+			}
+			blockCount = (nbytes + blockSize - 1) / blockSize;
+		}
+	}
+
+	@Override
+	int getBlockCount() {
+		return blockCount;
+	}
+
+	@Override
+	int getScratchSize() {
+		return blockSize;
+	}
+
+	@Override
+	void decompress(int block, byte[] scratch) {
+		if ((flags & MEMCPYED) != 0) {
+			// stored without shuffling or compression
+			System.arraycopy(src, srcOff + HEADER_LENGTH, dst, dstOff, nbytes);
+			return;
+		}
+		final int start = block * blockSize;
+		final boolean leftover = block == blockCount - 1 && nbytes % blockSize != 0;
+		final int bsize = leftover ? nbytes % blockSize : blockSize;
+		final boolean byteShuffled = (flags & DOSHUFFLE) != 0 && typeSize > 1;
+		final boolean bitShuffled = !byteShuffled && (flags & DOBITSHUFFLE) != 0;
+		final boolean shuffled = byteShuffled || bitShuffled;
+
+		final int splits = (flags & DONT_SPLIT) == 0 && !leftover && typeSize <= MAX_SPLITS
+				&& blockSize / typeSize >= MIN_BUFFERSIZE ? typeSize : 1;
+		final int splitSize = bsize / splits;
+
+		final byte[] out = shuffled ? scratch : dst;
+		int op = shuffled ? 0 : dstOff + start;
+		int ip = srcOff + readIntLE(src, srcOff + HEADER_LENGTH + 4 * block);
+		for (int j = 0; j < splits; j++) {
+			final int cbytes = readIntLE(src, ip);
+			ip += 4;
+			if (cbytes == splitSize) {
+				System.arraycopy(src, ip, out, op, splitSize);
+			} else if (format == LZ4_FORMAT) {
+				Lz4.decompress(src, ip, cbytes, out, op, splitSize);
+			} else {
+				inflate(src, ip, cbytes, out, op, splitSize);
+			}
+			ip += cbytes;
+			op += splitSize;
+		}
+
+		if (bitShuffled) {
+			int elements = bsize / typeSize;
+			if (version <= 2 && elements % 8 != 0) {
+				// older versions only bit shuffled whole blocks of 8 elements
+				elements = 0;
+			}
+			elements -= elements % 8;
+			Shuffle.bitUnshuffle(scratch, 0, dst, dstOff + start, elements, typeSize);
+			final int done = elements * typeSize;
+			System.arraycopy(scratch, done, dst, dstOff + start + done, bsize - done);
+		} else if (byteShuffled) {
+			Shuffle.byteUnshuffle(scratch, 0, dst, dstOff + start, bsize, typeSize);
+		}
+	}
+
+	private static void inflate(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff, int dstLen) {
+		final Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(src, srcOff, srcLen);
+			final int length = inflater.inflate(dst, dstOff, dstLen);
+			if (length != dstLen) {
+				throw new IllegalArgumentException("zlib stream inflated to " + length + " bytes, expected " + dstLen);
+			}
+		} catch (DataFormatException e) {
+			throw new IllegalArgumentException("Malformed zlib stream", e);
+		} finally {
+			inflater.end();
+		}
+	}
+}
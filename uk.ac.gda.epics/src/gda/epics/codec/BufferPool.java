@@ -0,0 +1,73 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package gda.epics.codec;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A small pool of byte arrays reused as scratch space for decompression, so that decoding a stream of frames does not
+ * allocate a frame sized buffer for each one.
+ */
+final class BufferPool {
+
+	private final int maxBuffers;
+
+	private final ConcurrentLinkedDeque<byte[]> buffers = new ConcurrentLinkedDeque<>();
+
+	private final AtomicInteger size = new AtomicInteger();
+
+	BufferPool(int maxBuffers) {
+		this.maxBuffers = maxBuffers;
+	}
+
+	/**
+	 * @param length
+	 *            the smallest length needed
+	 * @return a pooled buffer of at least the length, or a new one if none is free
+	 */
+	byte[] acquire(int length) {
+		final Iterator<byte[]> iterator = buffers.iterator();
+		while (iterator.hasNext()) {
+			final byte[] buffer = iterator.next();
+			if (buffer.length >= length && buffers.removeFirstOccurrence(buffer)) {
+				size.decrementAndGet();
+				return buffer;
+			}
+		}
+		return new byte[length];
+	}
+
+	/**
+	 * Returns a buffer to the pool, unless the pool is full. The most recently released are reused first.
+	 */
+	void release(byte[] buffer) {
+		if (size.incrementAndGet() <= maxBuffers) {
+			buffers.addFirst(buffer);
+		} else {
+			size.decrementAndGet();
+		}
+	}
+
+	int size() {
+		return size.get();
+	}
+}
@@ -0,0 +1,111 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package gda.epics.codec;
+
+/**
+ * Decompresses LZ4 blocks, as written by {@code LZ4_compress_default}. Only the block format is supported, not the
+ * LZ4 frame format, as that is what areaDetector and bitshuffle use.
+ */
+final class Lz4 {
+
+	private static final int MIN_MATCH = 4;
+
+	private Lz4() {
+	}
+
+	/**
+	 * @param src
+	 *            the compressed data
+	 * @param srcOff
+	 *            offset of the block in src
+	 * @param srcLen
+	 *            length of the block
+	 * @param dst
+	 *            the array to decompress into
+	 * @param dstOff
+	 *            offset in dst to decompress to
+	 * @param dstLen
+	 *            the decompressed length of the block
+	 * @throws IllegalArgumentException
+	 *             if the block is malformed or does not decompress to dstLen bytes
+	 */
+	static void decompress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff, int dstLen) {
+		final int srcEnd = srcOff + srcLen;
+		final int dstEnd = dstOff + dstLen;
+		int ip = srcOff;
+		int op = dstOff;
+		try {
+			while (true) {
+				final int token = src[ip++] & 0xFF;
+
+				int literals = token >>> 4;
+				if (literals == 15) {
+					int b;
+					do {
+						b = src[ip++] & 0xFF;
+						literals += b;
+					} while (b == 255);
+				}
+				if (literals > srcEnd - ip || literals > dstEnd - op) {
+					throw new IllegalArgumentException("Malformed LZ4 block: literals overrun at " + (ip - srcOff));
+				}
+				System.arraycopy(src, ip, dst, op, literals);
+				ip += literals;
+				op += literals;
+
+				// the last sequence is literals only
+				if (ip >= srcEnd) {
+					break;
+				}
+
+				final int offset = (src[ip] & 0xFF) | (src[ip + 1] & 0xFF) << 8;
+				ip += 2;
+				int matchLength = token & 0x0F;
+				if (matchLength == 15) {
+					int b;
+					do {
+						b = src[ip++] & 0xFF;
+						matchLength += b;
+					} while (b == 255);
+				}
+				matchLength += MIN_MATCH;
+
+				int match = op - offset;
+				if (offset == 0 || match < dstOff || matchLength > dstEnd - op) {
+					throw new IllegalArgumentException("Malformed LZ4 block: bad match at " + (ip - srcOff));
+				}
+				if (offset >= matchLength) {
+					System.arraycopy(dst, match, dst, op, matchLength);
+					op += matchLength;
+				} else {
+					// overlapping, so repeats the last offset bytes
+					for (int i = 0; i < matchLength; i++) {
+						dst[op++] = dst[match++];
+					}
+				}
+			}
+		} catch (ArrayIndexOutOfBoundsException e) {
+			throw new IllegalArgumentException("Malformed LZ4 block: truncated", e);
+		}
+		if (op != dstEnd) {
+			throw new IllegalArgumentException("LZ4 block decompressed to " + (op - dstOff) + " bytes, expected " + dstLen);
+		}
+	}
+}
@@ -0,0 +1,518 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package gda.epics.codec;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.Raster;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.imageio.ImageIO;
+
+import org.epics.pvdata.factory.ConvertFactory;
+import org.epics.pvdata.pv.ByteArrayData;
+import org.epics.pvdata.pv.Convert;
+import org.epics.pvdata.pv.PVByteArray;
+import org.epics.pvdata.pv.PVInt;
+import org.epics.pvdata.pv.PVScalarArray;
+import org.epics.pvdata.pv.PVString;
+import org.epics.pvdata.pv.PVStructure;
+import org.epics.pvdata.pv.PVUByteArray;
+import org.epics.pvdata.pv.PVUnion;
+import org.epics.pvdata.pv.ScalarType;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import gda.configuration.properties.LocalProperties;
+
+/**
+ * Extracts the data of an NTNDArray as a primitive array, decompressing it if the areaDetector codec plugin compressed
+ * it. The codecs supported are:
+ * <ul>
+ * <li>{@code lz4} - a single LZ4 block</li>
+ * <li>{@code bslz4} - bitshuffle-LZ4</li>
+ * <li>{@code blosc} - blosc with byte, bit or no shuffle, compressed with LZ4, LZ4HC or zlib</li>
+ * <li>{@code jpeg} - 8 bit mono or RGB images</li>
+ * </ul>
+ * Blocked formats (bitshuffle-LZ4 and blosc) are decompressed in parallel on a pool of threads, by default half the
+ * number of processors and set by {@link #THREADS_PROPERTY}, using pooled scratch buffers. The compressed data is
+ * assumed to be little endian, as written by the IOCs.
+ * <p>
+ * The decoder counts the bytes received and decoded, and the time spent decoding, so that the saving in bandwidth can
+ * be weighed against the decoding cost.
+ */
+public final class NTNDArrayDecoder {
+
+	/** The number of threads decompressing blocks, default half the number of processors */
+	public static final String THREADS_PROPERTY = "gda.epics.ntndarray.decode.threads";
+
+	private static final Convert convert = ConvertFactory.getConvert();
+
+	/** The fewest blocks worth handing to another thread */
+	private static final int MIN_BLOCKS_PER_TASK = 4;
+
+	private static NTNDArrayDecoder instance;
+
+	/**
+	 * @return the decoder shared by the PVA readers
+	 */
+	public static synchronized NTNDArrayDecoder getInstance() {
+		if (instance == null) {
+			instance = new NTNDArrayDecoder(LocalProperties.getAsInt(THREADS_PROPERTY,
+					Math.max(1, Runtime.getRuntime().availableProcessors() / 2)));
+		}
+		return instance;
+	}
+
+	private final int threads;
+
+	private final ExecutorService workers;
+
+	private final BufferPool scratchBuffers;
+
+	private final AtomicLong framesDecoded = new AtomicLong();
+
+	private final AtomicLong compressedFrames = new AtomicLong();
+
+	private final AtomicLong compressedBytes = new AtomicLong();
+
+	private final AtomicLong decodedBytes = new AtomicLong();
+
+	private final AtomicLong decodeNanos = new AtomicLong();
+
+	/**
+	 * @param threads
+	 *            the number of pool threads decompressing blocks, or <code>0</code> to decompress only on the calling
+	 *            thread
+	 */
+	public NTNDArrayDecoder(int threads) {
+		this.threads = Math.max(0, threads);
+		workers = this.threads == 0 ? null
+				: Executors.newFixedThreadPool(this.threads,
+						new ThreadFactoryBuilder().setDaemon(true).setNameFormat("ntndarray-decode-%d").build());
+		scratchBuffers = new BufferPool(2 * (this.threads + 1));
+	}
+
+	/**
+	 * @param ntndArray
+	 *            the NTNDArray structure
+	 * @return the name of the codec the data is compressed with, empty if uncompressed
+	 */
+	public static String getCodec(PVStructure ntndArray) {
+		final PVStructure codec = ntndArray.getSubField(PVStructure.class, "codec");
+		if (codec == null) {
+			return "";
+		}
+		final PVString name = codec.getSubField(PVString.class, "name");
+		return name == null ? "" : name.get();
+	}
+
+	/**
+	 * @param ntndArray
+	 *            the NTNDArray structure
+	 * @return the type of the elements of the (decompressed) data
+	 */
+	public static ScalarType getElementType(PVStructure ntndArray) {
+		if (getCodec(ntndArray).isEmpty()) {
+			return getValue(ntndArray).getScalarArray().getElementType();
+		}
+		// the codec plugin records the original type in the codec's parameters
+		final PVUnion parameters = ntndArray.getSubField(PVUnion.class, "codec.parameters");
+		final PVInt type = parameters == null ? null : parameters.get(PVInt.class);
+		if (type == null || type.get() < 0 || type.get() >= ScalarType.values().length) {
+			throw new IllegalStateException("Compressed NTNDArray does not give its original data type");
+		}
+		return ScalarType.values()[type.get()];
+	}
+
+	private static PVScalarArray getValue(PVStructure ntndArray) {
+		final PVUnion pvUnionValue = ntndArray.getSubField(PVUnion.class, "value");
+		if (pvUnionValue == null) {
+			throw new IllegalStateException("Image data field not found/valid");
+		}
+		final PVScalarArray imageData = pvUnionValue.get(PVScalarArray.class);
+		if (imageData == null) {
+			throw new IllegalStateException("Image data is not a scalar array");
+		}
+		return imageData;
+	}
+
+	/**
+	 * @param ntndArray
+	 *            the NTNDArray structure, which must not be changed until this returns
+	 * @param elements
+	 *            the number of elements to extract
+	 * @return the data as an array of the primitive type matching {@link #getElementType(PVStructure)}; unsigned types
+	 *         are returned as the signed type of the same size and String for boolean
+	 * @throws IllegalStateException
+	 *             if the structure is not a valid NTNDArray or the data cannot be decompressed
+	 * @throws UnsupportedOperationException
+	 *             if the codec is not supported
+	 */
+	public Object decode(PVStructure ntndArray, int elements) {
+		return decode(ntndArray, elements, null);
+	}
+
+	/**
+	 * As {@link #decode(PVStructure, int)}, decoding into an array from an earlier frame where possible.
+	 *
+	 * @param ntndArray
+	 *            the NTNDArray structure, which must not be changed until this returns
+	 * @param elements
+	 *            the number of elements to extract
+	 * @param reuse
+	 *            an array to decode into if it is of the right type and length, or null
+	 * @return the data, in reuse or a new array
+	 */
+	public Object decode(PVStructure ntndArray, int elements, Object reuse) {
+		final long start = System.nanoTime();
+		final String codec = getCodec(ntndArray);
+		final ScalarType type = getElementType(ntndArray);
+		final PVScalarArray value = getValue(ntndArray);
+		final Object data;
+		final long received;
+		if (codec.isEmpty()) {
+			data = extractArray(value, type, elements, reuse);
+			received = (long) elements * elementSize(type);
+		} else {
+			received = value.getLength();
+			try {
+				data = decompress(codec, value, type, elements, reuse);
+			} catch (IllegalArgumentException e) {
+				throw new IllegalStateException("Could not decode " + codec + " compressed NTNDArray: " + e.getMessage(), e);
+			}
+			compressedFrames.incrementAndGet();
+		}
+		framesDecoded.incrementAndGet();
+		compressedBytes.addAndGet(received);
+		decodedBytes.addAndGet((long) elements * elementSize(type));
+		decodeNanos.addAndGet(System.nanoTime() - start);
+		return data;
+	}
+
+	private Object decompress(String codec, PVScalarArray value, ScalarType type, int elements, Object reuse) {
+		final int typeSize = elementSize(type);
+		if (typeSize == 0) {
+			throw new UnsupportedOperationException("Cannot decompress " + type + " data");
+		}
+		final ByteArrayData compressed = new ByteArrayData();
+		final int length = value.getLength();
+		if (value instanceof PVUByteArray) {
+			((PVUByteArray) value).get(0, length, compressed);
+		} else if (value instanceof PVByteArray) {
+			((PVByteArray) value).get(0, length, compressed);
+		} else {
+			throw new IllegalArgumentException("compressed data is not a byte array");
+		}
+		final byte[] src = compressed.data;
+		final int srcOff = compressed.offset;
+		final int rawLength = elements * typeSize;
+
+		// byte data is decompressed straight into the array handed back, other types through scratch space
+		final boolean bytes = typeSize == 1;
+		final byte[] raw = bytes ? array(reuse, byte[].class, rawLength) : scratchBuffers.acquire(rawLength);
+		try {
+			switch (codec) {
+			case "lz4":
+				Lz4.decompress(src, srcOff, length, raw, 0, rawLength);
+				break;
+			case "bslz4":
+				decompress(new BitshuffleLz4(src, srcOff, length, raw, 0, rawLength, typeSize));
+				break;
+			case "blosc":
+				decompress(new Blosc(src, srcOff, length, raw, 0, rawLength));
+				break;
+			case "jpeg":
+				if (!bytes) {
+					throw new UnsupportedOperationException("JPEG compression is only supported for 8 bit data");
+				}
+				decodeJpeg(src, srcOff, length, raw);
+				break;
+			default:
+				throw new UnsupportedOperationException("NTNDArray codec '" + codec + "' is not supported");
+			}
+			return bytes ? raw : toArray(raw, rawLength, type, elements, reuse);
+		} finally {
+			if (!bytes) {
+				scratchBuffers.release(raw);
+			}
+		}
+	}
+
+	/**
+	 * Decompresses the blocks, sharing them between this thread and the pool if there are enough.
+	 */
+	private void decompress(BlockedDecompression blocks) {
+		final int count = blocks.getBlockCount();
+		final int tasks = Math.max(1, Math.min(threads + 1, count / MIN_BLOCKS_PER_TASK));
+		if (tasks == 1) {
+			decompress(blocks, 0, count);
+			return;
+		}
+		final List<Future<?>> futures = new ArrayList<>(tasks - 1);
+		for (int t = 1; t < tasks; t++) {
+			final int from = (int) ((long) count * t / tasks);
+			final int to = (int) ((long) count * (t + 1) / tasks);
+			futures.add(workers.submit(() -> decompress(blocks, from, to)));
+		}
+		decompress(blocks, 0, count / tasks);
+		try {
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		} catch (InterruptedException e) {
+			futures.forEach(future -> future.cancel(true));
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while decompressing", e);
+		}
+	}
+
+	private void decompress(BlockedDecompression blocks, int from, int to) {
+		final byte[] scratch = scratchBuffers.acquire(blocks.getScratchSize());
+		try {
+			for (int block = from; block < to; block++) {
+				blocks.decompress(block, scratch);
+			}
+		} finally {
+			scratchBuffers.release(scratch);
+		}
+	}
+
+	private static void decodeJpeg(byte[] src, int srcOff, int length, byte[] dst) {
+		final BufferedImage image;
+		try {
+			image = ImageIO.read(new ByteArrayInputStream(src, srcOff, length));
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Malformed JPEG image", e);
+		}
+		if (image == null) {
+			throw new IllegalArgumentException("Not a JPEG image");
+		}
+		final Raster raster = image.getRaster();
+		final int pixels = image.getWidth() * image.getHeight();
+		final int bands = raster.getNumBands();
+		if (pixels * bands != dst.length) {
+			throw new IllegalArgumentException("JPEG image has " + pixels * bands + " samples, expected " + dst.length);
+		}
+		if (image.getType() == BufferedImage.TYPE_BYTE_GRAY && raster.getDataBuffer() instanceof DataBufferByte) {
+			System.arraycopy(((DataBufferByte) raster.getDataBuffer()).getData(), 0, dst, 0, pixels);
+		} else if (image.getType() == BufferedImage.TYPE_3BYTE_BGR && raster.getDataBuffer() instanceof DataBufferByte) {
+			final byte[] bgr = ((DataBufferByte) raster.getDataBuffer()).getData();
+			for (int i = 0; i < dst.length; i += 3) {
+				dst[i] = bgr[i + 2];
+				dst[i + 1] = bgr[i + 1];
+				dst[i + 2] = bgr[i];
+			}
+		} else {
+			final int[] samples = raster.getPixels(0, 0, image.getWidth(), image.getHeight(), (int[]) null);
+			for (int i = 0; i < dst.length; i++) {
+				dst[i] = (byte) samples[i];
+			}
+		}
+	}
+
+	/**
+	 * @return reuse if it is an array of the type and length, otherwise a new one
+	 */
+	private static <A> A array(Object reuse, Class<A> arrayType, int length) {
+		if (arrayType.isInstance(reuse) && Array.getLength(reuse) == length) {
+			return arrayType.cast(reuse);
+		}
+		return arrayType.cast(Array.newInstance(arrayType.getComponentType(), length));
+	}
+
+	private static Object toArray(byte[] raw, int rawLength, ScalarType type, int elements, Object reuse) {
+		final ByteBuffer buffer = ByteBuffer.wrap(raw, 0, rawLength).order(ByteOrder.LITTLE_ENDIAN);
+		switch (type) {
+		case pvShort:
+		case pvUShort:
+			final short[] shortArray = array(reuse, short[].class, elements);
+			buffer.asShortBuffer().get(shortArray);
+			return shortArray;
+		case pvInt:
+		case pvUInt:
+			final int[] intArray = array(reuse, int[].class, elements);
+			buffer.asIntBuffer().get(intArray);
+			return intArray;
+		case pvLong:
+		case pvULong:
+			final long[] longArray = array(reuse, long[].class, elements);
+			buffer.asLongBuffer().get(longArray);
+			return longArray;
+		case pvFloat:
+			final float[] floatArray = array(reuse, float[].class, elements);
+			buffer.asFloatBuffer().get(floatArray);
+			return floatArray;
+		case pvDouble:
+			final double[] doubleArray = array(reuse, double[].class, elements);
+			buffer.asDoubleBuffer().get(doubleArray);
+			return doubleArray;
+		default:
+			throw new IllegalArgumentException("Unknown ScalarType: " + type);
+		}
+	}
+
+	/**
+	 * There is no generic way to get array data based on type, as each {@link Convert} method requires an array of
+	 * its own type.
+	 */
+	private static Object extractArray(PVScalarArray imageDataArray, ScalarType dataType, int dataSize, Object reuse) {
+		switch (dataType) {
+		case pvByte:
+		case pvUByte:
+			byte[] byteArray = array(reuse, byte[].class, dataSize);
+			convert.toByteArray(imageDataArray, 0, dataSize, byteArray, 0);
+			return byteArray;
+		case pvDouble:
+			double[] doubleArray = array(reuse, double[].class, dataSize);
+			convert.toDoubleArray(imageDataArray, 0, dataSize, doubleArray, 0);
+			return doubleArray;
+		case pvFloat:
+			float[] floatArray = array(reuse, float[].class, dataSize);
+			convert.toFloatArray(imageDataArray, 0, dataSize, floatArray, 0);
+			return floatArray;
+		case pvInt:
+		case pvUInt:
+			int[] intArray = array(reuse, int[].class, dataSize);
+			convert.toIntArray(imageDataArray, 0, dataSize, intArray, 0);
+			return intArray;
+		case pvLong:
+		case pvULong:
+			long[] longArray = array(reuse, long[].class, dataSize);
+			convert.toLongArray(imageDataArray, 0, dataSize, longArray, 0);
+			return longArray;
+		case pvShort:
+		case pvUShort:
+			short[] shortArray = array(reuse, short[].class, dataSize);
+			convert.toShortArray(imageDataArray, 0, dataSize, shortArray, 0);
+			return shortArray;
+		case pvString:
+		case pvBoolean: // This is the only valid conversion specified for boolean in ConvertFactory
+			String[] stringArray = new String[dataSize];
+			convert.toStringArray(imageDataArray, 0, dataSize, stringArray, 0);
+			return stringArray;
+		default:
+			throw new IllegalArgumentException("Unknown ScalarType: " + dataType);
+		}
+	}
+
+	private static int elementSize(ScalarType type) {
+		switch (type) {
+		case pvByte:
+		case pvUByte:
+			return 1;
+		case pvShort:
+		case pvUShort:
+			return 2;
+		case pvInt:
+		case pvUInt:
+		case pvFloat:
+			return 4;
+		case pvLong:
+		case pvULong:
+		case pvDouble:
+			return 8;
+		default:
+			return 0;
+		}
+	}
+
+	/**
+	 * @return the number of frames decoded, compressed or not
+	 */
+	public long getFramesDecoded() {
+		return framesDecoded.get();
+	}
+
+	/**
+	 * @return the number of compressed frames decoded
+	 */
+	public long getCompressedFramesDecoded() {
+		return compressedFrames.get();
+	}
+
+	/**
+	 * @return the number of bytes of data received, compressed where the frame was compressed
+	 */
+	public long getCompressedBytes() {
+		return compressedBytes.get();
+	}
+
+	/**
+	 * @return the number of bytes of data once decompressed
+	 */
+	public long getDecodedBytes() {
+		return decodedBytes.get();
+	}
+
+	/**
+	 * @return the total time spent decoding in ns
+	 */
+	public long getDecodeTimeNanos() {
+		return decodeNanos.get();
+	}
+
+	/**
+	 * @return the rate at which received data has been decoded, in MB/s of decoded data
+	 */
+	public double getDecodedThroughput() {
+		final long nanos = decodeNanos.get();
+		return nanos == 0 ? 0 : decodedBytes.get() * 1e3 / nanos;
+	}
+
+	/**
+	 * @return the rate at which received data has been decoded, in MB/s of received data
+	 */
+	public double getCompressedThroughput() {
+		final long nanos = decodeNanos.get();
+		return nanos == 0 ? 0 : compressedBytes.get() * 1e3 / nanos;
+	}
+
+	/**
+	 * @return the ratio of decoded to received bytes
+	 */
+	public double getCompressionRatio() {
+		final long received = compressedBytes.get();
+		return received == 0 ? 1 : (double) decodedBytes.get() / received;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("NTNDArrayDecoder [%d frames (%d compressed), ratio %.2f, %.1f MB/s received, %.1f MB/s decoded]",
+				getFramesDecoded(), getCompressedFramesDecoded(), getCompressionRatio(), getCompressedThroughput(),
+				getDecodedThroughput());
+	}
+}
@@ -0,0 +1,77 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package gda.epics.codec;
+
+import java.util.Arrays;
+
+/**
+ * Reverses the byte and bit shuffles applied by blosc and bitshuffle before compression.
+ */
+final class Shuffle {
+
+	private Shuffle() {
+	}
+
+	/**
+	 * Reverses blosc's byte shuffle, which stores the first byte of every element, then the second and so on. Any
+	 * bytes beyond the last whole element are left where they are.
+	 */
+	static void byteUnshuffle(byte[] src, int srcOff, byte[] dst, int dstOff, int length, int typeSize) {
+		final int elements = length / typeSize;
+		for (int j = 0; j < typeSize; j++) {
+			final int row = srcOff + j * elements;
+			for (int i = 0; i < elements; i++) {
+				dst[dstOff + i * typeSize + j] = src[row + i];
+			}
+		}
+		final int shuffled = elements * typeSize;
+		System.arraycopy(src, srcOff + shuffled, dst, dstOff + shuffled, length - shuffled);
+	}
+
+	/**
+	 * Reverses bitshuffle's bit transpose of a number of elements which must be a multiple of 8. The shuffled data has
+	 * one row per bit of each byte of the element type, holding that bit of every element, eight elements to a byte.
+	 */
+	static void bitUnshuffle(byte[] src, int srcOff, byte[] dst, int dstOff, int elements, int typeSize) {
+		if (elements % 8 != 0) {
+			throw new IllegalArgumentException("Number of elements must be a multiple of 8 but was " + elements);
+		}
+		final int rowLength = elements / 8;
+		Arrays.fill(dst, dstOff, dstOff + elements * typeSize, (byte) 0);
+		for (int b = 0; b < typeSize; b++) {
+			for (int k = 0; k < 8; k++) {
+				final int row = srcOff + (b * 8 + k) * rowLength;
+				final int bit = 1 << k;
+				for (int ii = 0; ii < rowLength; ii++) {
+					final int bits = src[row + ii];
+					if (bits == 0) {
+						continue;
+					}
+					int out = dstOff + ii * 8 * typeSize + b;
+					for (int m = 0; m < 8; m++, out += typeSize) {
+						if ((bits & 1 << m) != 0) {
+							dst[out] |= bit;
+						}
+					}
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,140 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package gda.epics.connection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import gov.aps.jca.CAStatus;
+import gov.aps.jca.CAStatusException;
+import gov.aps.jca.Channel;
+import gov.aps.jca.dbr.DBR;
+
+/**
+ * The result of a bulk read made with {@link EpicsController#getDBRs(List, gov.aps.jca.dbr.DBRType...)}. Results are
+ * held in the same order as the channels were requested, so can be looked up either by index or by channel.
+ */
+public class BulkGetResult {
+
+	private final List<Channel> channels;
+
+	/** Written by get callbacks on CA threads, each DBR before its status */
+	private final AtomicReferenceArray<DBR> dbrs;
+
+	private final AtomicReferenceArray<CAStatus> statuses;
+
+	BulkGetResult(List<Channel> channels) {
+		this.channels = Collections.unmodifiableList(new ArrayList<>(channels));
+		this.dbrs = new AtomicReferenceArray<>(channels.size());
+		this.statuses = new AtomicReferenceArray<>(channels.size());
+	}
+
+	void set(int index, CAStatus status, DBR dbr) {
+		// the status publishes the DBR
+		dbrs.set(index, dbr);
+		statuses.set(index, status);
+	}
+
+	/**
+	 * @return the channels read, in the order requested
+	 */
+	public List<Channel> getChannels() {
+		return channels;
+	}
+
+	/**
+	 * @return the number of channels read
+	 */
+	public int size() {
+		return channels.size();
+	}
+
+	/**
+	 * Returns the DBR read from the channel at the given index.
+	 *
+	 * @param index
+	 *            index of the channel in the requested list
+	 * @return the DBR
+	 * @throws CAStatusException
+	 *             if the get on this channel did not complete normally
+	 */
+	public DBR getDBR(int index) throws CAStatusException {
+		final CAStatus status = statuses.get(index);
+		if (status != CAStatus.NORMAL) {
+			throw new CAStatusException(status, "get on " + channels.get(index).getName() + " failed");
+		}
+		return dbrs.get(index);
+	}
+
+	/**
+	 * Returns the DBR read from the given channel. If the channel was requested more than once the first result is
+	 * returned.
+	 *
+	 * @param channel
+	 *            one of the requested channels
+	 * @return the DBR
+	 * @throws CAStatusException
+	 *             if the get on this channel did not complete normally
+	 * @throws IllegalArgumentException
+	 *             if the channel was not part of this request
+	 */
+	public DBR getDBR(Channel channel) throws CAStatusException {
+		final int index = channels.indexOf(channel);
+		if (index < 0) {
+			throw new IllegalArgumentException("Channel " + channel.getName() + " was not part of this request");
+		}
+		return getDBR(index);
+	}
+
+	/**
+	 * @param index
+	 *            index of the channel in the requested list
+	 * @return the status returned by the get on the channel at the given index
+	 */
+	public CAStatus getStatus(int index) {
+		return statuses.get(index);
+	}
+
+	/**
+	 * @return true if every get completed with {@link CAStatus#NORMAL}
+	 */
+	public boolean isSuccessful() {
+		for (int i = 0; i < statuses.length(); i++) {
+			if (statuses.get(i) != CAStatus.NORMAL) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return the channels whose get did not complete with {@link CAStatus#NORMAL}
+	 */
+	public List<Channel> getFailedChannels() {
+		final List<Channel> failed = new ArrayList<>();
+		for (int i = 0; i < statuses.length(); i++) {
+			if (statuses.get(i) != CAStatus.NORMAL) {
+				failed.add(channels.get(i));
+			}
+		}
+		return failed;
+	}
+}
@@ -0,0 +1,143 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package gda.epics.connection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Collectors;
+
+import gov.aps.jca.CAStatus;
+import gov.aps.jca.CAStatusException;
+import gov.aps.jca.Channel;
+import gov.aps.jca.TimeoutException;
+import gov.aps.jca.event.PutListener;
+
+/**
+ * A single completion handle for a group of put-callbacks started together with
+ * {@link EpicsController#caputAsync(List, List)}. Each put reports its own status, and the group is complete once every
+ * put-callback has returned.
+ */
+public class BulkPutResult {
+
+	private final List<Channel> channels;
+
+	/** Written by put-callbacks on CA threads */
+	private final AtomicReferenceArray<CAStatus> statuses;
+
+	private final CountDownLatch remaining;
+
+	BulkPutResult(List<Channel> channels) {
+		this.channels = Collections.unmodifiableList(new ArrayList<>(channels));
+		this.statuses = new AtomicReferenceArray<>(channels.size());
+		this.remaining = new CountDownLatch(channels.size());
+	}
+
+	/**
+	 * @return a listener recording the put-callback of the channel at the given index
+	 */
+	PutListener listenerFor(int index) {
+		return ev -> {
+			statuses.set(index, ev.getStatus());
+			remaining.countDown();
+		};
+	}
+
+	/**
+	 * @return the channels written, in the order requested
+	 */
+	public List<Channel> getChannels() {
+		return channels;
+	}
+
+	/**
+	 * @return true once every put-callback has returned
+	 */
+	public boolean isDone() {
+		return remaining.getCount() == 0;
+	}
+
+	/**
+	 * @param index
+	 *            index of the channel in the requested list
+	 * @return the status returned by the put-callback, or null if it has not yet returned
+	 */
+	public CAStatus getStatus(int index) {
+		return statuses.get(index);
+	}
+
+	/**
+	 * @return the channels whose put-callback has not yet returned
+	 */
+	public List<Channel> getPendingChannels() {
+		final List<Channel> pending = new ArrayList<>();
+		for (int i = 0; i < statuses.length(); i++) {
+			if (statuses.get(i) == null) {
+				pending.add(channels.get(i));
+			}
+		}
+		return pending;
+	}
+
+	/**
+	 * @return the channels whose put-callback returned with a status other than {@link CAStatus#NORMAL}
+	 */
+	public List<Channel> getFailedChannels() {
+		final List<Channel> failed = new ArrayList<>();
+		for (int i = 0; i < statuses.length(); i++) {
+			final CAStatus status = statuses.get(i);
+			if (status != null && status != CAStatus.NORMAL) {
+				failed.add(channels.get(i));
+			}
+		}
+		return failed;
+	}
+
+	/**
+	 * Waits for every put-callback to return.
+	 *
+	 * @param timeout
+	 *            timeout in seconds, if <code>0</code> waits until completed (can be forever).
+	 * @throws TimeoutException
+	 *             if any put-callback has not returned in time
+	 * @throws CAStatusException
+	 *             if any put-callback returned with a status other than {@link CAStatus#NORMAL}
+	 * @throws InterruptedException
+	 */
+	public void waitForCompletion(double timeout) throws TimeoutException, CAStatusException, InterruptedException {
+		if (timeout <= 0) {
+			remaining.await();
+		} else if (!remaining.await((long) (timeout * 1000), TimeUnit.MILLISECONDS)) {
+			throw new TimeoutException("Put on " + names(getPendingChannels()) + " timeout " + timeout + "s");
+		}
+		for (int i = 0; i < statuses.length(); i++) {
+			final CAStatus status = statuses.get(i);
+			if (status != CAStatus.NORMAL) {
+				throw new CAStatusException(status, "put failed on " + names(getFailedChannels()));
+			}
+		}
+	}
+
+	private static String names(List<Channel> channels) {
+		return channels.stream().map(Channel::getName).collect(Collectors.joining(", "));
+	}
+}
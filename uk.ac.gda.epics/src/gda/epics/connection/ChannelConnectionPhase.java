@@ -0,0 +1,286 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package gda.epics.connection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import gov.aps.jca.CAException;
+import gov.aps.jca.Channel;
+import gov.aps.jca.event.ConnectionEvent;
+import gov.aps.jca.event.ConnectionListener;
+
+/**
+ * Connects many channels concurrently, rather than one at a time as the first use of each would. Once {@link #open()}
+ * has been called, PV names are declared with {@link #declare(String)} as objects are configured, and
+ * {@link #connect()} then opens them all through the {@link EpicsChannelRegistry}, with at most a fixed number of
+ * connections outstanding at once. The channels which connect are held open until {@link #release()}, so that requests
+ * made for them meanwhile find them already connected.
+ */
+public class ChannelConnectionPhase {
+
+	private static final Logger logger = LoggerFactory.getLogger(ChannelConnectionPhase.class);
+
+	private static final long POLL_MS = 50;
+
+	private static final Set<String> declared = new LinkedHashSet<>(); // guarded by itself
+
+	private static boolean open; // guarded by declared
+
+	/**
+	 * Starts accepting declarations for the next connection phase.
+	 */
+	public static void open() {
+		synchronized (declared) {
+			open = true;
+		}
+	}
+
+	/**
+	 * Records a PV to be connected by the next connection phase, if one is open.
+	 *
+	 * @param pvName
+	 *            the process variable name
+	 * @return true if the PV will be connected by a connection phase, false if none is open
+	 */
+	public static boolean declare(String pvName) {
+		synchronized (declared) {
+			if (!open) {
+				return false;
+			}
+			declared.add(pvName);
+			return true;
+		}
+	}
+
+	/**
+	 * @return the PVs declared so far
+	 */
+	public static List<String> getDeclared() {
+		synchronized (declared) {
+			return new ArrayList<>(declared);
+		}
+	}
+
+	/**
+	 * Takes the PVs declared so far, and stops accepting further declarations until opened again.
+	 */
+	private static List<String> takeDeclared() {
+		synchronized (declared) {
+			final List<String> pvNames = new ArrayList<>(declared);
+			declared.clear();
+			open = false;
+			return pvNames;
+		}
+	}
+
+	private final EpicsChannelRegistry registry;
+
+	private final int parallelism;
+
+	private final double timeoutInS;
+
+	private final List<Attempt> held = new ArrayList<>();
+
+	/**
+	 * @param registry
+	 *            the registry channels are opened through
+	 * @param parallelism
+	 *            the largest number of connections outstanding at once
+	 * @param timeoutInS
+	 *            time in seconds a channel is given to connect before it is reported unreachable
+	 */
+	public ChannelConnectionPhase(EpicsChannelRegistry registry, int parallelism, double timeoutInS) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("parallelism must be at least 1 but was " + parallelism);
+		}
+		this.registry = registry;
+		this.parallelism = parallelism;
+		this.timeoutInS = timeoutInS;
+	}
+
+	/**
+	 * Connects every PV declared since the phase was opened, and closes it to further declarations.
+	 *
+	 * @return timings of the connections made
+	 * @throws InterruptedException
+	 */
+	public ChannelConnectionReport connect() throws InterruptedException {
+		return connect(takeDeclared());
+	}
+
+	/**
+	 * Connects the given PVs, waiting until each has either connected or timed out.
+	 *
+	 * @param pvNames
+	 *            the process variable names
+	 * @return timings of the connections made
+	 * @throws InterruptedException
+	 */
+	public ChannelConnectionReport connect(Collection<String> pvNames) throws InterruptedException {
+		final long start = System.nanoTime();
+		final Batch batch = new Batch(pvNames.size());
+		for (String pvName : pvNames) {
+			batch.start(pvName);
+		}
+		batch.await();
+
+		final long[] connectTimesMs = new long[batch.attempts.size()];
+		final List<String> unreachable = new ArrayList<>();
+		int connected = 0;
+		for (Attempt attempt : batch.attempts) {
+			if (attempt.connectTimeMs >= 0) {
+				connectTimesMs[connected++] = attempt.connectTimeMs;
+				synchronized (held) {
+					held.add(attempt);
+				}
+			} else {
+				unreachable.add(attempt.pvName);
+				if (attempt.channel != null) {
+					registry.release(attempt.channel, attempt);
+				}
+			}
+		}
+		final ChannelConnectionReport report = new ChannelConnectionReport(Arrays.copyOf(connectTimesMs, connected),
+				unreachable, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		logger.info("Channel connection phase: {}", report);
+		unreachable.forEach(pvName -> logger.error("Could not connect to channel  : '{}'", pvName));
+		if (!unreachable.isEmpty()) {
+			logger.warn("Could not connect to {} PVs within {}s", unreachable.size(), timeoutInS);
+		}
+		return report;
+	}
+
+	/**
+	 * Gives back the channels held open by this phase, so that they are destroyed once no one else is using them.
+	 */
+	public void release() {
+		synchronized (held) {
+			held.forEach(attempt -> registry.release(attempt.channel, attempt));
+			held.clear();
+		}
+	}
+
+	/**
+	 * The connections started by one call to {@link ChannelConnectionPhase#connect(Collection)}.
+	 */
+	private class Batch {
+
+		private final Semaphore permits = new Semaphore(parallelism);
+
+		private final CountDownLatch remaining;
+
+		private final List<Attempt> attempts;
+
+		private int oldestUnexpired = 0;
+
+		Batch(int size) {
+			remaining = new CountDownLatch(size);
+			attempts = new ArrayList<>(size);
+		}
+
+		void start(String pvName) throws InterruptedException {
+			while (!permits.tryAcquire(POLL_MS, TimeUnit.MILLISECONDS)) {
+				expireTimedOut();
+			}
+			final Attempt attempt = new Attempt(pvName, this);
+			attempts.add(attempt);
+			try {
+				attempt.channel = registry.acquire(pvName, attempt);
+			} catch (CAException | RuntimeException e) {
+				logger.warn("Could not create channel for {}", pvName, e);
+				attempt.resolve();
+			}
+		}
+
+		void await() throws InterruptedException {
+			while (!remaining.await(POLL_MS, TimeUnit.MILLISECONDS)) {
+				expireTimedOut();
+			}
+		}
+
+		/**
+		 * Attempts are started in order, so only those since the last expired one can still be waiting.
+		 */
+		private void expireTimedOut() {
+			final long timeoutNanos = (long) (timeoutInS * 1e9);
+			while (oldestUnexpired < attempts.size()) {
+				final Attempt attempt = attempts.get(oldestUnexpired);
+				if (System.nanoTime() - attempt.startNanos < timeoutNanos) {
+					return;
+				}
+				attempt.resolve();
+				oldestUnexpired++;
+			}
+		}
+
+		private void resolved() {
+			permits.release();
+			remaining.countDown();
+		}
+	}
+
+	private static class Attempt implements ConnectionListener {
+
+		private final String pvName;
+
+		private final Batch batch;
+
+		private final long startNanos = System.nanoTime();
+
+		private final AtomicBoolean resolved = new AtomicBoolean();
+
+		private volatile long connectTimeMs = -1;
+
+		private Channel channel;
+
+		Attempt(String pvName, Batch batch) {
+			this.pvName = pvName;
+			this.batch = batch;
+		}
+
+		@Override
+		public void connectionChanged(ConnectionEvent ev) {
+			if (ev.isConnected() && resolved.compareAndSet(false, true)) {
+				connectTimeMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+				batch.resolved();
+			}
+		}
+
+		/**
+		 * Gives up waiting for the connection, unless it has already been made.
+		 */
+		void resolve() {
+			if (resolved.compareAndSet(false, true)) {
+				batch.resolved();
+			}
+		}
+	}
+}
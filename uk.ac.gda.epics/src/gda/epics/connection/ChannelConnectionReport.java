@@ -0,0 +1,85 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package gda.epics.connection;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Timings of a {@link ChannelConnectionPhase}: how long each channel took to connect and which PVs could not be
+ * reached.
+ */
+public class ChannelConnectionReport {
+
+	private final long[] connectTimesMs;
+
+	private final List<String> unreachable;
+
+	private final long elapsedMs;
+
+	ChannelConnectionReport(long[] connectTimesMs, List<String> unreachable, long elapsedMs) {
+		this.connectTimesMs = connectTimesMs.clone();
+		Arrays.sort(this.connectTimesMs);
+		this.unreachable = Collections.unmodifiableList(unreachable);
+		this.elapsedMs = elapsedMs;
+	}
+
+	/**
+	 * @return the number of channels which connected
+	 */
+	public int getConnectedCount() {
+		return connectTimesMs.length;
+	}
+
+	/**
+	 * @return the PVs which did not connect within the timeout
+	 */
+	public List<String> getUnreachable() {
+		return unreachable;
+	}
+
+	/**
+	 * @return the wall clock time taken by the whole phase in ms
+	 */
+	public long getElapsedMs() {
+		return elapsedMs;
+	}
+
+	/**
+	 * @param percentile
+	 *            between 0 and 100
+	 * @return the connection time in ms within which the given percentage of the connected channels connected, or
+	 *         <code>0</code> if none did
+	 */
+	public long getConnectTimeMs(double percentile) {
+		if (connectTimesMs.length == 0) {
+			return 0;
+		}
+		final int index = (int) Math.ceil(percentile / 100 * connectTimesMs.length) - 1;
+		return connectTimesMs[Math.max(0, Math.min(index, connectTimesMs.length - 1))];
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%d channels connected in %dms (p50 %dms, p90 %dms, p99 %dms, max %dms), %d unreachable",
+				getConnectedCount(), elapsedMs, getConnectTimeMs(50), getConnectTimeMs(90), getConnectTimeMs(99),
+				getConnectTimeMs(100), unreachable.size());
+	}
+}
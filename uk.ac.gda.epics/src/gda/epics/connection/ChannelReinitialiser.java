@@ -0,0 +1,211 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package gda.epics.connection;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import gda.configuration.properties.LocalProperties;
+import gov.aps.jca.Channel;
+
+/**
+ * Re-initialises channels after they reconnect, away from the CA dispatch thread that reports the connection. When an
+ * IOC restarts every channel to it reconnects at once; rather than each reconnection immediately making its own
+ * requests, the channels are collected into one batch per IOC (the host of the virtual circuit). A batch starts after a
+ * random delay of up to 500 ms, so that batches for several IOCs restarted together are spread out, and
+ * re-initialisations across all batches are limited to 100 a second; both are set by {@link #MAX_JITTER_PROPERTY} and
+ * {@link #RATE_PROPERTY}. Batches run one at a time on a thread of their own, so waiting for the rate limit never holds
+ * up a shared pool thread.
+ * <p>
+ * Each batch logs how long its IOC took to recover, from the first disconnection to the last channel being
+ * re-initialised.
+ */
+public class ChannelReinitialiser {
+
+	private static final Logger logger = LoggerFactory.getLogger(ChannelReinitialiser.class);
+
+	/** The most channels re-initialised a second, across all IOCs, default 100 */
+	public static final String RATE_PROPERTY = "gda.epics.reinit.rate";
+
+	/** The longest random delay in ms before a batch of re-initialisations starts, default 500 */
+	public static final String MAX_JITTER_PROPERTY = "gda.epics.reinit.max.jitter";
+
+	private static ChannelReinitialiser instance;
+
+	/**
+	 * @return the re-initialiser shared by all channel managers
+	 */
+	public static synchronized ChannelReinitialiser getInstance() {
+		if (instance == null) {
+			instance = new ChannelReinitialiser(LocalProperties.getAsInt(RATE_PROPERTY, 100),
+					LocalProperties.getAsInt(MAX_JITTER_PROPERTY, 500));
+		}
+		return instance;
+	}
+
+	/**
+	 * The channels of one IOC waiting to be re-initialised.
+	 */
+	private class Batch implements Runnable {
+
+		private final String host;
+
+		private final Map<Channel, Runnable> pending = new LinkedHashMap<>(); // guarded by batches
+
+		private long firstDisconnectedNanos; // guarded by batches
+
+		private int count;
+
+		Batch(String host, long disconnectedNanos) {
+			this.host = host;
+			this.firstDisconnectedNanos = disconnectedNanos;
+		}
+
+		@Override
+		public void run() {
+			final long disconnectedNanos;
+			while (true) {
+				final Map.Entry<Channel, Runnable> next;
+				synchronized (batches) {
+					if (pending.isEmpty()) {
+						batches.remove(host);
+						disconnectedNanos = firstDisconnectedNanos;
+						break;
+					}
+					next = pending.entrySet().iterator().next();
+					pending.remove(next.getKey());
+				}
+				rateLimiter.acquire();
+				try {
+					next.getValue().run();
+				} catch (RuntimeException e) {
+					logger.error("Could not re-initialise channel {}", next.getKey().getName(), e);
+				}
+				count++;
+				reinitialised.incrementAndGet();
+			}
+			final long recoveryMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - disconnectedNanos);
+			lastRecoveryMs.put(host, recoveryMs);
+			logger.info("Re-initialised {} channels on {}, {}ms after they disconnected", count, host, recoveryMs);
+		}
+	}
+
+	private final RateLimiter rateLimiter;
+
+	private final long maxJitterMs;
+
+	private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+			new ThreadFactoryBuilder().setDaemon(true).setNameFormat("channel-reinitialiser-%d").build());
+
+	private final Map<String, Batch> batches = new LinkedHashMap<>();
+
+	private final Map<String, Long> lastRecoveryMs = new ConcurrentHashMap<>();
+
+	private final AtomicLong reinitialised = new AtomicLong();
+
+	/**
+	 * @param ratePerSecond
+	 *            the most channels re-initialised a second
+	 * @param maxJitterMs
+	 *            the longest random delay in ms before a batch starts
+	 */
+	public ChannelReinitialiser(double ratePerSecond, long maxJitterMs) {
+		if (ratePerSecond <= 0) {
+			throw new IllegalArgumentException("ratePerSecond must be positive but was " + ratePerSecond);
+		}
+		this.rateLimiter = RateLimiter.create(ratePerSecond);
+		this.maxJitterMs = maxJitterMs;
+	}
+
+	/**
+	 * Queues a reconnected channel to be re-initialised with the other channels of its IOC. A channel already queued is
+	 * only re-initialised once, with the most recent task.
+	 *
+	 * @param channel
+	 *            the channel which reconnected
+	 * @param disconnectedNanos
+	 *            the {@link System#nanoTime()} at which the channel disconnected
+	 * @param task
+	 *            the re-initialisation, which should check the channel is still connected when it runs
+	 */
+	public void schedule(Channel channel, long disconnectedNanos, Runnable task) {
+		final String host = hostOf(channel);
+		synchronized (batches) {
+			Batch batch = batches.get(host);
+			if (batch == null) {
+				batch = new Batch(host, disconnectedNanos);
+				batches.put(host, batch);
+				final long jitterMs = maxJitterMs > 0 ? ThreadLocalRandom.current().nextLong(maxJitterMs + 1) : 0;
+				executor.schedule(batch, jitterMs, TimeUnit.MILLISECONDS);
+			} else if (disconnectedNanos - batch.firstDisconnectedNanos < 0) {
+				batch.firstDisconnectedNanos = disconnectedNanos;
+			}
+			batch.pending.put(channel, task);
+		}
+	}
+
+	/**
+	 * @param host
+	 *            the IOC's host, as given by {@link Channel#getHostName()}
+	 * @return the time in ms the last batch for the IOC took from the first disconnection to the last channel being
+	 *         re-initialised, or <code>-1</code> if it has not recovered since this started
+	 */
+	public long getLastRecoveryMs(String host) {
+		return lastRecoveryMs.getOrDefault(host, -1L);
+	}
+
+	/**
+	 * @return the number of channels waiting to be re-initialised
+	 */
+	public int getPendingCount() {
+		synchronized (batches) {
+			return batches.values().stream().mapToInt(batch -> batch.pending.size()).sum();
+		}
+	}
+
+	/**
+	 * @return the number of channels re-initialised since this was created
+	 */
+	public long getReinitialisedCount() {
+		return reinitialised.get();
+	}
+
+	private static String hostOf(Channel channel) {
+		try {
+			final String host = channel.getHostName();
+			return host != null ? host : "";
+		} catch (IllegalStateException e) {
+			// the channel has been destroyed or disconnected again
+			return "";
+		}
+	}
+}
@@ -0,0 +1,326 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package gda.epics.connection;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import gda.configuration.properties.LocalProperties;
+import gov.aps.jca.CAException;
+import gov.aps.jca.Channel;
+import gov.aps.jca.TimeoutException;
+import uk.ac.diamond.daq.concurrent.Async;
+
+/**
+ * Keeps channels used for one-off requests, such as the static {@code CAClient} helpers, open between calls so that
+ * repeated requests to the same PV do not each search for and connect a new channel. Channels are held through the
+ * {@link EpicsChannelRegistry}, so are shared with anyone else using the PV.
+ * <p>
+ * The cache is bounded: once it holds {@link #MAX_SIZE_PROPERTY} (default 200) channels the least recently used is
+ * closed, and a channel not used for {@link #IDLE_TIMEOUT_PROPERTY} (default 60) seconds is closed by a periodic sweep.
+ * A channel is never closed while a request is using it. A cached channel which has been destroyed by another holder
+ * is dropped, and a new one connected, when next used.
+ */
+public class EpicsChannelCache {
+
+	private static final Logger logger = LoggerFactory.getLogger(EpicsChannelCache.class);
+
+	/** The largest number of channels held open, default 200 */
+	public static final String MAX_SIZE_PROPERTY = "gda.epics.channel.cache.size";
+
+	/** Time in seconds after which an unused channel is closed, default 60 */
+	public static final String IDLE_TIMEOUT_PROPERTY = "gda.epics.channel.cache.idle.timeout";
+
+	private static EpicsChannelCache instance;
+
+	/**
+	 * @return the cache of channels of the default {@link EpicsController}
+	 */
+	public static synchronized EpicsChannelCache getInstance() {
+		if (instance == null) {
+			instance = new EpicsChannelCache(EpicsChannelRegistry.getInstance(),
+					LocalProperties.getAsInt(MAX_SIZE_PROPERTY, 200),
+					TimeUnit.SECONDS.toMillis(LocalProperties.getAsInt(IDLE_TIMEOUT_PROPERTY, 60)));
+		}
+		return instance;
+	}
+
+	/**
+	 * A request made with a cached channel
+	 */
+	@FunctionalInterface
+	public interface ChannelRequest<R> {
+		R apply(Channel channel) throws CAException, TimeoutException, InterruptedException;
+	}
+
+	private static class Entry {
+
+		private final Channel channel;
+
+		private long lastUsedNanos = System.nanoTime(); // guarded by the cache's entries map
+
+		private int users; // guarded by the cache's entries map
+
+		Entry(Channel channel) {
+			this.channel = channel;
+		}
+
+		boolean isClosed() {
+			return channel.getConnectionState() == Channel.CLOSED;
+		}
+	}
+
+	private final EpicsChannelRegistry registry;
+
+	private final int maxSize;
+
+	private final long idleTimeoutMs;
+
+	private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true); // in order of last use
+
+	private Future<?> sweep; // guarded by entries
+
+	private final AtomicLong hits = new AtomicLong();
+
+	private final AtomicLong misses = new AtomicLong();
+
+	private final AtomicLong evictions = new AtomicLong();
+
+	/**
+	 * @param registry
+	 *            the registry channels are opened through
+	 * @param maxSize
+	 *            the largest number of channels held open
+	 * @param idleTimeoutMs
+	 *            time in ms after which an unused channel is closed
+	 */
+	public EpicsChannelCache(EpicsChannelRegistry registry, int maxSize, long idleTimeoutMs) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("maxSize must be at least 1 but was " + maxSize);
+		}
+		this.registry = registry;
+		this.maxSize = maxSize;
+		this.idleTimeoutMs = idleTimeoutMs;
+	}
+
+	/**
+	 * Makes a request with a connected channel for the PV, connecting one if none is cached.
+	 *
+	 * @param pvName
+	 *            the process variable name
+	 * @param request
+	 *            the request, which must not keep the channel
+	 * @return the result of the request
+	 * @throws CAException
+	 * @throws TimeoutException
+	 * @throws InterruptedException
+	 */
+	public <R> R use(String pvName, ChannelRequest<R> request) throws CAException, TimeoutException, InterruptedException {
+		final Entry entry = checkOut(pvName);
+		try {
+			return request.apply(entry.channel);
+		} finally {
+			checkIn(pvName, entry);
+		}
+	}
+
+	private Entry checkOut(String pvName) throws CAException, TimeoutException {
+		final List<Entry> closed = new ArrayList<>();
+		synchronized (entries) {
+			final Entry entry = entries.get(pvName);
+			if (entry != null && !entry.isClosed()) {
+				hits.incrementAndGet();
+				entry.users++;
+				return entry;
+			}
+			if (entry != null) {
+				dropClosed(pvName, entry, closed);
+			}
+		}
+		release(closed);
+		misses.incrementAndGet();
+		// connect outside the lock as it may take up to the timeout
+		final Channel channel = registry.acquire(pvName);
+		final Entry created = new Entry(channel);
+		final List<Entry> evicted = new ArrayList<>();
+		final Entry entry;
+		synchronized (entries) {
+			final Entry existing = entries.get(pvName);
+			if (existing != null && !existing.isClosed()) {
+				// cached by someone else meanwhile, so give back the extra reference to the same channel
+				registry.release(channel);
+				entry = existing;
+			} else {
+				if (existing != null) {
+					dropClosed(pvName, existing, closed);
+				}
+				entries.put(pvName, created);
+				entry = created;
+				evictOverflow(evicted);
+				if (sweep == null && idleTimeoutMs > 0) {
+					sweep = Async.scheduleAtFixedRate(this::evictIdle, idleTimeoutMs, idleTimeoutMs, TimeUnit.MILLISECONDS);
+				}
+			}
+			entry.users++;
+		}
+		release(closed);
+		close(evicted, false);
+		return entry;
+	}
+
+	/**
+	 * Removes an entry whose channel has been destroyed by another holder; it is released now if not in use, or else
+	 * when its last user checks it in. Must hold entries.
+	 */
+	private void dropClosed(String pvName, Entry entry, List<Entry> closed) {
+		logger.debug("Cached channel {} has been destroyed - connecting a new one", pvName);
+		entries.remove(pvName);
+		if (entry.users == 0) {
+			closed.add(entry);
+		}
+	}
+
+	private void release(List<Entry> closed) {
+		for (Entry entry : closed) {
+			registry.release(entry.channel);
+		}
+		closed.clear();
+	}
+
+	private void checkIn(String pvName, Entry entry) {
+		final List<Entry> evicted = new ArrayList<>();
+		synchronized (entries) {
+			entry.users--;
+			entry.lastUsedNanos = System.nanoTime();
+			if (entries.get(pvName) != entry) {
+				// evicted while in use
+				if (entry.users == 0) {
+					evicted.add(entry);
+				}
+			} else {
+				evictOverflow(evicted);
+			}
+		}
+		close(evicted, false);
+	}
+
+	/**
+	 * Removes least recently used entries not in use until the cache is within its size. Must hold entries.
+	 */
+	private void evictOverflow(List<Entry> evicted) {
+		for (Iterator<Entry> it = entries.values().iterator(); entries.size() > maxSize && it.hasNext();) {
+			final Entry entry = it.next();
+			if (entry.users == 0) {
+				it.remove();
+				evicted.add(entry);
+			}
+		}
+	}
+
+	private void evictIdle() {
+		final long idleNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMs);
+		final List<Entry> evicted = new ArrayList<>();
+		synchronized (entries) {
+			final long now = System.nanoTime();
+			for (Iterator<Entry> it = entries.values().iterator(); it.hasNext();) {
+				final Entry entry = it.next();
+				if (entry.users == 0 && now - entry.lastUsedNanos > idleNanos) {
+					it.remove();
+					evicted.add(entry);
+				}
+			}
+			if (entries.isEmpty() && sweep != null) {
+				sweep.cancel(false);
+				sweep = null;
+			}
+		}
+		close(evicted, true);
+	}
+
+	private void close(List<Entry> evicted, boolean idle) {
+		for (Entry entry : evicted) {
+			logger.debug("Closing {} channel {}", idle ? "idle" : "least recently used", entry.channel.getName());
+			evictions.incrementAndGet();
+			registry.release(entry.channel);
+		}
+	}
+
+	/**
+	 * Closes every cached channel not in use.
+	 */
+	public void clear() {
+		final List<Entry> evicted = new ArrayList<>();
+		synchronized (entries) {
+			for (Iterator<Entry> it = entries.values().iterator(); it.hasNext();) {
+				final Entry entry = it.next();
+				if (entry.users == 0) {
+					it.remove();
+					evicted.add(entry);
+				}
+			}
+		}
+		close(evicted, true);
+	}
+
+	/**
+	 * @return the number of channels currently cached
+	 */
+	public int getSize() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	/**
+	 * @return the number of requests which found their channel cached
+	 */
+	public long getHitCount() {
+		return hits.get();
+	}
+
+	/**
+	 * @return the number of requests which had to connect a channel
+	 */
+	public long getMissCount() {
+		return misses.get();
+	}
+
+	/**
+	 * @return the number of channels closed to keep within size or because they were idle
+	 */
+	public long getEvictionCount() {
+		return evictions.get();
+	}
+
+	@Override
+	public String toString() {
+		return "EpicsChannelCache [size=" + getSize() + ", hits=" + hits + ", misses=" + misses + ", evictions="
+				+ evictions + "]";
+	}
+}
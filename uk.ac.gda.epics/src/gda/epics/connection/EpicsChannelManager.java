@@ -18,9 +18,11 @@
 
 package gda.epics.connection;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -29,8 +31,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import gda.epics.connection.EpicsController.MonitorType;
+import gda.epics.util.EpicsDeadline;
 import gov.aps.jca.CAException;
 import gov.aps.jca.Channel;
+import gov.aps.jca.Monitor;
 import gov.aps.jca.event.ConnectionEvent;
 import gov.aps.jca.event.ConnectionListener;
 import gov.aps.jca.event.MonitorListener;
@@ -43,11 +47,31 @@ import uk.ac.diamond.daq.concurrent.Async;
  */
 public class EpicsChannelManager implements ConnectionListener, PutListener {
 	private static final Logger logger = LoggerFactory.getLogger(EpicsChannelManager.class);
+
+	/**
+	 * The connection state of a channel, as seen by its manager.
+	 */
+	public enum ChannelState {
+		/** Created but not yet connected */
+		CONNECTING,
+		/** Connected, with its initial value put and monitor installed */
+		CONNECTED,
+		/** Lost its connection after having connected */
+		DISCONNECTED,
+		/** Reconnected and waiting to be re-initialised */
+		REINITIALISING
+	}
+
 	/**
 	 * EPICS controller.
 	 */
 	protected EpicsController controller;
 
+	/**
+	 * Registry the channels are shared through.
+	 */
+	private final EpicsChannelRegistry registry;
+
 	/**
 	 * Listener to be informed about initialization completion.
 	 */
@@ -59,14 +83,18 @@ public class EpicsChannelManager implements ConnectionListener, PutListener {
 	protected Map<String, Channel> channels;
 
 	/**
-	 * Monitors to be installed.
+	 * Monitors to be installed, as several listeners may monitor one (shared) channel.
 	 */
-	protected Map<Channel, MonitorListener> monitoredChannels;
+	protected Map<Channel, List<MonitorListener>> monitoredChannels;
 
 	/**
 	 * Map of initial values of the channels.
 	 */
 	protected Map<String, Object> initialValues;
+	/**
+	 * Monitors installed, cleared on destroy as the channels may be shared.
+	 */
+	private final Map<Channel, List<Monitor>> installedMonitors = new ConcurrentHashMap<>();
 	/**
 	 * Type of monitors.
 	 */
@@ -77,6 +105,21 @@ public class EpicsChannelManager implements ConnectionListener, PutListener {
 	protected Set<String> unconnectedCriticalChannels;
 	protected Set<Channel> connectedCriticalChannels;
 
+	/**
+	 * Connection state of each channel by PV name.
+	 */
+	private final Map<String, ChannelState> channelStates = new ConcurrentHashMap<>();
+
+	/**
+	 * {@link System#nanoTime()} at which each disconnected channel last disconnected, by PV name.
+	 */
+	private final Map<String, Long> disconnectedNanos = new ConcurrentHashMap<>();
+
+	/**
+	 * Re-initialises channels after they reconnect.
+	 */
+	private final ChannelReinitialiser reinitialiser;
+
 	/**
 	 * Initialization status. (sync on unconnectedCriticalChannels)
 	 */
@@ -106,13 +149,22 @@ public class EpicsChannelManager implements ConnectionListener, PutListener {
 	 *            initialization listener.
 	 */
 	public EpicsChannelManager(InitializationListener listener) {
+		this(listener, EpicsController.getInstance(), ChannelReinitialiser.getInstance());
+	}
+
+	/**
+	 * Constructor for tests.
+	 */
+	EpicsChannelManager(InitializationListener listener, EpicsController controller, ChannelReinitialiser reinitialiser) {
 		this.initializationListener = listener;
 
-		controller = EpicsController.getInstance();
+		this.controller = controller;
+		registry = EpicsChannelRegistry.getInstance(controller);
+		this.reinitialiser = reinitialiser;
 		channels = new ConcurrentHashMap<String, Channel>();
 		unconnectedCriticalChannels = new HashSet<>();
 		connectedCriticalChannels = new HashSet<Channel>();
-		monitoredChannels = new ConcurrentHashMap<Channel, MonitorListener>();
+		monitoredChannels = new ConcurrentHashMap<Channel, List<MonitorListener>>();
 		monitorTypes = new ConcurrentHashMap<MonitorListener, MonitorType>();
 		initialValues = new ConcurrentHashMap<String, Object>();
 	}
@@ -165,20 +217,33 @@ public class EpicsChannelManager implements ConnectionListener, PutListener {
 				}
 			}
 
-			Channel channel = controller.createChannel(pvName, this);
-
-			channels.put(pvName, channel);
+			if (monitorListener != null && monitorType != null) {
+				synchronized (monitorTypes) {
+					monitorTypes.put(monitorListener, monitorType);
+				}
+			}
 
+			channelStates.putIfAbsent(pvName, ChannelState.CONNECTING);
+			final Channel channel = registry.acquire(pvName, this);
 			if (monitorListener != null) {
 				synchronized (monitoredChannels) {
-					monitoredChannels.put(channel, monitorListener);
+					monitoredChannels.computeIfAbsent(channel, ch -> new ArrayList<>()).add(monitorListener);
+				}
+				/*
+				 * The channel may already be open and connected elsewhere, in which case the registry reports the
+				 * connection straight away and connectionChanged may have run before the monitor was registered.
+				 */
+				if (channel.getConnectionState() == Channel.CONNECTED) {
+					installPendingMonitor(channel);
 				}
 			}
 
-			if (monitorListener != null && monitorType != null) {
-				synchronized (monitorTypes) {
-					monitorTypes.put(monitorListener, monitorType);
-				}
+			Channel previous = channels.put(pvName, channel);
+			if (previous == channel) {
+				// the registry shares one channel per PV, so keep this manager's listener on it and a single reference
+				registry.release(channel);
+			} else if (previous != null) {
+				registry.release(previous, this);
 			}
 
 			return channel;
@@ -346,68 +411,107 @@ public class EpicsChannelManager implements ConnectionListener, PutListener {
 		return createChannel(pvName, listener, true);
 	}
 
+	/**
+	 * Initialises a channel the first time it connects. Later reconnections, which for an IOC restart arrive for all its
+	 * channels at once, are handed to the {@link ChannelReinitialiser} so that they are rate limited and do not hold up
+	 * the CA dispatch thread.
+	 */
 	@Override
 	public void connectionChanged(ConnectionEvent event){
+		Channel channel = (Channel) event.getSource();
+		final String pvName = channel.getName();
+
 		if (!event.isConnected()) {
-			logger.info("Channel - " + event.getSource() + " connection callback but NOT connected.");
+			logger.info("Channel - {} connection callback but NOT connected.", channel);
+			if (channelStates.put(pvName, ChannelState.DISCONNECTED) != ChannelState.DISCONNECTED) {
+				disconnectedNanos.put(pvName, System.nanoTime());
+			}
 			return;
 		}
 
-		Channel channel = (Channel) event.getSource();
-
-		synchronized (initialValues) {
-			Object initialValue = initialValues.get(channel.getName());
-			if (initialValue != null)
-				try {
-					setInitialValue(channel, initialValue);
-				} catch (InterruptedException e) {
-					logger.error("Cannot set initial values ",e);
-				}
+		final ChannelState previous = channelStates.get(pvName);
+		if (previous == ChannelState.DISCONNECTED || previous == ChannelState.REINITIALISING) {
+			channelStates.put(pvName, ChannelState.REINITIALISING);
+			final Long disconnectedAt = disconnectedNanos.get(pvName);
+			reinitialiser.schedule(channel, disconnectedAt != null ? disconnectedAt : System.nanoTime(),
+					() -> reinitialise(channel));
+			return;
 		}
 
-		MonitorListener listener;
-		synchronized (monitoredChannels) {
-			listener = monitoredChannels.remove(channel);
+		initialise(channel);
+	}
+
+	/**
+	 * Re-initialises a reconnected channel, unless it has since disconnected again or the manager has been destroyed.
+	 */
+	private void reinitialise(Channel channel) {
+		final String pvName = channel.getName();
+		if (destroyed || channelStates.get(pvName) != ChannelState.REINITIALISING
+				|| channel.getConnectionState() != Channel.CONNECTED) {
+			return;
 		}
+		initialise(channel);
+		disconnectedNanos.remove(pvName);
+	}
+
+	/**
+	 * Puts the channel's initial value, if any, installs its monitor if not yet installed and marks it connected.
+	 */
+	private void initialise(Channel channel) {
+		final String pvName = channel.getName();
 
-		MonitorType monitorType = null;
-		if (listener != null) {
-			synchronized (monitorTypes) {
-				monitorType = monitorTypes.get(listener);
+		Object initialValue = initialValues.get(pvName);
+		if (initialValue != null)
+			try {
+				setInitialValue(channel, initialValue);
+			} catch (InterruptedException e) {
+				logger.error("Cannot set initial values ",e);
+				Thread.currentThread().interrupt();
 			}
+
+		installPendingMonitor(channel);
+
+		// unless it has disconnected again meanwhile
+		channelStates.compute(pvName,
+				(name, state) -> state == ChannelState.DISCONNECTED ? ChannelState.DISCONNECTED : ChannelState.CONNECTED);
+
+		// remove it from critical non-conected channels
+		synchronized (unconnectedCriticalChannels) {
+			unconnectedCriticalChannels.remove(pvName);
+			checkInitializationCompletion();
 		}
+	}
 
-		// install monitor if necessary
-		if (listener != null) {
-			if (monitorType != null) {
-				try {
-					controller.setMonitor(channel, listener, monitorType);
-				} catch (Throwable th) {
-					// we failed to install monitor...
-					synchronized (monitoredChannels) {
-						monitoredChannels.put(channel, listener);
-						logger.error("Monitor - " + listener + " can NOT be added to channel - " + channel.getName(),th);
-					}
-				}
-			} else {
+	/**
+	 * Installs the monitors registered for the channel which have not been installed yet.
+	 */
+	private void installPendingMonitor(Channel channel) {
+		List<MonitorListener> listeners;
+		synchronized (monitoredChannels) {
+			listeners = monitoredChannels.remove(channel);
+		}
+
+		// install monitors if necessary
+		if (listeners != null) {
+			for (MonitorListener listener : listeners) {
+				MonitorType monitorType = monitorTypes.get(listener);
 				try {
-					controller.setMonitor(channel, listener, MonitorType.NATIVE);
+					installMonitor(channel, listener, monitorType != null ? monitorType : MonitorType.NATIVE);
 				} catch (Throwable th) {
 					// we failed to install monitor...
 					synchronized (monitoredChannels) {
-						monitoredChannels.put(channel, listener);
+						monitoredChannels.computeIfAbsent(channel, ch -> new ArrayList<>()).add(listener);
 						logger.error("Monitor - " + listener + " can NOT be added to channel - " + channel.getName(),th);
 					}
 				}
 			}
-
 		}
+	}
 
-		// remove it from critical non-conected channels
-		synchronized (unconnectedCriticalChannels) {
-			unconnectedCriticalChannels.remove(channel.getName());
-			checkInitializationCompletion();
-		}
+	private void installMonitor(Channel channel, MonitorListener listener, MonitorType monitorType) throws CAException, InterruptedException {
+		Monitor monitor = controller.setMonitor(channel, listener, monitorType);
+		if (monitor != null)
+			installedMonitors.computeIfAbsent(channel, ch -> Collections.synchronizedList(new ArrayList<>())).add(monitor);
 	}
 
 	/**
@@ -495,10 +599,18 @@ public class EpicsChannelManager implements ConnectionListener, PutListener {
 				return true;
 
 			if (timeoutInMs >= 0) {
+				// no longer than any deadline the caller is working to; 0 still means wait indefinitely
+				final long waitMs = EpicsDeadline.timeoutMs(timeoutInMs / 1000.0);
+				final long end = System.currentTimeMillis() + waitMs;
 				try {
-					unconnectedCriticalChannels.wait(timeoutInMs);
+					long remaining = waitMs;
+					while (!initialized && (waitMs == 0 || remaining > 0)) {
+						// without a limit every wait is unbounded, rather than for the (negative) time since the start
+						unconnectedCriticalChannels.wait(waitMs == 0 ? 0 : remaining);
+						remaining = end - System.currentTimeMillis();
+					}
 				} catch (InterruptedException e) {
-					// noop
+					Thread.currentThread().interrupt();
 				}
 			}
 
@@ -538,6 +650,16 @@ public class EpicsChannelManager implements ConnectionListener, PutListener {
 		}
 	}
 
+	/**
+	 * Get the connection state of a channel (if created by this instance).
+	 *
+	 * @param pvName
+	 * @return channel state or <code>null</code>
+	 */
+	public ChannelState getChannelState(String pvName) {
+		return channelStates.get(pvName);
+	}
+
 	/**
 	 * Map of all handled channels
 	 *
@@ -556,14 +678,50 @@ public class EpicsChannelManager implements ConnectionListener, PutListener {
 				return;
 			destroyed = true;
 
+			installedMonitors.values().forEach(monitors -> monitors.forEach(controller::clearMonitor));
+			installedMonitors.clear();
+
 			// this is thread and exception safe
 			Iterator<Channel> iter = channels.values().iterator();
 			while (iter.hasNext())
-				iter.next().dispose();
+				registry.release(iter.next(), this);
 		}
 
 	}
 
+	/**
+	 * Destroy a single channel created by this instance, removing its monitor. The channel itself is only destroyed once
+	 * no one else shares it.
+	 *
+	 * @param channel
+	 *            channel returned by {@code createChannel}
+	 */
+	public void destroy(Channel channel) {
+		synchronized (channels) {
+			final String pvName = channel.getName();
+			if (!channels.remove(pvName, channel)) {
+				logger.warn("Channel {} was not created by this channel manager", pvName);
+				return;
+			}
+
+			final List<Monitor> monitors = installedMonitors.remove(channel);
+			if (monitors != null) {
+				monitors.forEach(controller::clearMonitor);
+			}
+			synchronized (monitoredChannels) {
+				monitoredChannels.remove(channel);
+			}
+			channelStates.remove(pvName);
+			disconnectedNanos.remove(pvName);
+			// no longer holds up initialisation
+			synchronized (unconnectedCriticalChannels) {
+				unconnectedCriticalChannels.remove(pvName);
+			}
+
+			registry.release(channel, this);
+		}
+	}
+
 	/**
 	 * Notify channel manager that creation phase has completed, so that it can issue a initializatonCompleted callback.
 	 * NOTE: this is needed not to issue the notification before all channels of a particular device are registered to
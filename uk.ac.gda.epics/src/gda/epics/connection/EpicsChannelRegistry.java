@@ -0,0 +1,327 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package gda.epics.connection;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import gda.epics.util.EpicsGlobals;
+import gov.aps.jca.CAException;
+import gov.aps.jca.Channel;
+import gov.aps.jca.TimeoutException;
+import gov.aps.jca.event.ConnectionEvent;
+import gov.aps.jca.event.ConnectionListener;
+import uk.ac.diamond.daq.concurrent.Async;
+
+/**
+ * Reference counted registry of CA channels, so that every client of a controller asking for the same PV shares a
+ * single channel instead of opening its own. A channel is created by the first {@code acquire} for its PV and is only
+ * destroyed when the last holder releases it. A channel destroyed directly by one of its holders is replaced by the next
+ * {@code acquire}.
+ * <p>
+ * There is one registry per {@link EpicsController}, obtained with {@link #getInstance(EpicsController)}.
+ */
+public class EpicsChannelRegistry {
+
+	private static final Logger logger = LoggerFactory.getLogger(EpicsChannelRegistry.class);
+
+	private static final Map<EpicsController, EpicsChannelRegistry> registries = new IdentityHashMap<>();
+
+	/**
+	 * @return the registry of the default {@link EpicsController}
+	 */
+	public static EpicsChannelRegistry getInstance() {
+		return getInstance(EpicsController.getInstance());
+	}
+
+	/**
+	 * @param controller
+	 *            the controller used to create and destroy channels
+	 * @return the registry of channels created with the given controller
+	 */
+	public static synchronized EpicsChannelRegistry getInstance(EpicsController controller) {
+		return registries.computeIfAbsent(controller, EpicsChannelRegistry::new);
+	}
+
+	private static class Entry {
+
+		private final String pvName;
+
+		private volatile Channel channel; // written under this entry
+
+		private int references; // guarded by the registry's entries map
+
+		Entry(String pvName) {
+			this.pvName = pvName;
+		}
+
+		boolean holds(Channel channel) {
+			return this.channel == channel;
+		}
+
+		/**
+		 * @return true if the channel has been destroyed by a holder rather than through the registry
+		 */
+		boolean isClosed() {
+			final Channel ch = channel;
+			return ch != null && ch.getConnectionState() == Channel.CLOSED;
+		}
+	}
+
+	private final EpicsController controller;
+
+	private final Map<String, Entry> entries = new HashMap<>();
+
+	private EpicsChannelRegistry(EpicsController controller) {
+		this.controller = controller;
+	}
+
+	/**
+	 * Returns a connected channel for the PV, creating it with the default timeout if no one else holds it. Each
+	 * successful call must be matched with a call to {@link #release(Channel)}.
+	 *
+	 * @param pvName
+	 *            the process variable name
+	 * @return the shared CA channel
+	 * @throws CAException
+	 * @throws TimeoutException
+	 */
+	public Channel acquire(String pvName) throws CAException, TimeoutException {
+		return acquire(pvName, (Double) null);
+	}
+
+	/**
+	 * Returns a connected channel for the PV, creating it if no one else holds it. Each successful call must be matched
+	 * with a call to {@link #release(Channel)}.
+	 *
+	 * @param pvName
+	 *            the process variable name
+	 * @param timeoutInS
+	 *            time to wait for the connection in seconds, or null for the default timeout
+	 * @return the shared CA channel
+	 * @throws CAException
+	 * @throws TimeoutException
+	 */
+	public Channel acquire(String pvName, Double timeoutInS) throws CAException, TimeoutException {
+		final Entry entry = reference(pvName);
+		try {
+			final Channel channel;
+			final boolean created;
+			synchronized (entry) {
+				created = entry.channel == null;
+				if (created) {
+					entry.channel = timeoutInS != null ? controller.createChannel(pvName, timeoutInS) : controller.createChannel(pvName);
+				}
+				channel = entry.channel;
+			}
+			// a channel created asynchronously by someone else may not have connected yet
+			if (!created && channel.getConnectionState() == Channel.NEVER_CONNECTED) {
+				awaitConnection(channel, timeoutInS != null ? timeoutInS : EpicsGlobals.getTimeout());
+			}
+			return channel;
+		} catch (CAException | TimeoutException | RuntimeException e) {
+			dereference(entry);
+			throw e;
+		}
+	}
+
+	/**
+	 * Returns a channel for the PV without waiting for it to connect, creating it if no one else holds it. The listener
+	 * is told of every connection change, and of the current connection if the channel is shared and already
+	 * connected. Each successful call must be matched with a call to {@link #release(Channel, ConnectionListener)}.
+	 *
+	 * @param pvName
+	 *            the process variable name
+	 * @param cl
+	 *            the connection listener
+	 * @return the shared CA channel
+	 * @throws CAException
+	 */
+	public Channel acquire(String pvName, ConnectionListener cl) throws CAException {
+		final Entry entry = reference(pvName);
+		try {
+			final Channel channel;
+			synchronized (entry) {
+				if (entry.channel == null) {
+					entry.channel = controller.createChannel(pvName, cl);
+					return entry.channel;
+				}
+				channel = entry.channel;
+			}
+			channel.addConnectionListener(cl);
+			if (channel.getConnectionState() == Channel.CONNECTED) {
+				// CA only reports changes, so tell the new listener about the connection it has missed
+				Async.execute(() -> cl.connectionChanged(new ConnectionEvent(channel, true)));
+			}
+			return channel;
+		} catch (CAException | RuntimeException e) {
+			dereference(entry);
+			throw e;
+		}
+	}
+
+	/**
+	 * Gives up one reference to a channel, destroying it if this was the last.
+	 *
+	 * @param channel
+	 *            a channel returned by {@code acquire}
+	 */
+	public void release(Channel channel) {
+		final Entry entry;
+		synchronized (entries) {
+			entry = entries.get(channel.getName());
+		}
+		if (entry == null || !entry.holds(channel)) {
+			if (channel.getConnectionState() == Channel.CLOSED) {
+				// its entry has been dropped and is no longer counted
+				logger.debug("Released channel {} was already destroyed", channel.getName());
+				return;
+			}
+			logger.warn("Channel {} released but not acquired from the registry - destroying it", channel.getName());
+			controller.destroy(channel);
+			return;
+		}
+		dereference(entry);
+	}
+
+	/**
+	 * Gives up one reference to a channel acquired with a connection listener, destroying it if this was the last.
+	 *
+	 * @param channel
+	 *            a channel returned by {@link #acquire(String, ConnectionListener)}
+	 * @param cl
+	 *            the connection listener it was acquired with
+	 */
+	public void release(Channel channel, ConnectionListener cl) {
+		try {
+			channel.removeConnectionListener(cl);
+		} catch (IllegalStateException | CAException e) {
+			logger.debug("Could not remove connection listener from {}", channel.getName(), e);
+		}
+		release(channel);
+	}
+
+	/**
+	 * @param pvName
+	 *            the process variable name
+	 * @return the number of holders of the channel for this PV, <code>0</code> if it is not open
+	 */
+	public int getReferenceCount(String pvName) {
+		synchronized (entries) {
+			final Entry entry = entries.get(pvName);
+			return entry == null ? 0 : entry.references;
+		}
+	}
+
+	/**
+	 * @return the number of channels currently open through the registry
+	 */
+	public int getChannelCount() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	/**
+	 * @return the number of open channels with more than one holder
+	 */
+	public int getSharedChannelCount() {
+		synchronized (entries) {
+			return (int) entries.values().stream().filter(e -> e.references > 1).count();
+		}
+	}
+
+	/**
+	 * @return the number of open channels with a single holder
+	 */
+	public int getUniqueChannelCount() {
+		synchronized (entries) {
+			return (int) entries.values().stream().filter(e -> e.references == 1).count();
+		}
+	}
+
+	/**
+	 * @return the total number of references held, i.e. the number of channels that would be open without sharing
+	 */
+	public int getTotalReferenceCount() {
+		synchronized (entries) {
+			return entries.values().stream().mapToInt(e -> e.references).sum();
+		}
+	}
+
+	private Entry reference(String pvName) {
+		synchronized (entries) {
+			Entry entry = entries.get(pvName);
+			if (entry == null || entry.isClosed()) {
+				if (entry != null) {
+					logger.warn("Channel {} was destroyed while still held - creating a new one", pvName);
+				}
+				entry = new Entry(pvName);
+				entries.put(pvName, entry);
+			}
+			entry.references++;
+			return entry;
+		}
+	}
+
+	private void dereference(Entry entry) {
+		synchronized (entries) {
+			if (--entry.references > 0) {
+				return;
+			}
+			// unless it was dropped for a closed channel and replaced
+			entries.remove(entry.pvName, entry);
+		}
+		final Channel channel;
+		synchronized (entry) {
+			channel = entry.channel;
+			entry.channel = null;
+		}
+		if (channel != null && channel.getConnectionState() != Channel.CLOSED) {
+			controller.destroy(channel);
+		}
+	}
+
+	private static void awaitConnection(Channel channel, double timeoutInS) throws CAException, TimeoutException {
+		final CountDownLatch connected = new CountDownLatch(1);
+		final ConnectionListener cl = ev -> {
+			if (ev.isConnected()) {
+				connected.countDown();
+			}
+		};
+		channel.addConnectionListener(cl);
+		try {
+			if (channel.getConnectionState() != Channel.CONNECTED
+					&& !connected.await((long) (timeoutInS * 1000), TimeUnit.MILLISECONDS)) {
+				throw new TimeoutException("connection timeout for '" + channel.getName() + "', " + timeoutInS + "s");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new CAException("InterruptedException while waiting for connection to channel: " + channel.getName());
+		} finally {
+			channel.removeConnectionListener(cl);
+		}
+	}
+}
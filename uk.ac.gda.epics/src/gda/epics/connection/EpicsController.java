@@ -20,12 +20,26 @@ package gda.epics.connection;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
 import java.nio.BufferOverflowException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import gda.epics.util.EpicsDeadline;
 import gda.epics.util.EpicsGlobals;
 import gda.epics.util.JCAUtils;
 import gov.aps.jca.CAException;
@@ -90,6 +104,23 @@ public class EpicsController implements ContextExceptionListener, ContextMessage
 	private static final double TIMEOUT_SECONDS = EpicsGlobals.getTimeout(); // seconds
 
 	private AtomicInteger monitorCount = new AtomicInteger(0);
+
+	private final MonitorStatistics monitorStatistics = new MonitorStatistics(monitorCount::get);
+
+	/** CTRL DBRs of channels, each dropped when its channel's connection changes */
+	private final Map<Channel, DBR> ctrlMetadata = new ConcurrentHashMap<>();
+
+	/**
+	 * Channels which have the invalidating listener installed, each with a count of the times its metadata was dropped,
+	 * so that a CTRL DBR fetched before it was dropped is not cached
+	 */
+	private final Map<Channel, AtomicLong> ctrlMetadataGenerations = new ConcurrentHashMap<>();
+
+	private final ConnectionListener ctrlMetadataInvalidator = ev -> {
+		final Channel ch = (Channel) ev.getSource();
+		// a destroyed channel will not be asked for again, so forget it altogether
+		dropCTRLMetadata(ch, ch.getConnectionState() == Channel.CLOSED);
+	};
 	private Context context = null;
 
 	/**
@@ -163,6 +194,13 @@ public class EpicsController implements ContextExceptionListener, ContextMessage
 		}
 	}
 
+	/**
+	 * For tests, uses the given context rather than creating one.
+	 */
+	EpicsController(Context context) {
+		this.context = context;
+	}
+
 	/**
 	 * Create a CA context. This context controls all IO operations and circuits through which Channels will be created
 	 * and connected between GDA and EPICS server.
@@ -181,6 +219,8 @@ public class EpicsController implements ContextExceptionListener, ContextMessage
 			context.addContextExceptionListener(this);
 			context.addContextMessageListener(this);
 
+			registerMonitorStatistics();
+
 			// Log the CAJ version in use
 			logger.debug(context.getVersion().getVersionString());
 
@@ -253,7 +293,7 @@ public class EpicsController implements ContextExceptionListener, ContextMessage
 
 				// wait for connection completion
 				try {
-					cl.wait((long) (timeoutInS * 1000));
+					cl.wait(EpicsDeadline.timeoutMs(timeoutInS));
 				} catch (InterruptedException e) {
 					throw new CAException("InterruptedException while waiting for connection to channel: " + pvname);
 				}
@@ -294,6 +334,7 @@ public class EpicsController implements ContextExceptionListener, ContextMessage
 	 * @param ch
 	 */
 	public void destroy(Channel ch) {
+		dropCTRLMetadata(ch, true);
 		try {
 			ch.destroy();
 			logger.debug("Channel {} is destroyed", ch.getName());
@@ -482,7 +523,7 @@ public class EpicsController implements ContextExceptionListener, ContextMessage
 		if (ch.getConnectionState() == Channel.CONNECTED)
 			return;
 		long startTimeMs = System.currentTimeMillis();
-		long timeoutMs = (long) (timeoutSeconds * 1000.);
+		long timeoutMs = EpicsDeadline.timeoutMs(timeoutSeconds);
 
 		while (ch.getConnectionState() != Channel.CONNECTED && (System.currentTimeMillis() - startTimeMs < timeoutMs)) {
 			Thread.sleep(10);
@@ -856,7 +897,7 @@ public class EpicsController implements ContextExceptionListener, ContextMessage
 				context.flushIO();
 
 				try {
-					listener.wait((long) (timeout * 1000));
+					listener.wait(EpicsDeadline.timeoutMs(timeout));
 				} catch (InterruptedException e) {
 					throw new CAException("InterruptedException while getting DBR from: " + ch.getName());
 				}
@@ -879,6 +920,132 @@ public class EpicsController implements ContextExceptionListener, ContextMessage
 		}
 	}
 
+	/**
+	 * Asynchronously reads this Channel's value using the specified DBR type and native element count. See
+	 * {@link #getDBRAsync(Channel, DBRType, int)}.
+	 *
+	 * @param ch
+	 *            the CA channel
+	 * @param type
+	 *            The DBR type
+	 * @return a future completed with the channel's value in the specified DBR type
+	 */
+	public CompletableFuture<DBR> getDBRAsync(Channel ch, DBRType type) {
+		return getDBRAsync(ch, type, ch.getElementCount());
+	}
+
+	/**
+	 * Asynchronously reads this Channel's value using the specified DBR type and element count. No thread waits for the
+	 * result: the returned future is completed from the CA listener thread, or completed exceptionally with a
+	 * {@link CAStatusException} if the get fails. The channel must already be connected. The future is not timed out,
+	 * use {@link CompletableFuture#orTimeout} if required.
+	 *
+	 * @param ch
+	 *            the CA channel
+	 * @param type
+	 *            The DBR type
+	 * @param count
+	 *            the number of elements to read
+	 * @return a future completed with the channel's value in the specified DBR type
+	 */
+	public CompletableFuture<DBR> getDBRAsync(Channel ch, DBRType type, int count) {
+		final CompletableFuture<DBR> future = new CompletableFuture<>();
+		try {
+			ch.get(type, count, ev -> {
+				if (ev.getStatus() == CAStatus.NORMAL) {
+					future.complete(ev.getDBR());
+				} else {
+					logger.error(GET_DBR_FAILED_TEMPLATE, ch.getName());
+					future.completeExceptionally(new CAStatusException(ev.getStatus(), "get on " + ch.getName() + " failed"));
+				}
+			});
+			context.flushIO();
+		} catch (IllegalStateException | CAException ex) {
+			logger.error(GET_DBR_FAILED_TEMPLATE, ch.getName(), ex);
+			future.completeExceptionally(ex);
+		}
+		return future;
+	}
+
+	/**
+	 * Reads several channels at once. All gets are queued before a single flush, and the caller waits once for all of
+	 * them to complete, so the cost is roughly one network round trip rather than one per channel. Wait time is set in
+	 * {@link gda.epics.util.EpicsGlobals} or in properties file .i.e <code>gda.epics.request.timeout</code>.
+	 *
+	 * @param channels
+	 *            the CA channels to read
+	 * @param types
+	 *            either no types (the native type of each channel is used), a single type used for all channels, or one
+	 *            type per channel
+	 * @return the DBRs read, in the same order as the channels
+	 * @throws TimeoutException
+	 *             if any of the gets did not complete in time
+	 * @throws CAException
+	 * @throws InterruptedException
+	 */
+	public BulkGetResult getDBRs(List<Channel> channels, DBRType... types) throws TimeoutException, CAException, InterruptedException {
+		return getDBRs(channels, TIMEOUT_SECONDS, types);
+	}
+
+	/**
+	 * Reads several channels at once with the user specified timeout in seconds. See
+	 * {@link #getDBRs(List, DBRType...)}.
+	 *
+	 * @param channels
+	 *            the CA channels to read
+	 * @param timeout
+	 *            timeout in seconds for all the gets to complete
+	 * @param types
+	 *            either no types (the native type of each channel is used), a single type used for all channels, or one
+	 *            type per channel
+	 * @return the DBRs read, in the same order as the channels
+	 * @throws TimeoutException
+	 *             if any of the gets did not complete in time
+	 * @throws CAException
+	 * @throws InterruptedException
+	 */
+	public BulkGetResult getDBRs(List<Channel> channels, double timeout, DBRType... types) throws TimeoutException, CAException, InterruptedException {
+		if (types.length > 1 && types.length != channels.size()) {
+			throw new IllegalArgumentException("Expected 0, 1 or " + channels.size() + " DBR types but got " + types.length);
+		}
+		final BulkGetResult result = new BulkGetResult(channels);
+		if (channels.isEmpty()) {
+			return result;
+		}
+		for (Channel ch : channels) {
+			checkConnection(ch, timeout);
+		}
+
+		final CountDownLatch remaining = new CountDownLatch(channels.size());
+		for (int i = 0; i < channels.size(); i++) {
+			final int index = i;
+			final Channel ch = channels.get(i);
+			final DBRType type = types.length == 0 ? ch.getFieldType() : types[types.length == 1 ? 0 : i];
+			try {
+				ch.get(type, ch.getElementCount(), ev -> {
+					result.set(index, ev.getStatus(), ev.getDBR());
+					remaining.countDown();
+				});
+			} catch (IllegalStateException | CAException ex) {
+				logger.error(GET_DBR_FAILED_TEMPLATE, ch.getName(), ex);
+				throw ex;
+			}
+		}
+		context.flushIO();
+
+		if (!remaining.await(EpicsDeadline.timeoutMs(timeout), TimeUnit.MILLISECONDS)) {
+			final String outstanding = IntStream.range(0, channels.size())
+					.filter(i -> result.getStatus(i) == null)
+					.mapToObj(i -> channels.get(i).getName())
+					.collect(Collectors.joining(", "));
+			throw new TimeoutException("get on " + outstanding + " timeout, " + timeout + "s");
+		}
+		for (Channel failed : result.getFailedChannels()) {
+			logger.error(GET_DBR_FAILED_TEMPLATE, failed.getName());
+		}
+		return result;
+	}
+
 	// ******* Channel Access methods that returns CA compound data type *******
 	/**
 	 * returns a STS typed DBR value of the channel. This STS type contains the channel's value, alarm status, and alarm
@@ -935,6 +1102,66 @@ public class EpicsController implements ContextExceptionListener, ContextMessage
 		return getDBR(ch, CTRLHandler.getCTRLType(ch));
 	}
 
+	/**
+	 * returns the channel's CTRL typed DBR, fetched once per connection rather than on every call. Use it for the
+	 * metadata only (units, display precision, limits, enum labels and element count) - its value is that at the time
+	 * it was fetched. The DBR is fetched again after the channel reconnects, or after
+	 * {@link #invalidateCTRLMetadata(Channel)}. Current values should be read with the plain type from
+	 * {@link #getDBR(Channel, DBRType)}.
+	 *
+	 * @param ch -
+	 *            the CA channel
+	 * @return DBR - the DBR_CTRL value
+	 * @throws TimeoutException
+	 * @throws CAException
+	 */
+	public DBR getCTRLMetadata(Channel ch) throws TimeoutException, CAException, InterruptedException {
+		DBR dbr = ctrlMetadata.get(ch);
+		if (dbr == null) {
+			AtomicLong generation = ctrlMetadataGenerations.get(ch);
+			if (generation == null) {
+				final AtomicLong created = new AtomicLong();
+				generation = ctrlMetadataGenerations.putIfAbsent(ch, created);
+				if (generation == null) {
+					generation = created;
+					ch.addConnectionListener(ctrlMetadataInvalidator);
+				}
+			}
+			final long fetchedIn = generation.get();
+			dbr = getCTRL(ch);
+			synchronized (generation) {
+				// not if the connection changed while it was being fetched
+				if (generation.get() == fetchedIn) {
+					ctrlMetadata.put(ch, dbr);
+				}
+			}
+		}
+		return dbr;
+	}
+
+	/**
+	 * Drops the cached CTRL DBR of a channel, for instance when a property monitor reports that its limits or units
+	 * have changed, so that the next {@link #getCTRLMetadata(Channel)} fetches it again.
+	 *
+	 * @param ch -
+	 *            the CA channel
+	 */
+	public void invalidateCTRLMetadata(Channel ch) {
+		dropCTRLMetadata(ch, false);
+	}
+
+	private void dropCTRLMetadata(Channel ch, boolean forget) {
+		final AtomicLong generation = forget ? ctrlMetadataGenerations.remove(ch) : ctrlMetadataGenerations.get(ch);
+		if (generation == null) {
+			ctrlMetadata.remove(ch);
+			return;
+		}
+		synchronized (generation) {
+			generation.incrementAndGet();
+			ctrlMetadata.remove(ch);
+		}
+	}
+
 	/**
 	 * returns a TIME typed DBR value of the channel. This TIME type contains the channel's value, alarm status, alarm
 	 * severity, and timestamp. The timestamp properties can then be accessed using static methods in
@@ -977,6 +1204,7 @@ public class EpicsController implements ContextExceptionListener, ContextMessage
 			Monitor mntr = null;
 			mntr = ch.addMonitor(type, count, mask, ml);
 			context.flushIO();
+			monitorCount.incrementAndGet();
 			return mntr;
 		} catch (CAException | IllegalStateException ex) {
 			logger.error("Adding monitor '{}' to the channel '{}' failed.", ml.getClass().getName(), ch.getName());
@@ -984,6 +1212,27 @@ public class EpicsController implements ContextExceptionListener, ContextMessage
 		}
 	}
 
+	/**
+	 * adds a monitor listener to the specified channel using the channel's native count, with the given policy for
+	 * conflating events which arrive faster than the listener handles them.
+	 *
+	 * @param ch -
+	 *            the channel to be monitored
+	 * @param type -
+	 *            specify the return DBR type in the Monitor Event
+	 * @param mask -
+	 *            what to monitor, possible values are VALUE, ALARM, or LOG
+	 * @param ml -
+	 *            the Monitor Listener to be added to the channel
+	 * @param conflation -
+	 *            how events waiting for the listener are conflated
+	 * @return the monitor
+	 * @throws CAException
+	 */
+	public Monitor setMonitor(Channel ch, DBRType type, int mask, MonitorListener ml, MonitorConflation conflation) throws CAException {
+		return setMonitor(ch, type, mask, conflation.apply(ml));
+	}
+
 	/**
 	 * adds a VALUE monitor to the specified channel using the specified MonitorType.
 	 * <p>
@@ -1051,6 +1300,20 @@ public class EpicsController implements ContextExceptionListener, ContextMessage
 		return setMonitor(ch, ml, MonitorType.NATIVE, count);
 	}
 
+	/**
+	 * Sets a VALUE monitor to the specified channel, with the given policy for conflating events which arrive faster
+	 * than the listener handles them. The monitor event returns the default/native DBR type and element count.
+	 *
+	 * @param ch
+	 * @param ml
+	 * @param conflation
+	 * @return monitor
+	 * @throws CAException
+	 */
+	public Monitor setMonitor(Channel ch, MonitorListener ml, MonitorConflation conflation) throws CAException, InterruptedException {
+		return setMonitor(ch, conflation.apply(ml));
+	}
+
 	/**
 	 * adds a ALARM monitor to the specified channel using the specified MonitorType. Valid MonitorType includes:
 	 * <li>NATIVE - the native DBR type, value only</li>
@@ -1116,6 +1379,7 @@ public class EpicsController implements ContextExceptionListener, ContextMessage
 	public void clearMonitor(Monitor mntr) {
 		try {
 			mntr.clear();
+			monitorCount.decrementAndGet();
 		} catch (CAException e) {
 			logger.error("Clear Monitor for channel {} failed. ", mntr.getChannel().getName());
 		}
@@ -1577,7 +1841,7 @@ public class EpicsController implements ContextExceptionListener, ContextMessage
 				context.flushIO();
 				logger.debug(CAPUT_DEBUG_MESSAGE_TEMPLATE, ch.getName(), value);
 
-				listener.wait((long) (timeout * 1000));
+				listener.wait(EpicsDeadline.timeoutMs(timeout));
 			}
 
 			final PutEvent event = listener.event;
@@ -1619,7 +1883,7 @@ public class EpicsController implements ContextExceptionListener, ContextMessage
 				context.flushIO();
 				logger.debug(CAPUT_DEBUG_MESSAGE_TEMPLATE, ch.getName(), value);
 
-				listener.wait((long) (timeout * 1000));
+				listener.wait(EpicsDeadline.timeoutMs(timeout));
 			}
 
 			final PutEvent event = listener.event;
@@ -1661,7 +1925,7 @@ public class EpicsController implements ContextExceptionListener, ContextMessage
 				context.flushIO();
 				logger.debug(CAPUT_DEBUG_MESSAGE_TEMPLATE, ch.getName(), value);
 
-				listener.wait((long) (timeout * 1000));
+				listener.wait(EpicsDeadline.timeoutMs(timeout));
 			}
 
 			final PutEvent event = listener.event;
@@ -1703,7 +1967,7 @@ public class EpicsController implements ContextExceptionListener, ContextMessage
 				context.flushIO();
 				logger.debug(CAPUT_DEBUG_MESSAGE_TEMPLATE, ch.getName(), value);
 
-				listener.wait((long) (timeout * 1000));
+				listener.wait(EpicsDeadline.timeoutMs(timeout));
 			}
 
 			final PutEvent event = listener.event;
@@ -1745,7 +2009,7 @@ public class EpicsController implements ContextExceptionListener, ContextMessage
 				context.flushIO();
 				logger.debug(CAPUT_DEBUG_MESSAGE_TEMPLATE, ch.getName(), value);
 
-				listener.wait((long) (timeout * 1000));
+				listener.wait(EpicsDeadline.timeoutMs(timeout));
 			}
 
 			final PutEvent event = listener.event;
@@ -1787,7 +2051,7 @@ public class EpicsController implements ContextExceptionListener, ContextMessage
 				context.flushIO();
 				logger.debug(CAPUT_DEBUG_MESSAGE_TEMPLATE, ch.getName(), value);
 
-				listener.wait((long) (timeout * 1000));
+				listener.wait(EpicsDeadline.timeoutMs(timeout));
 			}
 
 			final PutEvent event = listener.event;
@@ -1829,7 +2093,7 @@ public class EpicsController implements ContextExceptionListener, ContextMessage
 				context.flushIO();
 				logger.debug(CAPUT_DEBUG_MESSAGE_TEMPLATE, ch.getName(), value);
 
-				listener.wait((long) (timeout * 1000));
+				listener.wait(EpicsDeadline.timeoutMs(timeout));
 			}
 
 			final PutEvent event = listener.event;
@@ -1871,7 +2135,7 @@ public class EpicsController implements ContextExceptionListener, ContextMessage
 				context.flushIO();
 				logger.debug(CAPUT_DEBUG_MESSAGE_TEMPLATE, ch.getName(), value);
 
-				listener.wait((long) (timeout * 1000));
+				listener.wait(EpicsDeadline.timeoutMs(timeout));
 			}
 
 			final PutEvent event = listener.event;
@@ -1913,7 +2177,7 @@ public class EpicsController implements ContextExceptionListener, ContextMessage
 				context.flushIO();
 				logger.debug(CAPUT_DEBUG_MESSAGE_TEMPLATE, ch.getName(), value);
 
-				listener.wait((long) (timeout * 1000));
+				listener.wait(EpicsDeadline.timeoutMs(timeout));
 			}
 
 			final PutEvent event = listener.event;
@@ -1955,7 +2219,7 @@ public class EpicsController implements ContextExceptionListener, ContextMessage
 				context.flushIO();
 				logger.debug(CAPUT_DEBUG_MESSAGE_TEMPLATE, ch.getName(), value);
 
-				listener.wait((long) (timeout * 1000));
+				listener.wait(EpicsDeadline.timeoutMs(timeout));
 			}
 
 			final PutEvent event = listener.event;
@@ -2250,7 +2514,7 @@ public class EpicsController implements ContextExceptionListener, ContextMessage
 				ch.put(value, listener);
 				context.flushIO();
 				logger.debug(CAPUT_DEBUG_MESSAGE_TEMPLATE+" raw '{}'", ch.getName(), new String(value).trim(), value);
-				listener.wait((long) (timeout * 1000));
+				listener.wait(EpicsDeadline.timeoutMs(timeout));
 			}
 
 			final PutEvent event = listener.event;
@@ -2322,6 +2586,208 @@ public class EpicsController implements ContextExceptionListener, ContextMessage
 		}
 	}
 
+	// --------- Bulk PUT methods ---------------------
+
+	/**
+	 * Writes a value to each of the channels without waiting for completion. All puts are sent with a single flush.
+	 * Supported value types are the boxed forms of double, float, int, short, byte and String, and arrays of those
+	 * primitives and of String.
+	 *
+	 * @param channels
+	 *            the CA channels
+	 * @param values
+	 *            the values to be set, one per channel
+	 * @throws CAException
+	 * @throws InterruptedException
+	 */
+	public void caput(List<Channel> channels, List<?> values) throws CAException, InterruptedException {
+		checkBulkPutArguments(channels, values);
+		for (int i = 0; i < channels.size(); i++) {
+			final Channel ch = channels.get(i);
+			checkConnection(ch);
+			put(ch, values.get(i), null);
+		}
+		context.flushIO();
+	}
+
+	/**
+	 * Starts a put-callback on each of the channels and returns immediately. All puts are sent with a single flush and
+	 * the returned handle completes once every put-callback has returned, so N independent puts cost about one network
+	 * round trip. Supported value types are as for {@link #caput(List, List)}.
+	 *
+	 * @param channels
+	 *            the CA channels
+	 * @param values
+	 *            the values to be set, one per channel
+	 * @return a handle to wait on, which also reports the status of each put
+	 * @throws CAException
+	 * @throws InterruptedException
+	 */
+	public BulkPutResult caputAsync(List<Channel> channels, List<?> values) throws CAException, InterruptedException {
+		checkBulkPutArguments(channels, values);
+		final BulkPutResult result = new BulkPutResult(channels);
+		for (int i = 0; i < channels.size(); i++) {
+			final Channel ch = channels.get(i);
+			checkConnection(ch);
+			put(ch, values.get(i), result.listenerFor(i));
+		}
+		context.flushIO();
+		return result;
+	}
+
+	/**
+	 * Writes a value to each of the channels using put-callbacks sent with a single flush, and waits for all of them to
+	 * return. See {@link #caputAsync(List, List)}.
+	 *
+	 * @param channels
+	 *            the CA channels
+	 * @param values
+	 *            the values to be set, one per channel
+	 * @param timeout
+	 *            timeout in seconds, if <code>0</code> waits until completed (can be forever).
+	 * @return the completed handle, reporting the status of each put
+	 * @throws CAException
+	 *             if any put-callback failed
+	 * @throws TimeoutException
+	 *             if any put-callback did not return in time
+	 * @throws InterruptedException
+	 */
+	public BulkPutResult caputWait(List<Channel> channels, List<?> values, double timeout) throws CAException, TimeoutException, InterruptedException {
+		final BulkPutResult result = caputAsync(channels, values);
+		try {
+			result.waitForCompletion(timeout);
+		} catch (TimeoutException | CAException ex) {
+			logger.error("Bulk put to {} channels failed", channels.size(), ex);
+			throw ex;
+		}
+		return result;
+	}
+
+	private void checkBulkPutArguments(List<Channel> channels, List<?> values) {
+		if (channels.size() != values.size()) {
+			throw new IllegalArgumentException("Expected " + channels.size() + " values but got " + values.size());
+		}
+	}
+
+	/**
+	 * Queues a put of a value of any supported type, without flushing.
+	 *
+	 * @param pl
+	 *            the put listener, or null to put without callback
+	 */
+	private void put(Channel ch, Object value, PutListener pl) throws CAException {
+		try {
+			if (value instanceof Double)
+				putValue(ch, ((Double) value).doubleValue(), pl);
+			else if (value instanceof Float)
+				putValue(ch, ((Float) value).floatValue(), pl);
+			else if (value instanceof Integer)
+				putValue(ch, ((Integer) value).intValue(), pl);
+			else if (value instanceof Short)
+				putValue(ch, ((Short) value).shortValue(), pl);
+			else if (value instanceof Byte)
+				// widened to short, as CAClient has always written single bytes
+				putValue(ch, ((Byte) value).shortValue(), pl);
+			else if (value instanceof String)
+				putValue(ch, (String) value, pl);
+			else if (value instanceof double[])
+				putValue(ch, (double[]) value, pl);
+			else if (value instanceof float[])
+				putValue(ch, (float[]) value, pl);
+			else if (value instanceof int[])
+				putValue(ch, (int[]) value, pl);
+			else if (value instanceof short[])
+				putValue(ch, (short[]) value, pl);
+			else if (value instanceof byte[])
+				putValue(ch, (byte[]) value, pl);
+			else if (value instanceof String[])
+				putValue(ch, (String[]) value, pl);
+			else
+				throw new IllegalArgumentException("unsupported class type: " + value.getClass());
+			logger.debug(CAPUT_DEBUG_MESSAGE_TEMPLATE, ch.getName(), value);
+		} catch (IllegalStateException | CAException ex) {
+			logger.error(PUT_FAILED_MESSAGE_TEMPLATE, ch.getName(), value, ex);
+			throw ex;
+		}
+	}
+
+	private void putValue(Channel ch, double value, PutListener pl) throws CAException {
+		if (pl == null)
+			ch.put(value);
+		else
+			ch.put(value, pl);
+	}
+
+	private void putValue(Channel ch, float value, PutListener pl) throws CAException {
+		if (pl == null)
+			ch.put(value);
+		else
+			ch.put(value, pl);
+	}
+
+	private void putValue(Channel ch, int value, PutListener pl) throws CAException {
+		if (pl == null)
+			ch.put(value);
+		else
+			ch.put(value, pl);
+	}
+
+	private void putValue(Channel ch, short value, PutListener pl) throws CAException {
+		if (pl == null)
+			ch.put(value);
+		else
+			ch.put(value, pl);
+	}
+
+	private void putValue(Channel ch, String value, PutListener pl) throws CAException {
+		if (pl == null)
+			ch.put(value);
+		else
+			ch.put(value, pl);
+	}
+
+	private void putValue(Channel ch, double[] value, PutListener pl) throws CAException {
+		if (pl == null)
+			ch.put(value);
+		else
+			ch.put(value, pl);
+	}
+
+	private void putValue(Channel ch, float[] value, PutListener pl) throws CAException {
+		if (pl == null)
+			ch.put(value);
+		else
+			ch.put(value, pl);
+	}
+
+	private void putValue(Channel ch, int[] value, PutListener pl) throws CAException {
+		if (pl == null)
+			ch.put(value);
+		else
+			ch.put(value, pl);
+	}
+
+	private void putValue(Channel ch, short[] value, PutListener pl) throws CAException {
+		if (pl == null)
+			ch.put(value);
+		else
+			ch.put(value, pl);
+	}
+
+	private void putValue(Channel ch, byte[] value, PutListener pl) throws CAException {
+		if (pl == null)
+			ch.put(value);
+		else
+			ch.put(value, pl);
+	}
+
+	private void putValue(Channel ch, String[] value, PutListener pl) throws CAException {
+		if (pl == null)
+			ch.put(value);
+		else
+			ch.put(value, pl);
+	}
+
 	@Override
 	public void contextVirtualCircuitException(ContextVirtualCircuitExceptionEvent e) {
 		logger.error("CA Virtual Circuit {} status: {} ", e.getVirtualCircuit(), e.getStatus());
@@ -2351,6 +2817,25 @@ public class EpicsController implements ContextExceptionListener, ContextMessage
 	public int getMonitorCount() {
 		return monitorCount.get();
 	}
+
+	/**
+	 * returns a live view of monitor delivery: the monitor count and the queue depths, latencies, listener times and
+	 * conflated or dropped events of the monitor dispatch threads. The same view is registered as an MBean.
+	 *
+	 * @return monitor statistics
+	 */
+	public MonitorStatistics getStatistics() {
+		return monitorStatistics;
+	}
+
+	private void registerMonitorStatistics() {
+		try {
+			ManagementFactory.getPlatformMBeanServer().registerMBean(monitorStatistics,
+					new ObjectName("gda.epics:type=EpicsController,name=MonitorStatistics"));
+		} catch (JMException e) {
+			logger.warn("Could not register monitor statistics MBean", e);
+		}
+	}
 	/**
 	 * return a PV value monitor to the specified channel.
 	 * @param dataChannel
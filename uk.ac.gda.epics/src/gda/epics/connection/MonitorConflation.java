@@ -0,0 +1,149 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package gda.epics.connection;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import gov.aps.jca.event.LosslessMonitorListener;
+import gov.aps.jca.event.MonitorEvent;
+import gov.aps.jca.event.MonitorListener;
+import uk.ac.diamond.daq.concurrent.Async;
+
+/**
+ * How monitor events for a listener are conflated when they arrive faster than it handles them. Pass one to
+ * {@link EpicsController#setMonitor(gov.aps.jca.Channel, gov.aps.jca.dbr.DBRType, int, MonitorListener, MonitorConflation)}
+ * or {@link gda.epics.ReadOnlyPV#addMonitorListener(MonitorListener, MonitorConflation)}:
+ * <ul>
+ * <li>{@link #latestOnly()} - older values still waiting are overridden by newer ones (the default)</li>
+ * <li>{@link #lossless()} - every value is delivered, in order; when too many are waiting, new ones are dropped and counted</li>
+ * <li>{@link #timeWindow(long, TimeUnit)} - at most one value, the latest, is delivered per window</li>
+ * </ul>
+ * Lossless delivery relies on the CA context using {@link gov.aps.jca.event.SplitQueuedEventDispatcher}.
+ */
+public abstract class MonitorConflation {
+
+	private static final MonitorConflation LATEST_ONLY = new MonitorConflation() {
+		@Override
+		public MonitorListener apply(MonitorListener listener) {
+			return listener;
+		}
+
+		@Override
+		public String toString() {
+			return "latest only";
+		}
+	};
+
+	private static final MonitorConflation LOSSLESS = new MonitorConflation() {
+		@Override
+		public MonitorListener apply(MonitorListener listener) {
+			if (listener instanceof LosslessMonitorListener) {
+				return listener;
+			}
+			return (LosslessMonitorListener) listener::monitorChanged;
+		}
+
+		@Override
+		public String toString() {
+			return "lossless";
+		}
+	};
+
+	/**
+	 * @return the policy which delivers only the latest value waiting
+	 */
+	public static MonitorConflation latestOnly() {
+		return LATEST_ONLY;
+	}
+
+	/**
+	 * @return the policy which delivers every value, in order, while its lossless queue has room. The queue is bounded by
+	 *         the JCA property <code>gov.aps.jca.event.SplitQueuedEventDispatcher.lossless_queue_size</code>; once it
+	 *         is full, new values are dropped and counted rather than holding up the CA thread.
+	 */
+	public static MonitorConflation lossless() {
+		return LOSSLESS;
+	}
+
+	/**
+	 * @param window
+	 *            the shortest interval between values delivered
+	 * @param unit
+	 *            the unit of window
+	 * @return the policy which delivers the latest value at most once per window
+	 */
+	public static MonitorConflation timeWindow(long window, TimeUnit unit) {
+		if (window <= 0) {
+			throw new IllegalArgumentException("window must be positive but was " + window);
+		}
+		final long windowMs = unit.toMillis(window);
+		return new MonitorConflation() {
+			@Override
+			public MonitorListener apply(MonitorListener listener) {
+				return new TimeWindowListener(listener, windowMs);
+			}
+
+			@Override
+			public String toString() {
+				return "time window of " + windowMs + "ms";
+			}
+		};
+	}
+
+	/**
+	 * @param listener
+	 *            the listener to be given events
+	 * @return the listener to add to the channel so that the given one receives events conflated by this policy
+	 */
+	public abstract MonitorListener apply(MonitorListener listener);
+
+	/**
+	 * Holds the latest event received and passes it on once the window after the first event since the last delivery
+	 * has passed.
+	 */
+	private static class TimeWindowListener implements MonitorListener {
+
+		private final MonitorListener listener;
+
+		private final long windowMs;
+
+		private final AtomicReference<MonitorEvent> latest = new AtomicReference<>();
+
+		TimeWindowListener(MonitorListener listener, long windowMs) {
+			this.listener = listener;
+			this.windowMs = windowMs;
+		}
+
+		@Override
+		public void monitorChanged(MonitorEvent ev) {
+			if (latest.getAndSet(ev) == null) {
+				Async.schedule(this::deliver, windowMs, TimeUnit.MILLISECONDS);
+			}
+		}
+
+		private synchronized void deliver() {
+			final MonitorEvent ev = latest.getAndSet(null);
+			if (ev != null) {
+				listener.monitorChanged(ev);
+			}
+		}
+	}
+}
@@ -0,0 +1,105 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package gda.epics.connection;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntSupplier;
+
+import gov.aps.jca.event.MonitorDispatchLane;
+import gov.aps.jca.event.SplitQueuedEventDispatcher;
+
+/**
+ * Live view of how monitor events are being delivered: the number of monitors set through the {@link EpicsController}
+ * and the counters and timings of every {@link SplitQueuedEventDispatcher} lane. Each getter reads the current values;
+ * all are zero if the CA context uses a different event dispatcher.
+ */
+public class MonitorStatistics implements MonitorStatisticsMXBean {
+
+	private static final int SLOWEST_LISTENERS_REPORTED = 10;
+
+	private final IntSupplier monitorCount;
+
+	MonitorStatistics(IntSupplier monitorCount) {
+		this.monitorCount = monitorCount;
+	}
+
+	/**
+	 * @return the monitor dispatch lanes of every dispatcher, whose counters are live
+	 */
+	public List<MonitorDispatchLane> getDispatchLanes() {
+		final List<MonitorDispatchLane> lanes = new ArrayList<>();
+		for (SplitQueuedEventDispatcher dispatcher : SplitQueuedEventDispatcher.getInstances()) {
+			lanes.addAll(dispatcher.getStatistics());
+		}
+		return lanes;
+	}
+
+	@Override
+	public int getMonitorCount() {
+		return monitorCount.getAsInt();
+	}
+
+	@Override
+	public int getQueueDepth() {
+		return getDispatchLanes().stream().mapToInt(MonitorDispatchLane::getQueueDepth).sum();
+	}
+
+	@Override
+	public long getConflatedCount() {
+		return getDispatchLanes().stream().mapToLong(MonitorDispatchLane::getConflatedCount).sum();
+	}
+
+	@Override
+	public long getDroppedCount() {
+		return getDispatchLanes().stream().mapToLong(MonitorDispatchLane::getDroppedCount).sum();
+	}
+
+	@Override
+	public double getMaxListenerTimeMs() {
+		return getDispatchLanes().stream().mapToDouble(MonitorDispatchLane::getMaxListenerTimeMs).max().orElse(0);
+	}
+
+	@Override
+	public String[] getLanes() {
+		return getDispatchLanes().stream().map(MonitorDispatchLane::toString).toArray(String[]::new);
+	}
+
+	@Override
+	public String[] getSlowestListeners() {
+		final List<Map.Entry<String, Long>> times = new ArrayList<>();
+		for (MonitorDispatchLane lane : getDispatchLanes()) {
+			times.addAll(lane.getMaxListenerTimes().entrySet());
+		}
+		return times.stream()
+				.sorted(Comparator.comparing(Map.Entry<String, Long>::getValue).reversed())
+				.limit(SLOWEST_LISTENERS_REPORTED)
+				.map(e -> String.format("%s: max %.3fms", e.getKey(), e.getValue() / 1e6))
+				.toArray(String[]::new);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%d monitors, %d events waiting, %d conflated, %d dropped, slowest listener %.3fms",
+				getMonitorCount(), getQueueDepth(), getConflatedCount(), getDroppedCount(), getMaxListenerTimeMs());
+	}
+}
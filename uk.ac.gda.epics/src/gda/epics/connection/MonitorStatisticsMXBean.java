@@ -0,0 +1,62 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package gda.epics.connection;
+
+/**
+ * Management interface of {@link MonitorStatistics}, registered under
+ * <code>gda.epics:type=EpicsController,name=MonitorStatistics</code>.
+ */
+public interface MonitorStatisticsMXBean {
+
+	/**
+	 * @return the number of monitors added through the controller and not cleared through it
+	 */
+	int getMonitorCount();
+
+	/**
+	 * @return the number of monitor events waiting to be delivered, over all dispatch threads
+	 */
+	int getQueueDepth();
+
+	/**
+	 * @return the number of monitor events overridden by newer ones before being delivered
+	 */
+	long getConflatedCount();
+
+	/**
+	 * @return the number of monitor events which could not be queued and were never delivered
+	 */
+	long getDroppedCount();
+
+	/**
+	 * @return the longest time a listener has taken to handle a monitor event, in ms
+	 */
+	double getMaxListenerTimeMs();
+
+	/**
+	 * @return a summary of each monitor dispatch thread
+	 */
+	String[] getLanes();
+
+	/**
+	 * @return the listeners which have taken longest to handle a monitor event, slowest first
+	 */
+	String[] getSlowestListeners();
+}
@@ -0,0 +1,144 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package gda.epics.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A time by which a composite operation, such as a put followed by reading back several PVs, must finish. While a
+ * deadline is open on a thread, every blocking CA call made on that thread waits no longer than the time remaining,
+ * instead of the full timeout it would otherwise use, so that nested calls share one budget rather than each adding
+ * their own.
+ * <p>
+ * Deadlines nest: one opened inside another ends no later than the outer one.
+ *
+ * <pre>
+ * {@code
+ * try (EpicsDeadline deadline = EpicsDeadline.start(5.0)) {
+ * 	pv.putWait(value);
+ * 	readback.get(); // waits only for what is left of the 5s
+ * }
+ * }
+ * </pre>
+ *
+ * Deadlines belong to the thread which opened them and are not seen by work handed to other threads.
+ */
+public final class EpicsDeadline implements AutoCloseable {
+
+	/** The timeout given to calls made once the deadline has passed, so that they fail at once */
+	private static final double EXPIRED_TIMEOUT_S = 0.001;
+
+	private static final ThreadLocal<EpicsDeadline> current = new ThreadLocal<>();
+
+	private final long deadlineNanos;
+
+	private final EpicsDeadline outer;
+
+	private EpicsDeadline(long deadlineNanos, EpicsDeadline outer) {
+		this.deadlineNanos = deadlineNanos;
+		this.outer = outer;
+	}
+
+	/**
+	 * Opens a deadline on this thread, to be closed by the caller.
+	 *
+	 * @param timeoutS
+	 *            time in seconds from now, or <code>0</code> or less for no limit beyond any enclosing deadline
+	 * @return the deadline, ending no later than any already open
+	 */
+	public static EpicsDeadline start(double timeoutS) {
+		final EpicsDeadline outer = current.get();
+		long deadlineNanos = timeoutS > 0 ? System.nanoTime() + (long) (timeoutS * 1e9) : Long.MAX_VALUE;
+		if (outer != null && outer.deadlineNanos - deadlineNanos < 0) {
+			deadlineNanos = outer.deadlineNanos;
+		}
+		final EpicsDeadline deadline = new EpicsDeadline(deadlineNanos, outer);
+		current.set(deadline);
+		return deadline;
+	}
+
+	/**
+	 * @return the innermost deadline open on this thread, or null if none
+	 */
+	public static EpicsDeadline current() {
+		return current.get();
+	}
+
+	/**
+	 * @param timeoutS
+	 *            the timeout in seconds a call would use without a deadline, <code>0</code> meaning no limit
+	 * @return the timeout in seconds the call should use: the lesser of timeoutS and the time left before the current
+	 *         deadline, if any. Never <code>0</code> while a deadline is open.
+	 */
+	public static double timeout(double timeoutS) {
+		final EpicsDeadline deadline = current.get();
+		if (deadline == null || deadline.deadlineNanos == Long.MAX_VALUE) {
+			return timeoutS;
+		}
+		final double remaining = Math.max(deadline.remaining(), EXPIRED_TIMEOUT_S);
+		return timeoutS > 0 ? Math.min(timeoutS, remaining) : remaining;
+	}
+
+	/**
+	 * As {@link #timeout(double)} but in ms, for {@link Object#wait(long)} and the like.
+	 *
+	 * @param timeoutS
+	 *            the timeout in seconds a call would use without a deadline, <code>0</code> meaning no limit
+	 * @return the timeout in ms the call should use, only <code>0</code> if there is no limit
+	 */
+	public static long timeoutMs(double timeoutS) {
+		final double timeout = timeout(timeoutS);
+		return timeout > 0 ? Math.max(1, (long) (timeout * 1000)) : 0;
+	}
+
+	/**
+	 * @return the time left in seconds, negative once passed
+	 */
+	public double remaining() {
+		return (deadlineNanos - System.nanoTime()) / 1e9;
+	}
+
+	/**
+	 * @return true once the deadline has passed
+	 */
+	public boolean isExpired() {
+		return deadlineNanos != Long.MAX_VALUE && deadlineNanos - System.nanoTime() <= 0;
+	}
+
+	/**
+	 * Reinstates the enclosing deadline, if any.
+	 */
+	@Override
+	public void close() {
+		if (current.get() == this) {
+			if (outer == null) {
+				current.remove();
+			} else {
+				current.set(outer);
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return deadlineNanos == Long.MAX_VALUE ? "EpicsDeadline [none]"
+				: String.format("EpicsDeadline [%dms remaining]", TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()));
+	}
+}
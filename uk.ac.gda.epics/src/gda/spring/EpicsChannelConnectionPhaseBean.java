@@ -0,0 +1,160 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package gda.spring;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+
+import gda.epics.connection.ChannelConnectionPhase;
+import gda.epics.connection.ChannelConnectionReport;
+import gda.epics.connection.EpicsChannelRegistry;
+import gda.epics.util.EpicsGlobals;
+import uk.ac.diamond.daq.concurrent.Async;
+
+/**
+ * Add to the server's Spring configuration to check every PV declared while the beans were created (see
+ * {@link ChannelConnectionPhase}) concurrently, once the context has been refreshed, instead of serially as each is
+ * created. Only the PVs which {@link gda.epics.LazyPVFactory} creates for the beans are declared, and only when
+ * {@link gda.epics.LazyPVFactory#CHECK_CHANNELS_PROPERTY_NAME} is set; channels opened in other ways are not checked.
+ * <p>
+ * The connected channels are held open for {@link #setReleaseDelay(double) releaseDelay} seconds (default 60) after the
+ * report, so that the devices configured after the context has started find them open and connected rather than
+ * connecting each again in turn. They are then released, closing those no device has taken up.
+ * <p>
+ * As a {@link BeanFactoryPostProcessor}, this is created before the other beans, so it can open the phase before they
+ * declare anything.
+ *
+ * <pre>
+ * {@code
+ * <bean class="gda.spring.EpicsChannelConnectionPhaseBean">
+ *     <property name="parallelism" value="200" />
+ * </bean>
+ * }
+ * </pre>
+ */
+public class EpicsChannelConnectionPhaseBean
+		implements BeanFactoryPostProcessor, ApplicationListener<ContextRefreshedEvent>, DisposableBean {
+
+	private static final Logger logger = LoggerFactory.getLogger(EpicsChannelConnectionPhaseBean.class);
+
+	private int parallelism = 100;
+
+	private double timeout = EpicsGlobals.getTimeout();
+
+	private double releaseDelay = 60;
+
+	private ChannelConnectionReport report;
+
+	private ChannelConnectionPhase phase;
+
+	private Future<?> pendingRelease;
+
+	@Override
+	public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) throws BeansException {
+		ChannelConnectionPhase.open();
+	}
+
+	@Override
+	public void onApplicationEvent(ContextRefreshedEvent event) {
+		if (report != null) {
+			// once only, child contexts are refreshed as well
+			return;
+		}
+		phase = new ChannelConnectionPhase(EpicsChannelRegistry.getInstance(), parallelism, timeout);
+		try {
+			report = phase.connect();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			logger.warn("Interrupted while connecting channels", e);
+			phase.release();
+			return;
+		}
+		if (releaseDelay > 0) {
+			pendingRelease = Async.schedule(phase::release, (long) (releaseDelay * 1000), TimeUnit.MILLISECONDS);
+		} else {
+			phase.release();
+		}
+	}
+
+	/**
+	 * Releases the channels straight away if the context closes before the release delay has passed.
+	 */
+	@Override
+	public void destroy() {
+		if (pendingRelease != null) {
+			pendingRelease.cancel(false);
+		}
+		if (phase != null) {
+			phase.release();
+		}
+	}
+
+	/**
+	 * @return the report of the last connection phase, or null if none has run
+	 */
+	public ChannelConnectionReport getReport() {
+		return report;
+	}
+
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * @param parallelism
+	 *            the largest number of channel connections outstanding at once
+	 */
+	public void setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+	}
+
+	public double getReleaseDelay() {
+		return releaseDelay;
+	}
+
+	/**
+	 * @param releaseDelay
+	 *            time in seconds the connected channels are held open after the report, for the devices to take them
+	 *            up; <code>0</code> releases them straight away
+	 */
+	public void setReleaseDelay(double releaseDelay) {
+		this.releaseDelay = releaseDelay;
+	}
+
+	public double getTimeout() {
+		return timeout;
+	}
+
+	/**
+	 * @param timeout
+	 *            time in seconds each channel is given to connect before it is reported unreachable
+	 */
+	public void setTimeout(double timeout) {
+		this.timeout = timeout;
+	}
+}
@@ -21,10 +21,13 @@ package uk.ac.diamond.daq.epics.connector;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.january.DatasetException;
+import org.eclipse.january.dataset.CompoundByteDataset;
+import org.eclipse.january.dataset.CompoundShortDataset;
 import org.eclipse.january.dataset.DataEvent;
-import org.eclipse.january.dataset.Dataset;
 import org.eclipse.january.dataset.DatasetFactory;
 import org.eclipse.january.dataset.DatasetUtils;
 import org.eclipse.january.dataset.IDataListener;
@@ -50,6 +53,8 @@ import gov.aps.jca.dbr.DBR_Enum;
 import gov.aps.jca.dbr.DBR_Int;
 import gov.aps.jca.event.MonitorEvent;
 import gov.aps.jca.event.MonitorListener;
+import uk.ac.diamond.daq.concurrent.Async;
+import uk.ac.diamond.daq.epics.connector.FrameAssembler.Layout;
 
 /**
  * Connects to a remote Epics V3 Array, and uses the data to populate a dataset which dynamically changes whenever the Epics data changes.
@@ -92,6 +97,10 @@ public class EpicsV3DynamicDatasetConnector implements IDatasetConnector {
 
 	private final Set<IDataListener> listeners = new CopyOnWriteArraySet<>();
 
+	private final FrameAssembler frameAssembler = new FrameAssembler();
+	private final AtomicReference<PendingFrame> pendingFrame = new AtomicReference<>();
+	private final AtomicBoolean assembling = new AtomicBoolean();
+
 	private int dim0;
 	private int dim1;
 	private int dim2;
@@ -112,7 +121,7 @@ public class EpicsV3DynamicDatasetConnector implements IDatasetConnector {
 	private final String colourModePV;
 	private final String dataTypePV;
 
-	private IDataset dataset;
+	private volatile IDataset dataset;
 	private String[] colourModes;
 
 	private Monitor dim0ChMonitor;
@@ -253,6 +262,7 @@ public class EpicsV3DynamicDatasetConnector implements IDatasetConnector {
 		logger.debug("Disconnecting...");
 		// Remove listeners to stop sending updates
 		listeners.clear();
+		pendingFrame.set(null);
 
 		if (null != dataChannelMonitor) {
 			dataChannelMonitor.removeMonitorListener(dataChannelMonitorListener);
@@ -373,56 +383,61 @@ public class EpicsV3DynamicDatasetConnector implements IDatasetConnector {
 	}
 
 	/**
-	 * This is the method called by EPICS when the monitor on the {@link #ARRAY_DATA_SUFFIX} is triggered. It converts the event into a dataset and fires
-	 * listeners
+	 * This is the method called by EPICS when the monitor on the {@link #ARRAY_DATA_SUFFIX} is triggered. It hands the
+	 * frame, with the geometry it was received with, to be assembled into a dataset away from the CA dispatch thread. If
+	 * the previous frame has not been assembled by then it is replaced, so the live view shows the latest frame.
 	 *
 	 * @param event The EPICS monitor update with the new data
 	 */
 	private void dataUpdate(MonitorEvent event) {
 		// Only notify of data update at certain FPS
 		if (frameRateLimiter.tryAcquire()) {
-			// Extract the updated data
-			final Object data = event.getDBR().getValue();
-
-			// Build the new dataset
-			if (isRgb()) {
-
-				Dataset flatDataset = DatasetFactory.createFromObject(data);
-				Dataset reshaped;
-				switch (colourMode) {
-				case "RGB2":
-					reshaped = flatDataset.reshape(height, 3, width);
-					reshaped = reshaped.swapAxes(1, 2);
-					break;
-				case "RGB3":
-					reshaped = flatDataset.reshape(3, height, width);
-					reshaped = reshaped.swapAxes(0, 1);
-					reshaped = reshaped.swapAxes(1, 2);
-					break;
-				default:
-					reshaped = flatDataset.reshape(height, width, 3);
-					break;
-				}
-
-				dataset = DatasetUtils.createCompoundDatasetFromLastAxis(reshaped, false);
-				Class<? extends Dataset> clazz = data instanceof byte[] ? RGBByteDataset.class : RGBDataset.class;
-				dataset = DatasetUtils.cast(clazz, dataset);
-			} else {
-				dataset = DatasetFactory.createFromObject(data, getDataShape());
+			final PendingFrame frame = new PendingFrame(event.getDBR().getValue(), Layout.of(colourMode), width, height, isUnsigned());
+			if (pendingFrame.getAndSet(frame) != null) {
+				logger.trace("Frame replaced before being assembled");
 			}
-			if (isUnsigned()) {
-				dataset = DatasetUtils.makeUnsigned(dataset);
+			if (assembling.compareAndSet(false, true)) {
+				Async.execute(this::assembleFrames);
 			}
-
-			// Update listeners
-			fireDataListeners();
 		} else {
 			logger.trace("Frame dropped");
 		}
 	}
 
-	private boolean isRgb() {
-		return !MONO_COLOUR_MODE.equalsIgnoreCase(colourMode);
+	/**
+	 * Builds datasets from the pending frames and fires listeners, until none is left. Only one thread runs this at a
+	 * time, as the assembler's buffers are shared between frames.
+	 */
+	private void assembleFrames() {
+		do {
+			PendingFrame frame;
+			while ((frame = pendingFrame.getAndSet(null)) != null) {
+				try {
+					dataset = createDataset(frame);
+				} catch (IllegalArgumentException e) {
+					// expected while the frame size is changing, until the monitor is replaced
+					logger.debug("Frame discarded: {}", e.getMessage());
+					continue;
+				}
+				// Update listeners
+				fireDataListeners();
+			}
+			assembling.set(false);
+		} while (pendingFrame.get() != null && assembling.compareAndSet(false, true));
+	}
+
+	private IDataset createDataset(PendingFrame frame) {
+		final Object values = frameAssembler.assemble(frame.data, frame.layout, frame.width, frame.height, frame.unsigned);
+		// The values are copied into the new dataset, so the assembler is free to reuse them
+		if (frame.layout == Layout.MONO) {
+			return DatasetFactory.createFromObject(values, frame.height, frame.width);
+		}
+		if (values instanceof byte[]) {
+			return DatasetUtils.cast(RGBByteDataset.class,
+					DatasetFactory.createFromObject(3, CompoundByteDataset.class, values, frame.height, frame.width));
+		}
+		return DatasetUtils.cast(RGBDataset.class,
+				DatasetFactory.createFromObject(3, CompoundShortDataset.class, values, frame.height, frame.width));
 	}
 
 	private boolean isUnsigned() {
@@ -503,4 +518,22 @@ public class EpicsV3DynamicDatasetConnector implements IDatasetConnector {
 		}
 	}
 
+	/**
+	 * A frame as received, with the geometry current when it arrived
+	 */
+	private static final class PendingFrame {
+		private final Object data;
+		private final Layout layout;
+		private final int width;
+		private final int height;
+		private final boolean unsigned;
+
+		PendingFrame(Object data, Layout layout, int width, int height, boolean unsigned) {
+			this.data = data;
+			this.layout = layout;
+			this.width = width;
+			this.height = height;
+			this.unsigned = unsigned;
+		}
+	}
 }
@@ -21,8 +21,11 @@ package uk.ac.diamond.daq.epics.connector;
 import java.util.Arrays;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.BlockingDeque;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.january.DatasetException;
 import org.eclipse.january.dataset.DataEvent;
@@ -39,11 +42,9 @@ import org.eclipse.january.dataset.RGBDataset;
 import org.epics.pvaClient.PvaClient;
 import org.epics.pvaClient.PvaClientChannel;
 import org.epics.pvaClient.PvaClientMonitor;
-import org.epics.pvaClient.PvaClientMonitorData;
 import org.epics.pvaClient.PvaClientMonitorRequester;
-import org.epics.pvdata.factory.ConvertFactory;
-import org.epics.pvdata.pv.ArrayData;
-import org.epics.pvdata.pv.Convert;
+import org.epics.pvdata.factory.PVDataFactory;
+import org.epics.pvdata.pv.PVDataCreate;
 import org.epics.pvdata.pv.PVInt;
 import org.epics.pvdata.pv.PVScalarArray;
 import org.epics.pvdata.pv.PVString;
@@ -57,6 +58,7 @@ import org.slf4j.LoggerFactory;
 
 import com.google.common.util.concurrent.RateLimiter;
 
+import gda.epics.codec.NTNDArrayDecoder;
 import uk.ac.diamond.daq.concurrent.Async;
 
 /**
@@ -71,6 +73,12 @@ import uk.ac.diamond.daq.concurrent.Async;
  * call a method automatically with new events however this often lead to RuntimeExceptions which would kill the PVA library threads when a fast running stream
  * was terminated. This would require restarting the application therefore the polling based approach using a reference to the {@code PvaClientMonitor} was
  * chosen.
+ * <p>
+ * Frames pass through two stages. The receiving thread blocks waiting for monitor events, copies each frame it accepts and queues it; frames beyond
+ * {@link #setMaxFrameRate(double)} are skipped before being copied. A second thread decodes the queued frames into the dataset and notifies the listeners.
+ * The queue holds {@link #setFrameQueueSize(int)} frames, dropping the oldest when the decoding stage falls behind, so the rate delivered follows what the
+ * listeners can keep up with and the live view always shows the most recent frames. Each frame is decoded into the array the previous frame was decoded
+ * into, which the dataset is then copied from, so datasets handed out are never changed by later frames.
  *
  * @author Joe Shannon
  * @since GDA 9.16
@@ -84,23 +92,37 @@ public class EpicsV4DynamicDatasetConnector implements IDatasetConnector {
 	 */
 	private static final String MONITOR_REQUEST = "record[queueSize=1]field()";
 
-	private static final PvaClient pva = PvaClient.get("pva");
-	private static final Convert convert = ConvertFactory.getConvert();
+	private static final PVDataCreate pvDataCreate = PVDataFactory.getPVDataCreate();
 
 	private int height = 0;
 	private int width = 0;
 	private int rgbChannels = 0;
-	private IDataset dataset;
+	private volatile IDataset dataset;
 	private PvaClientChannel pvaClientChannel;
 	private PvaClientMonitor pvaClientMonitor;
 	private ScalarType dataType;
 	private String pvName;
 	private NTNDArrayColorMode colourMode;
 	private int dataSize;
-	private final RateLimiter frameRateLimiter = RateLimiter.create(20);
+	private double maxFrameRate = 20;
+	private RateLimiter frameRateLimiter = RateLimiter.create(maxFrameRate);
 	private final Set<IDataListener> listeners = new CopyOnWriteArraySet<>();
 
 	private volatile boolean monitorActive = false;
+	private volatile int connection = 0; // so that the threads of an earlier connection stop
+
+	private int frameQueueSize = 2;
+	private Object decodeBuffer; // used only by the decoding thread
+
+	private final AtomicLong framesReceived = new AtomicLong();
+	private final AtomicLong framesSkipped = new AtomicLong();
+	private final AtomicLong framesDropped = new AtomicLong();
+	private final AtomicLong framesDecoded = new AtomicLong();
+	private final AtomicLong decodeNanos = new AtomicLong();
+	private volatile long lastDecodeNanos;
+	private volatile double observedFrameRate;
+	private long rateWindowStartNanos; // used only by the decoding thread
+	private long rateWindowFrames; // used only by the decoding thread
 
 	public EpicsV4DynamicDatasetConnector(String pvName) {
 		this.pvName = pvName;
@@ -204,17 +226,13 @@ public class EpicsV4DynamicDatasetConnector implements IDatasetConnector {
 				throw new DatasetException("Channel: " + pvName + " already connected");
 			}
 			logger.debug("Trying to connect to : {} ", pvName);
-			pvaClientChannel = pva.createChannel(pvName, "pva");
+			pvaClientChannel = PvaClient.get("pva").createChannel(pvName, "pva");
 			pvaClientChannel.connect();
 
 			// Create and connect to pvaClientMonitor
-			pvaClientMonitor = pvaClientChannel.monitor(MONITOR_REQUEST);
-			monitorActive = true;
+			start(pvaClientChannel.monitor(MONITOR_REQUEST));
 			logger.info("Connected to {} and started client monitor", pvName);
 
-			// Start poll loop
-			Async.execute(this::pvaMonitorEventLoop);
-
 		} catch (Exception ex) {
 			logger.error("Could not connect to : {} {}", pvName, ex.getMessage());
 			throw new DatasetException(ex);
@@ -222,6 +240,19 @@ public class EpicsV4DynamicDatasetConnector implements IDatasetConnector {
 		return null;
 	}
 
+	/**
+	 * Starts the poll loop receiving from the monitor and the stage decoding what it receives, each with a new frame queue so that nothing received by an
+	 * earlier connection is decoded.
+	 */
+	void start(PvaClientMonitor monitor) {
+		final BlockingDeque<PVStructure> queue = new LinkedBlockingDeque<>(frameQueueSize);
+		pvaClientMonitor = monitor;
+		final int thisConnection = ++connection;
+		monitorActive = true;
+		Async.execute(() -> pvaMonitorEventLoop(thisConnection, monitor, queue));
+		Async.execute(() -> frameDecodeLoop(thisConnection, queue));
+	}
+
 	/**
 	 * Disconnect from the PVA stream. This requires synchronising to ensure that it does not stop the monitor whilst the polling loop is processing a data
 	 * event. The calls are run in a separate thread because parts of the plotting/view control mechanism also lock on this instance.
@@ -295,9 +326,9 @@ public class EpicsV4DynamicDatasetConnector implements IDatasetConnector {
 	/**
 	 * Extract an object out of the array and convert to dataset
 	 */
-	private void updateData(PVScalarArray imageDataArray) {
-		dataType = imageDataArray.getScalarArray().getElementType();
-		Object data = extractArray(imageDataArray);
+	private void updateData(PVStructure pvStructure) {
+		dataType = NTNDArrayDecoder.getElementType(pvStructure);
+		Object data = extractArray(pvStructure);
 
 		if (colourMode != NTNDArrayColorMode.MONO) {
 			Dataset flatDataset = DatasetFactory.createFromObject(data);
@@ -331,97 +362,191 @@ public class EpicsV4DynamicDatasetConnector implements IDatasetConnector {
 	}
 
 	/**
-	 * This isn't particularly nice however there doesn't seem to be a generic way to get array data based on type. Each {@link Convert} method requires a
-	 * specific variable to exist and be passed in.
-	 * <p>
-	 * An alternative would be to use sub classes of {@link ArrayData} and {@link PVScalarArray} however this gives the same problem as there is no generic get
-	 * method.
+	 * Extracts the array data as a primitive array, decompressing it if the codec plugin compressed it.
 	 *
-	 * @param imageDataArray
-	 * @return
+	 * @param pvStructure
+	 *            the NTNDArray
+	 * @return the data
 	 */
-	private Object extractArray(PVScalarArray imageDataArray) {
-		switch (dataType) {
-		case pvByte:
-		case pvUByte:
-			byte[] byteArray = new byte[dataSize];
-			convert.toByteArray(imageDataArray, 0, dataSize, byteArray, 0);
-			return byteArray;
-		case pvDouble:
-			double[] doubleArray = new double[dataSize];
-			convert.toDoubleArray(imageDataArray, 0, dataSize, doubleArray, 0);
-			return doubleArray;
-		case pvFloat:
-			float[] floatArray = new float[dataSize];
-			convert.toFloatArray(imageDataArray, 0, dataSize, floatArray, 0);
-			return floatArray;
-		case pvInt:
-		case pvUInt:
-			int[] intArray = new int[dataSize];
-			convert.toIntArray(imageDataArray, 0, dataSize, intArray, 0);
-			return intArray;
-		case pvLong:
-		case pvULong:
-			long[] longArray = new long[dataSize];
-			convert.toLongArray(imageDataArray, 0, dataSize, longArray, 0);
-			return longArray;
-		case pvShort:
-		case pvUShort:
-			short[] shortArray = new short[dataSize];
-			convert.toShortArray(imageDataArray, 0, dataSize, shortArray, 0);
-			return shortArray;
-		case pvString:
-		case pvBoolean: // This is the only valid conversion specified for boolean in ConvertFactory
-			String[] stringArray = new String[dataSize];
-			convert.toStringArray(imageDataArray, 0, dataSize, stringArray, 0);
-			return stringArray;
-		default:
-			throw new IllegalArgumentException("Unknown ScalarType: " + dataType);
-		}
+	private Object extractArray(PVStructure pvStructure) {
+		decodeBuffer = NTNDArrayDecoder.getInstance().decode(pvStructure, dataSize, decodeBuffer);
+		return decodeBuffer;
 	}
 
 	/**
 	 * This is a polling loop designed to be run in a separate thread. A form of double-checked locking is used to ensure that methods are not called on
-	 * {@code pvaClientMonitor} unless we are sure it has not been stopped/destroyed. {@link PvaClientMonitor#waitEvent(double)} is used rather than poll to
-	 * reduce number of calls when there are no new updates.
+	 * {@code pvaClientMonitor} unless we are sure it has not been stopped/destroyed. {@link PvaClientMonitor#waitEvent(double)} blocks until there is an
+	 * update, so the loop is idle when there are none.
 	 * <p>
-	 * This drives updates in the live stream via {@link #updateData(PVStructure)} and {@link #updateArrayAttributes(PVStructure)} methods.
+	 * Frames within the maximum rate are copied, as the monitor reuses its structure once the event is released, and queued for
+	 * {@link #frameDecodeLoop(int, BlockingDeque)}.
 	 */
-	private void pvaMonitorEventLoop() {
-		while (monitorActive) {
+	private void pvaMonitorEventLoop(int thisConnection, PvaClientMonitor monitor, BlockingDeque<PVStructure> queue) {
+		while (monitorActive && connection == thisConnection) {
 			synchronized (this) {
-				if (!monitorActive) {
+				if (!monitorActive || connection != thisConnection) {
 					return;
 				}
-				if (pvaClientMonitor.waitEvent(1)) {
-					PvaClientMonitorData monitorData = pvaClientMonitor.getData();
-					if (frameRateLimiter.tryAcquire()) {
-						try {
-							LivestreamDataFromPvaStructure data = new LivestreamDataFromPvaStructure(monitorData.getPVStructure());
-							updateArrayAttributes(data.getDimensionSizes(), data.getColorMode());
-							updateData(data.getImageArray());
-						} catch (IllegalStateException e) {
-							logger.error("Invalid PVA Structure for livestream ({}) - {}", pvName, e.getMessage());
+				if (monitor.waitEvent(1)) {
+					framesReceived.incrementAndGet();
+					try {
+						if (frameRateLimiter == null || frameRateLimiter.tryAcquire()) {
+							queueFrame(queue, pvDataCreate.createPVStructure(monitor.getData().getPVStructure()));
+						} else {
+							framesSkipped.incrementAndGet();
+							logger.trace("Frame skipped");
 						}
-					} else {
-						logger.trace("Frame dropped");
+					} finally {
+						monitor.releaseEvent();
 					}
-					pvaClientMonitor.releaseEvent();
 				}
 			}
 		}
 	}
 
+	private void queueFrame(BlockingDeque<PVStructure> queue, PVStructure frame) {
+		while (!queue.offerLast(frame)) {
+			// the decoding stage is behind so the oldest frame is no longer wanted
+			if (queue.pollFirst() != null) {
+				framesDropped.incrementAndGet();
+				logger.trace("Frame dropped");
+			}
+		}
+	}
+
+	/**
+	 * Decodes queued frames into the dataset, notifying the listeners of each. This drives updates in the live stream via
+	 * {@link #updateArrayAttributes(int[], NTNDArrayColorMode)} and {@link #updateData(PVStructure)}.
+	 */
+	private void frameDecodeLoop(int thisConnection, BlockingDeque<PVStructure> queue) {
+		rateWindowStartNanos = System.nanoTime();
+		rateWindowFrames = 0;
+		while (monitorActive && connection == thisConnection) {
+			final PVStructure frame;
+			try {
+				frame = queue.pollFirst(1, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+			if (frame == null || !monitorActive || connection != thisConnection) {
+				continue;
+			}
+			final long start = System.nanoTime();
+			try {
+				LivestreamDataFromPvaStructure data = new LivestreamDataFromPvaStructure(frame);
+				updateArrayAttributes(data.getDimensionSizes(), data.getColorMode());
+				updateData(data.getStructure());
+			} catch (IllegalStateException | UnsupportedOperationException e) {
+				logger.error("Invalid PVA Structure for livestream ({}) - {}", pvName, e.getMessage());
+				continue;
+			}
+			final long end = System.nanoTime();
+			lastDecodeNanos = end - start;
+			decodeNanos.addAndGet(lastDecodeNanos);
+			framesDecoded.incrementAndGet();
+			updateFrameRate(end);
+		}
+	}
+
+	private void updateFrameRate(long now) {
+		rateWindowFrames++;
+		final long elapsed = now - rateWindowStartNanos;
+		if (elapsed >= TimeUnit.SECONDS.toNanos(1)) {
+			observedFrameRate = rateWindowFrames * 1e9 / elapsed;
+			rateWindowStartNanos = now;
+			rateWindowFrames = 0;
+		}
+	}
+
+	public double getMaxFrameRate() {
+		return maxFrameRate;
+	}
+
+	/**
+	 * @param maxFrameRate
+	 *            the most frames a second to decode, or <code>0</code> for as many as the listeners keep up with. Default 20.
+	 */
+	public void setMaxFrameRate(double maxFrameRate) {
+		this.maxFrameRate = maxFrameRate;
+		frameRateLimiter = maxFrameRate > 0 ? RateLimiter.create(maxFrameRate) : null;
+	}
+
+	public int getFrameQueueSize() {
+		return frameQueueSize;
+	}
+
+	/**
+	 * @param frameQueueSize
+	 *            the number of received frames waiting to be decoded before the oldest is dropped. Default 2. Takes effect on the next {@link #connect()}.
+	 */
+	public void setFrameQueueSize(int frameQueueSize) {
+		if (frameQueueSize < 1) {
+			throw new IllegalArgumentException("frameQueueSize must be at least 1 but was " + frameQueueSize);
+		}
+		this.frameQueueSize = frameQueueSize;
+	}
+
+	/**
+	 * @return the number of monitor events received since this was created
+	 */
+	public long getFramesReceived() {
+		return framesReceived.get();
+	}
+
+	/**
+	 * @return the number of frames not decoded as they exceeded the maximum frame rate
+	 */
+	public long getFramesSkipped() {
+		return framesSkipped.get();
+	}
+
+	/**
+	 * @return the number of frames dropped from the queue as the decoding stage fell behind
+	 */
+	public long getFramesDropped() {
+		return framesDropped.get();
+	}
+
+	/**
+	 * @return the number of frames decoded into the dataset
+	 */
+	public long getFramesDecoded() {
+		return framesDecoded.get();
+	}
+
+	/**
+	 * @return the frames decoded a second, measured over about the last second
+	 */
+	public double getObservedFrameRate() {
+		return observedFrameRate;
+	}
+
+	/**
+	 * @return the time in ms taken to decode the last frame and notify the listeners
+	 */
+	public double getLastDecodeTimeMs() {
+		return lastDecodeNanos / 1e6;
+	}
+
+	/**
+	 * @return the average time in ms taken to decode a frame and notify the listeners
+	 */
+	public double getMeanDecodeTimeMs() {
+		final long decoded = framesDecoded.get();
+		return decoded == 0 ? 0 : decodeNanos.get() / 1e6 / decoded;
+	}
+
 	/**
 	 * A class to extract and validate the data that is required for producing the livestream dataset from the {@link PVStructure}.
 	 */
 	private static class LivestreamDataFromPvaStructure {
-		private final PVScalarArray imageArray;
+		private final PVStructure pvStructure;
 		private final NTNDArrayColorMode colourMode;
 		private final int[] dimensions;
 
-		public PVScalarArray getImageArray() {
-			return imageArray;
+		public PVStructure getStructure() {
+			return pvStructure;
 		}
 
 		public NTNDArrayColorMode getColorMode() {
@@ -433,7 +558,8 @@ public class EpicsV4DynamicDatasetConnector implements IDatasetConnector {
 		}
 
 		public LivestreamDataFromPvaStructure(final PVStructure pvStructure) {
-			imageArray = extractImageArray(pvStructure);
+			checkImageArray(pvStructure);
+			this.pvStructure = pvStructure;
 			colourMode = extractColourMode(pvStructure);
 			dimensions = extractDimensions(pvStructure);
 		}
@@ -490,7 +616,7 @@ public class EpicsV4DynamicDatasetConnector implements IDatasetConnector {
 
 		}
 
-		private PVScalarArray extractImageArray(PVStructure pvStructure) {
+		private void checkImageArray(PVStructure pvStructure) {
 			// Make sure there is actually image data
 			PVUnion pvUnionValue = pvStructure.getSubField(PVUnion.class, "value");
 			if (pvUnionValue == null) {
@@ -504,16 +630,6 @@ public class EpicsV4DynamicDatasetConnector implements IDatasetConnector {
 			if (imageData.getLength() == 0) {
 				throw new IllegalStateException("Array contains no elements");
 			}
-
-			// Check if there is a codec
-			PVStructure pvCodecStruct = pvStructure.getSubField(PVStructure.class, "codec");
-			PVString pvCodec = pvCodecStruct.getSubField(PVString.class, "name");
-			String codec = pvCodec.get();
-			if (!codec.isEmpty()) {
-				throw new IllegalStateException("Compressed NTNDArrays are not currently supported");
-			}
-
-			return imageData;
 		}
 	}
 
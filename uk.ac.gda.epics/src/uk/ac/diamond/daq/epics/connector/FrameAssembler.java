@@ -0,0 +1,198 @@
+/*-
+ * Copyright © 2026 Diamond Light Source Ltd.
+ *
+ * This file is part of GDA.
+ *
+ * GDA is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU General Public License version 3 as published by the Free
+ * Software Foundation.
+ *
+ * GDA is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with GDA. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package uk.ac.diamond.daq.epics.connector;
+
+import java.lang.reflect.Array;
+
+/**
+ * Turns the flat array of an areaDetector frame into the pixel interleaved array a dataset is built from, in a single
+ * pass. Colour frames are de-interleaved from whichever layout the camera uses, and unsigned bytes are promoted to
+ * shorts at the same time, so no intermediate reshaped, swapped or cast copies of the frame are made.
+ * <p>
+ * The arrays returned are reused by the next call, so they must be copied (as creating a dataset from them does)
+ * before then. Not thread safe: frames should be assembled one at a time.
+ */
+class FrameAssembler {
+
+	/**
+	 * The order of the values in the frame received from EPICS
+	 */
+	enum Layout {
+		/** One value per pixel */
+		MONO,
+		/** Pixel interleave, [3, width, height] */
+		RGB1,
+		/** Row interleave, [width, 3, height] */
+		RGB2,
+		/** Plane interleave, [width, height, 3] */
+		RGB3;
+
+		/**
+		 * @param colourMode
+		 *            the areaDetector colour mode
+		 * @return the layout of frames in that colour mode, unknown colour modes being treated as {@link #RGB1} as they
+		 *         have always been here
+		 */
+		static Layout of(String colourMode) {
+			if ("Mono".equalsIgnoreCase(colourMode)) {
+				return MONO;
+			}
+			if ("RGB2".equalsIgnoreCase(colourMode)) {
+				return RGB2;
+			}
+			if ("RGB3".equalsIgnoreCase(colourMode)) {
+				return RGB3;
+			}
+			return RGB1;
+		}
+	}
+
+	private byte[] bytes = new byte[0];
+	private short[] shorts = new short[0];
+
+	private int[] cachedOrder;
+	private Layout orderLayout;
+	private int orderWidth;
+	private int orderHeight;
+
+	/**
+	 * @param data
+	 *            the frame, a byte, short, int, float or double array
+	 * @param layout
+	 *            the order of the values in the frame
+	 * @param width
+	 *            the image width in pixels
+	 * @param height
+	 *            the image height in pixels
+	 * @param unsigned
+	 *            <code>true</code> if byte values are unsigned
+	 * @return for mono frames, the values in row order; for colour frames, the red, green and blue value of each pixel in
+	 *         turn, in row order. Unsigned bytes are returned as a short array, and colour values other than bytes are
+	 *         narrowed to shorts.
+	 * @throws IllegalArgumentException
+	 *             if the frame does not hold the given number of pixels
+	 */
+	Object assemble(Object data, Layout layout, int width, int height, boolean unsigned) {
+		final int pixels = width * height;
+		final int values = layout == Layout.MONO ? pixels : 3 * pixels;
+		final int length = Array.getLength(data);
+		if (length != values) {
+			throw new IllegalArgumentException(String.format("Frame of %d values does not match %s image of %dx%d", length, layout, width, height));
+		}
+
+		final boolean promote = unsigned && data instanceof byte[];
+		if (layout == Layout.MONO && !promote) {
+			return data;
+		}
+		if (layout == Layout.RGB1 && !promote && (data instanceof byte[] || data instanceof short[])) {
+			return data; // already pixel interleaved
+		}
+		// null if already in order
+		final int[] order = layout == Layout.MONO || layout == Layout.RGB1 ? null : sourceOrder(layout, width, height);
+
+		if (data instanceof byte[] byteData && !unsigned) {
+			final byte[] out = byteBuffer(values);
+			for (int i = 0; i < values; i++) {
+				out[i] = byteData[order[i]];
+			}
+			return out;
+		}
+
+		final short[] out = shortBuffer(values);
+		if (data instanceof byte[] byteData) {
+			if (order == null) {
+				for (int i = 0; i < values; i++) {
+					out[i] = (short) (byteData[i] & 0xff);
+				}
+			} else {
+				for (int i = 0; i < values; i++) {
+					out[i] = (short) (byteData[order[i]] & 0xff);
+				}
+			}
+		} else if (data instanceof short[] shortData) {
+			for (int i = 0; i < values; i++) {
+				out[i] = shortData[order[i]];
+			}
+		} else if (data instanceof int[] intData) {
+			for (int i = 0; i < values; i++) {
+				out[i] = (short) intData[order == null ? i : order[i]];
+			}
+		} else if (data instanceof float[] floatData) {
+			for (int i = 0; i < values; i++) {
+				out[i] = (short) floatData[order == null ? i : order[i]];
+			}
+		} else if (data instanceof double[] doubleData) {
+			for (int i = 0; i < values; i++) {
+				out[i] = (short) doubleData[order == null ? i : order[i]];
+			}
+		} else {
+			throw new IllegalArgumentException("Cannot assemble frame of " + data.getClass().getSimpleName());
+		}
+		return out;
+	}
+
+	/**
+	 * The source index of each value of a {@link Layout#RGB2} or {@link Layout#RGB3} frame once interleaved. Worked out
+	 * only when the layout or size changes, so that assembling a frame is then a plain gather.
+	 */
+	private int[] sourceOrder(Layout layout, int width, int height) {
+		if (layout == orderLayout && width == orderWidth && height == orderHeight) {
+			return cachedOrder;
+		}
+		final int pixels = width * height;
+		final int[] indices = new int[3 * pixels];
+		if (layout == Layout.RGB3) {
+			// the whole red plane, then the green plane, then the blue plane
+			for (int p = 0, dst = 0; p < pixels; p++) {
+				for (int c = 0; c < 3; c++) {
+					indices[dst++] = c * pixels + p;
+				}
+			}
+		} else {
+			// each row is its red values, then its green values, then its blue values
+			for (int y = 0, dst = 0; y < height; y++) {
+				for (int x = 0; x < width; x++) {
+					for (int c = 0; c < 3; c++) {
+						indices[dst++] = (3 * y + c) * width + x;
+					}
+				}
+			}
+		}
+		cachedOrder = indices;
+		orderLayout = layout;
+		orderWidth = width;
+		orderHeight = height;
+		return indices;
+	}
+
+	private byte[] byteBuffer(int length) {
+		if (bytes.length != length) {
+			bytes = new byte[length];
+		}
+		return bytes;
+	}
+
+	private short[] shortBuffer(int length) {
+		if (shorts.length != length) {
+			shorts = new short[length];
+		}
+		return shorts;
+	}
+}